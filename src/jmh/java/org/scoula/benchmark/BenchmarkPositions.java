@@ -0,0 +1,149 @@
+package org.scoula.benchmark;
+
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RuleEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크 공용 국면 코퍼스. 시드가 고정이라 엔진을 바꿔도 같은 입력으로 비교된다.
+ *
+ * - 대국 국면: 기존 돌 2칸 이내에만 두는 무작위 대국(흑은 금수 회피)을 20/40/60/80수에서 잘라 쓴다.
+ *   실제 대국처럼 돌이 뭉쳐 있어 삼·사 패턴이 자주 걸린다.
+ * - 경계 국면: RenjuRuleEngineTest의 3-3 / 4-4 / 장목 / 장목 갭 / 사-삼 픽스처.
+ * 좌표계와 돌 값은 게임과 같다(index = y*15 + x, 돌 = 착수 순번, 홀수=흑).
+ */
+public final class BenchmarkPositions {
+
+    public static final int SIZE = 15;
+    private static final long SEED = 20261018L;
+    private static final int GAMES = 64;
+    private static final int[] SNAPSHOT_PLIES = {20, 40, 60, 80};
+
+    private final List<int[][]> boards = new ArrayList<>();
+    private final List<int[]> games = new ArrayList<>();
+
+    private BenchmarkPositions() {
+    }
+
+    public static BenchmarkPositions create() {
+        BenchmarkPositions corpus = new BenchmarkPositions();
+        corpus.addEdgeCases();
+        corpus.addPlayedGames();
+        return corpus;
+    }
+
+    /** 모든 국면. 벤치마크가 판정 중 board를 바꾸지 않는다는 전제로 공유한다. */
+    public List<int[][]> boards() {
+        return boards;
+    }
+
+    /** 무작위 대국 전체 착수 순서(끝까지 둔 판). 착수 파이프라인 벤치마크의 입력. */
+    public List<int[]> games() {
+        return games;
+    }
+
+    /** (국면 번호 << 8 | index) 형태의 질의 목록. 빈칸이면서 주변 2칸 안에 돌이 있는 칸만 고른다. */
+    public int[] emptyQueries() {
+        List<Integer> queries = new ArrayList<>();
+        for (int b = 0; b < boards.size(); b++) {
+            int[][] board = boards.get(b);
+            for (int index = 0; index < SIZE * SIZE; index++) {
+                if (board[index / SIZE][index % SIZE] == 0 && nearStone(board, index)) {
+                    queries.add(b << 8 | index);
+                }
+            }
+        }
+        return queries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** (국면 번호 << 8 | index) 형태의 돌이 놓인 칸 질의 목록(isWin용). */
+    public int[] stoneQueries() {
+        List<Integer> queries = new ArrayList<>();
+        for (int b = 0; b < boards.size(); b++) {
+            int[][] board = boards.get(b);
+            for (int index = 0; index < SIZE * SIZE; index++) {
+                if (board[index / SIZE][index % SIZE] != 0) queries.add(b << 8 | index);
+            }
+        }
+        return queries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void addEdgeCases() {
+        // 3-3 (가로 + 세로)
+        boards.add(stones(6, 7, 8, 7, 7, 6, 7, 8));
+        // 대각 3-3
+        boards.add(stones(6, 6, 8, 8, 6, 8, 8, 6));
+        // 4-4 (가로 + 세로)
+        boards.add(stones(5, 7, 6, 7, 8, 7, 7, 5, 7, 6, 7, 8));
+        // 장목 갭 ●●●_●● (four 아님)
+        boards.add(stones(4, 7, 6, 7, 8, 7, 9, 7));
+        // 장목
+        boards.add(stones(2, 7, 3, 7, 4, 7, 6, 7, 7, 7));
+        // 사-삼 구분 ●_●●●
+        boards.add(stones(2, 7, 4, 7, 5, 7, 6, 7));
+    }
+
+    /** (x, y) 쌍을 흑 돌로 놓은 국면. */
+    private static int[][] stones(int... xy) {
+        int[][] board = new int[SIZE][SIZE];
+        for (int i = 0; i < xy.length; i += 2) board[xy[i + 1]][xy[i]] = 1;
+        return board;
+    }
+
+    private void addPlayedGames() {
+        RuleEngine rules = new RenjuRuleEngine();
+        Random random = new Random(SEED);
+        for (int g = 0; g < GAMES; g++) {
+            int[][] board = new int[SIZE][SIZE];
+            List<Integer> moves = new ArrayList<>();
+            int turn = 1;
+            int center = 7 * SIZE + 7;
+            board[7][7] = turn++;
+            moves.add(center);
+            while (turn <= SIZE * SIZE) {
+                int index = pickMove(board, turn, rules, random);
+                if (index < 0) break;
+                board[index / SIZE][index % SIZE] = turn++;
+                moves.add(index);
+                for (int ply : SNAPSHOT_PLIES) {
+                    if (moves.size() == ply) boards.add(copy(board));
+                }
+                if (rules.isWin(board, index)) break;
+            }
+            games.add(moves.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static int pickMove(int[][] board, int turn, RuleEngine rules, Random random) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            if (board[index / SIZE][index % SIZE] != 0 || !nearStone(board, index)) continue;
+            if (turn % 2 == 1 && rules.isForbidden(board, index)) continue;
+            candidates.add(index);
+        }
+        return candidates.isEmpty() ? -1 : candidates.get(random.nextInt(candidates.size()));
+    }
+
+    private static boolean nearStone(int[][] board, int index) {
+        int x = index % SIZE;
+        int y = index / SIZE;
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                int nx = x + dx;
+                int ny = y + dy;
+                if (nx < 0 || nx >= SIZE || ny < 0 || ny >= SIZE) continue;
+                if (board[ny][nx] != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] copy = new int[SIZE][];
+        for (int y = 0; y < SIZE; y++) copy[y] = board[y].clone();
+        return copy;
+    }
+}
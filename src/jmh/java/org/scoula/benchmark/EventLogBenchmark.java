@@ -0,0 +1,122 @@
+package org.scoula.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.scoula.config.DropCountingAsyncAppender;
+import org.scoula.config.GameEventEncoder;
+import org.scoula.room.service.GameEvents;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게임 이벤트 한 건을 남기는 호출자 쪽 비용. 방 샤드 여러 개가 동시에 남기는 상황(4스레드)에서
+ * 파일 appender에 바로 쓰는 경우(sync)와 DropCountingAsyncAppender 뒤에 두는 경우(async)를 비교한다.
+ * async는 디스크가 못 따라가면 버리므로, 반복마다 버린 건수를 보조 지표(gameWin:dropped)로 함께 낸다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=EventLogBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(2)
+public class EventLogBenchmark {
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    private Path dir;
+    private Logger events;
+    private DropCountingAsyncAppender async;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("event-log-bench");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        events = context.getLogger(GameEvents.LOGGER_NAME);
+        events.detachAndStopAllAppenders();
+        events.setAdditive(false);
+        events.setLevel(ch.qos.logback.classic.Level.INFO);
+
+        GameEventEncoder encoder = new GameEventEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("EVENT_FILE");
+        file.setFile(dir.resolve("events.jsonl").toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> target = file;
+        if ("async".equals(mode)) {
+            async = new DropCountingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_EVENTS");
+            async.setQueueSize(8192);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+        events.addAppender(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        events.detachAndStopAllAppenders();
+        try (var files = Files.list(dir)) {
+            for (Path f : files.toList()) Files.delete(f);
+        }
+        Files.delete(dir);
+    }
+
+    private long dropped() {
+        return async != null ? async.dropped() : 0;
+    }
+
+    /** 한 측정 반복 동안 async가 버린 건수. sync는 0이다. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+        public long dropped;
+        private long base;
+
+        @Setup(Level.Iteration)
+        public void start(EventLogBenchmark bench) {
+            dropped = 0;
+            base = bench.dropped();
+        }
+
+        // 버린 수는 appender 전체 값이라 스레드마다 적으면 스레드 수만큼 부푼다. 첫 스레드만 적는다.
+        @TearDown(Level.Iteration)
+        public void stop(EventLogBenchmark bench, ThreadParams thread) {
+            if (thread.getThreadIndex() == 0) dropped = bench.dropped() - base;
+        }
+    }
+
+    @Benchmark
+    public void gameWin(Drops drops) {
+        GameEvents.emit("GAME_WIN", "room-1", "winner", "흑돌", "turn", 42);
+    }
+}
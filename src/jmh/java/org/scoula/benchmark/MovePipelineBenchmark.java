@@ -0,0 +1,78 @@
+package org.scoula.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.BitboardRenjuRuleEngine;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomJournal;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.RuleEngine;
+import org.scoula.room.service.SpectatorFanout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 착수 한 수의 서버 측 판정 경로(RoomSocketService.processMove의 room 락 안쪽)를 잰다:
+ * 흑이면 금수 마스크 조회 → applyMove(금수 마스크 증분 갱신 포함) → 승리 판정. 브로드캐스트·검증 분기는 제외한다.
+ * 코퍼스의 무작위 대국을 순서대로 다시 두고, 한 판이 끝나면 initGame으로 다음 판을 시작한다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=MovePipelineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class MovePipelineBenchmark {
+
+    @Param({"scan", "bitboard"})
+    public String engine;
+
+    private GameService gameService;
+    private int[][] games;
+    private Room room;
+    private int game;
+    private int ply;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RuleEngine rules = "bitboard".equals(engine) ? new BitboardRenjuRuleEngine() : new RenjuRuleEngine();
+        gameService = new GameService(rules, OmokMetrics.NONE);
+        List<int[]> list = BenchmarkPositions.create().games();
+        games = list.toArray(new int[0][]);
+        room = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE)
+                .createRoom("bench", null);
+        room.initGame("p-black");
+    }
+
+    @Benchmark
+    public boolean move() {
+        int[] moves = games[game];
+        if (ply == moves.length) {
+            if (++game == games.length) game = 0;
+            moves = games[game];
+            ply = 0;
+            room.initGame("p-black");
+        }
+        int index = moves[ply++];
+        boolean forbidden = room.getTurn() % 2 == 1 && room.getForbiddenMask().contains(index);
+        gameService.applyMove(room, index);
+        return gameService.checkGameEnd(room, index) | forbidden;
+    }
+}
@@ -0,0 +1,73 @@
+package org.scoula.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.RoomResponseDto;
+import org.scoula.room.dto.RoomResponseMessage;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomJournal;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SpectatorFanout;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 상태 직렬화 비용. 입장·재접속 때마다 보내는 RoomResponseDto(판 전체 복사 + JSON)와
+ * 착수마다 보내는 ACTION 메시지를 비교한다. 판은 코퍼스의 80수 국면을 그대로 쓴다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RoomResponseDtoBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class RoomResponseDtoBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Room room;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        room = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE)
+                .createRoom("bench", null);
+        room.getPlayers().add(new Player("p-black", "흑돌"));
+        room.getPlayers().add(new Player("p-white", "백돌"));
+        room.initGame("p-black");
+        GameService gameService = new GameService(new RenjuRuleEngine(), OmokMetrics.NONE);
+        int[] moves = BenchmarkPositions.create().games().get(0);
+        for (int i = 0; i < Math.min(80, moves.length - 1); i++) gameService.applyMove(room, moves[i]);
+    }
+
+    @Benchmark
+    public RoomResponseDto roomSnapshot() {
+        return RoomResponseDto.from(room);
+    }
+
+    @Benchmark
+    public byte[] roomSnapshotJson() throws Exception {
+        return objectMapper.writeValueAsBytes(RoomResponseDto.from(room));
+    }
+
+    @Benchmark
+    public byte[] actionJson() throws Exception {
+        return objectMapper.writeValueAsBytes(RoomResponseMessage.action("bench", 112, room.getTurn(),
+                room.getForbiddenMask().toArray()));
+    }
+}
@@ -0,0 +1,96 @@
+package org.scoula.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.scoula.room.service.BitboardRenjuRuleEngine;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RuleEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RuleEngine 단일 판정 비용. omok.rule-engine 값(scan / bitboard)을 파라미터로 받아
+ * 같은 코퍼스(BenchmarkPositions)에서 네 판정을 한 번씩 호출한다.
+ * 질의는 커서로 순환하므로 분기 예측기가 한 국면에 고정되지 않는다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RuleEngineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class RuleEngineBenchmark {
+
+    @Param({"scan", "bitboard"})
+    public String engine;
+
+    private RuleEngine rules;
+    private int[][][] boards;
+    private int[] emptyQueries;
+    private int[] stoneQueries;
+    private int emptyCursor;
+    private int stoneCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rules = "bitboard".equals(engine) ? new BitboardRenjuRuleEngine() : new RenjuRuleEngine();
+        BenchmarkPositions corpus = BenchmarkPositions.create();
+        List<int[][]> list = corpus.boards();
+        boards = list.toArray(new int[0][][]);
+        emptyQueries = corpus.emptyQueries();
+        stoneQueries = corpus.stoneQueries();
+    }
+
+    /** 흑 착수 검증(validateMove)과 같은 호출: 빈칸에 대한 금수 판정. */
+    @Benchmark
+    public boolean isForbidden() {
+        int query = nextEmpty();
+        return rules.isForbidden(boards[query >>> 8], query & 0xFF);
+    }
+
+    /** 착수 직후 승리 판정. */
+    @Benchmark
+    public boolean isWin() {
+        int query = stoneQueries[stoneCursor];
+        if (++stoneCursor == stoneQueries.length) stoneCursor = 0;
+        return rules.isWin(boards[query >>> 8], query & 0xFF);
+    }
+
+    @Benchmark
+    public int countOpenThrees() {
+        int query = nextEmpty();
+        int[][] board = boards[query >>> 8];
+        int index = query & 0xFF;
+        // 두 엔진 모두 중심 칸에 흑이 놓였다고 보고 센다(isForbidden 내부 호출과 같은 상태).
+        board[index / BenchmarkPositions.SIZE][index % BenchmarkPositions.SIZE] = 1;
+        int threes = rules.countOpenThrees(board, index);
+        board[index / BenchmarkPositions.SIZE][index % BenchmarkPositions.SIZE] = 0;
+        return threes;
+    }
+
+    @Benchmark
+    public int countFour() {
+        int query = nextEmpty();
+        int[][] board = boards[query >>> 8];
+        int index = query & 0xFF;
+        board[index / BenchmarkPositions.SIZE][index % BenchmarkPositions.SIZE] = 1;
+        int fours = rules.countFour(board, index);
+        board[index / BenchmarkPositions.SIZE][index % BenchmarkPositions.SIZE] = 0;
+        return fours;
+    }
+
+    private int nextEmpty() {
+        int query = emptyQueries[emptyCursor];
+        if (++emptyCursor == emptyQueries.length) emptyCursor = 0;
+        return query;
+    }
+}
@@ -0,0 +1,101 @@
+package org.scoula.ai;
+
+/**
+ * 탐색용 판. 방 판(착수 순번)을 색(1 흑 · 2 백)으로 옮겨 담고, 착수·무르기마다 Zobrist 해시와 수순을 갱신한다.
+ * grid는 RuleEngine 좌표계(grid[y][x], 홀수=흑 · 짝수=백)를 그대로 따르므로 금수 판정에 바로 넘긴다.
+ * 한 탐색 스레드만 쓴다.
+ */
+final class AiBoard {
+
+    static final int SIZE = 15;
+    static final int CELLS = SIZE * SIZE;
+    static final int BLACK = 1, WHITE = 2;
+    static final int[] DX = {1, 0, 1, 1};
+    static final int[] DY = {0, 1, 1, -1};
+
+    final int[][] grid = new int[SIZE][SIZE];
+    private final int[] moves = new int[CELLS];
+    private int count;
+    private long hash;
+
+    /** 방 판(칸 값 = 착수 순번)에서 만든다. */
+    static AiBoard of(int[][] roomBoard) {
+        AiBoard board = new AiBoard();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int n = roomBoard[y][x];
+                if (n != 0) board.place(y * SIZE + x, (n & 1) == 1 ? BLACK : WHITE);
+            }
+        }
+        return board;
+    }
+
+    /** 둘 차례인 색. 흑이 먼저 둔다. */
+    int toMove() {
+        return (count & 1) == 0 ? BLACK : WHITE;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    int at(int index) {
+        return grid[index / SIZE][index % SIZE];
+    }
+
+    boolean isEmpty(int index) {
+        return grid[index / SIZE][index % SIZE] == 0;
+    }
+
+    /** 차례인 색으로 둔다. */
+    void play(int index) {
+        place(index, toMove());
+    }
+
+    void undo() {
+        int index = moves[--count];
+        hash ^= Zobrist.key(grid[index / SIZE][index % SIZE], index);
+        grid[index / SIZE][index % SIZE] = 0;
+    }
+
+    private void place(int index, int color) {
+        grid[index / SIZE][index % SIZE] = color;
+        hash ^= Zobrist.key(color, index);
+        moves[count++] = index;
+    }
+
+    /** i번째로 놓인 돌의 칸. */
+    int move(int i) {
+        return moves[i];
+    }
+
+    /** 빈칸 index에 color를 둔다고 볼 때 방향 d의 창 값(LineShapes). */
+    int pattern(int index, int d, int color) {
+        int x = index % SIZE, y = index / SIZE;
+        int p = 0;
+        for (int k = 0; k < 8; k++) {
+            int step = LineShapes.offset(k);
+            int cx = x + DX[d] * step, cy = y + DY[d] * step;
+            int v;
+            if (cx < 0 || cx >= SIZE || cy < 0 || cy >= SIZE) {
+                v = LineShapes.BLOCKED;
+            } else {
+                int c = grid[cy][cx];
+                v = c == 0 ? LineShapes.EMPTY : c == color ? LineShapes.OWN : LineShapes.BLOCKED;
+            }
+            p += v * LineShapes.WEIGHT[k];
+        }
+        return p;
+    }
+
+    /** 창 안 순번 k의 칸(판 밖이면 -1). */
+    static int cellAt(int index, int d, int k) {
+        int step = LineShapes.offset(k);
+        int x = index % SIZE + DX[d] * step, y = index / SIZE + DY[d] * step;
+        return x < 0 || x >= SIZE || y < 0 || y >= SIZE ? -1 : y * SIZE + x;
+    }
+}
@@ -0,0 +1,52 @@
+package org.scoula.ai;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.cluster.ClusterClient;
+import org.scoula.cluster.RoomOwnership;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * AI 상대 앉히기. 방 멤버만 부를 수 있고, 혼자 기다리는 방(대국 전)에만 앉는다.
+ * 이후 READY·착수는 AI가 방 안에서 스스로 한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/rooms")
+public class AiController {
+
+    private final AiPlayerService aiPlayerService;
+    private final RoomOwnership ownership;
+    private final ClusterClient clusterClient;
+
+    public AiController(AiPlayerService aiPlayerService, RoomOwnership ownership, ClusterClient clusterClient) {
+        this.aiPlayerService = aiPlayerService;
+        this.ownership = ownership;
+        this.clusterClient = clusterClient;
+    }
+
+    @PostMapping("/{roomId}/ai")
+    public ResponseEntity<?> seat(@PathVariable String roomId, Authentication authentication,
+                                  HttpServletRequest request) {
+        // 클러스터 모드에서 다른 노드가 주인인 방이면 그 노드로 한 번만 중계한다(RoomController와 같은 규칙).
+        if (!ownership.isLocal(roomId) && request.getHeader(ClusterClient.FORWARDED_HEADER) == null) {
+            return clusterClient.proxy(ownership.ownerOf(roomId), request, null);
+        }
+        String principal = authentication.getName();
+        return switch (aiPlayerService.seat(roomId, principal)) {
+            case SEATED -> ResponseEntity.ok("AI joined");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case NOT_MEMBER -> {
+                log.warn("[AI_SEAT_FAIL] reason=NOT_MEMBER principal={} roomId={}", principal, roomId);
+                yield ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not a member of the room");
+            }
+            case UNAVAILABLE -> ResponseEntity.status(HttpStatus.CONFLICT).body("Room is full or already playing");
+        };
+    }
+}
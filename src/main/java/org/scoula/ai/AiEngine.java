@@ -0,0 +1,41 @@
+package org.scoula.ai;
+
+import org.scoula.room.service.RuleEngine;
+
+/**
+ * AI 착수 엔진. 방 판(착수 순번)을 받아 둘 칸을 고른다. 흑이면 RuleEngine 금수(3-3·4-4·장목)에 걸리는 칸은 고르지 않는다.
+ * 치환표(TranspositionTable)는 엔진 하나를 쓰는 모든 탐색이 함께 쓴다. 잠금이 없고 깨진 칸은 버려지므로
+ * 여러 탐색 스레드가 동시에 choose를 불러도 된다(판·후보 배열은 탐색마다 따로 만든다).
+ */
+public class AiEngine {
+
+    /** 고른 칸(index = y*15 + x)과 고른 방법(FIVE·BLOCK·OPEN_FOUR·VCF·VCT·SEARCH·OPENING), 알파베타가 마친 깊이, 본 노드 수. */
+    public record Move(int index, String kind, int depth, long nodes) {
+    }
+
+    private final RuleEngine rules;
+    private final TranspositionTable table;
+    private final int maxDepth;
+
+    public AiEngine(RuleEngine rules, int tableEntries, int maxDepth) {
+        this.rules = rules;
+        this.table = new TranspositionTable(tableEntries);
+        this.maxDepth = maxDepth;
+    }
+
+    /** 차례인 쪽(착수 수 홀짝)의 수를 budgetNanos 안에 고른다. 둘 곳이 없으면 index = -1. */
+    public Move choose(int[][] roomBoard, long budgetNanos) {
+        AiSearch.Decision d = new AiSearch(AiBoard.of(roomBoard), rules, table, maxDepth).choose(budgetNanos);
+        return new Move(d.index(), d.kind(), d.depth(), d.nodes());
+    }
+
+    /** 탐색 없이 모양 점수만으로 고른다. 탐색 풀이 가득 찼을 때 쓴다. */
+    public Move quick(int[][] roomBoard) {
+        AiSearch.Decision d = new AiSearch(AiBoard.of(roomBoard), rules, table, 0).choose(0);
+        return new Move(d.index(), d.kind(), d.depth(), d.nodes());
+    }
+
+    public int tableCapacity() {
+        return table.capacity();
+    }
+}
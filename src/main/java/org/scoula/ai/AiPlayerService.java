@@ -0,0 +1,190 @@
+package org.scoula.ai;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.MoveLog;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameEvents;
+import org.scoula.room.service.RoomService;
+import org.scoula.room.service.RoomShardExecutor;
+import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.RuleEngine;
+import org.scoula.room.service.SeatAutomation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * AI 자리. 방에 의사 principal(PRINCIPAL)로 앉아 사람과 같은 경로(processReady·processMove)로 둔다.
+ * - 차례가 오면(SeatAutomation.turnChanged, room 락 안) 판을 복사해 탐색 풀에 넘기고 바로 돌아온다.
+ *   탐색은 한 수에 move-time까지 쓰고, 결과는 방 소유 샤드에서 processMove로 둔다. 그 사이 차례가 지났거나
+ *   새 대국이 시작됐으면(MoveLog가 바뀜) 버린다.
+ * - 풀(threads개, 대기 queue개)이 가득 차면 탐색 없이 모양 점수만으로 그 자리에서 고른다(방이 멈추지 않게).
+ * - 사람이 READY하면 따라서 READY한다. 사람이 모두 나간 방에서는 sweep이 자리를 비운다.
+ * 치환표는 모든 AI 대국이 함께 쓴다(AiEngine).
+ */
+@Slf4j
+@Service
+public class AiPlayerService implements SeatAutomation {
+
+    /** AI 자리의 principal. 회원(숫자)·게스트("guest-…") principal과 겹치지 않는다. */
+    public static final String PRINCIPAL = "ai";
+    static final Player PLAYER = new Player("ai", "AI");
+
+    /** seat 결과. */
+    public enum Seat { SEATED, NOT_FOUND, NOT_MEMBER, UNAVAILABLE }
+
+    private final RoomService roomService;
+    private final RoomShardExecutor roomShards;
+    // RoomSocketService가 이 빈(SeatAutomation)에 의존하므로 쓸 때 꺼낸다.
+    private final Supplier<RoomSocketService> sockets;
+    private final AiEngine engine;
+    private final ThreadPoolExecutor pool;
+    private final long budgetNanos;
+    private final AtomicLong searched = new AtomicLong();
+    private final AtomicLong quick = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+
+    @Autowired
+    public AiPlayerService(RoomService roomService, RoomShardExecutor roomShards,
+                           ObjectProvider<RoomSocketService> sockets, RuleEngine rules,
+                           @Value("${omok.ai.threads:2}") int threads,
+                           @Value("${omok.ai.queue:16}") int queue,
+                           @Value("${omok.ai.move-time:1s}") Duration moveTime,
+                           @Value("${omok.ai.max-depth:12}") int maxDepth,
+                           @Value("${omok.ai.tt-entries:1048576}") int tableEntries) {
+        this(roomService, roomShards, sockets::getObject, new AiEngine(rules, tableEntries, maxDepth),
+                threads, queue, moveTime);
+    }
+
+    AiPlayerService(RoomService roomService, RoomShardExecutor roomShards, Supplier<RoomSocketService> sockets,
+                    AiEngine engine, int threads, int queue, Duration moveTime) {
+        this.roomService = roomService;
+        this.roomShards = roomShards;
+        this.sockets = sockets;
+        this.engine = engine;
+        this.budgetNanos = moveTime.toNanos();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)), r -> {
+            Thread t = new Thread(r, "ai-search-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static boolean isAi(String principal) {
+        return PRINCIPAL.equals(principal);
+    }
+
+    /** 멤버 principal이 부른 방에 AI를 앉힌다(방 소유 샤드에서 실행). 사람이 한 명뿐이고 대국 중이 아니어야 한다. */
+    public Seat seat(String roomId, String principal) {
+        return roomShards.call(roomId, () -> {
+            Room room = roomService.getRoom(roomId);
+            if (room == null) return Seat.NOT_FOUND;
+            if (!room.isMember(principal)) return Seat.NOT_MEMBER;
+            if (room.isPlaying() || room.getPlayers().size() != 1 || room.isMember(PRINCIPAL)) return Seat.UNAVAILABLE;
+            if (roomService.joinRoom(roomId, PLAYER, room.getPassword(), PRINCIPAL) != 1) return Seat.UNAVAILABLE;
+            GameEvents.emit("AI_SEAT", roomId, "by", principal);
+            return Seat.SEATED;
+        });
+    }
+
+    // room 락 안에서 불린다. AI 차례면 판을 복사해 탐색을 넘긴다.
+    @Override
+    public void turnChanged(Room room) {
+        if (!room.isPlaying()) return;
+        int turn = room.getTurn();
+        if (!isAi(turn % 2 == 1 ? room.blackPrincipal() : room.whitePrincipal())) return;
+        String roomId = room.getRoomId();
+        MoveLog game = room.getMoveLog();
+        int[][] board = new int[15][];
+        for (int y = 0; y < 15; y++) board[y] = room.getBoard()[y].clone();
+        try {
+            pool.execute(() -> {
+                AiEngine.Move move = engine.choose(board, budgetNanos);
+                searched.incrementAndGet();
+                play(roomId, turn, game, move);
+            });
+        } catch (RejectedExecutionException e) {
+            quick.incrementAndGet();
+            log.warn("[AI_BUSY] roomId={} turn={} queued={} : quick move", roomId, turn, pool.getQueue().size());
+            play(roomId, turn, game, engine.quick(board));
+        }
+    }
+
+    // room 락 안에서 불린다. 사람이 READY하면 AI도 READY해 ready가 2가 되게 한다.
+    @Override
+    public void readied(Room room, String principal) {
+        if (isAi(principal) || !room.isMember(PRINCIPAL) || room.getReady() != 1) return;
+        String roomId = room.getRoomId();
+        roomShards.execute(roomId, () -> sockets.get().processReady(roomId, PRINCIPAL));
+    }
+
+    private void play(String roomId, int turn, MoveLog game, AiEngine.Move move) {
+        if (move.index() < 0) {
+            log.warn("[AI_NO_MOVE] roomId={} turn={}", roomId, turn);
+            return;
+        }
+        log.debug("[AI_MOVE] roomId={} turn={} index={} kind={} depth={} nodes={}", roomId, turn, move.index(),
+                move.kind(), move.depth(), move.nodes());
+        roomShards.execute(roomId, () -> {
+            Room room = roomService.getRoom(roomId);
+            if (room == null) return;
+            synchronized (room) {
+                if (!room.isPlaying() || room.getTurn() != turn || room.getMoveLog() != game) {
+                    stale.incrementAndGet();
+                    return;
+                }
+                sockets.get().processMove(roomId, PRINCIPAL, move.index());
+            }
+        });
+    }
+
+    /** 사람이 모두 나간 방에서 AI 자리를 비운다. 마지막 자리가 비면 방도 사라진다(leaveRoom 규칙). */
+    @Scheduled(fixedDelayString = "${omok.ai.sweep-interval:30s}")
+    public void sweep() {
+        for (Room room : roomService.getRoomList()) {
+            if (!room.isMember(PRINCIPAL)) continue;
+            String roomId = room.getRoomId();
+            roomShards.execute(roomId, () -> releaseIfAlone(roomId));
+        }
+    }
+
+    void releaseIfAlone(String roomId) {
+        Room room = roomService.getRoom(roomId);
+        if (room == null || !room.isMember(PRINCIPAL) || room.memberPrincipals().size() > 1) return;
+        roomService.leaveRoom(roomId, room.playerIdOf(PRINCIPAL));
+        GameEvents.emit("AI_RELEASE", roomId);
+    }
+
+    /** 탐색으로 둔 수 / 풀이 가득 차 모양 점수로 둔 수 / 두기 전에 차례가 지나 버린 수. */
+    public long searched() {
+        return searched.get();
+    }
+
+    public long quick() {
+        return quick.get();
+    }
+
+    public long stale() {
+        return stale.get();
+    }
+}
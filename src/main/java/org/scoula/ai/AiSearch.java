@@ -0,0 +1,558 @@
+package org.scoula.ai;
+
+import org.scoula.room.service.RuleEngine;
+
+import static org.scoula.ai.AiBoard.BLACK;
+import static org.scoula.ai.AiBoard.CELLS;
+import static org.scoula.ai.AiBoard.SIZE;
+import static org.scoula.ai.LineShapes.FIVE;
+import static org.scoula.ai.LineShapes.FOUR;
+import static org.scoula.ai.LineShapes.OPEN_FOUR;
+import static org.scoula.ai.LineShapes.OPEN_THREE;
+
+/**
+ * 한 수를 고르는 탐색 한 번. 탐색 스레드 하나가 만들어 쓰고 버린다(판·후보 배열을 공유하지 않는다).
+ * 순서: 내 오 → 상대 사 막기 → 내 열린 사 → VCF(연속 사) → VCT(사·열린 삼 연속) → 반복 심화 알파베타.
+ * 각 단계는 전체 시간 예산의 일부만 쓰고, 알파베타는 남은 시간 동안 깊이를 하나씩 늘리며 끝까지 마친 깊이의 수를 쓴다.
+ * 후보는 돌에서 두 칸 안의 빈칸이고 LineShapes 모양 점수(공격 + 수비)로 정렬한다. 흑 후보는 사·삼이 둘 이상 겹칠 때만
+ * RuleEngine.isForbidden으로 거른다(금수는 그런 칸에서만 생긴다). 장목은 마지막에 고른 수에서 한 번 더 확인한다.
+ */
+final class AiSearch {
+
+    static final int WIN = 1_000_000;
+    private static final int WIN_THRESHOLD = WIN - 1_000;
+    private static final int INF = WIN + 1;
+    private static final int CENTER = 7 * SIZE + 7;
+    private static final int MAX_PLY = 64;
+    // 알파베타 노드마다 보는 후보 수, VCT 공격 후보 수.
+    private static final int WIDTH = 12;
+    private static final int VCT_WIDTH = 8;
+    private static final int VCF_DEPTH = 12;
+    private static final int VCT_DEPTH = 4;
+    private static final int VCT_INNER_VCF_DEPTH = 6;
+    private static final int[] SHAPE_SCORE = {0, 10, 40, 60, 400, 500, 10_000, 100_000};
+
+    /** 고른 수와 어떻게 골랐는지. depth는 알파베타가 끝까지 마친 깊이(다른 단계면 0). */
+    record Decision(int index, String kind, int depth, long nodes) {
+    }
+
+    // 시간이 다 되면 던져 탐색을 한 번에 빠져나온다. 스택 추적을 만들지 않는다.
+    private static final class Timeout extends RuntimeException {
+        Timeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final Timeout TIMEOUT = new Timeout();
+
+    private final AiBoard board;
+    private final RuleEngine rules;
+    private final TranspositionTable tt;
+    private final int maxDepth;
+    private final int[][] moves = new int[MAX_PLY][CELLS];
+    private final int[][] scores = new int[MAX_PLY][CELLS];
+    private final int[] stamp = new int[CELLS];
+    private int stampGen;
+    private long deadline;
+    private long nodes;
+    private int rootMove;
+
+    // gen()이 남기는 요약. 부른 직후(재귀 전)에만 읽는다.
+    private int myFive, myOpenFour, oppFive, oppFiveCount;
+    private int sumMe, sumOpp;
+
+    AiSearch(AiBoard board, RuleEngine rules, TranspositionTable tt, int maxDepth) {
+        this.board = board;
+        this.rules = rules;
+        this.tt = tt;
+        this.maxDepth = Math.min(maxDepth, MAX_PLY - 8);
+    }
+
+    Decision choose(long budgetNanos) {
+        long started = System.nanoTime();
+        int me = board.toMove();
+        if (board.count() == 0) return new Decision(CENTER, "OPENING", 0, 0);
+
+        int n = gen(0, me);
+        if (n == 0) return new Decision(-1, "NONE", 0, nodes);
+        if (myFive >= 0) return new Decision(myFive, "FIVE", 0, nodes);
+        int fallback = best(0, n);
+        if (oppFiveCount > 0) {
+            return new Decision(legal(oppFive, me) ? oppFive : fallback, "BLOCK", 0, nodes);
+        }
+        if (myOpenFour >= 0) return new Decision(myOpenFour, "OPEN_FOUR", 0, nodes);
+
+        deadline = started + budgetNanos / 10;
+        int found = threat(() -> vcf(VCF_DEPTH, 1));
+        if (found >= 0 && legal(found, me)) return new Decision(found, "VCF", 0, nodes);
+        deadline = started + budgetNanos * 4 / 10;
+        found = threat(() -> vct(VCT_DEPTH, 1));
+        if (found >= 0 && legal(found, me)) return new Decision(found, "VCT", 0, nodes);
+
+        deadline = started + budgetNanos;
+        int chosen = fallback;
+        int completed = 0;
+        int count = board.count();
+        for (int depth = 2; depth <= maxDepth; depth++) {
+            try {
+                int score = search(depth, -INF, INF, 0);
+                if (rootMove >= 0) chosen = rootMove;
+                completed = depth;
+                if (score > WIN_THRESHOLD || score < -WIN_THRESHOLD) break;
+            } catch (Timeout e) {
+                while (board.count() > count) board.undo();
+                break;
+            }
+            // 다음 깊이는 보통 이번보다 몇 배 걸린다. 남은 시간이 지금까지 쓴 것보다 적으면 시작하지 않는다.
+            long now = System.nanoTime();
+            if (deadline - now < now - started) break;
+        }
+        if (!legal(chosen, me)) chosen = firstLegal(n, me);
+        return new Decision(chosen, "SEARCH", completed, nodes);
+    }
+
+    private interface ThreatProbe {
+        int run();
+    }
+
+    // 위협 탐색 한 단계. 시간이 다 되면 못 찾은 것으로 본다. 중간에 빠져나와도 판은 play/undo 짝이 맞도록 되돌린다.
+    private int threat(ThreatProbe probe) {
+        int count = board.count();
+        try {
+            return probe.run();
+        } catch (Timeout e) {
+            while (board.count() > count) board.undo();
+            return -1;
+        }
+    }
+
+    // ── 알파베타 ──────────────────────────────────────────────────────────────
+
+    private int search(int depth, int alpha, int beta, int ply) {
+        tick();
+        if (ply == 0) rootMove = -1;
+        if (board.count() == CELLS) return 0;
+        int me = board.toMove();
+        long key = board.hash();
+        int ttMove = -1;
+        long entry = tt.probe(key);
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int s = fromTable(TranspositionTable.score(entry), ply);
+                int flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT
+                        || (flag == TranspositionTable.LOWER && s >= beta)
+                        || (flag == TranspositionTable.UPPER && s <= alpha)) return s;
+            }
+        }
+
+        int n = gen(ply, me);
+        if (n == 0) return 0;
+        if (myFive >= 0) {
+            if (ply == 0) rootMove = myFive;
+            return WIN - ply;
+        }
+        if (oppFiveCount >= 2) {
+            if (ply == 0) rootMove = oppFive;
+            return -(WIN - ply - 1);
+        }
+        int[] list = moves[ply];
+        if (oppFiveCount == 1) {
+            // 막을 곳이 한 칸뿐이다. 깊이를 줄이지 않고 그 수만 본다. 흑이 금수라 막을 수 없으면 진다.
+            if (!legal(oppFive, me)) {
+                if (ply == 0) rootMove = oppFive;
+                return -(WIN - ply - 1);
+            }
+            list[0] = oppFive;
+            n = 1;
+        } else if (myOpenFour >= 0) {
+            if (ply == 0) rootMove = myOpenFour;
+            return WIN - ply - 2;
+        } else if (depth <= 0 || ply >= MAX_PLY - 2) {
+            return sumMe * 4 / 3 - sumOpp;
+        } else {
+            n = order(ply, n, ttMove);
+        }
+
+        int original = alpha;
+        int best = -INF;
+        int bestMove = list[0];
+        for (int i = 0; i < n; i++) {
+            int m = list[i];
+            board.play(m);
+            int v = -search(depth - 1, -beta, -alpha, ply + 1);
+            board.undo();
+            if (v > best) {
+                best = v;
+                bestMove = m;
+                if (ply == 0) rootMove = m;
+            }
+            if (v > alpha) alpha = v;
+            if (alpha >= beta) break;
+        }
+        int flag = best <= original ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        tt.store(key, toTable(best, ply), Math.max(depth, 0), flag, bestMove);
+        return best;
+    }
+
+    // 표에는 이 노드 기준 승패 거리로 넣고, 꺼낼 때 현재 ply 기준으로 되돌린다.
+    private static int toTable(int score, int ply) {
+        return score > WIN_THRESHOLD ? score + ply : score < -WIN_THRESHOLD ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score > WIN_THRESHOLD ? score - ply : score < -WIN_THRESHOLD ? score + ply : score;
+    }
+
+    // 점수 높은 WIDTH개를 앞으로 모은다(표의 최선수는 맨 앞). 후보 수를 돌려준다.
+    private int order(int ply, int n, int ttMove) {
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        if (ttMove >= 0) {
+            for (int i = 0; i < n; i++) {
+                if (list[i] == ttMove) {
+                    score[i] = Integer.MAX_VALUE;
+                    break;
+                }
+            }
+        }
+        int limit = Math.min(WIDTH, n);
+        for (int i = 0; i < limit; i++) {
+            int top = i;
+            for (int j = i + 1; j < n; j++) if (score[j] > score[top]) top = j;
+            swap(list, score, i, top);
+        }
+        return limit;
+    }
+
+    private static void swap(int[] list, int[] score, int i, int j) {
+        int m = list[i];
+        list[i] = list[j];
+        list[j] = m;
+        int s = score[i];
+        score[i] = score[j];
+        score[j] = s;
+    }
+
+    private int best(int ply, int n) {
+        int top = 0;
+        for (int i = 1; i < n; i++) if (scores[ply][i] > scores[ply][top]) top = i;
+        return moves[ply][top];
+    }
+
+    private int firstLegal(int n, int me) {
+        gen(0, me);
+        order(0, n, -1);
+        for (int i = 0; i < Math.min(WIDTH, n); i++) {
+            if (legal(moves[0][i], me)) return moves[0][i];
+        }
+        for (int i = 0; i < CELLS; i++) if (board.isEmpty(i) && legal(i, me)) return i;
+        return -1;
+    }
+
+    /**
+     * 돌에서 두 칸 안의 빈칸을 moves[ply]에 모으고 칸마다 공격·수비 점수를 매긴다. 내 오·열린 사, 상대 오(내가 막아야 할 칸),
+     * 양쪽 점수 합(평가용)을 필드에 남긴다. 흑이 둘 수 없는 칸은 후보에서 뺀다. 후보 수를 돌려준다.
+     */
+    private int gen(int ply, int me) {
+        int opp = 3 - me;
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        int n = neighborhood(list);
+        myFive = myOpenFour = oppFive = -1;
+        oppFiveCount = 0;
+        sumMe = sumOpp = 0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int c = list[i];
+            int sm = summarize(c, me);
+            int so = summarize(c, opp);
+            boolean legalMe = me != BLACK || blackLegal(c, sm);
+            boolean legalOpp = opp != BLACK || blackLegal(c, so);
+            if (legalOpp && count(so, FIVE) > 0) {
+                oppFiveCount++;
+                oppFive = c;
+            }
+            int defend = legalOpp ? score(so) : 0;
+            sumOpp += defend;
+            if (!legalMe) continue;
+            int attack = score(sm);
+            sumMe += attack;
+            if (count(sm, FIVE) > 0) myFive = c;
+            else if (myOpenFour < 0 && winningFour(sm)) myOpenFour = c;
+            list[k] = c;
+            score[k] = attack + defend * 9 / 10;
+            k++;
+        }
+        return k;
+    }
+
+    // 돌에서 두 칸 안의 빈칸. 빈 판이면 가운데.
+    private int neighborhood(int[] out) {
+        int gen = ++stampGen;
+        int n = 0;
+        int count = board.count();
+        if (count == 0) {
+            out[0] = CENTER;
+            return 1;
+        }
+        for (int i = 0; i < count; i++) {
+            int s = board.move(i);
+            int sx = s % SIZE, sy = s / SIZE;
+            for (int y = Math.max(0, sy - 2); y <= Math.min(SIZE - 1, sy + 2); y++) {
+                for (int x = Math.max(0, sx - 2); x <= Math.min(SIZE - 1, sx + 2); x++) {
+                    int c = y * SIZE + x;
+                    if (stamp[c] == gen || board.grid[y][x] != 0) continue;
+                    stamp[c] = gen;
+                    out[n++] = c;
+                }
+            }
+        }
+        return n;
+    }
+
+    // 네 방향 모양 개수를 모양마다 4비트씩 묶은 값.
+    private int summarize(int c, int color) {
+        boolean black = color == BLACK;
+        int sum = 0;
+        for (int d = 0; d < 4; d++) sum += 1 << (LineShapes.shape(board.pattern(c, d, color), black) * 4);
+        return sum;
+    }
+
+    private static int count(int summary, int shape) {
+        return (summary >>> (shape * 4)) & 0xF;
+    }
+
+    private static int fours(int summary) {
+        return count(summary, FOUR) + count(summary, OPEN_FOUR);
+    }
+
+    // 열린 사 또는 두 줄의 사: 상대가 한 수로 다 막을 수 없다.
+    private static boolean winningFour(int summary) {
+        return count(summary, OPEN_FOUR) > 0 || fours(summary) >= 2;
+    }
+
+    private static int score(int summary) {
+        int s = 0;
+        for (int shape = 1; shape <= FIVE; shape++) s += count(summary, shape) * SHAPE_SCORE[shape];
+        int fours = fours(summary);
+        int threes = count(summary, OPEN_THREE);
+        if (fours >= 2 || (fours >= 1 && threes >= 1)) s += 5_000;
+        else if (threes >= 2) s += 2_000;
+        return s;
+    }
+
+    // 흑이 c에 둘 수 있는가. 정확한 오는 금수보다 앞서고, 금수(3-3·4-4)는 사·삼이 둘 이상 겹칠 때만 생긴다.
+    private boolean blackLegal(int c, int summary) {
+        if (count(summary, FIVE) > 0) return true;
+        if (fours(summary) >= 2 || count(summary, OPEN_THREE) >= 2) return !rules.isForbidden(board.grid, c);
+        return true;
+    }
+
+    // 최종 수 확인: 흑이면 장목까지 RuleEngine으로 판정한다.
+    private boolean legal(int c, int color) {
+        if (c < 0 || !board.isEmpty(c)) return false;
+        return color != BLACK || !rules.isForbidden(board.grid, c);
+    }
+
+    // ── 위협 탐색 ─────────────────────────────────────────────────────────────
+
+    /**
+     * VCF: 차례인 쪽이 사만 연달아 두어 이기는 첫 수. 없으면 -1.
+     * 상대는 매번 한 칸뿐인 오 자리를 막아야 하고, 막은 수가 상대의 사가 되면 그 갈래는 실패로 본다(보수적).
+     * 흑 상대가 막을 자리가 금수면 막지 못하므로 이긴다.
+     */
+    private int vcf(int depth, int ply) {
+        tick();
+        int att = board.toMove();
+        int def = 3 - att;
+        int n = fourMoves(ply, att);
+        if (n < 0) return moves[ply][0]; // 바로 이기는 사(열린 사·두 줄 사)
+        int[] list = moves[ply];
+        for (int i = 0; i < n; i++) {
+            int m = list[i];
+            board.play(m);
+            int block = singleFivePoint(m, att);
+            boolean win = block < 0 || (def == BLACK && !blackCanBlock(block));
+            boolean success = win;
+            if (!win && depth > 1) {
+                board.play(block);
+                success = !hasFivePoint(block, def) && vcf(depth - 1, ply + 1) >= 0;
+                board.undo();
+            }
+            board.undo();
+            if (success) return m;
+        }
+        return -1;
+    }
+
+    /**
+     * VCT: 사나 열린 삼으로 몰아 이기는 첫 수. 없으면 -1. 각 단계에서 먼저 VCF를 본다.
+     * 상대 응수는 사면 오 자리, 열린 삼이면 그 줄이 사가 되는 칸들, 그리고 상대 자신의 사(역공) 모두이며,
+     * 모든 응수에 대해 다시 VCT가 이어져야 성공이다.
+     */
+    private int vct(int depth, int ply) {
+        tick();
+        int found = vcf(depth == VCT_DEPTH ? VCF_DEPTH : VCT_INNER_VCF_DEPTH, ply);
+        if (found >= 0) return found;
+        if (depth <= 1 || ply >= MAX_PLY - 4) return -1;
+        int att = board.toMove();
+        int def = 3 - att;
+        int n = threatMoves(ply, att);
+        int[] list = moves[ply];
+        for (int i = 0; i < n; i++) {
+            int m = list[i];
+            board.play(m);
+            int replies = defenses(m, att, ply + 1);
+            boolean refuted = false;
+            for (int j = 0; j < replies && !refuted; j++) {
+                int e = moves[ply + 1][j];
+                if (def == BLACK && !blackCanBlock(e)) continue;
+                board.play(e);
+                refuted = hasFivePoint(e, def) || vct(depth - 1, ply + 2) < 0;
+                board.undo();
+            }
+            board.undo();
+            if (!refuted) return m;
+        }
+        return -1;
+    }
+
+    // att의 사 후보를 moves[ply]에 점수순으로. 바로 이기는 수가 있으면 moves[ply][0]에 두고 -1.
+    private int fourMoves(int ply, int att) {
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        int n = neighborhood(list);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int c = list[i];
+            int sm = summarize(c, att);
+            if (fours(sm) == 0 && count(sm, FIVE) == 0) continue;
+            if (att == BLACK && !blackLegal(c, sm)) continue;
+            if (count(sm, FIVE) > 0 || winningFour(sm)) {
+                list[0] = c;
+                return -1;
+            }
+            list[k] = c;
+            score[k] = score(sm);
+            k++;
+        }
+        sortAll(list, score, k);
+        return k;
+    }
+
+    // att의 사·열린 삼 후보 중 점수 높은 VCT_WIDTH개.
+    private int threatMoves(int ply, int att) {
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        int n = neighborhood(list);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int c = list[i];
+            int sm = summarize(c, att);
+            if (fours(sm) == 0 && count(sm, OPEN_THREE) == 0) continue;
+            if (att == BLACK && !blackLegal(c, sm)) continue;
+            list[k] = c;
+            score[k] = score(sm);
+            k++;
+        }
+        sortAll(list, score, k);
+        return Math.min(k, VCT_WIDTH);
+    }
+
+    // att가 방금 m에 둔 위협에 대한 상대 응수 후보를 moves[ply]에. 막을 수 없으면 0.
+    private int defenses(int m, int att, int ply) {
+        int[] out = moves[ply];
+        int gen = ++stampGen;
+        int k = 0;
+        boolean black = att == BLACK;
+        boolean four = false;
+        for (int d = 0; d < 4; d++) {
+            int points = LineShapes.fivePoints(board.pattern(m, d, att), black);
+            for (int b = 0; b < 8; b++) {
+                if ((points & (1 << b)) == 0) continue;
+                int c = AiBoard.cellAt(m, d, b);
+                if (c < 0 || stamp[c] == gen) continue;
+                stamp[c] = gen;
+                out[k++] = c;
+                four = true;
+            }
+        }
+        if (four) return k >= 2 ? 0 : k;
+        for (int d = 0; d < 4; d++) {
+            int pattern = board.pattern(m, d, att);
+            if (LineShapes.shape(pattern, black) != OPEN_THREE) continue;
+            int points = LineShapes.fourPoints(pattern, black);
+            for (int b = 0; b < 8; b++) {
+                if ((points & (1 << b)) == 0) continue;
+                int c = AiBoard.cellAt(m, d, b);
+                if (c < 0 || stamp[c] == gen || !board.isEmpty(c)) continue;
+                stamp[c] = gen;
+                out[k++] = c;
+            }
+        }
+        // 상대의 역공(자기 사). 두면 공격 쪽이 막아야 하므로 응수로 센다.
+        int def = 3 - att;
+        int[] near = scores[ply];
+        int n = neighborhood(near);
+        for (int i = 0; i < n; i++) {
+            int c = near[i];
+            if (stamp[c] == gen) continue;
+            int sd = summarize(c, def);
+            if (fours(sd) > 0 || count(sd, FIVE) > 0) out[k++] = c;
+        }
+        return k;
+    }
+
+    // 방금 m에 둔 color 돌을 지나는 오 자리. 한 칸이면 그 칸, 두 칸 이상이면(막을 수 없음) -1.
+    private int singleFivePoint(int m, int color) {
+        boolean black = color == BLACK;
+        int found = -1;
+        for (int d = 0; d < 4; d++) {
+            int points = LineShapes.fivePoints(board.pattern(m, d, color), black);
+            for (int b = 0; b < 8; b++) {
+                if ((points & (1 << b)) == 0) continue;
+                int c = AiBoard.cellAt(m, d, b);
+                if (c < 0 || c == found) continue;
+                if (found >= 0) return -1;
+                found = c;
+            }
+        }
+        return found;
+    }
+
+    private boolean hasFivePoint(int m, int color) {
+        boolean black = color == BLACK;
+        for (int d = 0; d < 4; d++) {
+            if (LineShapes.fivePoints(board.pattern(m, d, color), black) != 0) return true;
+        }
+        return false;
+    }
+
+    private boolean blackCanBlock(int c) {
+        return !rules.isForbidden(board.grid, c);
+    }
+
+    private static void sortAll(int[] list, int[] score, int n) {
+        for (int i = 1; i < n; i++) {
+            int m = list[i], s = score[i], j = i - 1;
+            while (j >= 0 && score[j] < s) {
+                list[j + 1] = list[j];
+                score[j + 1] = score[j];
+                j--;
+            }
+            list[j + 1] = m;
+            score[j + 1] = s;
+        }
+    }
+
+    private void tick() {
+        if ((++nodes & 255) == 0 && System.nanoTime() > deadline) throw TIMEOUT;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+}
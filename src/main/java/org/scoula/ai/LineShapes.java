@@ -0,0 +1,143 @@
+package org.scoula.ai;
+
+import java.util.Arrays;
+
+/**
+ * 한 줄 모양 표. 빈칸 하나에 돌을 둔다고 보고, 그 칸을 가운데로 한 줄 ±4칸(8칸)을 칸마다 빈칸·내 돌·막힘(상대 돌 또는 판 밖)
+ * 3진수로 묶은 값(3^8 = 6561가지)을 모양 하나로 바꾼다. 표는 클래스 로딩 때 한 번 만든다.
+ * - 오: 가운데를 지나 내 돌이 5개 이어진다(흑은 정확히 5, 백은 5 이상).
+ * - 열린 사 / 사: 한 수로 오가 되는 빈칸이 둘 이상 / 하나.
+ * - 열린 삼 / 삼: 한 수로 열린 사 / 사가 되는 빈칸이 있다.
+ * - 열린 이 / 이: 한 수로 열린 삼 / 삼이 되는 빈칸이 있다.
+ * 창 밖(±5칸)은 보지 않으므로 흑 장목 판정은 RuleEngine.isForbidden에 맡긴다.
+ */
+final class LineShapes {
+
+    static final int NONE = 0, TWO = 1, OPEN_TWO = 2, THREE = 3, OPEN_THREE = 4, FOUR = 5, OPEN_FOUR = 6, FIVE = 7;
+
+    static final int EMPTY = 0, OWN = 1, BLOCKED = 2;
+    static final int PATTERNS = 6561;
+    // 창 안 칸 순서: -4, -3, -2, -1, +1, +2, +3, +4. 자리 k의 3진 자릿값.
+    static final int[] WEIGHT = {1, 3, 9, 27, 81, 243, 729, 2187};
+
+    private static final byte[] BLACK = build(true);
+    private static final byte[] WHITE = build(false);
+    // 오가 되는 빈칸 / 사(열린 사 포함)가 되는 빈칸의 창 안 자리 비트 집합.
+    private static final byte[] BLACK_FIVE_POINTS = points(true, true);
+    private static final byte[] WHITE_FIVE_POINTS = points(false, true);
+    private static final byte[] BLACK_FOUR_POINTS = points(true, false);
+    private static final byte[] WHITE_FOUR_POINTS = points(false, false);
+
+    private LineShapes() {
+    }
+
+    /** 창 값 pattern에서 가운데 칸에 black(흑이면 true)이 두었을 때의 모양. */
+    static int shape(int pattern, boolean black) {
+        return black ? BLACK[pattern] : WHITE[pattern];
+    }
+
+    /** 오가 되는 빈칸 자리(창 안 순번 0..7)의 비트 집합. 사를 막을 곳을 찾을 때 쓴다. */
+    static int fivePoints(int pattern, boolean black) {
+        return (black ? BLACK_FIVE_POINTS : WHITE_FIVE_POINTS)[pattern] & 0xFF;
+    }
+
+    /** 한 수로 사(열린 사 포함)가 되는 빈칸 자리의 비트 집합. 삼을 막을 곳을 찾을 때 쓴다. */
+    static int fourPoints(int pattern, boolean black) {
+        return (black ? BLACK_FOUR_POINTS : WHITE_FOUR_POINTS)[pattern] & 0xFF;
+    }
+
+    /** 창 안 순번(0..7)을 가운데 기준 거리(-4..-1, +1..+4)로. */
+    static int offset(int k) {
+        return k < 4 ? k - 4 : k - 3;
+    }
+
+    private static byte[] points(boolean black, boolean five) {
+        byte[] table = new byte[PATTERNS];
+        for (int p = 0; p < PATTERNS; p++) {
+            int[] cells = decode(p);
+            int points = 0;
+            for (int k = 0; k < 8; k++) {
+                if (cells[k] != EMPTY) continue;
+                cells[k] = OWN;
+                boolean hit;
+                if (five) {
+                    hit = isFive(cells, black);
+                } else {
+                    int s = shape(encode(cells), black);
+                    hit = s == OPEN_FOUR || s == FOUR;
+                }
+                if (hit) points |= 1 << k;
+                cells[k] = EMPTY;
+            }
+            table[p] = (byte) points;
+        }
+        return table;
+    }
+
+    private static byte[] build(boolean black) {
+        byte[] table = new byte[PATTERNS];
+        Arrays.fill(table, (byte) -1);
+        for (int p = 0; p < PATTERNS; p++) classify(table, p, black);
+        return table;
+    }
+
+    // 가운데에 돌을 둔 창 p의 모양. 한 칸 더 둔 창(자식)의 모양으로 정하므로 메모이제이션으로 한 번씩만 계산한다.
+    private static int classify(byte[] table, int p, boolean black) {
+        if (table[p] >= 0) return table[p];
+        int[] cells = decode(p);
+        int result;
+        if (isFive(cells, black)) {
+            result = FIVE;
+        } else {
+            int fives = 0;
+            boolean openFourNext = false, fourNext = false, openThreeNext = false, threeNext = false;
+            for (int k = 0; k < 8; k++) {
+                if (cells[k] != EMPTY) continue;
+                cells[k] = OWN;
+                int child = encode(cells);
+                cells[k] = EMPTY;
+                if (isFive(decode(child), black)) {
+                    fives++;
+                    continue;
+                }
+                int s = classify(table, child, black);
+                if (s == OPEN_FOUR) openFourNext = true;
+                else if (s == FOUR) fourNext = true;
+                else if (s == OPEN_THREE) openThreeNext = true;
+                else if (s == THREE) threeNext = true;
+            }
+            if (fives >= 2) result = OPEN_FOUR;
+            else if (fives == 1) result = FOUR;
+            else if (openFourNext) result = OPEN_THREE;
+            else if (fourNext) result = THREE;
+            else if (openThreeNext) result = OPEN_TWO;
+            else if (threeNext) result = TWO;
+            else result = NONE;
+        }
+        table[p] = (byte) result;
+        return result;
+    }
+
+    // 가운데를 지나 이어진 내 돌 수가 오인가. 가운데는 항상 내 돌이다.
+    private static boolean isFive(int[] cells, boolean black) {
+        int run = 1;
+        for (int k = 3; k >= 0 && cells[k] == OWN; k--) run++;
+        for (int k = 4; k < 8 && cells[k] == OWN; k++) run++;
+        return black ? run == 5 : run >= 5;
+    }
+
+    private static int[] decode(int p) {
+        int[] cells = new int[8];
+        for (int k = 0; k < 8; k++) {
+            cells[k] = p % 3;
+            p /= 3;
+        }
+        return cells;
+    }
+
+    private static int encode(int[] cells) {
+        int p = 0;
+        for (int k = 0; k < 8; k++) p += cells[k] * WEIGHT[k];
+        return p;
+    }
+}
@@ -0,0 +1,61 @@
+package org.scoula.ai;
+
+/**
+ * Zobrist 해시 → (점수, 깊이, 경계 종류, 최선수) 표. 여러 AI 대국이 함께 쓰는 고정 크기 배열 두 개이며 잠그지 않는다.
+ * 칸마다 key ^ data와 data를 따로 쓰고, 읽을 때 둘을 XOR해 key가 맞을 때만 쓴다. 다른 스레드가 두 쓰기 사이에
+ * 끼어들어 찢어진 칸은 key가 맞지 않아 버려진다(lockless hashing). 충돌하면 새 값으로 덮는다.
+ */
+final class TranspositionTable {
+
+    static final int EXACT = 1, LOWER = 2, UPPER = 3;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(1024, entries));
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /** 맞는 칸의 data, 없으면 0. */
+    long probe(long key) {
+        int i = (int) key & mask;
+        long d = data[i];
+        return d != 0 && (keys[i] ^ d) == key ? d : 0;
+    }
+
+    void store(long key, int score, int depth, int flag, int move) {
+        long d = pack(score, depth, flag, move);
+        int i = (int) key & mask;
+        data[i] = d;
+        keys[i] = key ^ d;
+    }
+
+    // 하위 32비트 점수, 32..39 최선수+1(0이면 없음), 40..47 깊이, 48..49 경계 종류.
+    static long pack(int score, int depth, int flag, int move) {
+        return (score & 0xFFFF_FFFFL) | ((long) (move + 1) << 32) | ((long) depth << 40) | ((long) flag << 48);
+    }
+
+    static int score(long d) {
+        return (int) d;
+    }
+
+    static int move(long d) {
+        return (int) ((d >>> 32) & 0xFF) - 1;
+    }
+
+    static int depth(long d) {
+        return (int) ((d >>> 40) & 0xFF);
+    }
+
+    static int flag(long d) {
+        return (int) ((d >>> 48) & 0x3);
+    }
+}
@@ -0,0 +1,28 @@
+package org.scoula.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * 칸·색마다 고정된 64비트 난수. 판 해시는 놓인 돌의 키를 XOR한 값이라 착수·무르기마다 한 번의 XOR로 갱신된다.
+ * 정석 책(opening)도 같은 키를 쓰므로 시드를 바꾸면 책 파일을 다시 만들어야 한다.
+ */
+public final class Zobrist {
+
+    // 시드를 고정해 재기동해도 같은 판이 같은 해시가 되게 한다(로그·재현용).
+    private static final long[][] KEYS = new long[3][AiBoard.CELLS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_0F_0E0FL);
+        for (int color = 1; color <= 2; color++) {
+            for (int i = 0; i < AiBoard.CELLS; i++) KEYS[color][i] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /** color는 1(흑)·2(백), index = y*15 + x. */
+    public static long key(int color, int index) {
+        return KEYS[color][index];
+    }
+}
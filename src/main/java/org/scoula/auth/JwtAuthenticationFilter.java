@@ -6,7 +6,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.scoula.user.Role;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,14 +30,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             try {
                 // access 토큰만 인가에 허용한다. refresh 토큰을 Bearer로 보내면
                 // 30분 만료를 우회해 14일 유효 토큰으로 상시 접근하게 된다.
-                if (!jwtProvider.isAccessToken(token)) {
+                VerifiedToken verified = jwtProvider.verify(token);
+                if (!verified.isAccess()) {
                     filterChain.doFilter(request, response);
                     return;
                 }
-                String subject = jwtProvider.getSubject(token);
-                Role role = jwtProvider.getRole(token);
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                var authentication = new UsernamePasswordAuthenticationToken(subject, null, authorities);
+                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + verified.role()));
+                var authentication = new UsernamePasswordAuthenticationToken(verified.subject(), null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (JwtException | IllegalArgumentException e) {
                 // 유효하지 않은 토큰 → 미인증 상태로 계속 (보호 경로는 이후 401)
@@ -1,9 +1,11 @@
 package org.scoula.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.scoula.user.Role;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -24,11 +26,20 @@ public class JwtProvider {
     private final SecretKey key;
     private final long accessExpMillis;
     private final long refreshExpMillis;
+    // 빌드된 JwtParser는 불변·스레드 안전하므로 한 번만 만든다.
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
 
+    public JwtProvider(String secret, long accessExpMillis, long refreshExpMillis) {
+        this(secret, accessExpMillis, refreshExpMillis, 0);
+    }
+
+    @Autowired
     public JwtProvider(
             @Value("${jwt.secret:}") String secret,
             @Value("${jwt.access-exp-millis:1800000}") long accessExpMillis,
-            @Value("${jwt.refresh-exp-millis:1209600000}") long refreshExpMillis) {
+            @Value("${jwt.refresh-exp-millis:1209600000}") long refreshExpMillis,
+            @Value("${jwt.verify-cache-size:10000}") int verifyCacheSize) {
         // 커밋된 약한 기본키를 없앤다. 미설정/약한 키로는 부팅을 실패시켜(fail-fast),
         // prod가 조용히 취약한 상태로 뜨는 것을 막는다. 로컬/CI는 JWT_SECRET 또는
         // application-test.yml로 주입한다.
@@ -39,6 +50,8 @@ public class JwtProvider {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessExpMillis = accessExpMillis;
         this.refreshExpMillis = refreshExpMillis;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cache = new VerifiedTokenCache(verifyCacheSize);
     }
 
     public String createAccessToken(String subject, Role role) {
@@ -62,36 +75,43 @@ public class JwtProvider {
         return builder.signWith(key).compact();
     }
 
-    // 서명·만료 검증 후 payload 반환. 유효하지 않으면 JwtException.
-    private Claims parse(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * 서명·만료를 검증하고 클레임을 한 번에 돌려준다. 유효하지 않으면 JwtException(role 값이 깨졌으면
+     * IllegalArgumentException). 최근에 검증한 토큰은 캐시에서 꺼내 HMAC 검증·파싱을 건너뛴다.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = cache.get(token);
+        if (cached != null) return cached;
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String role = claims.get("role", String.class);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                role == null ? null : Role.valueOf(role),
+                claims.get("typ", String.class),
+                claims.getExpiration().toInstant());
+        cache.put(token, verified);
+        return verified;
     }
 
     public String getSubject(String token) {
-        return parse(token).getSubject();
+        return verify(token).subject();
     }
 
     public Role getRole(String token) {
-        String role = parse(token).get("role", String.class);
-        return role == null ? null : Role.valueOf(role);
+        return verify(token).role();
     }
 
     /** 토큰의 typ 클레임. 서명·만료 검증 실패 시 JwtException. */
     public String getType(String token) {
-        return parse(token).get("typ", String.class);
+        return verify(token).type();
     }
 
     /** access 토큰만 인가에 허용한다(refresh를 Bearer로 재사용하지 못하게). */
     public boolean isAccessToken(String token) {
-        return TYPE_ACCESS.equals(getType(token));
+        return verify(token).isAccess();
     }
 
     public java.time.LocalDateTime getExpiration(String token) {
-        Date exp = parse(token).getExpiration();
-        return java.time.LocalDateTime.ofInstant(exp.toInstant(), java.time.ZoneId.systemDefault());
+        return java.time.LocalDateTime.ofInstant(verify(token).expiresAt(), java.time.ZoneId.systemDefault());
     }
 }
@@ -2,7 +2,6 @@ package org.scoula.auth;
 
 import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
-import org.scoula.user.Role;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -36,13 +35,12 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
             String token = bearer.substring(7);
             try {
                 // access 토큰만 principal로 바인딩(refresh 토큰 재사용 차단).
-                if (!jwtProvider.isAccessToken(token)) {
+                VerifiedToken verified = jwtProvider.verify(token);
+                if (!verified.isAccess()) {
                     return message;
                 }
-                String subject = jwtProvider.getSubject(token);
-                Role role = jwtProvider.getRole(token);
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                accessor.setUser(new UsernamePasswordAuthenticationToken(subject, null, authorities));
+                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + verified.role()));
+                accessor.setUser(new UsernamePasswordAuthenticationToken(verified.subject(), null, authorities));
             } catch (JwtException | IllegalArgumentException e) {
                 // 유효하지 않은 토큰 → principal 미설정
             }
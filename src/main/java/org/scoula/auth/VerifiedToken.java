@@ -0,0 +1,17 @@
+package org.scoula.auth;
+
+import org.scoula.user.Role;
+
+import java.time.Instant;
+
+/**
+ * 서명·만료 검증을 통과한 토큰의 클레임. JwtProvider.verify가 한 번 파싱해 돌려준다.
+ * role은 refresh 토큰이면 null.
+ */
+public record VerifiedToken(String subject, Role role, String type, Instant expiresAt) {
+
+    /** access 토큰만 인가에 허용한다(refresh를 Bearer로 재사용하지 못하게). */
+    public boolean isAccess() {
+        return JwtProvider.TYPE_ACCESS.equals(type);
+    }
+}
@@ -0,0 +1,76 @@
+package org.scoula.auth;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증이 끝난 토큰의 클레임 캐시. 같은 탭이 로비를 폴링할 때마다 HMAC 검증·JSON 파싱을 다시 하지 않게 한다.
+ * - 키는 토큰 문자열의 SHA-256 앞 128비트. 토큰 원문을 메모리에 쌓지 않는다.
+ * - 토큰의 exp가 지나면 조회 시점에 버린다. 만료된 토큰은 다시 파싱되어 JwtException으로 거부된다.
+ * - 검증에 실패한 토큰은 넣지 않는다(부정 캐시 없음).
+ * - 최대 크기에 닿으면 만료된 항목부터 치우고, 그래도 꽉 차 있으면 통째로 비운다. 비워도 다음 요청이 다시 검증할 뿐이다.
+ */
+final class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<Key, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    // 테스트에서 시간을 주입하기 위한 생성자.
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    private record Key(long hi, long lo) {
+    }
+
+    /** 캐시된 클레임. 없거나 만료됐으면 null. */
+    VerifiedToken get(String token) {
+        if (maxSize <= 0) return null;
+        Key key = keyOf(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) return null;
+        if (!clock.instant().isBefore(cached.expiresAt())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    void put(String token, VerifiedToken verified) {
+        if (maxSize <= 0) return;
+        if (entries.size() >= maxSize) evict();
+        entries.put(keyOf(token), verified);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        var now = clock.instant();
+        entries.values().removeIf(v -> !now.isBefore(v.expiresAt()));
+        if (entries.size() >= maxSize) entries.clear();
+    }
+
+    private static Key keyOf(String token) {
+        try {
+            // MessageDigest는 스레드 안전하지 않아 호출마다 만든다(생성 비용은 HMAC 검증보다 훨씬 작다).
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buf = ByteBuffer.wrap(digest);
+            return new Key(buf.getLong(), buf.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
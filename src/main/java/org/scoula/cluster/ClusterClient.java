@@ -0,0 +1,130 @@
+package org.scoula.cluster;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 간 HTTP 전송. 모든 요청에 공유 비밀(omok.cluster.secret)을 X-Cluster-Token으로 싣는다.
+ * - send: 비동기 단방향(STOMP 명령·로비 변경분). 대상 노드마다 단일 스레드 outbox로 보내므로
+ *   한 노드에서 같은 방으로 간 명령은 보낸 순서대로 도착한다.
+ * - proxy: 동기 HTTP 중계(방 입장/퇴장/조회). 원 요청의 Authorization을 그대로 실어 주인 노드가 다시 인증한다.
+ */
+@Slf4j
+@Component
+public class ClusterClient {
+
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+    /** 이미 한 번 중계된 요청. 링이 잠깐 어긋나도(배포 중) 노드끼리 핑퐁하지 않고 받은 노드가 처리한다. */
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+
+    private static final int OUTBOX_CAPACITY = 10_000;
+
+    private final RoomOwnership ownership;
+    private final byte[] secret;
+    private final RestClient restClient;
+    private final Map<String, ExecutorService> outboxes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterClient(RoomOwnership ownership,
+                         @Value("${omok.cluster.secret:}") String secret,
+                         @Value("${omok.cluster.timeout:3s}") Duration timeout) {
+        if (ownership.enabled() && secret.isBlank()) {
+            throw new IllegalStateException("omok.cluster.secret is required when omok.cluster.enabled=true");
+        }
+        this.ownership = ownership;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /** 요청의 클러스터 토큰이 맞는지(상수 시간 비교). 클러스터가 꺼져 있으면 항상 false. */
+    public boolean authorized(String token) {
+        return ownership.enabled() && token != null
+                && MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** node의 path로 body를 비동기 POST 한다. 실패는 로그만 남긴다(보낸 쪽 흐름을 막지 않는다). */
+    public void send(String node, String path, Object body) {
+        ExecutorService outbox = outboxes.computeIfAbsent(node, ClusterClient::newOutbox);
+        outbox.execute(() -> {
+            try {
+                restClient.post()
+                        .uri(ownership.baseUrlOf(node) + path)
+                        .header(TOKEN_HEADER, new String(secret, StandardCharsets.UTF_8))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RuntimeException e) {
+                log.warn("[CLUSTER_SEND_FAIL] node={} path={} : {}", node, path, e.getMessage());
+            }
+        });
+    }
+
+    /** 받은 HTTP 요청을 node로 그대로 중계하고 그 응답(상태·본문)을 돌려준다. */
+    public ResponseEntity<String> proxy(String node, HttpServletRequest request, Object body) {
+        String query = request.getQueryString();
+        String uri = ownership.baseUrlOf(node) + request.getRequestURI() + (query != null ? "?" + query : "");
+        try {
+            RestClient.RequestBodySpec spec = restClient.method(HttpMethod.valueOf(request.getMethod()))
+                    .uri(uri)
+                    .header(FORWARDED_HEADER, ownership.localNode());
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) spec.header(HttpHeaders.AUTHORIZATION, authorization);
+            if (body != null) spec.contentType(MediaType.APPLICATION_JSON).body(body);
+            return spec.retrieve()
+                    .onStatus(status -> true, (req, res) -> { }) // 4xx/5xx도 그대로 클라이언트에 돌려준다
+                    .toEntity(String.class);
+        } catch (RuntimeException e) {
+            log.error("[CLUSTER_PROXY_FAIL] node={} uri={} : {}", node, uri, e.getMessage());
+            return ResponseEntity.status(502).body("Room owner unavailable");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        outboxes.values().forEach(ExecutorService::shutdown);
+        for (ExecutorService outbox : outboxes.values()) {
+            try {
+                outbox.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 대상 노드별 단일 스레드 + 유한 큐. 노드가 죽어 큐가 차면 새 전송은 버리고 로그를 남긴다.
+    private static ExecutorService newOutbox(String node) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(OUTBOX_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "cluster-out-" + node);
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, executor) -> log.error("[CLUSTER_OUTBOX_FULL] node={} capacity={} → drop", node, OUTBOX_CAPACITY));
+    }
+}
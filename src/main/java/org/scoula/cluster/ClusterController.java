@@ -0,0 +1,48 @@
+package org.scoula.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.RoomCommand;
+import org.scoula.room.service.LobbyService;
+import org.scoula.room.service.RoomCommandRouter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 노드 간 내부 엔드포인트. 사용자 JWT가 아니라 클러스터 토큰(X-Cluster-Token)으로만 인가한다.
+ * 클러스터가 꺼져 있으면 토큰이 항상 불일치라 모두 403이다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/internal/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final ClusterClient clusterClient;
+    private final RoomCommandRouter roomCommandRouter;
+    private final LobbyService lobbyService;
+
+    /** 다른 노드가 넘긴 방 명령. 이 노드의 방 소유 샤드에 넣고 바로 돌아간다. */
+    @PostMapping("/commands")
+    public ResponseEntity<Void> command(@RequestHeader(value = ClusterClient.TOKEN_HEADER, required = false) String token,
+                                        @RequestBody RoomCommand command) {
+        if (!clusterClient.authorized(token)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        roomCommandRouter.execute(command);
+        return ResponseEntity.accepted().build();
+    }
+
+    /** 다른 노드 방의 로비 변경분. 이 노드의 로비 스냅샷에 반영한다. */
+    @PostMapping("/lobby")
+    public ResponseEntity<Void> lobby(@RequestHeader(value = ClusterClient.TOKEN_HEADER, required = false) String token,
+                                      @RequestBody LobbyDelta delta) {
+        if (!clusterClient.authorized(token)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        lobbyService.applyRemote(delta);
+        return ResponseEntity.accepted().build();
+    }
+}
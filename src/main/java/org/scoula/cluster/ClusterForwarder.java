@@ -0,0 +1,41 @@
+package org.scoula.cluster;
+
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.RoomCommand;
+import org.scoula.room.service.LobbyReplicator;
+import org.scoula.room.service.RoomCommandForwarder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 명령을 주인 노드로, 로비 변경분을 나머지 노드로 보낸다(ClusterClient outbox, 비동기).
+ * 클러스터가 꺼져 있으면 모든 방이 로컬이라 아무것도 보내지 않는다.
+ */
+@Component
+public class ClusterForwarder implements RoomCommandForwarder, LobbyReplicator {
+
+    static final String COMMANDS_PATH = "/internal/cluster/commands";
+    static final String LOBBY_PATH = "/internal/cluster/lobby";
+
+    private final RoomOwnership ownership;
+    private final ClusterClient clusterClient;
+
+    public ClusterForwarder(RoomOwnership ownership, ClusterClient clusterClient) {
+        this.ownership = ownership;
+        this.clusterClient = clusterClient;
+    }
+
+    @Override
+    public boolean forward(RoomCommand command) {
+        if (command.roomId() == null || ownership.isLocal(command.roomId())) return false;
+        clusterClient.send(ownership.ownerOf(command.roomId()), COMMANDS_PATH, command);
+        return true;
+    }
+
+    @Override
+    public void replicate(LobbyDelta delta) {
+        if (!ownership.enabled()) return;
+        for (String peer : ownership.peers()) {
+            clusterClient.send(peer, LOBBY_PATH, delta);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.scoula.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 클러스터 모드에서 방(roomId)의 소유 노드를 정한다. 방 상태는 소유 노드 메모리에만 있고,
+ * 다른 노드로 들어온 명령은 소유 노드로 넘긴다(ClusterForwarder).
+ *
+ * 노드 목록(omok.cluster.nodes = "id=baseUrl,...", 자기 자신 포함)으로 consistent hash 링을 만든다.
+ * 노드마다 가상 노드 VIRTUAL_NODES개를 링에 뿌려 방이 고르게 나뉘고, 노드가 하나 빠지거나 늘어도
+ * 그 노드 몫의 방만 주인이 바뀐다. 모든 노드가 같은 목록을 쓰면 같은 roomId에 같은 주인이 나온다.
+ * 클러스터가 꺼져 있으면(기본) 모든 방이 로컬이다.
+ */
+@Slf4j
+@Component
+public class RoomOwnership {
+
+    static final int VIRTUAL_NODES = 128;
+
+    private final boolean enabled;
+    private final String localNode;
+    private final Map<String, String> baseUrls; // nodeId → baseUrl, 설정 순서 유지
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    @Autowired
+    public RoomOwnership(@Value("${omok.cluster.enabled:false}") boolean enabled,
+                         @Value("${omok.cluster.node-id:local}") String localNode,
+                         @Value("${omok.cluster.nodes:}") String nodes) {
+        this(enabled, localNode, parseNodes(nodes));
+    }
+
+    RoomOwnership(boolean enabled, String localNode, Map<String, String> baseUrls) {
+        this.enabled = enabled;
+        this.localNode = localNode;
+        this.baseUrls = Collections.unmodifiableMap(new LinkedHashMap<>(baseUrls));
+        if (!enabled) return;
+        if (!baseUrls.containsKey(localNode)) {
+            throw new IllegalStateException("omok.cluster.nodes must include this node: " + localNode);
+        }
+        for (String node : baseUrls.keySet()) {
+            for (int v = 0; v < VIRTUAL_NODES; v++) {
+                ring.put(hash(node + "#" + v), node);
+            }
+        }
+        log.info("[CLUSTER] node={} members={}", localNode, baseUrls.keySet());
+    }
+
+    /** 단일 노드 구성(모든 방이 로컬). 단위 테스트·클러스터 비활성 기본값. */
+    public static RoomOwnership standalone() {
+        return new RoomOwnership(false, "local", Map.of());
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public String localNode() {
+        return localNode;
+    }
+
+    /** roomId의 소유 노드 id. */
+    public String ownerOf(String roomId) {
+        if (!enabled) return localNode;
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(roomId));
+        return e != null ? e.getValue() : ring.firstEntry().getValue();
+    }
+
+    public boolean isLocal(String roomId) {
+        return !enabled || localNode.equals(ownerOf(roomId));
+    }
+
+    /**
+     * 이 노드가 소유하는 새 roomId. 방을 만든 노드가 곧 주인이 되도록 로컬에 떨어질 때까지 UUID를 다시 뽑는다
+     * (노드 N개면 평균 N번).
+     */
+    public String newLocalRoomId() {
+        String id = UUID.randomUUID().toString();
+        while (!isLocal(id)) id = UUID.randomUUID().toString();
+        return id;
+    }
+
+    /** 자기 자신을 뺀 노드 id들. */
+    public List<String> peers() {
+        return baseUrls.keySet().stream().filter(n -> !n.equals(localNode)).toList();
+    }
+
+    public String baseUrlOf(String node) {
+        String url = baseUrls.get(node);
+        if (url == null) throw new IllegalArgumentException("unknown cluster node: " + node);
+        return url;
+    }
+
+    // "a=http://10.0.0.1:8080, b=http://10.0.0.2:8080"
+    static Map<String, String> parseNodes(String nodes) {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (nodes == null || nodes.isBlank()) return map;
+        for (String entry : nodes.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) continue;
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0 || eq == trimmed.length() - 1) {
+                throw new IllegalArgumentException("omok.cluster.nodes entry must be id=baseUrl: " + trimmed);
+            }
+            String url = trimmed.substring(eq + 1).trim();
+            map.put(trimmed.substring(0, eq).trim(), url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        }
+        return map;
+    }
+
+    // FNV-1a 64 + murmur3 fmix64. 노드 간 JVM 차이 없이 같은 값이 나오고, 짧은 키도 링에 고르게 퍼진다.
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,42 @@
+package org.scoula.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유한 큐 비동기 appender. 로그를 부른 스레드는 큐에 넣기만 하고, 파일 쓰기는 logback 작업 스레드가 한다.
+ * 기본 AsyncAppender와 달리 큐가 80% 찼다고 INFO 이하를 미리 버리지 않고, 꽉 찼을 때만 버리며 그 수를 센다.
+ * WARN 이상은 버리지 않는다(꽉 찼으면 한 칸 빌 때까지 기다린다). 버린 수는 OmokMeterBinder가 omok.log.dropped로 내보낸다.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    public void start() {
+        // 남은 칸이 1 미만(= 가득 참)일 때만 isDiscardable이 불린다.
+        setDiscardingThreshold(1);
+        super.start();
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) return false;
+        dropped.increment();
+        if (dropped.sum() == 1) addWarn("queue full (" + getQueueSize() + "), dropping events below WARN");
+        return true;
+    }
+
+    /** 큐가 가득 차 버린 누적 건수. */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** 아직 파일에 쓰이지 않은 큐 길이. */
+    public int pending() {
+        return getNumberOfElementsInQueue();
+    }
+}
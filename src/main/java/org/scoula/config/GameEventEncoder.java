@@ -0,0 +1,77 @@
+package org.scoula.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 게임 이벤트 한 건을 JSON 한 줄로 쓴다: {"ts":epoch ms,"ev":"GAME_WIN","roomId":"...",키:값...}.
+ * 메시지는 이벤트 이름, 나머지는 SLF4J key-value 쌍(GameEvents.emit)이다. 패턴 해석·스택 조회 없이
+ * 필드만 이어 붙여, 사람이 읽는 패턴 로그보다 짧고 jq·로그 수집기가 그대로 읽는다.
+ */
+public class GameEventEncoder extends EncoderBase<ILoggingEvent> {
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"ts\":").append(event.getTimeStamp()).append(",\"ev\":");
+        string(sb, event.getMessage());
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs != null) {
+            for (KeyValuePair pair : pairs) {
+                sb.append(',');
+                string(sb, pair.key);
+                sb.append(':');
+                value(sb, pair.value);
+            }
+        }
+        sb.append("}\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void value(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            string(sb, value.toString());
+        }
+    }
+
+    static void string(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
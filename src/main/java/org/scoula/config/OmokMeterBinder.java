@@ -0,0 +1,118 @@
+package org.scoula.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.scoula.game.GameArchiveWriter;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.RoomService;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SpectatorHub;
+import org.scoula.room.service.WebSocketEventListener;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 스크레이프 시점에 읽는 현재값 게이지와 누적 카운터.
+ * - 방·대국 중 방·플레이어 수(RoomService), 활성 WebSocket 세션 수(WebSocketEventListener)
+ * - 기보 write-behind 큐 길이(GameArchiveWriter)
+ * - 방 타이머 종류별 예약·만료·취소·대기 수(RoomTimers)
+ * - 가상 스레드 모드면 캐리어 고정 건수·시간(VirtualThreadPinningMonitor)
+ * - 비동기 로그 appender(DropCountingAsyncAppender)별 큐 길이와 버린 건수
+ * - 관전자 수, 송출 레인 적체, 느려서·밀려서 끊은 관전자 수(SpectatorHub)
+ * 방 수는 스크레이프마다 방 목록을 한 번 훑어 센다. 방 상태 변경 경로에는 아무것도 더하지 않는다.
+ */
+@Component
+public class OmokMeterBinder implements MeterBinder {
+
+    private final RoomService roomService;
+    private final WebSocketEventListener webSocketEventListener;
+    private final GameArchiveWriter archiveWriter;
+    private final RoomTimers timers;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final SpectatorHub spectatorHub;
+
+    public OmokMeterBinder(RoomService roomService, WebSocketEventListener webSocketEventListener,
+                           GameArchiveWriter archiveWriter, RoomTimers timers,
+                           ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor, SpectatorHub spectatorHub) {
+        this.roomService = roomService;
+        this.webSocketEventListener = webSocketEventListener;
+        this.archiveWriter = archiveWriter;
+        this.timers = timers;
+        this.pinningMonitor = pinningMonitor;
+        this.spectatorHub = spectatorHub;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("omok.rooms", roomService, s -> s.getRoomList().size())
+                .description("메모리에 있는 방 수").register(registry);
+        Gauge.builder("omok.rooms.playing", roomService,
+                        s -> s.getRoomList().stream().filter(Room::isPlaying).count())
+                .description("대국 중인 방 수").register(registry);
+        Gauge.builder("omok.players", roomService,
+                        s -> s.getRoomList().stream().mapToInt(r -> r.getPlayers().size()).sum())
+                .description("방에 앉은 플레이어 수").register(registry);
+        Gauge.builder("omok.sessions", webSocketEventListener, WebSocketEventListener::sessionCount)
+                .description("방에 JOIN한 활성 WebSocket 세션 수").register(registry);
+        Gauge.builder("omok.archive.queue", archiveWriter, GameArchiveWriter::pending)
+                .description("아직 DB로 가지 않은 기보 수").register(registry);
+        Gauge.builder("omok.spectators", spectatorHub, SpectatorHub::spectators)
+                .description("관전 WebSocket 연결 수").register(registry);
+        Gauge.builder("omok.spectate.backlog", spectatorHub, SpectatorHub::backlog)
+                .description("관전 송출 레인에 쌓인 프레임 수").register(registry);
+        FunctionCounter.builder("omok.spectate.dropped", spectatorHub, SpectatorHub::droppedSlow)
+                .tag("reason", "slow").description("느려서 끊은 관전자").register(registry);
+        FunctionCounter.builder("omok.spectate.dropped", spectatorHub, SpectatorHub::droppedLagging)
+                .tag("reason", "lagging").description("송출 레인이 밀려 끊은 관전자").register(registry);
+
+        for (RoomTimers.Kind kind : RoomTimers.Kind.values()) {
+            String tag = kind.name().toLowerCase();
+            FunctionCounter.builder("omok.timers.scheduled", timers, t -> t.stats(kind).scheduled())
+                    .tag("kind", tag).register(registry);
+            FunctionCounter.builder("omok.timers.fired", timers, t -> t.stats(kind).fired())
+                    .tag("kind", tag).register(registry);
+            FunctionCounter.builder("omok.timers.cancelled", timers, t -> t.stats(kind).cancelled())
+                    .tag("kind", tag).register(registry);
+            Gauge.builder("omok.timers.pending", timers, t -> t.stats(kind).pending())
+                    .tag("kind", tag).register(registry);
+        }
+
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor != null) {
+            FunctionCounter.builder("omok.vt.pinned", monitor, VirtualThreadPinningMonitor::pinnedCount)
+                    .description("임계값 이상 캐리어를 고정한 가상 스레드 건수").register(registry);
+            FunctionCounter.builder("omok.vt.pinned.time", monitor, m -> m.pinnedNanos() / 1e9)
+                    .baseUnit("seconds").description("임계값 이상 고정된 누적 시간").register(registry);
+        }
+
+        for (Map.Entry<String, DropCountingAsyncAppender> e : asyncAppenders().entrySet()) {
+            FunctionCounter.builder("omok.log.dropped", e.getValue(), DropCountingAsyncAppender::dropped)
+                    .tag("appender", e.getKey()).description("큐가 가득 차 버린 로그 이벤트").register(registry);
+            Gauge.builder("omok.log.queue", e.getValue(), DropCountingAsyncAppender::pending)
+                    .tag("appender", e.getKey()).description("아직 쓰이지 않은 로그 이벤트").register(registry);
+        }
+    }
+
+    // logback.xml에 선언된 DropCountingAsyncAppender들(ASYNC_CONSOLE·ASYNC_APP·ASYNC_EVENTS). logback이 아니면 비어 있다.
+    private static Map<String, DropCountingAsyncAppender> asyncAppenders() {
+        Map<String, DropCountingAsyncAppender> found = new LinkedHashMap<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) return found;
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof DropCountingAsyncAppender appender) found.put(appender.getName(), appender);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,95 @@
+package org.scoula.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 착수·방 락·브로드캐스트·기보 저장·요청 제한의 지연/건수 계측(Micrometer).
+ * 호출하는 쪽은 System.nanoTime() 차이만 넘긴다. 람다·Timer.Sample을 만들지 않아 착수 경로에 할당이 없고
+ * (MoveAllocationTest), 미터는 생성 시 한 번만 등록해 호출마다 이름·태그를 찾지 않는다.
+ * 방·세션 수, 큐 길이 같은 현재값은 스크레이프 때 읽는 게이지로 OmokMeterBinder가 건다.
+ * NONE은 아무것도 기록하지 않는다(레지스트리 없는 단위 테스트·벤치마크용).
+ */
+@Component
+public class OmokMetrics {
+
+    public static final String MOVE_VALIDATION = "omok.move.validation";
+    public static final String ROOM_LOCK = "omok.room.lock";
+    public static final String BROADCAST = "omok.broadcast";
+    public static final String ARCHIVE_SAVE = "omok.archive.save";
+    public static final String RATE_LIMIT_REJECTED = "omok.ratelimit.rejected";
+
+    public static final OmokMetrics NONE = new OmokMetrics();
+
+    private final Timer forbiddenCheck;
+    private final Timer winCheck;
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Timer broadcast;
+    private final Timer archiveSaved;
+    private final Timer archiveSpilled;
+    private final Counter roomCreateRejected;
+
+    @Autowired
+    public OmokMetrics(MeterRegistry registry) {
+        this.forbiddenCheck = Timer.builder(MOVE_VALIDATION).tag("check", "forbidden")
+                .description("착수 뒤 금수 마스크 갱신(isForbidden) 시간").register(registry);
+        this.winCheck = Timer.builder(MOVE_VALIDATION).tag("check", "win")
+                .description("착수 뒤 승리 판정(isWin) 시간").register(registry);
+        this.lockWait = Timer.builder(ROOM_LOCK).tag("phase", "wait")
+                .description("착수 처리가 room 락을 얻기까지 기다린 시간").register(registry);
+        this.lockHold = Timer.builder(ROOM_LOCK).tag("phase", "hold")
+                .description("착수 처리가 room 락을 쥐고 있던 시간").register(registry);
+        this.broadcast = Timer.builder(BROADCAST)
+                .description("방 브로드캐스트 한 건의 직렬화·브로커 전달 시간").register(registry);
+        this.archiveSaved = Timer.builder(ARCHIVE_SAVE).tag("outcome", "saved")
+                .description("기보 배치 insert 시간").register(registry);
+        this.archiveSpilled = Timer.builder(ARCHIVE_SAVE).tag("outcome", "spilled")
+                .description("DB 실패로 스필한 기보 배치의 시도+스필 시간").register(registry);
+        this.roomCreateRejected = Counter.builder(RATE_LIMIT_REJECTED).tag("limiter", "room-create")
+                .description("요청 제한으로 거부한 방 생성").register(registry);
+    }
+
+    private OmokMetrics() {
+        this.forbiddenCheck = null;
+        this.winCheck = null;
+        this.lockWait = null;
+        this.lockHold = null;
+        this.broadcast = null;
+        this.archiveSaved = null;
+        this.archiveSpilled = null;
+        this.roomCreateRejected = null;
+    }
+
+    public void forbiddenCheck(long nanos) {
+        if (forbiddenCheck != null) forbiddenCheck.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void winCheck(long nanos) {
+        if (winCheck != null) winCheck.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void roomLock(long waitNanos, long holdNanos) {
+        if (lockWait == null) return;
+        lockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        lockHold.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void broadcast(long nanos) {
+        if (broadcast != null) broadcast.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void archiveSave(long nanos, boolean saved) {
+        if (archiveSaved == null) return;
+        (saved ? archiveSaved : archiveSpilled).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void roomCreateRejected() {
+        if (roomCreateRejected != null) roomCreateRejected.increment();
+    }
+}
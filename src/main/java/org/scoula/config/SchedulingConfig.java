@@ -1,19 +1,26 @@
 package org.scoula.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
- * @Scheduled(EmptyRoomCleaner) 활성화 + 게임 시작 지연 등에 쓰는 공용 TaskScheduler 제공 (#6).
+ * @Scheduled(체크포인트·기보 재생 등 주기 작업) 활성화 + 공용 TaskScheduler 제공 (#6).
+ * 방 단위 일회성 타이머(시작 지연·끊김 유예·빈 방 TTL·대국 시계)는 여기가 아니라 RoomTimers가 맡는다.
+ * 풀이 작으므로 짧은 작업만 둔다. 기보를 대량으로 읽는 긴 작업(정석 책 재구성·위치 색인)은 자기 전용 스레드에서 돈다.
  * daemon 스레드 풀이라 종료 시 JVM 종료를 막지 않는다(과거 게임마다 non-daemon Timer 누적 문제 해소).
+ * spring.threads.virtual.enabled=true(Java 21+)면 같은 이름의 가상 스레드 스케줄러로 바뀐다.
  */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
 
     @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
     public ThreadPoolTaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(2);
@@ -21,4 +28,14 @@ public class SchedulingConfig {
         scheduler.setDaemon(true);
         return scheduler;
     }
+
+    /** 가상 스레드 모드: 타이머 스레드 하나가 시각만 재고, 만료된 작업은 각각 새 가상 스레드에서 실행한다. */
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler virtualTaskScheduler() {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setVirtualThreads(true);
+        scheduler.setThreadNamePrefix("room-sched-");
+        return scheduler;
+    }
 }
@@ -45,13 +45,25 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // 인증 엔드포인트
                         .requestMatchers("/api/auth/**").permitAll()
+                        // 관리용 기보 내보내기. 사용자 JWT 대신 X-Export-Token을 GameExportController가 검사한다.
+                        .requestMatchers(HttpMethod.GET, "/api/admin/games/export").permitAll()
                         // 방 목록/조회는 공개 (배포 헬스체크: 무인증 GET /api/rooms)
                         .requestMatchers(HttpMethod.GET, "/api/rooms", "/api/rooms/**").permitAll()
+                        // 리더보드 목록은 공개. 내 등수(/api/leaderboard/me)는 아래 anyRequest로 인증 필요
+                        .requestMatchers(HttpMethod.GET, "/api/leaderboard").permitAll()
+                        // 정석 책 조회는 공개
+                        .requestMatchers(HttpMethod.GET, "/api/openings", "/api/openings/**").permitAll()
                         // 방 생성/입장/퇴장은 인증 필요
                         .requestMatchers(HttpMethod.POST, "/api/rooms/**").authenticated()
                         // 기존 게임 WebSocket — 현행 유지 (신원 강제는 STOMP 인터셉터가 담당)
                         .requestMatchers("/game/**").permitAll()
+                        // 관전 WebSocket — 공개 방 읽기 전용, 로그인 불필요
+                        .requestMatchers("/watch/**", "/watch").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // 노드 간 내부 호출. 사용자 JWT 대신 X-Cluster-Token을 ClusterController가 검사한다.
+                        .requestMatchers("/internal/cluster/**").permitAll()
+                        // 관리 포트(management.server.port)에만 있는 엔드포인트. 포트 자체를 외부에 열지 않는다.
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // 그 외는 인증 필요 (예: /api/users/me)
                         .anyRequest().authenticated())
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(
@@ -75,6 +87,8 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173", "https://cheonkio.github.io"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // 로비 폴링이 If-None-Match·변경분 이어받기에 쓰도록 브라우저에 노출한다.
+        config.setExposedHeaders(List.of("ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/**", config);
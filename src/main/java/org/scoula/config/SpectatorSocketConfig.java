@@ -0,0 +1,27 @@
+package org.scoula.config;
+
+import lombok.RequiredArgsConstructor;
+import org.scoula.room.controller.SpectatorSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 관전 엔드포인트(/watch). 게임용 STOMP 엔드포인트(/game, WebSocketConfig)와 따로 두어
+ * 관전자 송출이 STOMP 브로커·outbound 채널을 거치지 않게 한다(SpectatorHub).
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class SpectatorSocketConfig implements WebSocketConfigurer {
+
+    private final SpectatorSocketHandler spectatorSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(spectatorSocketHandler, "/watch") // ws://localhost:8080/watch?roomId=...
+                .setAllowedOrigins("http://localhost:5173", "https://cheonkio.github.io")
+                .withSockJS();
+    }
+}
@@ -0,0 +1,84 @@
+package org.scoula.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드 모드에서 캐리어 스레드 고정(pinning)을 JFR 이벤트(jdk.VirtualThreadPinned)로 집계한다.
+ * Java 21~23에서는 synchronized(room) 안에서 JDBC 등으로 막히면 가상 스레드가 캐리어를 놓지 못한다.
+ * 임계값(omok.virtual-threads.pinned-threshold) 이상 고정된 건수·누적 시간을 세고,
+ * 고정을 일으킨 첫 org.scoula 프레임을 로그로 남겨 어느 락이 원인인지 바로 보이게 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${omok.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("[VT_PINNING] monitoring {} threshold={}ms", PINNED_EVENT, threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long count = pinnedCount.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        log.warn("[VT_PINNED] duration={}ms at={} total={}",
+                event.getDuration().toMillis(), firstAppFrame(event), count);
+    }
+
+    // 스택에서 첫 애플리케이션 프레임(예: RoomSocketService.processMove:212). 없으면 최상단 프레임.
+    private static String firstAppFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "unknown";
+        String top = null;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            String location = type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber();
+            if (top == null) top = location;
+            if (type.startsWith("org.scoula.")) return location;
+        }
+        return top != null ? top : "unknown";
+    }
+
+    /** 임계값 이상 고정된 누적 건수. */
+    public long pinnedCount() {
+        return pinnedCount.get();
+    }
+
+    /** 임계값 이상 고정된 누적 시간(ns). */
+    public long pinnedNanos() {
+        return pinnedNanos.get();
+    }
+}
@@ -2,7 +2,10 @@ package org.scoula.config;
 
 import lombok.RequiredArgsConstructor;
 import org.scoula.auth.StompAuthChannelInterceptor;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -15,24 +18,66 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig  implements WebSocketMessageBrokerConfigurer {
 
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final Environment environment;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        boolean relay = "relay".equals(environment.getProperty("omok.cluster.broker", "simple"));
+        if (!relay && environment.getProperty("omok.cluster.enabled", Boolean.class, false)) {
+            // 인메모리 브로커는 노드마다 따로라 다른 노드 방의 브로드캐스트도, 주인 노드가 보내는 사용자 목적지
+            // (재접속 재전송 /user/queue/room 등)도 구독자에게 닿지 않는다. 반쯤 동작하는 채로 뜨지 않게 부팅을 막는다.
+            throw new IllegalStateException("omok.cluster.enabled=true requires omok.cluster.broker=relay");
+        }
+        if (relay) {
+            // 외부 STOMP 브로커가 /topic·/queue를 모든 노드에 공유한다. 방 주인 노드가 민 브로드캐스트를
+            // 다른 노드에 붙은 구독자도 받는다. 사용자 목적지(/user/queue/errors)도 노드 간에 해석된다.
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(environment.getProperty("omok.cluster.relay.host", "localhost"))
+                    .setRelayPort(environment.getProperty("omok.cluster.relay.port", Integer.class, 61613))
+                    .setClientLogin(environment.getProperty("omok.cluster.relay.login", "guest"))
+                    .setClientPasscode(environment.getProperty("omok.cluster.relay.passcode", "guest"))
+                    .setSystemLogin(environment.getProperty("omok.cluster.relay.login", "guest"))
+                    .setSystemPasscode(environment.getProperty("omok.cluster.relay.passcode", "guest"))
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            // /queue는 사용자 목적지(/user/queue/errors, 재접속 재전송 /user/queue/room)가 세션별로 풀리는 곳이다.
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         //클라이언트 발행 시 사용하는 접두어. app이 관례
         config.setApplicationDestinationPrefixes("/app");
+        // 가상 스레드 채널은 메시지마다 새 스레드라 세션별 전송 순서가 섞일 수 있다 → 세션 단위로 순서를 지킨다.
+        if (virtualThreads()) config.setPreservePublishOrder(true);
     }
 
     // STOMP inbound 채널에 JWT 인증 인터셉터 등록 (CONNECT 시 principal 바인딩)
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompAuthChannelInterceptor);
+        if (virtualThreads()) registration.executor(virtualExecutor("ws-in-"));
     }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads()) registration.executor(virtualExecutor("ws-out-"));
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry){
         registry.addEndpoint("/game") // ws://localhost:8080/game
                 .setAllowedOrigins("http://localhost:5173","https://cheonkio.github.io")
                 .withSockJS();
+        if (virtualThreads()) registry.setPreserveReceiveOrder(true);
+    }
+
+    // spring.threads.virtual.enabled=true이고 Java 21+일 때만 참. 기본(플랫폼 스레드 풀) 구성은 그대로 둔다.
+    private boolean virtualThreads() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
 
+    private static SimpleAsyncTaskExecutor virtualExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
     }
 }
@@ -0,0 +1,12 @@
+package org.scoula.export;
+
+import java.io.IOException;
+
+/** 형식별로 기보를 한 판씩 스트림에 쓴다. 판을 모아 두지 않는다. */
+interface ExportSink {
+
+    void write(ExportedGame game) throws IOException;
+
+    /** 닫는 꼬리를 쓰고 버퍼를 비운다. 밑의 스트림은 닫지 않는다. */
+    void finish() throws IOException;
+}
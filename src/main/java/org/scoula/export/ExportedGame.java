@@ -0,0 +1,20 @@
+package org.scoula.export;
+
+import org.scoula.game.EndReason;
+import org.scoula.game.GameMoves;
+import org.scoula.game.WinnerColor;
+
+import java.time.LocalDateTime;
+
+/** 내보낼 기보 한 판(game 테이블 한 행). 게스트 쪽 userId는 null. */
+record ExportedGame(
+        long id,
+        Long blackUserId,
+        Long whiteUserId,
+        String blackName,
+        String whiteName,
+        WinnerColor winner,
+        EndReason endReason,
+        GameMoves moves,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,79 @@
+package org.scoula.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+/**
+ * 관리용 기보 일괄 내보내기. 사용자 JWT가 아니라 내보내기 토큰(X-Export-Token)으로만 인가하고,
+ * omok.export.token이 비어 있으면 모두 403이다. 응답은 길이 없이(chunked) 바로 흘려 보내는 gzip 본문이다.
+ * 스트림 도중 실패하면 응답을 끊으므로 받는 쪽은 gzip 꼬리가 없는 것으로 알 수 있고, 마지막 판의 id를 afterId로 넘겨 잇는다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/games")
+public class GameExportController {
+
+    public static final String TOKEN_HEADER = "X-Export-Token";
+
+    private final GameExportService gameExportService;
+    private final byte[] token;
+
+    public GameExportController(GameExportService gameExportService,
+                                @Value("${omok.export.token:}") String token) {
+        this.gameExportService = gameExportService;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** format=ndjson|rif, afterId·from·to(ISO 시각, to 제외)·userId·limit(0=끝까지). 잘못된 값은 400. */
+    @GetMapping("/export")
+    public void export(@RequestHeader(value = TOKEN_HEADER, required = false) String presented,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(defaultValue = "0") long afterId,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                       @RequestParam(required = false) Long userId,
+                       @RequestParam(defaultValue = "0") long limit,
+                       HttpServletResponse response) throws IOException {
+        if (!authorized(presented)) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        GameExportFormat exportFormat;
+        GameExportQuery query;
+        try {
+            exportFormat = GameExportFormat.parse(format);
+            query = new GameExportQuery(afterId, from, to, userId, limit);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"games-after-" + afterId + exportFormat.extension() + "\"");
+        try {
+            gameExportService.export(query, exportFormat, response.getOutputStream());
+        } catch (IOException | RuntimeException e) {
+            log.warn("[EXPORT_ABORT] format={} afterId={} : {}", exportFormat, afterId, e.getMessage());
+            throw e;
+        }
+    }
+
+    boolean authorized(String presented) {
+        return token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
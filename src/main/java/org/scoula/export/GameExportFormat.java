@@ -0,0 +1,39 @@
+package org.scoula.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/** 내보내기 형식. 둘 다 gzip으로 감싸 보낸다. */
+public enum GameExportFormat {
+
+    NDJSON(".ndjson.gz") {
+        @Override
+        ExportSink open(OutputStream out) throws IOException {
+            return new NdjsonExportSink(out);
+        }
+    },
+    RIF(".xml.gz") {
+        @Override
+        ExportSink open(OutputStream out) throws IOException {
+            return new RifExportSink(out);
+        }
+    };
+
+    private final String extension;
+
+    GameExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    abstract ExportSink open(OutputStream out) throws IOException;
+
+    /** "ndjson"·"rif"(대소문자 무시). 모르는 값이면 IllegalArgumentException. */
+    public static GameExportFormat parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,27 @@
+package org.scoula.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내보낼 범위. afterId보다 큰 id를 id 오름차순으로 읽으므로, 끊긴 내보내기는 마지막으로 받은 id를 afterId로 넘겨 잇는다.
+ * from·to(created_at, to는 제외)·userId(흑이나 백)는 없으면 조건이 없다. limit 0은 끝까지.
+ */
+public record GameExportQuery(
+        long afterId,
+        LocalDateTime from,
+        LocalDateTime to,
+        Long userId,
+        long limit) {
+
+    public GameExportQuery {
+        if (afterId < 0) throw new IllegalArgumentException("afterId must be >= 0: " + afterId);
+        if (limit < 0) throw new IllegalArgumentException("limit must be >= 0: " + limit);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + " / " + to);
+        }
+    }
+
+    public static GameExportQuery all() {
+        return new GameExportQuery(0, null, null, null, 0);
+    }
+}
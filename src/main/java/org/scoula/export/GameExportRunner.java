@@ -0,0 +1,79 @@
+package org.scoula.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+
+/**
+ * 명령줄 내보내기. omok.export.out이 주어지면 기동 뒤 한 번 내보내고 프로세스를 끝낸다(서버로 남지 않는다).
+ * 예) java -jar omok.jar --server.port=0 --management.server.port=0 --omok.export.out=games.ndjson.gz
+ *     [--omok.export.format=rif] [--omok.export.after-id=0] [--omok.export.from=2025-01-01T00:00]
+ *     [--omok.export.to=…] [--omok.export.user-id=…] [--omok.export.limit=0]
+ * 파일은 임시 파일에 다 쓴 뒤 바꿔치기한다. 끝나면 마지막 id를 로그로 남기므로, 이어 받을 때는 그 값을 after-id로 주고
+ * 새 파일에 받아 이어 붙이면 된다(gzip 멤버를 이어 붙인 파일도 한 gzip 스트림으로 읽힌다).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "omok.export.out")
+public class GameExportRunner implements ApplicationRunner {
+
+    private final GameExportService gameExportService;
+    private final ConfigurableApplicationContext context;
+    private final Environment env;
+
+    public GameExportRunner(GameExportService gameExportService, ConfigurableApplicationContext context,
+                            Environment env) {
+        this.gameExportService = gameExportService;
+        this.context = context;
+        this.env = env;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int code = exportOnce();
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    int exportOnce() {
+        Path out = Path.of(env.getRequiredProperty("omok.export.out"));
+        Path tmp = out.resolveSibling(out.getFileName() + ".part");
+        try {
+            GameExportFormat format = GameExportFormat.parse(env.getProperty("omok.export.format", "ndjson"));
+            GameExportQuery query = new GameExportQuery(
+                    env.getProperty("omok.export.after-id", Long.class, 0L),
+                    dateTime("omok.export.from"),
+                    dateTime("omok.export.to"),
+                    env.getProperty("omok.export.user-id", Long.class),
+                    env.getProperty("omok.export.limit", Long.class, 0L));
+            GameExportService.Result result;
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                result = gameExportService.export(query, format, file);
+            }
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("[EXPORT_CLI] out={} games={} skipped={} lastId={}", out, result.games(), result.skipped(),
+                    result.lastId());
+            return 0;
+        } catch (Exception e) {
+            log.error("[EXPORT_CLI_FAIL] out={} partial={} : {}", out, tmp, e.getMessage(), e);
+            return 1;
+        }
+    }
+
+    // ISO 시각("2025-01-01T00:00"). 없으면 null.
+    private LocalDateTime dateTime(String key) {
+        String value = env.getProperty(key);
+        return value == null || value.isBlank() ? null : LocalDateTime.parse(value.trim());
+    }
+}
@@ -0,0 +1,124 @@
+package org.scoula.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.game.EndReason;
+import org.scoula.game.GameMoves;
+import org.scoula.game.WinnerColor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 기보 일괄 내보내기. game 테이블을 id 오름차순 전진 전용 커서(fetch-size 단위)로 읽으며 한 판씩 형식에 맞춰
+ * gzip 스트림에 바로 쓴다. 판을 모아 두지 않으므로 메모리는 내보내는 양과 무관하다.
+ * 읽을 수 없는 moves 행은 건너뛰고 로그와 skipped로 남긴다. 끊기면 마지막으로 받은 id를 afterId로 넘겨 이어 받는다.
+ */
+@Slf4j
+@Service
+public class GameExportService {
+
+    private static final String SELECT_SQL = "SELECT id, black_user_id, white_user_id, black_name, white_name, "
+            + "winner, end_reason, moves, created_at FROM game WHERE id > ?";
+
+    /** 내보낸 판 수, 건너뛴 행 수, 마지막으로 쓴 id(없으면 요청한 afterId). */
+    public record Result(long games, long skipped, long lastId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public GameExportService(JdbcTemplate jdbcTemplate, @Value("${omok.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /** query 범위를 format으로 out에 gzip해 쓴다. gzip 꼬리까지 쓰고 out은 닫지 않는다. */
+    public Result export(GameExportQuery query, GameExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+        ExportSink sink = format.open(gzip);
+        long[] counts = new long[2];
+        long[] lastId = {query.afterId()};
+        try {
+            jdbcTemplate.query(con -> prepare(con.prepareStatement(sql(query), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY), query), rs -> {
+                long id = rs.getLong("id");
+                ExportedGame game;
+                try {
+                    game = map(rs);
+                } catch (IllegalArgumentException e) {
+                    counts[1]++;
+                    log.warn("[EXPORT_SKIP] id={} : {}", id, e.getMessage());
+                    return;
+                }
+                try {
+                    sink.write(game);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                counts[0]++;
+                lastId[0] = id;
+            });
+        } catch (UncheckedIOException e) {
+            // 받는 쪽이 끊었다. 커서는 query가 닫았다.
+            throw e.getCause();
+        }
+        sink.finish();
+        gzip.finish();
+        gzip.flush();
+        log.info("[EXPORT] format={} afterId={} games={} skipped={} lastId={} took={}ms", format, query.afterId(),
+                counts[0], counts[1], lastId[0], (System.nanoTime() - started) / 1_000_000);
+        return new Result(counts[0], counts[1], lastId[0]);
+    }
+
+    private static String sql(GameExportQuery q) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (q.from() != null) sql.append(" AND created_at >= ?");
+        if (q.to() != null) sql.append(" AND created_at < ?");
+        if (q.userId() != null) sql.append(" AND (black_user_id = ? OR white_user_id = ?)");
+        sql.append(" ORDER BY id");
+        if (q.limit() > 0) sql.append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    private PreparedStatement prepare(PreparedStatement ps, GameExportQuery q) throws SQLException {
+        int i = 1;
+        ps.setLong(i++, q.afterId());
+        if (q.from() != null) ps.setTimestamp(i++, Timestamp.valueOf(q.from()));
+        if (q.to() != null) ps.setTimestamp(i++, Timestamp.valueOf(q.to()));
+        if (q.userId() != null) {
+            ps.setLong(i++, q.userId());
+            ps.setLong(i++, q.userId());
+        }
+        if (q.limit() > 0) ps.setLong(i, q.limit());
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    private static ExportedGame map(ResultSet rs) throws SQLException {
+        return new ExportedGame(
+                rs.getLong("id"),
+                nullableLong(rs, "black_user_id"),
+                nullableLong(rs, "white_user_id"),
+                rs.getString("black_name"),
+                rs.getString("white_name"),
+                WinnerColor.valueOf(rs.getString("winner")),
+                EndReason.valueOf(rs.getString("end_reason")),
+                GameMoves.decode(rs.getBytes("moves")),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
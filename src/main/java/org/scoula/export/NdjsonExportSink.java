@@ -0,0 +1,62 @@
+package org.scoula.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 한 줄에 한 판인 JSON(NDJSON). 필드 이름은 기보 상세 응답(GameDetailResponse)과 같고 참가자 userId가 더 있다.
+ * moveMillis는 시간 기록 이전 기보면 null.
+ */
+final class NdjsonExportSink implements ExportSink {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final JsonGenerator json;
+
+    NdjsonExportSink(OutputStream out) throws IOException {
+        this.json = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(ExportedGame g) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", g.id());
+        writeNullableNumber("blackUserId", g.blackUserId());
+        writeNullableNumber("whiteUserId", g.whiteUserId());
+        json.writeStringField("blackName", g.blackName());
+        json.writeStringField("whiteName", g.whiteName());
+        json.writeStringField("winner", g.winner().name());
+        json.writeStringField("endReason", g.endReason().name());
+        json.writeStringField("createdAt", g.createdAt().toString());
+        json.writeArrayFieldStart("moves");
+        for (int i = 0; i < g.moves().size(); i++) json.writeNumber(g.moves().index(i));
+        json.writeEndArray();
+        if (g.moves().hasElapsed()) {
+            json.writeArrayFieldStart("moveMillis");
+            for (int i = 0; i < g.moves().size(); i++) json.writeNumber(g.moves().elapsedMillis(i));
+            json.writeEndArray();
+        } else {
+            json.writeNullField("moveMillis");
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeNullableNumber(String field, Long value) throws IOException {
+        if (value == null) json.writeNullField(field);
+        else json.writeNumberField(field, value);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        json.flush();
+    }
+}
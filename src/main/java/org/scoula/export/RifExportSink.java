@@ -0,0 +1,72 @@
+package org.scoula.export;
+
+import org.scoula.game.WinnerColor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RIF 기보 데이터베이스(XML) 모양. database/games 아래에 판마다 game 요소 하나이고, 수순은 move 요소에 공백으로 구분한
+ * 좌표("h8")로 쓴다. 열은 왼쪽부터 a..o, 행은 아래부터 1..15(판 위쪽 y=0이 15행)라 가운데(112)가 h8이다.
+ * bplayer·wplayer는 선수 id 대신 이름을 그대로 쓰고, bresult는 흑 승 1 · 백 승 0이다.
+ */
+final class RifExportSink implements ExportSink {
+
+    private final Writer out;
+
+    RifExportSink(OutputStream stream) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 8192);
+        out.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<database>\n<games>\n");
+    }
+
+    @Override
+    public void write(ExportedGame g) throws IOException {
+        out.write("<game id=\"");
+        out.write(Long.toString(g.id()));
+        out.write("\" bplayer=\"");
+        escape(g.blackName());
+        out.write("\" wplayer=\"");
+        escape(g.whiteName());
+        out.write("\" bresult=\"");
+        out.write(g.winner() == WinnerColor.BLACK ? '1' : '0');
+        out.write("\" rule=\"renju\" date=\"");
+        out.write(g.createdAt().toLocalDate().toString());
+        out.write("\" reason=\"");
+        out.write(g.endReason().name());
+        out.write("\">\n<move>");
+        for (int i = 0; i < g.moves().size(); i++) {
+            if (i > 0) out.write(' ');
+            coordinate(g.moves().index(i));
+        }
+        out.write("</move>\n</game>\n");
+    }
+
+    private void coordinate(int index) throws IOException {
+        out.write('a' + index % 15);
+        out.write(Integer.toString(15 - index / 15));
+    }
+
+    private void escape(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> out.write("&amp;");
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                case '"' -> out.write("&quot;");
+                case '\'' -> out.write("&apos;");
+                default -> out.write(c);
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.write("</games>\n</database>\n");
+        out.flush();
+    }
+}
@@ -1,6 +1,7 @@
 package org.scoula.game;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -20,7 +21,7 @@ import java.time.LocalDateTime;
 /**
  * 종료된 대국 1건의 기보. 게임 종료 순간 원샷으로 저장된다(중단된 대국은 저장되지 않음).
  * 회원 자리는 user_id(비회원=게스트면 null), 이름은 표시용으로 저장한다.
- * moves는 착수 index를 놓인 순서대로 CSV로 직렬화(예 "112,113,96").
+ * moves는 착수 index(+수마다 소요 시간)를 GameMoves 바이너리 포맷으로 저장한다(1바이트/수).
  */
 @Entity
 @Table(name = "game")
@@ -54,8 +55,9 @@ public class Game {
     @Column(nullable = false, length = 20)
     private EndReason endReason;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String moves; // index CSV
+    @Convert(converter = GameMovesConverter.class)
+    @Column(nullable = false, columnDefinition = "VARBINARY(2048)")
+    private GameMoves moves;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
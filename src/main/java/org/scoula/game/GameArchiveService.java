@@ -1,31 +1,33 @@
 package org.scoula.game;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.scoula.room.domain.Room;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
 
 /**
  * 게임 종료 훅 — 종료된 대국을 기보로 원샷 저장한다.
  * 4개 종료 경로(승리/기권/시간초과/끊김몰수)가 모두 이 지점을 통과한다.
- * (향후 ELO 레이팅 갱신·통계도 이 훅에 얹는다.)
+ * room 락 안에서 호출되므로 여기서는 room 상태를 Game으로 떠서 GameArchiveWriter 큐에 넣기만 하고,
+ * DB insert는 writer 스레드가 배치로 한다(게임 종료 지연이 DB 지연과 무관).
+ * 레이팅은 여기서 매기지 않는다. writer가 행을 실제로 넣은 뒤에 GameResultListener(RatingService)로 넘긴다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class GameArchiveService {
 
-    private final GameRepository gameRepository;
+    private final GameArchiveWriter gameArchiveWriter;
+
+    public GameArchiveService(GameArchiveWriter gameArchiveWriter) {
+        this.gameArchiveWriter = gameArchiveWriter;
+    }
 
     /**
      * 종료된 대국을 기보로 저장한다. 회원이 한 명이라도 있을 때만 저장한다
      * (게스트끼리는 미저장). 서버 중단으로 이 메서드에 도달하지 못하면 자연히 미저장.
      */
     // 기보 저장 실패가 게임 종료 흐름(GAME_END broadcast)을 깨지 않도록 예외를 삼킨다(best-effort).
-    @Transactional
     public void archive(Room room, WinnerColor winner, EndReason reason) {
         try {
             String blackPrincipal = room.blackPrincipal();
@@ -43,10 +45,6 @@ public class GameArchiveService {
                 return;
             }
 
-            String moves = room.getMoveHistory().stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-
             Game game = Game.builder()
                     .blackUserId(blackUserId)
                     .whiteUserId(whiteUserId)
@@ -54,11 +52,12 @@ public class GameArchiveService {
                     .whiteName(nameOr(room, whitePrincipal))
                     .winner(winner)
                     .endReason(reason)
-                    .moves(moves)
+                    .moves(GameMoves.from(room.getMoveLog()))
+                    .createdAt(LocalDateTime.now()) // 종료 시각. 배치 insert가 늦어져도 정렬 기준은 이 값이다.
                     .build();
-            gameRepository.save(game);
-            log.info("[KIFU_SAVED] roomId={} winner={} reason={} moves={}",
-                    room.getRoomId(), winner, reason, room.getMoveHistory().size());
+            gameArchiveWriter.submit(game);
+            log.info("[KIFU_QUEUED] roomId={} winner={} reason={} moves={}",
+                    room.getRoomId(), winner, reason, room.getMoveLog().size());
         } catch (Exception e) {
             log.error("[KIFU_SAVE_FAIL] roomId={} : {}", room.getRoomId(), e.getMessage(), e);
         }
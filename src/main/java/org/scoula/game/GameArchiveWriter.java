@@ -0,0 +1,393 @@
+package org.scoula.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.config.OmokMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기보 write-behind 파이프라인. 게임 종료 경로(room 락 안)는 submit으로 큐에 넣기만 하고,
+ * 백그라운드 스레드(kifu-writer)가 batch-size건 또는 linger 시간 단위로 묶어 JDBC batch insert 한다.
+ * 게임 종료 지연이 DB 왕복 지연과 무관해진다.
+ *
+ * - 배치는 한 트랜잭션이다. 일부만 커밋된 채 실패하는 일이 없어서, 실패한 배치를 다시 써도 중복이 생기지 않는다.
+ * - 배치 실패: 한 건씩 다시 insert 한다. 일시적 실패(연결 끊김 등)로 못 쓴 행만 로컬 append-only
+ *   스필 파일(NDJSON)에 남기고, 다시 해도 안 될 행(제약 위반 등)은 dead-letter 파일로 뺀다.
+ *   한 건의 불량 행이 배치 전체를 스필↔재생에 영원히 묶어 두지 않는다. 큐가 가득 차도 호출자를 막지 않고 스필한다.
+ * - 레이팅: 회원끼리의 대국은 행이 실제로 들어간 뒤에 한 건씩 GameResultListener(RatingService)에 넘긴다.
+ *   스필·dead-letter로 간 판은 아직 매기지 않는다. 이미 매긴 판이라고 표시된 스필 줄은 재생해도 다시 매기지 않는다.
+ * - 재생: 시작 시, 그리고 이후 replay-interval마다 스필 파일이 있으면 읽어 큐에 다시 넣는다.
+ * - 종료: 큐에 남은 기보를 마지막으로 flush하고, 실패하면 스필한다.
+ * MySQL에서 batch가 실제 다중 행 INSERT가 되는 것은 hikari data-source-properties의 rewriteBatchedStatements 덕이다.
+ */
+@Slf4j
+@Component
+public class GameArchiveWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO game "
+            + "(black_user_id, white_user_id, black_name, white_name, winner, end_reason, moves, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration linger;
+    private final Duration replayInterval;
+    private final Path spillFile;
+    private final Path deadLetterFile;
+    private final TransactionOperations tx;
+    private final GameResultListener resultListener;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Object spillLock = new Object();
+    // 배치 insert 시간(omok.archive.save{outcome=saved|spilled}). 큐 길이는 pending() 게이지로 본다.
+    private final OmokMetrics metrics;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long nextReplayAt;
+
+    @Autowired
+    public GameArchiveWriter(JdbcTemplate jdbcTemplate,
+                             @Value("${omok.archive.queue-capacity:10000}") int queueCapacity,
+                             @Value("${omok.archive.batch-size:100}") int batchSize,
+                             @Value("${omok.archive.linger:200ms}") Duration linger,
+                             @Value("${omok.archive.replay-interval:30s}") Duration replayInterval,
+                             @Value("${omok.archive.spill-file:./data/kifu-spill.ndjson}") Path spillFile,
+                             @Value("${omok.archive.dead-letter-file:./data/kifu-dead.ndjson}") Path deadLetterFile,
+                             PlatformTransactionManager transactionManager,
+                             GameResultListener resultListener,
+                             OmokMetrics metrics) {
+        this(jdbcTemplate, queueCapacity, batchSize, linger, replayInterval, spillFile, deadLetterFile,
+                new TransactionTemplate(transactionManager), resultListener, metrics);
+    }
+
+    GameArchiveWriter(JdbcTemplate jdbcTemplate, int queueCapacity, int batchSize, Duration linger,
+                      Duration replayInterval, Path spillFile, Path deadLetterFile, TransactionOperations tx,
+                      GameResultListener resultListener, OmokMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.replayInterval = replayInterval;
+        this.spillFile = spillFile;
+        this.deadLetterFile = deadLetterFile;
+        this.tx = tx;
+        this.resultListener = resultListener;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void start() {
+        replaySpill(); // 지난 실행에서 DB에 못 쓴 기보를 먼저 큐에 올린다
+        running = true;
+        worker = new Thread(this::runLoop, "kifu-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 작업 스레드가 남긴 것까지 마지막으로 비운다. 실패분은 스필되어 다음 기동 때 재생된다.
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+    }
+
+    /** 종료된 대국 1건을 큐에 넣는다. 절대 막지 않는다(가득 차면 바로 스필). */
+    public void submit(Game game) {
+        enqueue(new Pending(game, false));
+    }
+
+    private void enqueue(Pending pending) {
+        if (!queue.offer(pending)) {
+            log.warn("[KIFU_QUEUE_FULL] capacity={} → spill", queue.size());
+            spill(List.of(pending));
+        }
+    }
+
+    /** 아직 DB로 가지 않은 큐 길이(모니터링용). */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        nextReplayAt = System.nanoTime() + replayInterval.toNanos();
+        while (running) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty()) flush(batch);
+                if (System.nanoTime() - nextReplayAt >= 0) {
+                    nextReplayAt = System.nanoTime() + replayInterval.toNanos();
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                break; // stop()이 남은 큐를 비운다
+            } catch (RuntimeException e) {
+                log.error("[KIFU_WRITER_ERROR] {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // 첫 건을 기다린 뒤, batch-size가 차거나 linger가 지날 때까지 모은다.
+    private List<Pending> nextBatch() throws InterruptedException {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending first = queue.poll(replayInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) return batch;
+        batch.add(first);
+        long deadline = System.nanoTime() + linger.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) break;
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    void flush(List<Pending> batch) {
+        if (batch.isEmpty()) return;
+        long started = System.nanoTime();
+        try {
+            tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, batch.get(i).game());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+        } catch (RuntimeException e) {
+            // 트랜잭션이 롤백되어 이 배치는 한 건도 안 들어갔다. 어느 행이 문제인지 한 건씩 가려낸다.
+            log.warn("[KIFU_BATCH_FAIL] batch={} → row by row : {}", batch.size(), e.getMessage());
+            boolean spilled = flushRows(batch);
+            metrics.archiveSave(System.nanoTime() - started, !spilled);
+            return;
+        }
+        metrics.archiveSave(System.nanoTime() - started, true);
+        log.info("[KIFU_SAVED] batch={}", batch.size());
+        // 커밋된 뒤에 매긴다. 레이팅 쪽 실패가 이미 들어간 배치를 다시 쓰게 만들면 안 된다.
+        for (Pending pending : batch) rate(pending);
+    }
+
+    // 한 건씩 insert 한다. 일시적 실패가 나면 DB가 내려간 것으로 보고 남은 행은 시도하지 않고 함께 스필한다.
+    private boolean flushRows(List<Pending> batch) {
+        int saved = 0;
+        List<String> dead = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            Game game = pending.game();
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, game));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    List<Pending> unwritten = batch.subList(i, batch.size());
+                    log.error("[KIFU_SAVE_FAIL] saved={} spill={} dead={} : {}",
+                            saved, unwritten.size(), dead.size(), e.getMessage());
+                    deadLetter(dead);
+                    spill(unwritten);
+                    return true;
+                }
+                log.error("[KIFU_DEAD] blackName={} whiteName={} createdAt={} : {}",
+                        game.getBlackName(), game.getWhiteName(), game.getCreatedAt(), e.getMessage());
+                dead.add(toLine(pending));
+                continue;
+            }
+            saved++;
+            rate(pending);
+        }
+        log.info("[KIFU_SAVED] rows={} dead={}", saved, dead.size());
+        deadLetter(dead);
+        return false;
+    }
+
+    // 회원끼리의 대국이고 아직 매기지 않았으면 레이팅에 넘긴다. 리스너는 큐에 넣기만 하므로 writer를 막지 않는다.
+    private void rate(Pending pending) {
+        Game game = pending.game();
+        if (pending.rated() || game.getBlackUserId() == null || game.getWhiteUserId() == null) return;
+        try {
+            resultListener.gameEnded(game.getBlackUserId(), game.getWhiteUserId(), game.getWinner());
+        } catch (RuntimeException e) {
+            log.error("[RATING_HOOK_FAIL] black={} white={} : {}", game.getBlackUserId(), game.getWhiteUserId(),
+                    e.getMessage(), e);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Game game) throws SQLException {
+        ps.setObject(1, game.getBlackUserId(), Types.BIGINT);
+        ps.setObject(2, game.getWhiteUserId(), Types.BIGINT);
+        ps.setString(3, game.getBlackName());
+        ps.setString(4, game.getWhiteName());
+        ps.setString(5, game.getWinner().name());
+        ps.setString(6, game.getEndReason().name());
+        ps.setBytes(7, game.getMoves().encode());
+        ps.setTimestamp(8, Timestamp.valueOf(game.getCreatedAt()));
+    }
+
+    // 다시 하면 될 수도 있는 실패. 연결 획득 실패(CannotGetJdbcConnectionException)도 여기에 든다.
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void spill(List<Pending> games) {
+        List<String> lines = new ArrayList<>(games.size());
+        for (Pending pending : games) {
+            String line = toLine(pending);
+            if (line != null) lines.add(line);
+        }
+        if (!append(spillFile, lines)) {
+            // 최후 수단까지 실패: 기보는 잃지만 게임 진행은 막지 않는다(기존 best-effort 정책과 같다).
+            log.error("[KIFU_SPILL_FAIL] lost={} file={}", games.size(), spillFile);
+        }
+    }
+
+    // 다시 넣어도 같은 이유로 실패할 행. 사람이 보고 고치도록 원본 그대로 따로 둔다(재생 대상 아님).
+    private void deadLetter(List<String> lines) {
+        if (lines.isEmpty()) return;
+        if (!append(deadLetterFile, lines)) {
+            log.error("[KIFU_DEAD_LETTER_FAIL] lost={} file={}", lines.size(), deadLetterFile);
+        }
+    }
+
+    private String toLine(Pending pending) {
+        try {
+            return objectMapper.writeValueAsString(SpillRecord.of(pending));
+        } catch (IOException | RuntimeException e) {
+            log.error("[KIFU_ENCODE_FAIL] blackName={} : {}", pending.game().getBlackName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean append(Path file, List<String> lines) {
+        if (lines.isEmpty()) return true;
+        synchronized (spillLock) {
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (String line : lines) {
+                        if (line == null) continue;
+                        out.write(line);
+                        out.newLine();
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                log.error("[KIFU_APPEND_FAIL] file={} : {}", file, e.getMessage(), e);
+                return false;
+            }
+        }
+    }
+
+    // 스필 파일을 통째로 읽어 지우고 큐에 다시 넣는다. 큐에 다 안 들어가는 분량은 다시 스필된다.
+    // 읽을 수 없는 줄은 파일 전체의 재생을 막지 않도록 dead-letter로 뺀다.
+    void replaySpill() {
+        List<Pending> games = new ArrayList<>();
+        List<String> unreadable = new ArrayList<>();
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) return;
+            try {
+                for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    try {
+                        games.add(objectMapper.readValue(line, SpillRecord.class).toPending());
+                    } catch (IOException | RuntimeException e) {
+                        log.error("[KIFU_REPLAY_BAD_LINE] {} : {}", line, e.getMessage());
+                        unreadable.add(line);
+                    }
+                }
+                Files.delete(spillFile);
+            } catch (IOException e) {
+                log.error("[KIFU_REPLAY_FAIL] file={} : {}", spillFile, e.getMessage(), e);
+                return;
+            }
+        }
+        deadLetter(unreadable);
+        log.info("[KIFU_REPLAY] games={} dead={} file={}", games.size(), unreadable.size(), spillFile);
+        for (Pending pending : games) enqueue(pending);
+    }
+
+    /** 큐 한 칸. rated면 이미 레이팅에 반영된 판이라 저장한 뒤에도 다시 매기지 않는다. */
+    record Pending(Game game, boolean rated) {
+    }
+
+    /**
+     * 스필 파일 한 줄. created_at은 게임이 끝난 시각 그대로 보존한다. moves는 GameMoves 바이너리(JSON에선 base64).
+     * rated가 없는 줄(레이팅 도입 전에 쓴 것)은 아직 매기지 않은 판으로 읽힌다.
+     */
+    record SpillRecord(Long blackUserId, Long whiteUserId, String blackName, String whiteName,
+                       WinnerColor winner, EndReason endReason, byte[] moves, String createdAt, boolean rated) {
+
+        static SpillRecord of(Pending pending) {
+            Game game = pending.game();
+            return new SpillRecord(game.getBlackUserId(), game.getWhiteUserId(), game.getBlackName(),
+                    game.getWhiteName(), game.getWinner(), game.getEndReason(), game.getMoves().encode(),
+                    game.getCreatedAt().toString(), pending.rated());
+        }
+
+        Pending toPending() {
+            return new Pending(toGame(), rated);
+        }
+
+        Game toGame() {
+            return Game.builder()
+                    .blackUserId(blackUserId)
+                    .whiteUserId(whiteUserId)
+                    .blackName(blackName)
+                    .whiteName(whiteName)
+                    .winner(winner)
+                    .endReason(endReason)
+                    .moves(GameMoves.decode(moves))
+                    .createdAt(LocalDateTime.parse(createdAt))
+                    .build();
+        }
+    }
+}
@@ -2,16 +2,15 @@ package org.scoula.game;
 
 import lombok.RequiredArgsConstructor;
 import org.scoula.game.dto.GameDetailResponse;
-import org.scoula.game.dto.GameSummaryResponse;
+import org.scoula.game.dto.GameHistoryResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/games")
 @RequiredArgsConstructor
@@ -19,11 +18,17 @@ public class GameController {
 
     private final GameQueryService gameQueryService;
 
-    /** 내 기보 목록. 회원만 데이터 있음(게스트=빈 목록). */
+    /**
+     * 내 기보 목록(최신순, keyset 페이지). 회원만 데이터 있음(게스트=빈 목록).
+     * 다음 페이지는 응답의 nextCursor를 cursor로 넘긴다. 잘못된 cursor는 400.
+     */
     @GetMapping("")
-    public ResponseEntity<List<GameSummaryResponse>> myGames(Authentication authentication) {
+    public ResponseEntity<GameHistoryResponse> myGames(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
         Long userId = memberUserId(authentication.getName());
-        return ResponseEntity.ok(gameQueryService.myGames(userId));
+        return ResponseEntity.ok(gameQueryService.myGames(userId, cursor, size));
     }
 
     /** 기보 상세(복기). 참가자 본인만, 아니면 404(존재 미노출). */
@@ -0,0 +1,39 @@
+package org.scoula.game;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 기보 목록 keyset 커서. 직전 페이지 마지막 행의 (created_at, id)이며, 다음 페이지는 이보다 "이전" 행부터다.
+ * created_at이 같은 행은 id로 순서를 정하므로 같은 시각에 끝난 대국도 빠지거나 겹치지 않는다.
+ * 클라이언트에는 불투명 문자열(base64url)로만 노출한다.
+ */
+public record GameCursor(LocalDateTime createdAt, long id) {
+
+    /** 첫 페이지: 모든 행보다 뒤인 가상의 위치. */
+    static final GameCursor FIRST = new GameCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    static GameCursor of(GameSummaryRow row) {
+        return new GameCursor(row.createdAt(), row.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** null/빈 값이면 첫 페이지. 형식이 틀리면 InvalidCursorException(400). */
+    public static GameCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) throw new InvalidCursorException();
+            return new GameCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.scoula.game;
+
+import org.scoula.room.domain.MoveLog;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 대국의 기보(착수 index 순서 + 선택적으로 수마다 걸린 시간 ms). game.moves 컬럼의 값 타입.
+ *
+ * 저장 포맷(첫 바이트 = 포맷 헤더):
+ * - 0x01 : [0x01][index 1바이트 × n]                       — 시간 없음
+ * - 0x02 : [0x02][n 1바이트][index 1바이트 × n][varint ms × n] — 수마다 소요 시간
+ * index는 0~224라 부호 없는 1바이트에 들어간다. 소요 시간은 대부분 1~2바이트 varint다.
+ * V3 이전 행은 index CSV("112,113,96")의 ASCII 바이트라 첫 바이트가 숫자('0'~'9')이므로 헤더와 겹치지 않는다.
+ * 빈 값(0바이트)은 빈 기보다.
+ */
+public final class GameMoves {
+
+    static final byte FORMAT_INDEXES = 0x01;
+    static final byte FORMAT_TIMED = 0x02;
+
+    private static final int BOARD_CELLS = 15 * 15;
+    private static final GameMoves EMPTY = new GameMoves(new int[0], null);
+
+    private final int[] indexes;
+    private final int[] elapsedMillis; // null이면 시간 정보 없음(구 기보)
+
+    private GameMoves(int[] indexes, int[] elapsedMillis) {
+        for (int index : indexes) {
+            if (index < 0 || index >= BOARD_CELLS) {
+                throw new IllegalArgumentException("move index out of range: " + index);
+            }
+        }
+        if (elapsedMillis != null) {
+            if (elapsedMillis.length != indexes.length) {
+                throw new IllegalArgumentException("elapsed length " + elapsedMillis.length
+                        + " != moves " + indexes.length);
+            }
+            for (int ms : elapsedMillis) {
+                if (ms < 0) throw new IllegalArgumentException("negative elapsed millis: " + ms);
+            }
+        }
+        this.indexes = indexes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** 시간 정보 없이 index만 가진 기보. */
+    public static GameMoves of(int... indexes) {
+        return indexes.length == 0 ? EMPTY : new GameMoves(indexes.clone(), null);
+    }
+
+    /** 수마다 소요 시간(ms)을 가진 기보. */
+    public static GameMoves timed(int[] indexes, int[] elapsedMillis) {
+        return new GameMoves(indexes.clone(), elapsedMillis.clone());
+    }
+
+    /** 대국 중 기록부를 그대로 떠 온다(index + 소요 시간). */
+    public static GameMoves from(MoveLog log) {
+        int n = log.size();
+        int[] indexes = new int[n];
+        int[] elapsed = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = log.get(i);
+            elapsed[i] = log.elapsedMillis(i);
+        }
+        return new GameMoves(indexes, elapsed);
+    }
+
+    public int size() {
+        return indexes.length;
+    }
+
+    /** i번째(0부터) 착수 index. */
+    public int index(int i) {
+        return indexes[i];
+    }
+
+    /** 수마다 소요 시간이 있는지(V3 이전 CSV 행·시간 없이 만든 기보는 false). */
+    public boolean hasElapsed() {
+        return elapsedMillis != null;
+    }
+
+    /** i번째(0부터) 착수에 걸린 시간(ms). 시간 정보가 없으면 IllegalStateException. */
+    public int elapsedMillis(int i) {
+        if (elapsedMillis == null) throw new IllegalStateException("no elapsed millis");
+        return elapsedMillis[i];
+    }
+
+    /** 응답용 박싱된 index 목록. */
+    public List<Integer> indexList() {
+        return boxed(indexes);
+    }
+
+    /** 응답용 박싱된 소요 시간 목록. 시간 정보가 없으면 null. */
+    public List<Integer> elapsedMillisList() {
+        return elapsedMillis == null ? null : boxed(elapsedMillis);
+    }
+
+    public byte[] encode() {
+        int n = indexes.length;
+        if (elapsedMillis == null) {
+            byte[] out = new byte[1 + n];
+            out[0] = FORMAT_INDEXES;
+            for (int i = 0; i < n; i++) out[1 + i] = (byte) indexes[i];
+            return out;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + n * 3);
+        out.write(FORMAT_TIMED);
+        out.write(n);
+        for (int index : indexes) out.write(index);
+        for (int ms : elapsedMillis) writeVarint(out, ms);
+        return out.toByteArray();
+    }
+
+    /** encode의 역. V3 이전 CSV 바이트도 읽는다. */
+    public static GameMoves decode(byte[] data) {
+        if (data == null || data.length == 0) return EMPTY;
+        byte format = data[0];
+        if (format >= '0' && format <= '9') return decodeLegacyCsv(data);
+        if (format == FORMAT_INDEXES) {
+            int[] indexes = new int[data.length - 1];
+            for (int i = 0; i < indexes.length; i++) indexes[i] = data[1 + i] & 0xFF;
+            return new GameMoves(indexes, null);
+        }
+        if (format == FORMAT_TIMED) {
+            if (data.length < 2) throw new IllegalArgumentException("truncated moves header");
+            int n = data[1] & 0xFF;
+            if (data.length < 2 + n) throw new IllegalArgumentException("truncated moves: n=" + n);
+            int[] indexes = new int[n];
+            for (int i = 0; i < n; i++) indexes[i] = data[2 + i] & 0xFF;
+            int[] elapsed = new int[n];
+            int pos = 2 + n;
+            for (int i = 0; i < n; i++) {
+                int value = 0;
+                int shift = 0;
+                while (true) {
+                    if (pos >= data.length || shift > 28) {
+                        throw new IllegalArgumentException("malformed elapsed varint at move " + i);
+                    }
+                    int b = data[pos++];
+                    value |= (b & 0x7F) << shift;
+                    if ((b & 0x80) == 0) break;
+                    shift += 7;
+                }
+                elapsed[i] = value;
+            }
+            return new GameMoves(indexes, elapsed);
+        }
+        throw new IllegalArgumentException("unknown moves format: " + (format & 0xFF));
+    }
+
+    // "112,113,96" 의 ASCII 바이트를 문자열·split 없이 바로 숫자로 읽는다.
+    private static GameMoves decodeLegacyCsv(byte[] data) {
+        int[] indexes = new int[data.length / 2 + 1];
+        int n = 0;
+        int value = -1;
+        for (byte b : data) {
+            if (b >= '0' && b <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (b - '0');
+            } else if (b == ',') {
+                if (value < 0) throw new IllegalArgumentException("empty move in legacy csv");
+                indexes[n++] = value;
+                value = -1;
+            } else if (b != ' ') {
+                throw new IllegalArgumentException("unexpected byte in legacy csv: " + (b & 0xFF));
+            }
+        }
+        if (value >= 0) indexes[n++] = value;
+        return new GameMoves(Arrays.copyOf(indexes, n), null);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static List<Integer> boxed(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int v : values) list.add(v);
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameMoves other)) return false;
+        return Arrays.equals(indexes, other.indexes) && Arrays.equals(elapsedMillis, other.elapsedMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(indexes) + Arrays.hashCode(elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "GameMoves" + Arrays.toString(indexes);
+    }
+}
@@ -0,0 +1,22 @@
+package org.scoula.game;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * game.moves(VARBINARY) ↔ GameMoves. 읽을 때 V3 이전 CSV 행도 그대로 해석한다(GameMoves.decode).
+ * 기존 CSV 행을 일괄 변환하지 않아도 되므로 마이그레이션은 컬럼 타입만 바꾼다.
+ */
+@Converter
+public class GameMovesConverter implements AttributeConverter<GameMoves, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(GameMoves moves) {
+        return moves == null ? null : moves.encode();
+    }
+
+    @Override
+    public GameMoves convertToEntityAttribute(byte[] data) {
+        return data == null ? null : GameMoves.decode(data);
+    }
+}
@@ -2,28 +2,51 @@ package org.scoula.game;
 
 import lombok.RequiredArgsConstructor;
 import org.scoula.game.dto.GameDetailResponse;
+import org.scoula.game.dto.GameHistoryResponse;
 import org.scoula.game.dto.GameSummaryResponse;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GameQueryService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<GameSummaryRow> NEWEST_FIRST =
+            Comparator.comparing(GameSummaryRow::createdAt).thenComparing(GameSummaryRow::id).reversed();
+
     private final GameRepository gameRepository;
 
-    /** 내가 흑/백으로 참여한 기보 목록(최신순). userId 없으면(게스트) 빈 목록. */
+    /**
+     * 내가 흑/백으로 참여한 기보 목록 한 페이지(최신순). userId 없으면(게스트) 빈 페이지.
+     * 흑 쪽·백 쪽을 각각 (user_id, created_at, id) 인덱스 범위 스캔으로 size+1건씩만 읽어 합친다.
+     * OR 조건 한 방 쿼리와 달리 기보 수와 무관하게 페이지 크기만큼만 읽고, moves 컬럼은 읽지 않는다.
+     */
     @Transactional(readOnly = true)
-    public List<GameSummaryResponse> myGames(Long userId) {
-        if (userId == null) return List.of();
-        return gameRepository.findByBlackUserIdOrWhiteUserIdOrderByCreatedAtDesc(userId, userId).stream()
-                .map(g -> toSummary(g, userId))
-                .collect(Collectors.toList());
+    public GameHistoryResponse myGames(Long userId, String cursor, int size) {
+        if (userId == null) return new GameHistoryResponse(List.of(), null);
+        GameCursor after = GameCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        PageRequest limit = PageRequest.of(0, pageSize + 1); // 한 건 더 읽어 다음 페이지 유무를 안다
+
+        List<GameSummaryRow> rows = new ArrayList<>(
+                gameRepository.findBlackHistory(userId, after.createdAt(), after.id(), limit));
+        rows.addAll(gameRepository.findWhiteHistory(userId, after.createdAt(), after.id(), limit));
+        rows.sort(NEWEST_FIRST);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<GameSummaryRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<GameSummaryResponse> games = new ArrayList<>(page.size());
+        for (GameSummaryRow row : page) games.add(toSummary(row, userId));
+        String nextCursor = hasNext ? GameCursor.of(page.get(pageSize - 1)).encode() : null;
+        return new GameHistoryResponse(games, nextCursor);
     }
 
     /** 참가자 본인만 조회. 미존재/비참가자면 empty(컨트롤러에서 404 — 존재 여부 미노출). */
@@ -35,19 +58,17 @@ public class GameQueryService {
                 .map(this::toDetail);
     }
 
-    private GameSummaryResponse toSummary(Game g, Long userId) {
-        boolean iamBlack = userId.equals(g.getBlackUserId());
+    private GameSummaryResponse toSummary(GameSummaryRow g, Long userId) {
+        boolean iamBlack = userId.equals(g.blackUserId());
         WinnerColor myColor = iamBlack ? WinnerColor.BLACK : WinnerColor.WHITE;
-        String opponent = iamBlack ? g.getWhiteName() : g.getBlackName();
-        String result = (g.getWinner() == myColor) ? "WIN" : "LOSS";
-        return new GameSummaryResponse(g.getId(), opponent, myColor, result, g.getEndReason(), g.getCreatedAt());
+        String opponent = iamBlack ? g.whiteName() : g.blackName();
+        String result = (g.winner() == myColor) ? "WIN" : "LOSS";
+        return new GameSummaryResponse(g.id(), opponent, myColor, result, g.endReason(), g.createdAt());
     }
 
     private GameDetailResponse toDetail(Game g) {
-        List<Integer> moves = g.getMoves().isBlank()
-                ? List.of()
-                : Arrays.stream(g.getMoves().split(",")).map(Integer::parseInt).collect(Collectors.toList());
+        GameMoves moves = g.getMoves();
         return new GameDetailResponse(g.getId(), g.getBlackName(), g.getWhiteName(),
-                g.getWinner(), g.getEndReason(), moves, g.getCreatedAt());
+                g.getWinner(), g.getEndReason(), moves.indexList(), moves.elapsedMillisList(), g.getCreatedAt());
     }
 }
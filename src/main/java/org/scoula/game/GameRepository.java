@@ -1,11 +1,33 @@
 package org.scoula.game;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
 
-    /** 내가 흑 또는 백으로 참여한 기보를 최신순으로. */
-    List<Game> findByBlackUserIdOrWhiteUserIdOrderByCreatedAtDesc(Long blackUserId, Long whiteUserId);
+    /**
+     * 내가 흑으로 둔 기보를 (created_at, id) 커서 이전부터 최신순으로. moves는 읽지 않는다.
+     * idx_game_black_history(black_user_id, created_at, id) 한 번의 역방향 범위 스캔으로 끝난다.
+     */
+    @Query("SELECT new org.scoula.game.GameSummaryRow(g.id, g.blackUserId, g.whiteUserId, g.blackName, "
+            + "g.whiteName, g.winner, g.endReason, g.createdAt) FROM Game g "
+            + "WHERE g.blackUserId = :userId "
+            + "AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id)) "
+            + "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GameSummaryRow> findBlackHistory(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable limit);
+
+    /** findBlackHistory의 백 쪽. idx_game_white_history(white_user_id, created_at, id). */
+    @Query("SELECT new org.scoula.game.GameSummaryRow(g.id, g.blackUserId, g.whiteUserId, g.blackName, "
+            + "g.whiteName, g.winner, g.endReason, g.createdAt) FROM Game g "
+            + "WHERE g.whiteUserId = :userId "
+            + "AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id)) "
+            + "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GameSummaryRow> findWhiteHistory(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable limit);
 }
@@ -0,0 +1,12 @@
+package org.scoula.game;
+
+/**
+ * 회원끼리의 대국 기보가 DB에 들어갔을 때 GameArchiveWriter가 한 판에 한 번 부르는 훅.
+ * 구현은 RatingService(레이팅·리더보드). kifu-writer 스레드에서 불리므로 막지 않아야 한다.
+ */
+public interface GameResultListener {
+
+    GameResultListener NONE = (blackUserId, whiteUserId, winner) -> { };
+
+    void gameEnded(Long blackUserId, Long whiteUserId, WinnerColor winner);
+}
@@ -0,0 +1,18 @@
+package org.scoula.game;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기보 목록 조회용 projection. moves 컬럼을 읽지 않는다(목록에는 필요 없고 행에서 가장 큰 컬럼).
+ * GameRepository의 JPQL 생성자 표현식으로 바로 만들어진다.
+ */
+public record GameSummaryRow(
+        Long id,
+        Long blackUserId,
+        Long whiteUserId,
+        String blackName,
+        String whiteName,
+        WinnerColor winner,
+        EndReason endReason,
+        LocalDateTime createdAt) {
+}
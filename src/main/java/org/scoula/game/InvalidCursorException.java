@@ -0,0 +1,11 @@
+package org.scoula.game;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("유효하지 않은 커서입니다");
+    }
+}
@@ -6,7 +6,10 @@ import org.scoula.game.WinnerColor;
 import java.time.LocalDateTime;
 import java.util.List;
 
-/** 복기용 기보 상세. moves는 착수 index를 놓인 순서대로. */
+/**
+ * 복기용 기보 상세. moves는 착수 index를 놓인 순서대로.
+ * moveMillis는 수마다 걸린 시간(ms, moves와 같은 길이). 시간 기록 이전(V3 이전) 기보면 null.
+ */
 public record GameDetailResponse(
         Long id,
         String blackName,
@@ -14,5 +17,6 @@ public record GameDetailResponse(
         WinnerColor winner,
         EndReason endReason,
         List<Integer> moves,
+        List<Integer> moveMillis,
         LocalDateTime createdAt) {
 }
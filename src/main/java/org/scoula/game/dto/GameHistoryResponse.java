@@ -0,0 +1,12 @@
+package org.scoula.game.dto;
+
+import java.util.List;
+
+/**
+ * 내 기보 목록 한 페이지(최신순). nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 받는다.
+ * 마지막 페이지면 nextCursor는 null.
+ */
+public record GameHistoryResponse(
+        List<GameSummaryResponse> games,
+        String nextCursor) {
+}
@@ -0,0 +1,131 @@
+package org.scoula.opening;
+
+import org.scoula.game.GameMoves;
+import org.scoula.game.WinnerColor;
+
+/**
+ * 기보를 한 판씩 받아 (국면 대표 해시, 대표 방향의 수) → (둔 판 수, 둔 쪽이 이긴 판 수)를 모은다.
+ * 판마다 앞 maxPly수만 보고, 집계는 원시 배열 두 벌의 열린 주소 해시 표라 판 수가 많아도 객체를 만들지 않는다.
+ * 다 모으면 OpeningBookFile.write로 정렬해 쓴다. 한 스레드만 쓴다.
+ */
+final class OpeningBookBuilder {
+
+    private final int maxPly;
+    private final OpeningHasher hasher = new OpeningHasher();
+    private long[] hashes;
+    private short[] moves; // 수 + 1, 0이면 빈 칸
+    private int[] games;
+    private int[] wins;
+    private int mask;
+    private int size;
+    private long gameCount;
+
+    OpeningBookBuilder(int maxPly) {
+        this(maxPly, 1 << 16);
+    }
+
+    OpeningBookBuilder(int maxPly, int initialCapacity) {
+        this.maxPly = maxPly;
+        allocate(Integer.highestOneBit(Math.max(16, initialCapacity)));
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        moves = new short[capacity];
+        games = new int[capacity];
+        wins = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /** 한 판. 흑부터 번갈아 둔 수순과 승자. */
+    void add(GameMoves kifu, WinnerColor winner) {
+        gameCount++;
+        hasher.reset();
+        int plies = Math.min(maxPly, kifu.size());
+        for (int i = 0; i < plies; i++) {
+            int index = kifu.index(i);
+            boolean blackMoved = (i & 1) == 0;
+            boolean won = (winner == WinnerColor.BLACK) == blackMoved;
+            count(hasher.canonical(), hasher.canonicalMove(index), won);
+            hasher.play(index);
+        }
+    }
+
+    private void count(long hash, int move, boolean won) {
+        int slot = find(hash, move);
+        if (moves[slot] == 0) {
+            hashes[slot] = hash;
+            moves[slot] = (short) (move + 1);
+            if (++size > (mask + 1) >> 1) {
+                grow();
+                slot = find(hash, move);
+            }
+        }
+        games[slot]++;
+        if (won) wins[slot]++;
+    }
+
+    private int find(long hash, int move) {
+        int slot = mix(hash, move) & mask;
+        while (moves[slot] != 0 && (hashes[slot] != hash || moves[slot] != move + 1)) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int mix(long hash, int move) {
+        long h = (hash ^ (move * 0x9E37_79B9_7F4A_7C15L)) * 0xBF58_476D_1CE4_E5B9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        long[] oldHashes = hashes;
+        short[] oldMoves = moves;
+        int[] oldGames = games;
+        int[] oldWins = wins;
+        int count = size;
+        allocate((mask + 1) << 1);
+        for (int i = 0; i < oldMoves.length; i++) {
+            if (oldMoves[i] == 0) continue;
+            int slot = find(oldHashes[i], oldMoves[i] - 1);
+            hashes[slot] = oldHashes[i];
+            moves[slot] = oldMoves[i];
+            games[slot] = oldGames[i];
+            wins[slot] = oldWins[i];
+        }
+        size = count;
+    }
+
+    int maxPly() {
+        return maxPly;
+    }
+
+    long games() {
+        return gameCount;
+    }
+
+    /** 모인 (국면, 수) 가짓수. */
+    int size() {
+        return size;
+    }
+
+    // OpeningBookFile.write가 읽는 칸 단위 접근. 빈 칸은 move가 -1.
+    int capacity() {
+        return moves.length;
+    }
+
+    long hashAt(int slot) {
+        return hashes[slot];
+    }
+
+    int moveAt(int slot) {
+        return moves[slot] - 1;
+    }
+
+    int gamesAt(int slot) {
+        return games[slot];
+    }
+
+    int winsAt(int slot) {
+        return wins[slot];
+    }
+}
@@ -0,0 +1,182 @@
+package org.scoula.opening;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 정석 책 파일. 고정 길이 레코드를 (해시, 판 수 내림차순, 수) 순으로 정렬해 두고, 읽을 때는 파일 전체를
+ * 읽기 전용으로 메모리 맵해 해시로 이진 탐색한다. 힙에 올리지 않으므로 책이 커도 조회 비용은 O(log n)번의 페이지 접근이다.
+ *
+ * [int MAGIC][byte FORMAT][byte 최대 수][long 판 수][int 레코드 수][레코드 × n][int CRC32C]
+ * 레코드(20바이트): [long 대표 해시][short 대표 방향의 수][short 0][int 판 수][int 둔 쪽 승 수]
+ * 임시 파일에 쓰고 force한 뒤 원자적으로 바꿔치기한다. 이미 맵한 이전 파일은 마지막 참조가 사라질 때까지 유효하다.
+ */
+final class OpeningBookFile {
+
+    private static final int MAGIC = 0x4F4D4B42; // "OMKB"
+    private static final byte FORMAT = 1;
+    private static final int HEADER = 4 + 1 + 1 + 8 + 4;
+    private static final int RECORD = 20;
+
+    /** 한 국면에서 둔 수 하나의 통계. move는 대표 방향의 칸. */
+    record Entry(int move, int games, int wins) {
+    }
+
+    private final MappedByteBuffer buf;
+    private final int maxPly;
+    private final long games;
+    private final int records;
+
+    private OpeningBookFile(MappedByteBuffer buf, int maxPly, long games, int records) {
+        this.buf = buf;
+        this.maxPly = maxPly;
+        this.games = games;
+        this.records = records;
+    }
+
+    /** builder에서 minGames판 이상 나온 (국면, 수)만 정렬해 file에 쓴다. 쓴 레코드 수를 돌려준다. */
+    static int write(Path file, OpeningBookBuilder builder, int minGames) throws IOException {
+        int[] order = new int[builder.size()];
+        int n = 0;
+        for (int slot = 0; slot < builder.capacity(); slot++) {
+            if (builder.moveAt(slot) >= 0 && builder.gamesAt(slot) >= minGames) order[n++] = slot;
+        }
+        sort(builder, order, 0, n - 1);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.putInt(MAGIC).put(FORMAT).put((byte) builder.maxPly()).putLong(builder.games()).putInt(n);
+            for (int i = 0; i < n; i++) {
+                if (out.remaining() < RECORD) flush(ch, out, crc);
+                int slot = order[i];
+                out.putLong(builder.hashAt(slot)).putShort((short) builder.moveAt(slot)).putShort((short) 0)
+                        .putInt(builder.gamesAt(slot)).putInt(builder.winsAt(slot));
+            }
+            flush(ch, out, crc);
+            out.putInt((int) crc.getValue()).flip();
+            while (out.hasRemaining()) ch.write(out);
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return n;
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer out, CRC32C crc) throws IOException {
+        crc.update(out.array(), 0, out.position());
+        out.flip();
+        while (out.hasRemaining()) ch.write(out);
+        out.clear();
+    }
+
+    /** 파일을 맵하고 헤더·길이·CRC를 확인한다. 깨졌으면 IOException. */
+    static OpeningBookFile open(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER + 4 || size > Integer.MAX_VALUE) throw new IOException("opening book size " + size);
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buf.getInt(0) != MAGIC || buf.get(4) != FORMAT) throw new IOException("not an opening book: " + file);
+        int maxPly = buf.get(5) & 0xFF;
+        long games = buf.getLong(6);
+        int records = buf.getInt(14);
+        int end = HEADER + records * RECORD;
+        if (records < 0 || end + 4 != buf.capacity()) throw new IOException("opening book truncated: " + file);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(0).limit(end));
+        if ((int) crc.getValue() != buf.getInt(end)) throw new IOException("opening book checksum mismatch: " + file);
+        return new OpeningBookFile(buf, maxPly, games, records);
+    }
+
+    /** 대표 해시 hash 국면에서 둔 수들(판 수 내림차순). 없으면 빈 목록. */
+    List<Entry> lookup(long hash) {
+        int lo = 0, hi = records;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(hashAt(mid), hash) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (int i = lo; i < records && hashAt(i) == hash; i++) {
+            int at = HEADER + i * RECORD;
+            entries.add(new Entry(buf.getShort(at + 8), buf.getInt(at + 12), buf.getInt(at + 16)));
+        }
+        return entries;
+    }
+
+    private long hashAt(int i) {
+        return buf.getLong(HEADER + i * RECORD);
+    }
+
+    int maxPly() {
+        return maxPly;
+    }
+
+    long games() {
+        return games;
+    }
+
+    int records() {
+        return records;
+    }
+
+    // ── 정렬: 칸 번호 배열을 (해시 부호 없는 오름차순, 판 수 내림차순, 수 오름차순)으로. 박싱 없이 제자리 퀵정렬. ──
+
+    private static void sort(OpeningBookBuilder b, int[] a, int lo, int hi) {
+        while (hi - lo > 16) {
+            int p = a[median(b, a, lo, (lo + hi) >>> 1, hi)];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (compare(b, a[i], p) < 0) i++;
+                while (compare(b, a[j], p) > 0) j--;
+                if (i <= j) {
+                    int t = a[i];
+                    a[i++] = a[j];
+                    a[j--] = t;
+                }
+            }
+            // 짧은 쪽을 재귀로, 긴 쪽은 반복으로 처리해 재귀 깊이를 log n으로 묶는다.
+            if (j - lo < hi - i) {
+                sort(b, a, lo, j);
+                lo = i;
+            } else {
+                sort(b, a, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a[i], j = i - 1;
+            while (j >= lo && compare(b, a[j], v) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    private static int median(OpeningBookBuilder b, int[] a, int i, int j, int k) {
+        if (compare(b, a[i], a[j]) < 0) {
+            return compare(b, a[j], a[k]) < 0 ? j : compare(b, a[i], a[k]) < 0 ? k : i;
+        }
+        return compare(b, a[i], a[k]) < 0 ? i : compare(b, a[j], a[k]) < 0 ? k : j;
+    }
+
+    private static int compare(OpeningBookBuilder b, int x, int y) {
+        int c = Long.compareUnsigned(b.hashAt(x), b.hashAt(y));
+        if (c != 0) return c;
+        c = Integer.compare(b.gamesAt(y), b.gamesAt(x));
+        return c != 0 ? c : Integer.compare(b.moveAt(x), b.moveAt(y));
+    }
+}
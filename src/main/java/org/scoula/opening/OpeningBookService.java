@@ -0,0 +1,138 @@
+package org.scoula.opening;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.game.GameMoves;
+import org.scoula.game.WinnerColor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정석 책. 보관된 기보(game 테이블)를 처음부터 다시 읽어 OpeningBookBuilder로 모으고, OpeningBookFile로 써서 맵한다.
+ * - 재구성: rebuild-interval마다 전용 스레드(opening-rebuild)에서. 기보 전체를 흘려 읽는 긴 작업이라 공용 @Scheduled 풀
+ *   (매칭·관전 워치독·저널 체크포인트)의 스레드를 잡지 않는다. 행은 fetch-size 단위 커서로 흘려 읽어 기보 전체를 힙에 올리지 않는다. 읽을 수 없는 기보는 건너뛴다.
+ * - 조회: 맵한 파일만 읽고 DB는 보지 않는다. 재구성이 끝나면 새 파일로 통째로 바꾼다.
+ * 기동 시 이전에 쓴 파일이 있으면 바로 맵해 첫 재구성 전에도 답한다.
+ */
+@Slf4j
+@Service
+public class OpeningBookService {
+
+    private static final String SELECT_SQL = "SELECT winner, moves FROM game";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path file;
+    private final int maxPly;
+    private final int minGames;
+    private final int fetchSize;
+    private final Duration rebuildInterval;
+    private final Duration initialDelay;
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile OpeningBookFile book;
+
+    public OpeningBookService(JdbcTemplate jdbcTemplate,
+                              @Value("${omok.opening.file:./data/opening.book}") Path file,
+                              @Value("${omok.opening.max-ply:20}") int maxPly,
+                              @Value("${omok.opening.min-games:2}") int minGames,
+                              @Value("${omok.opening.fetch-size:1000}") int fetchSize,
+                              @Value("${omok.opening.rebuild-interval:6h}") Duration rebuildInterval,
+                              @Value("${omok.opening.initial-delay:30s}") Duration initialDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.file = file;
+        this.maxPly = Math.max(1, Math.min(255, maxPly));
+        this.minGames = Math.max(1, minGames);
+        this.fetchSize = fetchSize;
+        this.rebuildInterval = rebuildInterval;
+        this.initialDelay = initialDelay;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "opening-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        load();
+        rebuilder.scheduleWithFixedDelay(this::rebuild, initialDelay.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /** 이전에 쓴 책이 있으면 맵한다. 깨졌으면 버리고 다음 재구성을 기다린다. */
+    void load() {
+        if (!Files.exists(file)) return;
+        try {
+            book = OpeningBookFile.open(file);
+            log.info("[OPENING_LOAD] games={} records={} file={}", book.games(), book.records(), file);
+        } catch (IOException e) {
+            log.warn("[OPENING_LOAD_FAIL] file={} : {}", file, e.getMessage());
+        }
+    }
+
+    /** game 테이블 전체로 책을 다시 만든다. 실패하면 이전 책을 그대로 둔다. */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPly);
+        long[] skipped = new long[1];
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                try {
+                    builder.add(GameMoves.decode(rs.getBytes("moves")), WinnerColor.valueOf(rs.getString("winner")));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    skipped[0]++;
+                }
+            });
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            int records = OpeningBookFile.write(file, builder, minGames);
+            book = OpeningBookFile.open(file);
+            log.info("[OPENING_REBUILD] games={} skipped={} positions={} records={} took={}ms", builder.games(),
+                    skipped[0], builder.size(), records, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("[OPENING_REBUILD_FAIL] {}", e.getMessage(), e);
+        }
+    }
+
+    /** 대표 해시 국면의 수들(대표 방향). 책이 아직 없거나 모르는 국면이면 빈 목록. */
+    List<OpeningBookFile.Entry> lookup(long hash) {
+        OpeningBookFile current = book;
+        return current == null ? List.of() : current.lookup(hash);
+    }
+
+    public boolean loaded() {
+        return book != null;
+    }
+
+    /** 책을 만든 판 수. 책이 없으면 0. */
+    public long games() {
+        OpeningBookFile current = book;
+        return current == null ? 0 : current.games();
+    }
+
+    public int maxPly() {
+        return maxPly;
+    }
+}
@@ -0,0 +1,65 @@
+package org.scoula.opening;
+
+import lombok.RequiredArgsConstructor;
+import org.scoula.opening.dto.OpeningMove;
+import org.scoula.opening.dto.OpeningResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/** 정석 책 조회(공개). 맵한 책 파일만 읽고 DB는 읽지 않는다. */
+@RestController
+@RequestMapping("/api/openings")
+@RequiredArgsConstructor
+public class OpeningController {
+
+    private final OpeningBookService openingBookService;
+
+    /** 대표 해시(16진수)로 조회. 수는 대표 방향의 칸이다. 해시 형식이 틀리면 400, 모르는 국면이면 404. */
+    @GetMapping("/{hash}")
+    public ResponseEntity<OpeningResponse> byHash(@PathVariable String hash) {
+        long key;
+        try {
+            key = Long.parseUnsignedLong(hash, 16);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return respond(key, IntUnaryOperator.identity());
+    }
+
+    /**
+     * 수순(흑부터, 쉼표로 구분한 칸 번호)으로 조회. 수는 요청한 판 방향으로 되돌려 준다.
+     * 칸이 범위를 벗어났거나 겹치면 400, 모르는 국면이면 404. 빈 수순은 첫 수 국면이다.
+     */
+    @GetMapping("")
+    public ResponseEntity<OpeningResponse> byMoves(@RequestParam(defaultValue = "") List<Integer> moves) {
+        if (moves.size() >= openingBookService.maxPly()) return ResponseEntity.notFound().build();
+        boolean[] taken = new boolean[225];
+        OpeningHasher hasher = new OpeningHasher();
+        for (Integer index : moves) {
+            if (index == null || index < 0 || index >= 225 || taken[index]) return ResponseEntity.badRequest().build();
+            taken[index] = true;
+            hasher.play(index);
+        }
+        return respond(hasher.canonical(), hasher::actualMove);
+    }
+
+    private ResponseEntity<OpeningResponse> respond(long hash, IntUnaryOperator orient) {
+        List<OpeningBookFile.Entry> entries = openingBookService.lookup(hash);
+        if (entries.isEmpty()) return ResponseEntity.notFound().build();
+        List<OpeningMove> moves = new ArrayList<>(entries.size());
+        int games = 0;
+        for (OpeningBookFile.Entry e : entries) {
+            moves.add(new OpeningMove(orient.applyAsInt(e.move()), e.games(), (double) e.wins() / e.games()));
+            games += e.games();
+        }
+        return ResponseEntity.ok(new OpeningResponse(Long.toHexString(hash), games, moves));
+    }
+}
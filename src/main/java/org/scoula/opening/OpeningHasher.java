@@ -0,0 +1,71 @@
+package org.scoula.opening;
+
+import org.scoula.ai.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * 정석 국면 해시. 여덟 대칭으로 옮긴 판의 Zobrist 해시를 착수마다 함께 갱신하고(수마다 XOR 8번),
+ * 그중 가장 작은 값(부호 없는 비교)을 국면의 대표 해시로 쓴다. 돌려 놓거나 뒤집은 같은 국면은 같은 대표 해시가 된다.
+ * 흑부터 번갈아 둔다고 보므로 차례는 돌 수로 정해지고 해시에 따로 넣지 않는다. 한 스레드만 쓴다.
+ */
+final class OpeningHasher {
+
+    private final long[] hashes = new long[Symmetry.COUNT];
+    private int plies;
+    private long canonical;
+    private int symmetry;
+
+    void reset() {
+        Arrays.fill(hashes, 0L);
+        plies = 0;
+        canonical = 0L;
+        symmetry = 0;
+    }
+
+    /** 다음 차례 색으로 index에 둔다. */
+    void play(int index) {
+        int color = (plies & 1) == 0 ? 1 : 2;
+        for (int s = 0; s < Symmetry.COUNT; s++) hashes[s] ^= Zobrist.key(color, Symmetry.apply(s, index));
+        plies++;
+        canonical = hashes[0];
+        symmetry = 0;
+        for (int s = 1; s < Symmetry.COUNT; s++) {
+            if (Long.compareUnsigned(hashes[s], canonical) < 0) {
+                canonical = hashes[s];
+                symmetry = s;
+            }
+        }
+    }
+
+    int plies() {
+        return plies;
+    }
+
+    /** 지금 국면의 대표 해시. */
+    long canonical() {
+        return canonical;
+    }
+
+    /** 지금 국면을 대표 방향으로 옮기는 대칭. */
+    int symmetry() {
+        return symmetry;
+    }
+
+    /**
+     * 지금 국면에서 둘 index를 대표 방향의 칸으로. 국면이 스스로 대칭이면(예: 가운데 한 점) 대표 해시를 내는 대칭이
+     * 여럿이라, 그중 가장 작은 칸을 골라 같은 수가 한 칸으로만 모이게 한다.
+     */
+    int canonicalMove(int index) {
+        int best = Symmetry.apply(symmetry, index);
+        for (int s = symmetry + 1; s < Symmetry.COUNT; s++) {
+            if (hashes[s] == canonical) best = Math.min(best, Symmetry.apply(s, index));
+        }
+        return best;
+    }
+
+    /** 대표 방향의 칸을 지금 국면 방향으로 되돌린다. */
+    int actualMove(int canonicalIndex) {
+        return Symmetry.apply(Symmetry.inverse(symmetry), canonicalIndex);
+    }
+}
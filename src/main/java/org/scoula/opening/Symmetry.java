@@ -0,0 +1,47 @@
+package org.scoula.opening;
+
+/**
+ * 15×15 판의 여덟 대칭(회전 0·90·180·270도, 그리고 그 각각을 뒤집은 것). 칸 번호 index = y*15 + x를 옮긴 칸 번호로 바꾼다.
+ * 표는 클래스 로딩 때 한 번 만든다. 위치 검색(search)도 같은 대칭을 쓴다.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+    private static final int SIZE = 15;
+    private static final int CELLS = SIZE * SIZE;
+    // 90도와 270도 회전만 서로 역이고, 나머지는 자기 자신이 역이다.
+    private static final int[] INVERSE = {0, 3, 2, 1, 4, 5, 6, 7};
+    private static final int[][] MAP = new int[COUNT][CELLS];
+
+    static {
+        int n = SIZE - 1;
+        for (int i = 0; i < CELLS; i++) {
+            int x = i % SIZE, y = i / SIZE;
+            MAP[0][i] = cell(x, y);
+            MAP[1][i] = cell(n - y, x);
+            MAP[2][i] = cell(n - x, n - y);
+            MAP[3][i] = cell(y, n - x);
+            MAP[4][i] = cell(n - x, y);
+            MAP[5][i] = cell(x, n - y);
+            MAP[6][i] = cell(y, x);
+            MAP[7][i] = cell(n - y, n - x);
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    private static int cell(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    /** 대칭 s로 옮긴 칸. */
+    public static int apply(int s, int index) {
+        return MAP[s][index];
+    }
+
+    /** 대칭 s를 되돌리는 대칭. */
+    public static int inverse(int s) {
+        return INVERSE[s];
+    }
+}
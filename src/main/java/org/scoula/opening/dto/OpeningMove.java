@@ -0,0 +1,8 @@
+package org.scoula.opening.dto;
+
+/** 정석 책의 한 수. winRate는 이 수를 둔 쪽이 이긴 비율(0..1). */
+public record OpeningMove(
+        int index,
+        int games,
+        double winRate) {
+}
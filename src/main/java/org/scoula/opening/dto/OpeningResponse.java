@@ -0,0 +1,10 @@
+package org.scoula.opening.dto;
+
+import java.util.List;
+
+/** 한 국면의 정석. hash는 대표 해시(16진수), games는 책에 남은 수들의 판 수 합, moves는 판 수 내림차순. */
+public record OpeningResponse(
+        String hash,
+        int games,
+        List<OpeningMove> moves) {
+}
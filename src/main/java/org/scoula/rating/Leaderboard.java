@@ -0,0 +1,160 @@
+package org.scoula.rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 리더보드. 조회 경로는 DB를 읽지 않는다.
+ * - 순서: 레이팅 내림차순, 같으면 userId 오름차순으로 정렬된 TreeSet.
+ * - 등수: 레이팅 값(0..MAX_RATING)마다 인원을 세는 Fenwick 트리. 내 등수 = 나보다 높은 인원 + 1 이라
+ *   O(log MAX_RATING)이다. 같은 레이팅은 같은 등수(1, 2, 2, 4 …)다.
+ * - 페이지: offset번째 줄의 레이팅을 Fenwick 트리에서 찾아 TreeSet의 그 레이팅 첫 줄부터 읽는다.
+ *   앞 페이지들을 건너뛰며 세지 않는다.
+ * 갱신은 드물고(대국 종료) 조회는 잦으므로 읽기/쓰기 락으로 나눈다.
+ */
+public class Leaderboard {
+
+    /** 등수 트리가 다루는 레이팅 범위. RatingService가 이 안으로 자른다. */
+    public static final int MAX_RATING = 4000;
+
+    private static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingInt(LeaderboardEntry::rating).reversed()
+            .thenComparing(LeaderboardEntry::userId);
+
+    /** 등수가 매겨진 한 줄. */
+    public record Ranked(int rank, LeaderboardEntry entry) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+    private final TreeSet<LeaderboardEntry> ordered = new TreeSet<>(ORDER);
+    // 1-based Fenwick 트리. 위치 p = MAX_RATING - rating + 1 이라 prefix(p - 1)이 "더 높은 레이팅 인원"이다.
+    private final int[] tree = new int[MAX_RATING + 2];
+
+    /** 전체를 바꾼다(기동 시 DB에서 다시 만들 때). */
+    public void reset(Collection<LeaderboardEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            byUser.clear();
+            ordered.clear();
+            Arrays.fill(tree, 0);
+            for (LeaderboardEntry e : entries) putLocked(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 한 사람의 줄을 새 값으로 바꾼다(없으면 추가). */
+    public void put(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(LeaderboardEntry entry) {
+        LeaderboardEntry old = byUser.put(entry.userId(), entry);
+        if (old != null) {
+            ordered.remove(old);
+            add(position(old.rating()), -1);
+        }
+        ordered.add(entry);
+        add(position(entry.rating()), 1);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 그 회원의 줄. 아직 레이팅 대국이 없으면 null. */
+    public LeaderboardEntry get(Long userId) {
+        lock.readLock().lock();
+        try {
+            return byUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 그 회원의 등수와 줄. 없으면 null. */
+    public Ranked rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry e = byUser.get(userId);
+            return e == null ? null : new Ranked(higherThan(e.rating()) + 1, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 위에서 offset번째부터 size줄. */
+    public List<Ranked> page(int offset, int size) {
+        lock.readLock().lock();
+        try {
+            int total = byUser.size();
+            if (offset < 0 || offset >= total || size <= 0) return List.of();
+            int p = search(offset);
+            int rating = MAX_RATING - (p - 1);
+            int skip = offset - prefix(p - 1);
+            // 그 레이팅에서 userId가 가장 작은 자리(실제 줄이 아닌 탐색 기준점)부터 읽는다.
+            Iterator<LeaderboardEntry> it = ordered.tailSet(new LeaderboardEntry(Long.MIN_VALUE, null, rating, 0), true)
+                    .iterator();
+            for (int i = 0; i < skip && it.hasNext(); i++) it.next();
+            List<Ranked> page = new ArrayList<>(Math.min(size, total - offset));
+            while (page.size() < size && it.hasNext()) {
+                LeaderboardEntry e = it.next();
+                page.add(new Ranked(higherThan(e.rating()) + 1, e));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int higherThan(int rating) {
+        return prefix(position(rating) - 1);
+    }
+
+    private static int position(int rating) {
+        return MAX_RATING - Math.max(0, Math.min(MAX_RATING, rating)) + 1;
+    }
+
+    private void add(int p, int delta) {
+        for (; p < tree.length; p += p & -p) tree[p] += delta;
+    }
+
+    private int prefix(int p) {
+        int sum = 0;
+        for (; p > 0; p -= p & -p) sum += tree[p];
+        return sum;
+    }
+
+    // prefix(p) > k 인 가장 작은 p (k는 0-based 순번). 2의 거듭제곱 단위로 내려가며 찾는다.
+    private int search(int k) {
+        int p = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = p + step;
+            if (next < tree.length && tree[next] <= k) {
+                p = next;
+                k -= tree[next];
+            }
+        }
+        return p + 1;
+    }
+}
@@ -0,0 +1,42 @@
+package org.scoula.rating;
+
+import lombok.RequiredArgsConstructor;
+import org.scoula.rating.dto.LeaderboardResponse;
+import org.scoula.rating.dto.LeaderboardRow;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** 리더보드. 모두 메모리(Leaderboard)에서 답하고 DB를 읽지 않는다. */
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final RatingService ratingService;
+
+    /** 위에서 offset번째부터 size줄(공개). */
+    @GetMapping("")
+    public ResponseEntity<LeaderboardResponse> page(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int size) {
+        Leaderboard leaderboard = ratingService.leaderboard();
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        var rows = leaderboard.page(Math.max(0, offset), pageSize).stream().map(LeaderboardRow::from).toList();
+        return ResponseEntity.ok(new LeaderboardResponse(leaderboard.size(), rows));
+    }
+
+    /** 내 등수(인증 필요). 게스트이거나 아직 레이팅 대국이 없으면 404. */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardRow> me(Authentication authentication) {
+        String principal = authentication.getName();
+        if (principal == null || !principal.matches("\\d+")) return ResponseEntity.notFound().build();
+        Leaderboard.Ranked ranked = ratingService.leaderboard().rankOf(Long.parseLong(principal));
+        return ranked == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(LeaderboardRow.from(ranked));
+    }
+}
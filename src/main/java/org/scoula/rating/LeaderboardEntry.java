@@ -0,0 +1,8 @@
+package org.scoula.rating;
+
+/**
+ * 리더보드 한 줄. 기동 시 UserRatingRepository의 JPQL 생성자 표현식으로 바로 만들어지고,
+ * 이후에는 레이팅 갱신이 커밋될 때마다 새 값으로 바꿔 끼운다.
+ */
+public record LeaderboardEntry(Long userId, String nickname, int rating, int games) {
+}
@@ -0,0 +1,148 @@
+package org.scoula.rating;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.game.GameResultListener;
+import org.scoula.game.WinnerColor;
+import org.scoula.room.service.PlayerRatings;
+import org.scoula.user.User;
+import org.scoula.user.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 레이팅(Elo)과 메모리 리더보드.
+ * - 갱신: 기보 저장 훅(GameResultListener)은 결과를 rating-writer 스레드에 넘기기만 한다(kifu-writer가 DB를 기다리지 않음).
+ *   writer는 두 사람 행을 한 트랜잭션에서 읽고 계산해 쓴다. 잠금은 user_rating.version 낙관적 잠금뿐이라,
+ *   다른 노드가 같은 회원을 먼저 커밋했으면 실패한 쪽이 다시 읽어 계산한다(MAX_ATTEMPTS회).
+ * - 리더보드: 기동 시 user_rating을 한 번 읽어 Leaderboard를 만들고, 이후 커밋된 갱신만 반영한다.
+ *   조회(GET /api/leaderboard, 매칭 레이팅)는 DB를 읽지 않는다. 다른 노드가 커밋한 갱신은 재기동 때 합쳐진다.
+ * K는 레이팅 대국 PROVISIONAL_GAMES판까지 40, 그 뒤 20. 레이팅은 0..Leaderboard.MAX_RATING으로 자른다.
+ */
+@Slf4j
+@Service
+public class RatingService implements GameResultListener, PlayerRatings {
+
+    static final int MAX_ATTEMPTS = 3;
+    static final int PROVISIONAL_GAMES = 30;
+
+    private final UserRatingRepository ratingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate tx;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rating-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RatingService(UserRatingRepository ratingRepository, UserRepository userRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.ratingRepository = ratingRepository;
+        this.userRepository = userRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 기동 시 DB에서 리더보드를 다시 만든다. 실패하면 빈 리더보드로 뜨고 이후 갱신부터 쌓는다. */
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        try {
+            List<LeaderboardEntry> rows = ratingRepository.findLeaderboard();
+            leaderboard.reset(rows);
+            log.info("[LEADERBOARD_LOAD] players={} took={}ms", rows.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("[LEADERBOARD_LOAD_FAIL] {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) log.warn("[RATING_SHUTDOWN] pending updates dropped");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Leaderboard leaderboard() {
+        return leaderboard;
+    }
+
+    @Override
+    public void gameEnded(Long blackUserId, Long whiteUserId, WinnerColor winner) {
+        writer.execute(() -> update(blackUserId, whiteUserId, winner));
+    }
+
+    /** 매칭용 레이팅. 회원이면 리더보드 값, 아직 레이팅 대국이 없거나 게스트면 기본값. */
+    @Override
+    public int ratingOf(String principal) {
+        if (principal == null || !principal.matches("\\d+")) return DEFAULT_RATING;
+        LeaderboardEntry e = leaderboard.get(Long.parseLong(principal));
+        return e != null ? e.rating() : DEFAULT_RATING;
+    }
+
+    /** 한 판의 결과로 두 사람 레이팅을 갱신하고, 커밋되면 리더보드에 반영한다. */
+    void update(Long blackUserId, Long whiteUserId, WinnerColor winner) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                LeaderboardEntry[] updated = tx.execute(status -> apply(blackUserId, whiteUserId, winner));
+                leaderboard.put(updated[0]);
+                leaderboard.put(updated[1]);
+                log.debug("[RATING] black={}:{} white={}:{} winner={}", blackUserId, updated[0].rating(),
+                        whiteUserId, updated[1].rating(), winner);
+                return;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                // 다른 트랜잭션이 같은 회원 행을 먼저 고쳤거나(version) 처음 행을 먼저 만들었다(PK). 다시 읽어 계산한다.
+                log.debug("[RATING_RETRY] attempt={} black={} white={} : {}", attempt, blackUserId, whiteUserId,
+                        e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("[RATING_FAIL] black={} white={} : {}", blackUserId, whiteUserId, e.getMessage(), e);
+                return;
+            }
+        }
+        log.warn("[RATING_GIVEUP] black={} white={} winner={} after {} attempts",
+                blackUserId, whiteUserId, winner, MAX_ATTEMPTS);
+    }
+
+    // 트랜잭션 안: 두 행을 읽고(없으면 새로) 계산해 쓴다. 커밋 때 version 검사가 실패하면 예외로 끝난다.
+    private LeaderboardEntry[] apply(Long blackUserId, Long whiteUserId, WinnerColor winner) {
+        UserRating black = ratingRepository.findById(blackUserId)
+                .orElseGet(() -> UserRating.initial(blackUserId, DEFAULT_RATING));
+        UserRating white = ratingRepository.findById(whiteUserId)
+                .orElseGet(() -> UserRating.initial(whiteUserId, DEFAULT_RATING));
+        boolean blackWon = winner == WinnerColor.BLACK;
+        int blackNext = next(black.getRating(), white.getRating(), blackWon, black.getGames());
+        int whiteNext = next(white.getRating(), black.getRating(), !blackWon, white.getGames());
+        black.record(blackNext, blackWon);
+        white.record(whiteNext, !blackWon);
+        ratingRepository.saveAndFlush(black);
+        ratingRepository.saveAndFlush(white);
+        return new LeaderboardEntry[]{entryOf(black), entryOf(white)};
+    }
+
+    private LeaderboardEntry entryOf(UserRating r) {
+        LeaderboardEntry known = leaderboard.get(r.getUserId());
+        String nickname = known != null ? known.nickname()
+                : userRepository.findById(r.getUserId()).map(User::getNickname).orElse("알수없음");
+        return new LeaderboardEntry(r.getUserId(), nickname, r.getRating(), r.getGames());
+    }
+
+    /** Elo: 기대 승률 1 / (1 + 10^((상대 - 나) / 400))에 대한 실제 결과의 차 × K. */
+    static int next(int rating, int opponent, boolean won, int gamesPlayed) {
+        double expected = 1.0 / (1.0 + Math.pow(10, (opponent - rating) / 400.0));
+        int k = gamesPlayed < PROVISIONAL_GAMES ? 40 : 20;
+        int next = (int) Math.round(rating + k * ((won ? 1.0 : 0.0) - expected));
+        return Math.max(0, Math.min(Leaderboard.MAX_RATING, next));
+    }
+}
@@ -0,0 +1,62 @@
+package org.scoula.rating;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 한 명의 레이팅과 전적. 첫 레이팅 대국 때 DEFAULT_RATING으로 생긴다.
+ * version으로 낙관적 잠금을 건다. 같은 회원을 두 트랜잭션이 동시에 갱신하면 늦게 커밋한 쪽이 실패하고 다시 읽어 계산한다.
+ */
+@Entity
+@Table(name = "user_rating")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserRating {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int rating;
+
+    @Column(nullable = false)
+    private int games;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int losses;
+
+    // null이면 아직 저장되지 않은 행(persist), 아니면 merge 때 WHERE version = ? 로 검사된다.
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    static UserRating initial(Long userId, int rating) {
+        UserRating r = new UserRating();
+        r.userId = userId;
+        r.rating = rating;
+        return r;
+    }
+
+    /** 대국 한 판의 결과를 반영한다. */
+    void record(int newRating, boolean won) {
+        this.rating = newRating;
+        this.games++;
+        if (won) wins++;
+        else losses++;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
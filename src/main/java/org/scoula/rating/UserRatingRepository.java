@@ -0,0 +1,14 @@
+package org.scoula.rating;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface UserRatingRepository extends JpaRepository<UserRating, Long> {
+
+    /** 리더보드 재구성용 전체 목록(닉네임 포함). 기동 시 한 번만 부른다. */
+    @Query("SELECT new org.scoula.rating.LeaderboardEntry(r.userId, u.nickname, r.rating, r.games) "
+            + "FROM UserRating r, User u WHERE u.id = r.userId")
+    List<LeaderboardEntry> findLeaderboard();
+}
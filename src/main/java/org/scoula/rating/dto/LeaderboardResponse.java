@@ -0,0 +1,9 @@
+package org.scoula.rating.dto;
+
+import java.util.List;
+
+/** 리더보드 한 페이지. total은 레이팅 대국을 한 번이라도 둔 회원 수. */
+public record LeaderboardResponse(
+        int total,
+        List<LeaderboardRow> rows) {
+}
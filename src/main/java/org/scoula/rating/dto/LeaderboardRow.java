@@ -0,0 +1,16 @@
+package org.scoula.rating.dto;
+
+import org.scoula.rating.Leaderboard;
+
+/** 리더보드 한 줄. 같은 레이팅은 같은 rank다. */
+public record LeaderboardRow(
+        int rank,
+        String nickname,
+        int rating,
+        int games) {
+
+    public static LeaderboardRow from(Leaderboard.Ranked ranked) {
+        return new LeaderboardRow(ranked.rank(), ranked.entry().nickname(), ranked.entry().rating(),
+                ranked.entry().games());
+    }
+}
@@ -0,0 +1,45 @@
+package org.scoula.room.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.Player;
+import org.scoula.room.service.MatchmakingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 자동 매칭. 대기열에 넣고 빼기만 하고, 결과(방 id)는 매처가 /user/queue/match로 보낸다.
+ * 클라는 요청 전에 /user/queue/match를 구독해 둬야 알림을 놓치지 않는다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/match")
+public class MatchController {
+
+    private final MatchmakingService matchmakingService;
+
+    public MatchController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    @PostMapping("")
+    public ResponseEntity<?> enqueue(@RequestBody Player player, Authentication authentication) {
+        // 신원은 인증 principal(JWT subject)만 사용. body player.id/name은 방 자리에 앉힐 때의 표시용.
+        String principal = authentication.getName();
+        if (!matchmakingService.enqueue(principal, player)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Already queued");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body("Queued");
+    }
+
+    @DeleteMapping("")
+    public ResponseEntity<?> cancel(Authentication authentication) {
+        String principal = authentication.getName();
+        if (!matchmakingService.cancel(principal)) {
+            log.warn("[MATCH_CANCEL_FAIL] principal={} not queued", principal);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Not queued");
+        }
+        return ResponseEntity.ok("Cancelled");
+    }
+}
@@ -1,22 +1,27 @@
 package org.scoula.room.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.scoula.cluster.ClusterClient;
+import org.scoula.cluster.RoomOwnership;
 import org.scoula.room.dto.MessageType;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 import org.scoula.room.dto.RoomResponseDto;
 import org.scoula.room.dto.RoomResponseMessage;
+import org.scoula.room.service.GameEvents;
+import org.scoula.room.service.LobbyService;
 import org.scoula.room.service.RoomBroadcaster;
 import org.scoula.room.service.RoomCreationRateLimiter;
 import org.scoula.room.service.RoomService;
+import org.scoula.room.service.RoomShardExecutor;
 import org.scoula.room.service.WebSocketEventListener;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 
 @Slf4j
 @RestController
@@ -27,26 +32,49 @@ public class RoomController {
     private final RoomBroadcaster roomBroadcaster;
     private final WebSocketEventListener webSocketEventListener;
     private final RoomCreationRateLimiter roomCreationRateLimiter;
+    private final RoomShardExecutor roomShards;
+    private final LobbyService lobbyService;
+    private final RoomOwnership ownership;
+    private final ClusterClient clusterClient;
 
     public RoomController(RoomService roomService, RoomBroadcaster roomBroadcaster,
                           WebSocketEventListener webSocketEventListener,
-                          RoomCreationRateLimiter roomCreationRateLimiter) {
+                          RoomCreationRateLimiter roomCreationRateLimiter,
+                          RoomShardExecutor roomShards,
+                          LobbyService lobbyService,
+                          RoomOwnership ownership,
+                          ClusterClient clusterClient) {
         this.roomService = roomService;
         this.roomBroadcaster = roomBroadcaster;
         this.webSocketEventListener = webSocketEventListener;
         this.roomCreationRateLimiter = roomCreationRateLimiter;
+        this.roomShards = roomShards;
+        this.lobbyService = lobbyService;
+        this.ownership = ownership;
+        this.clusterClient = clusterClient;
+    }
+
+    // 클러스터 모드에서 다른 노드가 주인인 방이면 그 노드로 한 번만 중계한다(중계받은 요청은 다시 넘기지 않는다).
+    private boolean remote(String roomId, HttpServletRequest request) {
+        return !ownership.isLocal(roomId) && request.getHeader(ClusterClient.FORWARDED_HEADER) == null;
     }
 
+    /**
+     * 로비 방 목록(판 없음). 미리 직렬화해 둔 스냅샷을 그대로 내보내고, If-None-Match가 ETag와 같으면 304.
+     * 이후 변경분은 /topic/lobby로 받아 방마다 version이 큰 쪽을 남긴다.
+     */
     @GetMapping("")
-    public ResponseEntity<List<RoomResponseDto>> getRooms() {
-        List<RoomResponseDto> dtos = roomService.getRoomList().stream()
-                .map(RoomResponseDto::from)
-                .toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<byte[]> getRooms() {
+        LobbyService.Snapshot snapshot = lobbyService.snapshot();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
     @GetMapping("/{roomId}")
-    public ResponseEntity<?> getRoomById(@PathVariable String roomId) {
+    public ResponseEntity<?> getRoomById(@PathVariable String roomId, HttpServletRequest request) {
+        if (remote(roomId, request)) return clusterClient.proxy(ownership.ownerOf(roomId), request, null);
         Room room = roomService.getRoom(roomId);
         if (room == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(RoomResponseDto.from(room));
@@ -68,7 +96,7 @@ public class RoomController {
             log.error("[ROOM_CREATE_FAIL] title=\"{}\"", title);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create room");
         }
-        log.info("[ROOM_CREATE] title=\"{}\" roomId={} private={}", title, room.getRoomId(), password != null && !password.isBlank());
+        GameEvents.emit("ROOM_CREATE", room.getRoomId(), "title", title, "private", password != null && !password.isBlank());
         return ResponseEntity.ok(room.getRoomId());
     }
 
@@ -77,13 +105,16 @@ public class RoomController {
             @PathVariable String roomId,
             @RequestBody Player player,
             @RequestParam(required = false) String password,
-            Authentication authentication) {
+            Authentication authentication,
+            HttpServletRequest request) {
+        if (remote(roomId, request)) return clusterClient.proxy(ownership.ownerOf(roomId), request, player);
         // 신원은 인증 principal(JWT subject)만 사용. body player.id/name은 표시용.
         String principal = authentication.getName();
-        int result = roomService.joinRoom(roomId, player, password, principal);
+        // 자리 배정은 STOMP 명령과 같은 방 소유 샤드에서 순서대로 실행한다. 응답 코드가 결과에 달려 있어 기다린다.
+        int result = roomShards.call(roomId, () -> roomService.joinRoom(roomId, player, password, principal));
         return switch (result) {
             case 1 -> {
-                log.info("[JOIN] player=\"{}\"({}) roomId={}", player.name(), player.id(), roomId);
+                GameEvents.emit("JOIN", roomId, "player", player.name(), "playerId", player.id());
                 yield ResponseEntity.ok("Joined successfully");
             }
             case -1 -> {
@@ -98,9 +129,16 @@ public class RoomController {
     }
 
     @PostMapping("/leave/{roomId}")
-    public ResponseEntity<?> leaveRoom(@PathVariable String roomId, Authentication authentication) {
+    public ResponseEntity<?> leaveRoom(@PathVariable String roomId, Authentication authentication,
+                                       HttpServletRequest request) {
+        if (remote(roomId, request)) return clusterClient.proxy(ownership.ownerOf(roomId), request, null);
         // 신원은 인증 principal만 사용. 과거 프론트가 보내던 ?playerId= 쿼리는(있어도) 무시한다.
         String principal = authentication.getName();
+        // 자리 조회부터 LEAVE 알림까지 방 소유 샤드에서 한 번에 실행해 끊김 처리·착수와 순서를 맞춘다.
+        return roomShards.call(roomId, () -> leave(roomId, principal));
+    }
+
+    private ResponseEntity<?> leave(String roomId, String principal) {
         Room room = roomService.getRoom(roomId);
         String playerId = room != null ? room.playerIdOf(principal) : null;
         if (playerId == null) {
@@ -112,7 +150,7 @@ public class RoomController {
 
         boolean left = roomService.leaveRoom(roomId, playerId);
         if (left) {
-            log.info("[LEAVE] playerId={} roomId={}", playerId, roomId);
+            GameEvents.emit("LEAVE", roomId, "playerId", playerId);
             roomBroadcaster.broadcast(
                     roomId,
                     RoomResponseMessage.builder().type(MessageType.LEAVE).sender(playerId).build()
@@ -4,10 +4,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.scoula.room.dto.MessageType;
 import org.scoula.room.domain.Player;
+import org.scoula.room.dto.RoomCommand;
 import org.scoula.room.dto.RoomRequestMessage;
 import org.scoula.room.dto.RoomResponseMessage;
-import org.scoula.room.service.RoomBroadcaster;
-import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.GameEvents;
+import org.scoula.room.service.RoomCommandRouter;
 import org.scoula.room.service.WebSocketEventListener;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -19,13 +20,18 @@ import org.springframework.stereotype.Controller;
 import java.security.Principal;
 import java.util.Map;
 
+/**
+ * STOMP 라우팅 전담. 방 상태를 건드리는 처리는 inbound 스레드에서 직접 하지 않고 RoomCommand로 만들어
+ * RoomCommandRouter에 넘긴다. 라우터는 roomId 소유 샤드(RoomShardExecutor)에 넣어 같은 방 명령이 도착 순서대로
+ * 한 스레드에서 실행되게 하고, 클러스터 모드에서 방 주인이 다른 노드면 그 노드로 넘긴다.
+ * 세션 attrs·세션 레지스트리는 소켓이 붙은 이 노드의 것이라 여기서 바로 처리한다.
+ */
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class RoomSocketController {
 
-    private final RoomBroadcaster roomBroadcaster;
-    private final RoomSocketService roomSocketService;
+    private final RoomCommandRouter roomCommandRouter;
     private final WebSocketEventListener webSocketEventListener;
 
     @MessageMapping("/room/{roomId}/join")
@@ -33,10 +39,7 @@ public class RoomSocketController {
         Player sender = message.sender();
         String roomId = message.roomId();
 
-        // 재접속 유예 취소는 위조 불가한 principal 앵커로만. payload id는 인가 신원 아님.
         String principalName = principal != null ? principal.getName() : null;
-        boolean isReconnect = webSocketEventListener.cancelPendingDisconnect(principalName);
-        log.info("[WS_JOIN] player=\"{}\"({}) principal={} roomId={} reconnect={}", sender.name(), sender.id(), principalName, roomId, isReconnect);
 
         Map<String, Object> attrs = headerAccessor.getSessionAttributes();
         if (attrs != null) {
@@ -56,38 +59,34 @@ public class RoomSocketController {
         // 한 탭만 닫혔을 때 유예/몰수가 잘못 발동하지 않는다.
         webSocketEventListener.registerSession(principalName, roomId, headerAccessor.getSessionId());
 
-        MessageType type = isReconnect ? MessageType.RECONNECT : MessageType.JOIN;
-        roomBroadcaster.broadcast(roomId,
-                RoomResponseMessage.builder()
-                        .sender(sender.id())
-                        .roomId(roomId)
-                        .type(type)
-                        .message(sender.name())
-                        .build());
+        // 유예 취소와 JOIN/RECONNECT 알림은 방 주인 노드의 소유 샤드에서 끊김 처리와 순서대로 실행한다.
+        // lastSeq를 보낸 재접속이면 주인 노드가 놓친 프레임만 이 세션에 다시 보낸다.
+        roomCommandRouter.dispatch(RoomCommand.join(roomId, principalName, sender,
+                headerAccessor.getSessionId(), message.lastSeq()));
     }
 
     @MessageMapping("/ready")
     public void handleReady(@Payload RoomRequestMessage message, Principal principal) {
-        log.info("[READY] player=\"{}\" roomId={}", message.sender().name(), message.roomId());
-        roomSocketService.processReady(message.roomId(), nameOf(principal));
+        GameEvents.emit("READY", message.roomId(), "player", message.sender().name());
+        roomCommandRouter.dispatch(RoomCommand.of(RoomCommand.Type.READY, message.roomId(), nameOf(principal)));
     }
 
     @MessageMapping("/cancel")
     public void handleCancel(@Payload RoomRequestMessage message, Principal principal) {
-        log.info("[CANCEL] player=\"{}\" roomId={}", message.sender().name(), message.roomId());
-        roomSocketService.processCancel(message.roomId(), nameOf(principal));
+        GameEvents.emit("CANCEL", message.roomId(), "player", message.sender().name());
+        roomCommandRouter.dispatch(RoomCommand.of(RoomCommand.Type.CANCEL, message.roomId(), nameOf(principal)));
     }
 
     @MessageMapping("/surrender")
     public void handleSurrender(@Payload RoomRequestMessage message, Principal principal) {
         if (message.type() != MessageType.SURRENDER) return;
-        roomSocketService.processSurrender(message.roomId(), nameOf(principal));
+        roomCommandRouter.dispatch(RoomCommand.of(RoomCommand.Type.SURRENDER, message.roomId(), nameOf(principal)));
     }
 
     @MessageMapping("/timeout")
     public void timeout(@Payload RoomRequestMessage message, Principal principal) {
         if (message.type() != MessageType.TIMEOUT) return;
-        roomSocketService.processTimeout(message.roomId(), nameOf(principal));
+        roomCommandRouter.dispatch(RoomCommand.of(RoomCommand.Type.TIMEOUT, message.roomId(), nameOf(principal)));
     }
 
     @MessageMapping("/move")
@@ -96,7 +95,7 @@ public class RoomSocketController {
             log.warn("[MOVE_INVALID] player=\"{}\" roomId={}", message.sender().name(), message.roomId());
             return;
         }
-        roomSocketService.processMove(message.roomId(), nameOf(principal), message.index());
+        roomCommandRouter.dispatch(RoomCommand.move(message.roomId(), nameOf(principal), message.index()));
     }
 
     /** 세션 principal 이름(JWT subject). 미인증(익명) CONNECT면 null → 서비스가 인가 거부. */
@@ -104,7 +103,10 @@ public class RoomSocketController {
         return principal == null ? null : principal.getName();
     }
 
-    /** STOMP 메시지 처리 중 발생한 예외를 발신 클라이언트에게 에러 프레임으로 전달. */
+    /**
+     * STOMP 메시지 처리 중 발생한 예외를 발신 클라이언트에게 에러 프레임으로 전달.
+     * 샤드로 넘긴 뒤의 예외는 여기까지 오지 않고 RoomShardExecutor가 로그로 남긴다.
+     */
     @MessageExceptionHandler
     @SendToUser("/queue/errors")
     public RoomResponseMessage handleException(Exception e) {
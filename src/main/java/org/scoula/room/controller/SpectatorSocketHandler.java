@@ -0,0 +1,49 @@
+package org.scoula.room.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.scoula.room.service.SpectatorHub;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * 관전 WebSocket(/watch?roomId=...). 읽기 전용이라 STOMP를 거치지 않고 연결을 SpectatorHub에 넘기기만 한다.
+ * 클라이언트가 보내는 텍스트는 무시한다. 로그인 없이 볼 수 있다(공개 방만).
+ */
+@Component
+@RequiredArgsConstructor
+public class SpectatorSocketHandler extends TextWebSocketHandler {
+
+    static final String ROOM_ID = "spectate.roomId";
+
+    private final SpectatorHub spectatorHub;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String roomId = roomIdOf(session.getUri());
+        if (roomId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("roomId required"));
+            return;
+        }
+        session.getAttributes().put(ROOM_ID, roomId);
+        spectatorHub.join(roomId, session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        if (session.getAttributes().get(ROOM_ID) instanceof String roomId) {
+            spectatorHub.leave(roomId, session.getId());
+        }
+    }
+
+    // SockJS 전송 URL(/watch/{server}/{session}/websocket?roomId=...)에도 처음 쿼리가 그대로 붙어 온다.
+    static String roomIdOf(URI uri) {
+        if (uri == null) return null;
+        String roomId = UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst("roomId");
+        return roomId == null || roomId.isBlank() ? null : roomId;
+    }
+}
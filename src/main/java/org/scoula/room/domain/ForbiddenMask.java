@@ -0,0 +1,35 @@
+package org.scoula.room.domain;
+
+/**
+ * 흑 금수 교차점 집합(225칸)을 비트로 보관한다.
+ * index(= y*15 + x)의 비트는 words[index >>> 5]의 (index & 31)번째 비트다.
+ * 32비트 워드 8개로 나눈 것은 JSON으로 내려도 JS number에서 정밀도 손실이 없게 하기 위해서다
+ * (프론트: (forbidden[i >> 5] >>> (i & 31)) & 1).
+ * GameService.applyMove가 착수마다 갱신하며, room 락 안에서만 쓰는 것을 전제로 자체 동기화는 하지 않는다.
+ */
+public final class ForbiddenMask {
+
+    public static final int WORDS = 8;
+
+    private final int[] words = new int[WORDS];
+
+    public boolean contains(int index) {
+        return (words[index >>> 5] & (1 << (index & 31))) != 0;
+    }
+
+    public void set(int index, boolean forbidden) {
+        if (forbidden) words[index >>> 5] |= 1 << (index & 31);
+        else words[index >>> 5] &= ~(1 << (index & 31));
+    }
+
+    public int count() {
+        int count = 0;
+        for (int word : words) count += Integer.bitCount(word);
+        return count;
+    }
+
+    /** 메시지에 싣는 사본. 이후 착수로 마스크가 바뀌어도 이미 보낸 메시지는 그대로다. */
+    public int[] toArray() {
+        return words.clone();
+    }
+}
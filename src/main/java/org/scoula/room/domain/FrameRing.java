@@ -0,0 +1,75 @@
+package org.scoula.room.domain;
+
+import org.scoula.room.dto.MessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 방 브로드캐스트의 순번(seq)과 최근 프레임 링 버퍼. 재접속한 클라이언트가 마지막으로 받은 seq를 알려 주면
+ * 그 뒤 프레임만 다시 보내 방 전체를 REST로 다시 받지 않게 한다.
+ * 프레임은 이미 직렬화된 JSON 바이트라 재전송 때 다시 직렬화하지 않는다.
+ * RoomBroadcaster가 이 객체를 락으로 잡고 순번 발급·적재·전송을 한 번에 해 전송 순서가 seq 순서와 같다.
+ */
+public final class FrameRing {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /** 한 번 내보낸 프레임. sender·type은 재전송 때 READY/CANCEL 상쇄 판정에 쓴다. */
+    public record Frame(long seq, MessageType type, String sender, byte[] json) {
+    }
+
+    private final Frame[] frames;
+    // 마지막으로 발급한 seq. 0이면 아직 없음. 쓰기는 링 락 안, REST 조회는 락 없이 읽는다.
+    private volatile long lastSeq;
+
+    public FrameRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FrameRing(int capacity) {
+        this.frames = new Frame[capacity];
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    public long nextSeq() {
+        return lastSeq + 1;
+    }
+
+    /** nextSeq()로 만든 프레임을 적재한다. 가장 오래된 프레임을 덮어쓴다. */
+    public void add(Frame frame) {
+        if (frame.seq() != lastSeq + 1) throw new IllegalArgumentException("out of order seq: " + frame.seq());
+        lastSeq = frame.seq();
+        frames[(int) (lastSeq % frames.length)] = frame;
+    }
+
+    /**
+     * afterSeq 다음부터 마지막까지의 프레임. 링에서 이미 밀려났거나 afterSeq가 발급한 적 없는 값이면(재기동 등)
+     * null — 호출자는 전체 재조회를 안내해야 한다.
+     * 같은 sender의 READY 뒤 CANCEL(또는 반대)은 서로 상쇄되므로 둘 다 뺀다.
+     */
+    public List<Frame> since(long afterSeq) {
+        if (afterSeq < 0 || afterSeq > lastSeq) return null;
+        if (lastSeq - afterSeq > frames.length) return null;
+        List<Frame> missed = new ArrayList<>((int) (lastSeq - afterSeq));
+        for (long s = afterSeq + 1; s <= lastSeq; s++) {
+            Frame f = frames[(int) (s % frames.length)];
+            int last = missed.size() - 1;
+            if (last >= 0 && cancels(missed.get(last), f)) {
+                missed.remove(last);
+            } else {
+                missed.add(f);
+            }
+        }
+        return missed;
+    }
+
+    private static boolean cancels(Frame a, Frame b) {
+        if (a.sender() == null || !a.sender().equals(b.sender())) return false;
+        return (a.type() == MessageType.READY && b.type() == MessageType.CANCEL)
+                || (a.type() == MessageType.CANCEL && b.type() == MessageType.READY);
+    }
+}
@@ -0,0 +1,157 @@
+package org.scoula.room.domain;
+
+/**
+ * 서버가 재는 대국 시계. 자리(흑=0, 백=1)마다 주 시간과 초읽기를 따로 센다.
+ * - Fischer: 주 시간 안에 두면 둔 쪽에 increment를 더한다.
+ * - 초읽기(byo-yomi): 주 시간을 다 쓰면 byoyomi 길이의 회차를 periods번 쓸 수 있고, 회차 안에 두면 그 회차가 새로 찬다.
+ * 주 시간·초읽기 중 하나만 켜도 된다(주 시간 0 + 초읽기 1회 = 수마다 제한 시간).
+ * 시각은 호출자가 넘기는 epoch ms이고 room 락 안에서만 바뀐다.
+ */
+public final class GameClock {
+
+    private static final int BLACK = 0;
+    private static final int WHITE = 1;
+
+    /** 시계 규칙. 모든 길이는 ms. */
+    public record Rules(long mainMillis, long incrementMillis, long byoyomiMillis, int byoyomiPeriods) {
+
+        public static final Rules NONE = new Rules(0, 0, 0, 0);
+
+        public boolean enabled() {
+            return mainMillis > 0 || (byoyomiMillis > 0 && byoyomiPeriods > 0);
+        }
+    }
+
+    /** 남은 시간 표시용 값. millis는 지금 쓰고 있는 구간(주 시간 또는 초읽기 한 회)의 남은 ms, periods는 남은 초읽기 횟수. */
+    public record View(long blackMillis, long whiteMillis, int blackPeriods, int whitePeriods) {
+    }
+
+    private final Rules rules;
+    private final long[] remaining = new long[2];    // 현재 구간 남은 ms
+    private final int[] periods = new int[2];        // 남은 초읽기 횟수(초읽기 중이면 지금 회차 포함)
+    private final boolean[] byoyomi = new boolean[2];
+    private int toMove = BLACK;
+    private long turnStartedAt;
+    private long armedDeadline = Long.MAX_VALUE;     // 시간 초과 예약이 걸려 있는 마감(epoch ms)
+
+    public GameClock(Rules rules, long now) {
+        this.rules = rules;
+        for (int side = BLACK; side <= WHITE; side++) {
+            remaining[side] = rules.mainMillis();
+            periods[side] = rules.byoyomiPeriods();
+            if (rules.mainMillis() <= 0) {
+                byoyomi[side] = true;
+                remaining[side] = rules.byoyomiMillis();
+            }
+        }
+        this.turnStartedAt = now;
+    }
+
+    /**
+     * 기보의 수마다 소요 시간으로 시계를 다시 만든다(재기동 복구). 마지막 수 이후 흐른 시간은 알 수 없으므로
+     * 차례인 쪽의 시계는 now부터 다시 흐른다.
+     */
+    public static GameClock replay(Rules rules, MoveLog moves, long now) {
+        GameClock clock = new GameClock(rules, 0);
+        for (int i = 0; i < moves.size(); i++) {
+            long at = clock.turnStartedAt + moves.elapsedMillis(i);
+            if (!clock.press(at)) {
+                // 기록상 이미 시간을 넘긴 수(시계 규칙이 바뀐 뒤의 복구 등): 0으로 둔 채 차례만 넘긴다.
+                clock.toMove = 1 - clock.toMove;
+                clock.turnStartedAt = at;
+            }
+        }
+        clock.turnStartedAt = now;
+        return clock;
+    }
+
+    /**
+     * 차례인 쪽이 now에 두었다. 그 전에 시간이 다 됐으면 false(시계는 그대로 0)이고, 아니면 쓴 시간을 빼고
+     * increment·초읽기 갱신을 반영한 뒤 차례를 넘긴다.
+     */
+    public boolean press(long now) {
+        int side = toMove;
+        if (!spend(side, now - turnStartedAt)) return false;
+        if (byoyomi[side]) {
+            remaining[side] = rules.byoyomiMillis();
+        } else {
+            remaining[side] += rules.incrementMillis();
+        }
+        toMove = 1 - side;
+        turnStartedAt = now;
+        return true;
+    }
+
+    /** 차례인 쪽의 시간이 now 시점에 다 됐는지. */
+    public boolean isFlagged(long now) {
+        return now >= deadline();
+    }
+
+    /** 차례인 쪽의 시간이 다 되는 시각(epoch ms). */
+    public long deadline() {
+        return turnStartedAt + remaining[toMove] + extraPeriods(toMove) * rules.byoyomiMillis();
+    }
+
+    /** 걸어 둔 시간 초과 예약보다 지금 마감이 이른지(착수로 마감이 앞당겨졌으면 예약도 앞당겨야 한다). */
+    public boolean needsRearm() {
+        return deadline() < armedDeadline;
+    }
+
+    /** 지금 마감에 예약을 건다고 기록하고 그 마감을 돌려준다. */
+    public long markArmed() {
+        armedDeadline = deadline();
+        return armedDeadline;
+    }
+
+    /**
+     * now 시점의 남은 시간. 차례인 쪽만 흐른 시간을 반영하고 상대는 저장된 값을 그대로 쓴다.
+     * 착수 브로드캐스트(ACTION)마다 불리므로 배열 사본 없이 View 하나만 만든다.
+     */
+    public View view(long now) {
+        int side = toMove;
+        long millis = remaining[side];
+        int left = periods[side];
+        long elapsed = Math.max(0, now - turnStartedAt);
+        if (elapsed < millis) {
+            millis -= elapsed;
+        } else {
+            long over = elapsed - millis;
+            long byo = rules.byoyomiMillis();
+            long extra = extraPeriods(side);
+            if (byo <= 0 || over >= extra * byo) {
+                millis = 0;
+                left = 0;
+            } else {
+                left = (int) (extra - over / byo);
+                millis = byo - over % byo;
+            }
+        }
+        return side == BLACK
+                ? new View(millis, remaining[WHITE], left, periods[WHITE])
+                : new View(remaining[BLACK], millis, periods[BLACK], left);
+    }
+
+    // 지금 구간을 다 쓰고도 남은 초읽기 회차 수.
+    private long extraPeriods(int side) {
+        return byoyomi[side] ? periods[side] - 1L : periods[side];
+    }
+
+    private boolean spend(int side, long elapsed) {
+        elapsed = Math.max(0, elapsed);
+        if (elapsed < remaining[side]) {
+            remaining[side] -= elapsed;
+            return true;
+        }
+        long over = elapsed - remaining[side];
+        long byo = rules.byoyomiMillis();
+        long extra = extraPeriods(side);
+        if (byo <= 0 || over >= extra * byo) {
+            remaining[side] = 0;
+            return false;
+        }
+        periods[side] = (int) (extra - over / byo);
+        byoyomi[side] = true;
+        remaining[side] = byo - over % byo;
+        return true;
+    }
+}
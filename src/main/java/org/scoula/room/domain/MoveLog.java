@@ -0,0 +1,79 @@
+package org.scoula.room.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대국 착수 순서를 원시 int 배열로 보관하는 기록부.
+ * 한 판은 최대 225수라 배열을 미리 잡아두고, 착수마다 Integer 박싱 없이 add만 한다(착수 경로 무할당).
+ * 수마다 직전 수(첫 수는 기록부 생성 = 게임 시작)로부터 걸린 시간(ms)도 함께 남긴다(복기용 소요 시간).
+ * room 락 안에서만 쓰는 것을 전제로 하며 자체 동기화는 하지 않는다.
+ */
+public final class MoveLog {
+
+    public static final int CAPACITY = 15 * 15;
+
+    private final int[] moves = new int[CAPACITY];
+    private final int[] elapsedMillis = new int[CAPACITY];
+    private long lastMoveAt = System.currentTimeMillis();
+    private int size;
+
+    /** 주어진 index들을 순서대로 기록한 MoveLog(테스트/복원용). */
+    public static MoveLog of(int... indexes) {
+        MoveLog log = new MoveLog();
+        for (int index : indexes) log.add(index);
+        return log;
+    }
+
+    public void add(int index) {
+        long now = System.currentTimeMillis();
+        append(index, (int) Math.min(Integer.MAX_VALUE, Math.max(0, now - lastMoveAt)), now);
+    }
+
+    /** 소요 시간을 이미 아는 착수를 기록한다(재기동 복구용). 다음 수의 소요 시간은 지금부터 잰다. */
+    public void add(int index, int elapsedMillis) {
+        append(index, elapsedMillis, System.currentTimeMillis());
+    }
+
+    private void append(int index, int elapsed, long now) {
+        if (size == CAPACITY) {
+            throw new IllegalStateException("move log full");
+        }
+        elapsedMillis[size] = elapsed;
+        lastMoveAt = now;
+        moves[size++] = index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** i번째(0부터) 착수 index. */
+    public int get(int i) {
+        checkIndex(i);
+        return moves[i];
+    }
+
+    /** i번째(0부터) 착수에 걸린 시간(ms). 직전 수(첫 수는 게임 시작)부터 잰다. */
+    public int elapsedMillis(int i) {
+        checkIndex(i);
+        return elapsedMillis[i];
+    }
+
+    /** 기보 저장 등 착수 경로 밖에서 쓰는 박싱된 사본. */
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(moves[i]);
+        return list;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+    }
+}
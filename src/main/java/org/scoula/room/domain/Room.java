@@ -23,16 +23,48 @@ public class Room {
     private int ready;
 
     // 대국 착수 순서(index를 놓인 순서대로). 게임종료 시 기보 저장의 원천 데이터.
-    // in-memory만 유지 — 서버 중단 시 함께 소멸(중단된 대국은 기보 미저장).
+    // 방 상태는 in-memory이고, 재기동 복구는 저널(MappedRoomJournal)의 착수 레코드를 다시 놓아 이 기록부를 되살린다.
+    // 착수 경로에서 Integer 박싱이 생기지 않도록 원시 int 배열(MoveLog)로 보관한다.
     @Builder.Default
     @JsonIgnore
-    private List<Integer> moveHistory = new java.util.ArrayList<>();
+    private MoveLog moveLog = new MoveLog();
 
-    // 방 생성 시각(epoch ms). 빈 방 TTL GC(EmptyRoomCleaner)의 기준. 표시용 아님.
+    // 현재 판에서 흑이 둘 수 없는 교차점(3-3 / 4-4 / 장목). 착수마다 그 돌을 지나는 네 줄만 다시 판정해 갱신한다.
+    // 착수 검증은 이 마스크를 조회하고, GAME_START/ACTION에 실어 클라가 금수점을 미리 표시하게 한다.
+    @Builder.Default
+    @JsonIgnore
+    private ForbiddenMask forbiddenMask = new ForbiddenMask();
+
+    // 이 방의 브로드캐스트 목적지(/topic/room/{roomId}). 메시지마다 문자열을 이어 붙이지 않도록 한 번만 만든다.
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String topic;
+
+    // 서버 대국 시계(GameClockService가 게임 시작 때 건다). 시계 규칙이 꺼져 있으면 null.
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private GameClock clock;
+
+    // 브로드캐스트 순번과 최근 프레임(재접속 시 놓친 프레임만 다시 보내기 위한 링 버퍼).
+    @JsonIgnore
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private FrameRing frames = new FrameRing();
+
+    // 방 생성 시각(epoch ms). 빈 방 TTL(RoomServiceImpl, RoomTimers.Kind.ROOM_TTL)의 기준. 표시용 아님.
     @JsonIgnore
     @Builder.Default
     private long createdAt = System.currentTimeMillis();
 
+    // 이 방에 마지막으로 반영된 저널 레코드 번호(LSN). 복구 때 스냅샷에 이미 들어간 레코드를 건너뛰는 기준.
+    @JsonIgnore
+    private long journalLsn;
+
     // 신원(A''): 자리 소유는 인증 principal(JWT subject)을 '키'로 기록한다.
     // 키가 principal이므로 클라가 보낸 player.id로는 남의 자리를 덮어쓰거나 탈취할 수 없다.
     // 값(playerId)은 표시/reconnect 라벨일 뿐 신원이 아니다. bindMember는 인증 경로에서만 호출.
@@ -51,12 +83,35 @@ public class Room {
         ready = 0;
         isPlaying = true;
         this.blackPlayer = blackPlayer;
-        moveHistory = new java.util.ArrayList<>();
+        moveLog = new MoveLog();
+        forbiddenMask = new ForbiddenMask(); // 빈 판에는 금수점이 없다
+        clock = null; // 새 시계는 GameClockService가 건다
     }
 
     /** 착수를 놓인 순서대로 기록한다. */
     public void recordMove(int index) {
-        moveHistory.add(index);
+        moveLog.add(index);
+    }
+
+    /** 착수 순서의 박싱된 사본(기보 저장·테스트용). 착수 경로에서는 moveLog를 직접 쓴다. */
+    @JsonIgnore
+    public List<Integer> getMoveHistory() {
+        return moveLog.toList();
+    }
+
+    /** STOMP 브로드캐스트 목적지. 최초 호출 시 한 번 만들어 재사용한다. */
+    public String topic() {
+        String t = topic;
+        if (t == null) {
+            t = "/topic/room/" + roomId;
+            topic = t;
+        }
+        return t;
+    }
+
+    /** 이 방의 브로드캐스트 순번·최근 프레임. */
+    public FrameRing frames() {
+        return frames;
     }
 
     /**
@@ -0,0 +1,23 @@
+package org.scoula.room.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * /topic/lobby로 미는 로비 변경분 1건. version은 그 방의 갱신 번호(LobbyRoom.version)다.
+ * 클라는 방마다 가진 것보다 큰 version만 적용한다. 방 단위로 비교하므로 스냅샷(GET /api/rooms)과 변경분의
+ * 도착 순서가 섞여도, 여러 노드가 각자 방의 변경분을 밀어도 결과가 같다.
+ * UPSERT면 room이 새 값, REMOVE면 room은 null.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LobbyDelta(long version, Type type, String roomId, LobbyRoom room) {
+
+    public enum Type { UPSERT, REMOVE }
+
+    public static LobbyDelta upsert(long version, LobbyRoom room) {
+        return new LobbyDelta(version, Type.UPSERT, room.roomId(), room);
+    }
+
+    public static LobbyDelta remove(long version, String roomId) {
+        return new LobbyDelta(version, Type.REMOVE, roomId, null);
+    }
+}
@@ -0,0 +1,39 @@
+package org.scoula.room.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+
+import java.util.List;
+
+/**
+ * 로비(방 목록)에 보이는 방 한 줄. 판·턴·금수점은 싣지 않는다(방에 들어가면 GET /api/rooms/{roomId}로 받는다).
+ * 필드 이름은 RoomResponseDto와 같아 프론트가 목록 항목을 그대로 쓸 수 있다.
+ * version은 이 방 줄의 갱신 번호(방 주인 노드가 매긴다, 클수록 최신). 클라는 스냅샷·변경분 중 큰 version만 남긴다.
+ */
+public record LobbyRoom(
+        String title,
+        String roomId,
+        boolean hasPassword,
+        List<Player> players,
+        @JsonProperty("isPlaying") boolean isPlaying,
+        String blackPlayer,
+        long version
+) {
+    /** version 없이(0) 뜬 방 한 줄. LobbyService가 바뀐 경우에만 version을 매긴다. */
+    public static LobbyRoom from(Room room) {
+        return new LobbyRoom(
+                room.getTitle(),
+                room.getRoomId(),
+                room.getPassword() != null && !room.getPassword().isBlank(),
+                List.copyOf(room.getPlayers()),
+                room.isPlaying(),
+                room.getBlackPlayer(),
+                0
+        );
+    }
+
+    public LobbyRoom withVersion(long version) {
+        return new LobbyRoom(title, roomId, hasPassword, players, isPlaying, blackPlayer, version);
+    }
+}
@@ -0,0 +1,8 @@
+package org.scoula.room.dto;
+
+/**
+ * 짝은 지어졌지만 자리에 앉히지 못했을 때, 앉지 못한 쪽에 /user/queue/match로 보내는 알림. 그 사람은 대기열에서 빠졌으므로
+ * 클라는 다시 POST /api/match로 넣어야 한다. 상대는 대기열에 되돌아가 알림 없이 계속 기다린다.
+ */
+public record MatchFailed(String reason) {
+}
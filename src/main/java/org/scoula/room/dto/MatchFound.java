@@ -0,0 +1,8 @@
+package org.scoula.room.dto;
+
+/**
+ * 매칭이 잡혔을 때 두 사람에게 각각 /user/queue/match로 보내는 알림. 두 사람 모두 이미 방 자리에 앉아 있으므로
+ * 클라는 /topic/room/{roomId}를 구독하고 JOIN만 보내면 된다.
+ */
+public record MatchFound(String roomId, int rating, String opponent, int opponentRating) {
+}
@@ -12,5 +12,9 @@ public enum MessageType {
     CANCEL,
     SURRENDER,
     DISCONNECTED,
-    RECONNECT
+    RECONNECT,
+    /** 재접속 재전송이 불가능할 때(링에서 밀려남·재기동) 방 상태를 REST로 다시 받으라는 안내. */
+    RESYNC,
+    /** 관전 연결 직후 한 번 오는 판 스냅샷(SpectatorSnapshot). 이후 프레임은 seq가 이보다 크다. */
+    SNAPSHOT
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.scoula.room.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.scoula.room.domain.Player;
+
+/**
+ * 방 소유 샤드에서 실행할 명령 1건. STOMP 핸들러·끊김 처리가 만들고 RoomCommandRouter가 실행하며,
+ * 클러스터 모드에서 방 주인이 다른 노드면 이 형태 그대로 주인 노드로 넘어간다(JSON).
+ * principal은 수신 노드에서 인증된 값이다(주인 노드는 클러스터 토큰으로 발신 노드를 신뢰한다).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomCommand(Type type, String roomId, String principal, Player sender, Integer index, String sessionId,
+                          Long lastSeq) {
+
+    public enum Type { JOIN, READY, CANCEL, SURRENDER, TIMEOUT, MOVE, DISCONNECT }
+
+    public static RoomCommand of(Type type, String roomId, String principal) {
+        return new RoomCommand(type, roomId, principal, null, null, null, null);
+    }
+
+    /** lastSeq가 있으면 그 뒤 놓친 브로드캐스트를 sessionId 세션에만 다시 보낸다. */
+    public static RoomCommand join(String roomId, String principal, Player sender, String sessionId, Long lastSeq) {
+        return new RoomCommand(Type.JOIN, roomId, principal, sender, null, sessionId, lastSeq);
+    }
+
+    public static RoomCommand move(String roomId, String principal, int index) {
+        return new RoomCommand(Type.MOVE, roomId, principal, null, index, null, null);
+    }
+
+    public static RoomCommand disconnect(String roomId, String principal, String sessionId) {
+        return new RoomCommand(Type.DISCONNECT, roomId, principal, null, null, sessionId, null);
+    }
+}
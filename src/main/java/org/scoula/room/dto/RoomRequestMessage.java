@@ -2,4 +2,12 @@ package org.scoula.room.dto;
 
 import org.scoula.room.domain.Player;
 
-public record RoomRequestMessage(Player sender, String roomId, MessageType type, Integer index) {}
+/**
+ * 클라이언트 STOMP 요청. lastSeq는 재접속 JOIN에서만 쓰며, 마지막으로 받은 방 브로드캐스트 순번이다.
+ */
+public record RoomRequestMessage(Player sender, String roomId, MessageType type, Integer index, Long lastSeq) {
+
+    public RoomRequestMessage(Player sender, String roomId, MessageType type, Integer index) {
+        this(sender, roomId, type, index, null);
+    }
+}
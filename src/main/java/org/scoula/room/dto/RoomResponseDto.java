@@ -1,6 +1,7 @@
 package org.scoula.room.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.scoula.room.domain.GameClock;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 
@@ -14,11 +15,18 @@ public record RoomResponseDto(
         int turn,
         int[] board,
         @JsonProperty("isPlaying") boolean isPlaying,
-        String blackPlayer
+        String blackPlayer,
+        int[] forbidden,
+        GameClock.View clock,
+        long seq
 ) {
     public static RoomResponseDto from(Room room) {
+        // 판보다 먼저 읽는다. 이 뒤에 바뀐 상태는 seq가 더 큰 브로드캐스트로 다시 오므로 클라가 빠뜨리지 않는다.
+        long seq = room.frames().lastSeq();
         int[] board1d = new int[15 * 15];
         int turn = 1;
+        int[] forbidden = null;
+        GameClock.View clock = null;
         // 진행 중일 때만 실제 판을 노출한다. 종료된 방은 빈 판으로 내려
         // 새 입장자가 이전 대국의 잔존 화면을 보지 않게 한다(기보는 이미 DB에 저장됨).
         if (room.isPlaying()) {
@@ -27,6 +35,10 @@ public record RoomResponseDto(
                 System.arraycopy(board2d[i], 0, board1d, i * 15, 15);
             }
             turn = room.getTurn();
+            // 재접속·중간 입장자도 ACTION을 기다리지 않고 금수점을 바로 표시할 수 있게 함께 내린다.
+            forbidden = room.getForbiddenMask().toArray();
+            // 재접속 화면이 서버 시계에서 다시 시작하도록 지금 남은 시간을 함께 내린다.
+            if (room.getClock() != null) clock = room.getClock().view(System.currentTimeMillis());
         }
         return new RoomResponseDto(
                 room.getTitle(),
@@ -36,7 +48,10 @@ public record RoomResponseDto(
                 turn,
                 board1d,
                 room.isPlaying(),
-                room.getBlackPlayer()
+                room.getBlackPlayer(),
+                forbidden,
+                clock,
+                seq
         );
     }
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.scoula.room.domain.GameClock;
 
 @Data
 @NoArgsConstructor
@@ -21,4 +22,48 @@ public class RoomResponseMessage {
     private String blackPlayer;
     /** GAME_END 전용. "BLACK" | "WHITE". 프론트가 승자 라벨을 추론하지 않도록 서버가 명시한다. */
     private String winner;
+    /**
+     * GAME_START/ACTION 전용. 다음 흑 착수 기준 금수점 비트마스크(32비트 워드 8개, index i = 워드 i>>5의 i&31번 비트).
+     * 클라가 금수점을 미리 막아 거부될 착수를 보내지 않게 한다.
+     */
+    private int[] forbidden;
+    /** GAME_START/ACTION 전용. 서버 시계 기준 흑·백 남은 시간(시계 규칙이 꺼져 있으면 없음). */
+    private GameClock.View clock;
+    /**
+     * 방 안에서 단조 증가하는 브로드캐스트 순번. RoomBroadcaster가 보낼 때 매긴다. 클라이언트는 마지막으로 받은 값을
+     * 재접속 JOIN의 lastSeq로 보내 놓친 프레임만 받는다. 방이 이미 사라진 뒤의 LEAVE·RESYNC 안내에는 없다.
+     */
+    private Long seq;
+
+    // index(0~224)·turn(1~226)용 박싱 캐시. Integer.valueOf는 127까지만 캐시하므로 판의 절반 이상에서 새 객체가 생긴다.
+    private static final Integer[] BOARD_INTS = new Integer[256];
+
+    static {
+        for (int i = 0; i < BOARD_INTS.length; i++) BOARD_INTS[i] = i;
+    }
+
+    private static Integer boardInt(int value) {
+        return value >= 0 && value < BOARD_INTS.length ? BOARD_INTS[value] : Integer.valueOf(value);
+    }
+
+    /**
+     * 착수 브로드캐스트(ACTION). 착수마다 생기는 유일한 페이로드라 빌더 없이 만들고
+     * index/turn은 박싱 캐시를 써서 메시지 객체와 금수 마스크 사본 외에는 할당하지 않는다.
+     */
+    public static RoomResponseMessage action(String roomId, int index, int turn, int[] forbidden) {
+        return action(roomId, index, turn, forbidden, null);
+    }
+
+    /** 착수 브로드캐스트에 착수 직후 남은 시간을 싣는다. */
+    public static RoomResponseMessage action(String roomId, int index, int turn, int[] forbidden,
+                                             GameClock.View clock) {
+        RoomResponseMessage message = new RoomResponseMessage();
+        message.roomId = roomId;
+        message.type = MessageType.ACTION;
+        message.index = boardInt(index);
+        message.turn = boardInt(turn);
+        message.forbidden = forbidden;
+        message.clock = clock;
+        return message;
+    }
 }
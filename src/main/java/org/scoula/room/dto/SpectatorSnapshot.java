@@ -0,0 +1,74 @@
+package org.scoula.room.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.scoula.room.domain.GameClock;
+import org.scoula.room.domain.MoveLog;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 관전자가 붙자마자 받는 압축 스냅샷. 판은 칸마다 한 글자('0' 빈칸 · '1' 흑 · '2' 백)인 225자 문자열이고,
+ * 수순은 놓인 순서대로의 칸 번호다. 이 뒤로는 seq가 더 큰 방 프레임만 온다.
+ * room 락과 FrameRing 락을 잡은 채 만들어야 seq와 판이 어긋나지 않는다(SpectatorHub).
+ */
+public record SpectatorSnapshot(
+        MessageType type,
+        String roomId,
+        String title,
+        List<Player> players,
+        @JsonProperty("isPlaying") boolean isPlaying,
+        String blackPlayer,
+        int turn,
+        String board,
+        int[] moves,
+        int[] forbidden,
+        GameClock.View clock,
+        long seq,
+        int spectators
+) {
+    private static final int SIZE = 15;
+
+    public static SpectatorSnapshot from(Room room, int spectators) {
+        char[] board = new char[SIZE * SIZE];
+        Arrays.fill(board, '0');
+        int[] moves = new int[0];
+        int turn = 1;
+        int[] forbidden = null;
+        GameClock.View clock = null;
+        // 방 조회 응답(RoomResponseDto)과 같이, 진행 중일 때만 실제 판을 내린다.
+        if (room.isPlaying()) {
+            int[][] cells = room.getBoard();
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    // 판에는 놓인 수 번호가 들어 있다. 홀수 번째가 흑.
+                    int n = cells[y][x];
+                    if (n != 0) board[y * SIZE + x] = (n & 1) == 1 ? '1' : '2';
+                }
+            }
+            MoveLog log = room.getMoveLog();
+            moves = new int[log.size()];
+            for (int i = 0; i < moves.length; i++) moves[i] = log.get(i);
+            turn = room.getTurn();
+            forbidden = room.getForbiddenMask().toArray();
+            if (room.getClock() != null) clock = room.getClock().view(System.currentTimeMillis());
+        }
+        return new SpectatorSnapshot(
+                MessageType.SNAPSHOT,
+                room.getRoomId(),
+                room.getTitle(),
+                room.getPlayers(),
+                room.isPlaying(),
+                room.getBlackPlayer(),
+                turn,
+                new String(board),
+                moves,
+                forbidden,
+                clock,
+                room.frames().lastSeq(),
+                spectators
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package org.scoula.room.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 저널 레코드·스냅샷 공용 인코딩. 문자열은 [int 길이][UTF-8], null은 길이 -1.
+ * 모든 정수는 big-endian(ByteBuffer 기본)이다.
+ */
+final class JournalCodec {
+
+    private JournalCodec() {
+    }
+
+    static int sizeOf(byte[] utf8) {
+        return 4 + (utf8 == null ? 0 : utf8.length);
+    }
+
+    static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void putString(ByteBuffer buf, byte[] utf8) {
+        if (utf8 == null) {
+            buf.putInt(-1);
+            return;
+        }
+        buf.putInt(utf8.length);
+        buf.put(utf8);
+    }
+
+    static String getString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        if (len > buf.remaining()) throw new IllegalArgumentException("string length " + len + " > remaining");
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
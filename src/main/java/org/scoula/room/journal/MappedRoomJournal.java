@@ -0,0 +1,384 @@
+package org.scoula.room.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.MoveLog;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.RoomJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.scoula.room.journal.JournalCodec.putString;
+import static org.scoula.room.journal.JournalCodec.sizeOf;
+import static org.scoula.room.journal.JournalCodec.utf8;
+
+/**
+ * 노드별 방 상태 저널(append-only). 방 생성·자리 바인딩·퇴장·대국 시작·착수·종료·제거를 레코드로 남겨
+ * 재기동 때 RoomRecovery가 마지막 체크포인트 스냅샷 위에 다시 적용한다.
+ *
+ * - 파일: omok.journal.dir 아래 고정 크기 세그먼트(journal-{id}.log)를 메모리 맵으로 열어 두고 이어 쓴다.
+ *   차면 다음 id로 넘어간다. 기동 때는 항상 새 세그먼트를 열어, 지난 실행의 잘린 꼬리 뒤에 쓰지 않는다.
+ * - 레코드: [int 길이][int CRC32C][payload = long LSN, byte 종류, roomId, 본문]. 길이를 마지막에 써서
+ *   쓰다 만 레코드는 길이 0(끝) 또는 CRC 불일치로 읽혀 거기서 재생을 멈춘다.
+ * - 동기화: append는 페이지 캐시(맵 버퍼)에 쓰기만 한다. 프로세스가 죽어도 남고, OS 장애 대비 force는
+ *   flush-interval마다 백그라운드 스레드가 묶어서 한다(group commit). sync-every-append=true면 매 레코드 force.
+ * append는 room 락 안(착수 경로)에서 불리므로 짧은 저널 락 하나와 수십 바이트 복사만 한다.
+ */
+@Slf4j
+@Component
+public class MappedRoomJournal implements RoomJournal {
+
+    static final byte CREATED = 1;
+    static final byte JOINED = 2;
+    static final byte LEFT = 3;
+    static final byte STARTED = 4;
+    static final byte MOVE = 5;
+    static final byte ENDED = 6;
+    static final byte REMOVED = 7;
+
+    private static final int RECORD_HEADER = 8;   // 길이 + CRC
+    private static final int PAYLOAD_HEADER = 9;  // LSN + 종류
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final boolean syncEveryAppend;
+
+    private final Object lock = new Object();
+    private final CRC32C crc = new CRC32C();   // lock 안에서만
+    private MappedByteBuffer segment;          // lock 안에서만
+    private long segmentId;
+    private long nextLsn = 1;
+    private int recordStart;
+    private int pendingLength;
+    private boolean dirty;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public MappedRoomJournal(@Value("${omok.journal.enabled:false}") boolean enabled,
+                             @Value("${omok.journal.dir:./data/room-journal}") Path dir,
+                             @Value("${omok.journal.segment-size:16MB}") DataSize segmentSize,
+                             @Value("${omok.journal.flush-interval:200ms}") Duration flushInterval,
+                             @Value("${omok.journal.sync-every-append:false}") boolean syncEveryAppend) {
+        this.enabled = enabled;
+        this.dir = dir;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.flushInterval = flushInterval;
+        this.syncEveryAppend = syncEveryAppend;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) return;
+        Files.createDirectories(dir);
+        List<Long> existing = segmentIds();
+        synchronized (lock) {
+            segmentId = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+            segment = map(segmentId);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "room-journal-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("[JOURNAL_OPEN] dir={} segment={} existing={}", dir, segmentId, existing.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) return;
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (lock) {
+            if (segment != null) segment.force();
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void roomCreated(Room room) {
+        if (!enabled) return;
+        byte[] title = utf8(room.getTitle());
+        byte[] password = utf8(room.getPassword());
+        synchronized (lock) {
+            ByteBuffer buf = begin(CREATED, room.getRoomId(), sizeOf(title) + sizeOf(password) + 8);
+            if (buf == null) return;
+            putString(buf, title);
+            putString(buf, password);
+            buf.putLong(room.getCreatedAt());
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void memberJoined(Room room, String principal, Player player) {
+        if (!enabled) return;
+        byte[] p = utf8(principal);
+        byte[] id = utf8(player.id());
+        byte[] name = utf8(player.name());
+        synchronized (lock) {
+            ByteBuffer buf = begin(JOINED, room.getRoomId(), sizeOf(p) + sizeOf(id) + sizeOf(name));
+            if (buf == null) return;
+            putString(buf, p);
+            putString(buf, id);
+            putString(buf, name);
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void memberLeft(Room room, String playerId) {
+        if (!enabled) return;
+        byte[] id = utf8(playerId);
+        synchronized (lock) {
+            ByteBuffer buf = begin(LEFT, room.getRoomId(), sizeOf(id));
+            if (buf == null) return;
+            putString(buf, id);
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void gameStarted(Room room) {
+        if (!enabled) return;
+        byte[] blackPlayer = utf8(room.getBlackPlayer());
+        byte[] black = utf8(room.blackPrincipal());
+        byte[] white = utf8(room.whitePrincipal());
+        synchronized (lock) {
+            ByteBuffer buf = begin(STARTED, room.getRoomId(), sizeOf(blackPlayer) + sizeOf(black) + sizeOf(white));
+            if (buf == null) return;
+            putString(buf, blackPlayer);
+            putString(buf, black);
+            putString(buf, white);
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void moveApplied(Room room, int index) {
+        if (!enabled) return;
+        MoveLog moves = room.getMoveLog();
+        int elapsed = moves.elapsedMillis(moves.size() - 1);
+        synchronized (lock) {
+            ByteBuffer buf = begin(MOVE, room.getRoomId(), 1 + 4);
+            if (buf == null) return;
+            buf.put((byte) index);
+            buf.putInt(elapsed);
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void gameEnded(Room room) {
+        if (!enabled) return;
+        synchronized (lock) {
+            if (begin(ENDED, room.getRoomId(), 0) == null) return;
+            room.setJournalLsn(commit());
+        }
+    }
+
+    @Override
+    public void roomRemoved(String roomId) {
+        if (!enabled) return;
+        synchronized (lock) {
+            if (begin(REMOVED, roomId, 0) == null) return;
+            commit();
+        }
+    }
+
+    // lock 안: 레코드 자리를 잡고 payload 머리(LSN·종류·roomId)까지 쓴 버퍼를 돌려준다. 본문은 호출자가 이어 쓴다.
+    // 세그먼트가 모자라면 다음 세그먼트로 넘어간다. 저널 실패가 방 상태 변경을 깨지 않도록 null로 건너뛴다.
+    private ByteBuffer begin(byte type, String roomId, int bodySize) {
+        byte[] id = utf8(roomId);
+        int payload = PAYLOAD_HEADER + sizeOf(id) + bodySize;
+        try {
+            if (segment.remaining() < RECORD_HEADER + payload) roll();
+            if (segment.remaining() < RECORD_HEADER + payload) {
+                log.error("[JOURNAL_SKIP] record too large type={} roomId={} bytes={}", type, roomId, payload);
+                return null;
+            }
+        } catch (IOException e) {
+            log.error("[JOURNAL_FAIL] roll failed segment={} : {}", segmentId + 1, e.getMessage());
+            return null;
+        }
+        recordStart = segment.position();
+        pendingLength = payload;
+        segment.position(recordStart + RECORD_HEADER);
+        segment.putLong(nextLsn);
+        segment.put(type);
+        putString(segment, id);
+        return segment;
+    }
+
+    // lock 안: CRC와 길이를 채워 레코드를 확정하고 그 LSN을 돌려준다. 길이를 마지막에 써야 잘린 레코드가 끝으로 읽힌다.
+    private long commit() {
+        int end = recordStart + RECORD_HEADER + pendingLength;
+        if (segment.position() != end) {
+            throw new IllegalStateException("journal record size mismatch: " + (segment.position() - recordStart)
+                    + " != " + (RECORD_HEADER + pendingLength));
+        }
+        crc.reset();
+        crc.update(segment.slice(recordStart + RECORD_HEADER, pendingLength));
+        segment.putInt(recordStart + 4, (int) crc.getValue());
+        segment.putInt(recordStart, pendingLength);
+        dirty = true;
+        if (syncEveryAppend) segment.force();
+        return nextLsn++;
+    }
+
+    // lock 안
+    private void roll() throws IOException {
+        segment.force();
+        MappedByteBuffer next = map(segmentId + 1);
+        segmentId++;
+        segment = next;
+    }
+
+    private MappedByteBuffer map(long id) throws IOException {
+        try (FileChannel ch = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushInterval.toMillis());
+            } catch (InterruptedException e) {
+                break; // close()가 마지막 force를 한다
+            }
+            MappedByteBuffer toForce;
+            synchronized (lock) {
+                if (!dirty) continue;
+                dirty = false;
+                toForce = segment;
+            }
+            try {
+                toForce.force();
+            } catch (RuntimeException e) {
+                log.error("[JOURNAL_FLUSH_FAIL] {}", e.getMessage());
+            }
+        }
+    }
+
+    // ---- 체크포인트·복구(RoomRecovery) ----
+
+    Path directory() {
+        return dir;
+    }
+
+    /** 지금 쓰는 세그먼트를 닫고 새 세그먼트로 넘어간다. 돌려준 id부터가 이후 레코드다. */
+    long rotate() throws IOException {
+        synchronized (lock) {
+            roll();
+            return segmentId;
+        }
+    }
+
+    long currentSegment() {
+        synchronized (lock) {
+            return segmentId;
+        }
+    }
+
+    /** 마지막으로 확정한 레코드의 LSN(없으면 0). */
+    long lastLsn() {
+        synchronized (lock) {
+            return nextLsn - 1;
+        }
+    }
+
+    /** 복구가 본 가장 큰 LSN 다음부터 번호를 이어 매긴다. 재기동 뒤에도 LSN이 뒤로 가지 않는다. */
+    void resumeAfter(long lsn) {
+        synchronized (lock) {
+            nextLsn = Math.max(nextLsn, lsn + 1);
+        }
+    }
+
+    List<Long> segmentIds() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return ids;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("journal-") && n.endsWith(".log"))
+                    .forEach(n -> ids.add(Long.parseLong(n.substring("journal-".length(), n.length() - ".log".length()))));
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * 세그먼트의 레코드 payload를 순서대로 넘긴다. 길이 0(끝)·CRC 불일치(쓰다 만 꼬리)에서 멈추고 읽은 수를 돌려준다.
+     * payload는 힙 버퍼 사본이라 호출자가 자유롭게 읽어도 된다.
+     */
+    int read(long id, Consumer<ByteBuffer> consumer) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(segmentPath(id), StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        CRC32C check = new CRC32C();
+        int count = 0;
+        while (buf.remaining() >= RECORD_HEADER) {
+            int start = buf.position();
+            int length = buf.getInt();
+            int expected = buf.getInt();
+            if (length == 0) break;
+            if (length < PAYLOAD_HEADER || length > buf.remaining()) {
+                log.warn("[JOURNAL_TAIL] segment={} offset={} bad length={}", id, start, length);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buf.get(payload);
+            check.reset();
+            check.update(payload);
+            if ((int) check.getValue() != expected) {
+                log.warn("[JOURNAL_TAIL] segment={} offset={} crc mismatch", id, start);
+                break;
+            }
+            consumer.accept(ByteBuffer.wrap(payload));
+            count++;
+        }
+        return count;
+    }
+
+    void deleteSegmentsBefore(long id) throws IOException {
+        for (long existing : segmentIds()) {
+            if (existing < id) Files.deleteIfExists(segmentPath(existing));
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("journal-%019d.log", id));
+    }
+}
@@ -0,0 +1,113 @@
+package org.scoula.room.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.ai.AiPlayerService;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RoomService;
+import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.WebSocketEventListener;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 재기동 복구와 체크포인트.
+ * - 복구: 모든 빈이 만들어진 직후(웹 서버·STOMP가 열리기 전) 마지막 스냅샷 위에 이후 저널 세그먼트를 재생해
+ *   방·판·자리를 되살리고, 멤버마다 끊김 유예(30초)를 건다. 유예 안에 다시 붙으면 RECONNECT로 이어진다.
+ *   진행 중 대국의 서버 시계는 기보의 수마다 소요 시간으로 다시 만들고, 차례인 쪽은 기동 시각부터 다시 흐른다.
+ * - 체크포인트: checkpoint-interval마다 새 세그먼트로 넘어간 뒤 방 전체를 스냅샷으로 쓰고 이전 세그먼트를 지운다.
+ *   재생 길이가 마지막 체크포인트 이후 레코드로 묶여 재기동 시간이 일정하다.
+ */
+@Slf4j
+@Component
+public class RoomRecovery implements SmartInitializingSingleton {
+
+    private final MappedRoomJournal journal;
+    private final RoomService roomService;
+    private final GameService gameService;
+    private final WebSocketEventListener webSocketEventListener;
+    private final RoomSocketService roomSocketService;
+    private long checkpointedLsn = -1;
+
+    public RoomRecovery(MappedRoomJournal journal, RoomService roomService, GameService gameService,
+                        WebSocketEventListener webSocketEventListener, RoomSocketService roomSocketService) {
+        this.journal = journal;
+        this.roomService = roomService;
+        this.gameService = gameService;
+        this.webSocketEventListener = webSocketEventListener;
+        this.roomSocketService = roomSocketService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!journal.enabled()) return;
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            // 복구 실패로 서버가 안 뜨는 것보다 빈 상태로 뜨는 편이 낫다. 파일은 지우지 않고 남겨 둔다.
+            log.error("[RECOVER_FAIL] dir={} : {}", journal.directory(), e.getMessage(), e);
+            return;
+        }
+        checkpoint();
+    }
+
+    /** 스냅샷 + 저널을 재생해 방을 되살린다. 되살린 방 수를 돌려준다. */
+    int recover() throws IOException {
+        long started = System.nanoTime();
+        RoomReplay replay = new RoomReplay(gameService);
+        RoomSnapshotFile.Header header = RoomSnapshotFile.read(snapshotFile(), replay);
+        long from = header != null ? header.startSegment() : 0;
+        long current = journal.currentSegment();
+        int records = 0;
+        for (long id : journal.segmentIds()) {
+            if (id >= from && id < current) records += journal.read(id, replay::apply);
+        }
+        journal.resumeAfter(replay.maxLsn());
+
+        int playing = 0;
+        for (Room room : replay.rooms()) {
+            roomService.restoreRoom(room);
+            if (room.isPlaying()) {
+                roomSocketService.resumeClock(room.getRoomId());
+                playing++;
+            }
+            for (String principal : room.memberPrincipals()) {
+                // AI 자리는 소켓이 없으니 유예를 걸지 않는다. 차례면 resumeClock이 탐색을 다시 건다.
+                if (AiPlayerService.isAi(principal)) continue;
+                webSocketEventListener.awaitReconnect(room.getRoomId(), principal);
+            }
+        }
+        log.info("[RECOVER] rooms={} playing={} snapshotRooms={} records={} took={}ms",
+                replay.rooms().size(), playing, header != null ? header.rooms() : 0, records,
+                (System.nanoTime() - started) / 1_000_000);
+        return replay.rooms().size();
+    }
+
+    @Scheduled(fixedDelayString = "${omok.journal.checkpoint-interval:60s}",
+            initialDelayString = "${omok.journal.checkpoint-interval:60s}")
+    public synchronized void checkpoint() {
+        if (!journal.enabled()) return;
+        long lsn = journal.lastLsn();
+        if (lsn == checkpointedLsn) return; // 마지막 체크포인트 이후 변경 없음
+        try {
+            // 먼저 세그먼트를 넘겨야 스냅샷을 뜨는 동안 쓰인 레코드가 새 세그먼트에 남는다(재생 때 LSN으로 중복 제거).
+            long start = journal.rotate();
+            List<Room> rooms = roomService.getRoomList();
+            RoomSnapshotFile.write(snapshotFile(), start, journal.lastLsn(), rooms);
+            journal.deleteSegmentsBefore(start);
+            checkpointedLsn = lsn;
+            log.debug("[JOURNAL_CHECKPOINT] rooms={} segment={} lsn={}", rooms.size(), start, lsn);
+        } catch (IOException | RuntimeException e) {
+            log.error("[JOURNAL_CHECKPOINT_FAIL] {}", e.getMessage(), e);
+        }
+    }
+
+    private Path snapshotFile() {
+        return journal.directory().resolve(RoomSnapshotFile.FILE_NAME);
+    }
+}
@@ -0,0 +1,130 @@
+package org.scoula.room.journal;
+
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameService;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.scoula.room.journal.JournalCodec.getString;
+
+/**
+ * 복구 중인 방 집합. 스냅샷에서 읽은 방을 넣고(restore) 그 뒤 저널 레코드를 순서대로 적용한다(apply).
+ * 적용 규칙은 RoomServiceImpl·RoomSocketService가 상태를 바꾸는 규칙과 같다.
+ * 방의 journalLsn 이하인 레코드는 이미 스냅샷에 반영된 것이라 건너뛴다(체크포인트 중에 쓰인 레코드).
+ * 복구 스레드 하나에서만 쓴다.
+ */
+final class RoomReplay {
+
+    private static final int BOARD_SIZE = 15;
+
+    private final GameService gameService;
+    private final Map<String, Room> rooms = new LinkedHashMap<>();
+    private long maxLsn;
+
+    RoomReplay(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    /** RoomServiceImpl.createRoom과 같은 초기 상태의 방. */
+    static Room newRoom(String roomId, String title, String password, long createdAt) {
+        return Room.builder()
+                .title(title)
+                .roomId(roomId)
+                .password(password)
+                .players(new CopyOnWriteArrayList<>())
+                .turn(1)
+                .board(new int[BOARD_SIZE][BOARD_SIZE])
+                .isPlaying(false)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    GameService gameService() {
+        return gameService;
+    }
+
+    void restore(Room room) {
+        rooms.put(room.getRoomId(), room);
+        maxLsn = Math.max(maxLsn, room.getJournalLsn());
+    }
+
+    void seenLsn(long lsn) {
+        maxLsn = Math.max(maxLsn, lsn);
+    }
+
+    long maxLsn() {
+        return maxLsn;
+    }
+
+    Collection<Room> rooms() {
+        return rooms.values();
+    }
+
+    /** 저널 레코드 payload 하나를 적용한다. */
+    void apply(ByteBuffer payload) {
+        long lsn = payload.getLong();
+        byte type = payload.get();
+        String roomId = getString(payload);
+        seenLsn(lsn);
+
+        if (type == MappedRoomJournal.CREATED) {
+            String title = getString(payload);
+            String password = getString(payload);
+            long createdAt = payload.getLong();
+            Room existing = rooms.get(roomId);
+            if (existing != null && existing.getJournalLsn() >= lsn) return;
+            Room room = newRoom(roomId, title, password, createdAt);
+            room.setJournalLsn(lsn);
+            rooms.put(roomId, room);
+            return;
+        }
+
+        Room room = rooms.get(roomId);
+        // 스냅샷 이전에 사라진 방의 레코드이거나, 이미 스냅샷에 들어간 레코드
+        if (room == null || room.getJournalLsn() >= lsn) return;
+        room.setJournalLsn(lsn);
+
+        switch (type) {
+            case MappedRoomJournal.JOINED -> {
+                String principal = getString(payload);
+                Player player = new Player(getString(payload), getString(payload));
+                if (!room.getPlayers().contains(player)) room.getPlayers().add(player);
+                room.bindMember(principal, player.id());
+            }
+            case MappedRoomJournal.LEFT -> {
+                String playerId = getString(payload);
+                String principal = room.principalOf(playerId);
+                boolean removed = room.getPlayers().removeIf(p -> p.id().equals(playerId));
+                room.setReady(0);
+                if (room.getPlayers().isEmpty()) {
+                    rooms.remove(roomId);
+                } else {
+                    room.setPlaying(false);
+                    if (removed) room.unbindMember(principal);
+                }
+            }
+            case MappedRoomJournal.STARTED -> {
+                String blackPlayer = getString(payload);
+                room.initGame(blackPlayer);
+                room.setBlackPrincipal(getString(payload));
+                room.setWhitePrincipal(getString(payload));
+            }
+            case MappedRoomJournal.MOVE -> {
+                int index = payload.get() & 0xFF;
+                int elapsed = payload.getInt();
+                gameService.restoreMove(room, index, elapsed);
+            }
+            case MappedRoomJournal.ENDED -> {
+                room.setPlaying(false);
+                room.setReady(0);
+            }
+            case MappedRoomJournal.REMOVED -> rooms.remove(roomId);
+            default -> throw new IllegalArgumentException("unknown journal record type: " + type);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.scoula.room.journal;
+
+import org.scoula.room.domain.MoveLog;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import static org.scoula.room.journal.JournalCodec.getString;
+import static org.scoula.room.journal.JournalCodec.putString;
+import static org.scoula.room.journal.JournalCodec.sizeOf;
+import static org.scoula.room.journal.JournalCodec.utf8;
+
+/**
+ * 체크포인트 스냅샷 파일(rooms.snap). 그 시점 방 전체와, 이어서 재생할 첫 저널 세그먼트 id를 담는다.
+ *
+ * [int MAGIC][byte FORMAT][long 시작 세그먼트][long 최대 LSN][int 방 수][방 × n][int CRC32C]
+ * 방: roomId, title, password, createdAt, journalLsn, players(id·name), 자리(principal→playerId),
+ *     isPlaying, (진행 중이면) blackPlayer·흑/백 principal·착수(index·소요 ms).
+ * 판·턴·금수 마스크는 저장하지 않고 착수를 다시 놓아 만든다. 대기 중인 방의 지난 판은 조회 응답에서도
+ * 비워 보내므로 남기지 않는다. 임시 파일에 쓰고 force한 뒤 원자적으로 바꿔치기한다.
+ */
+final class RoomSnapshotFile {
+
+    static final String FILE_NAME = "rooms.snap";
+
+    private static final int MAGIC = 0x4F4D4B53; // "OMKS"
+    private static final byte FORMAT = 1;
+
+    private RoomSnapshotFile() {
+    }
+
+    record Header(long startSegment, long maxLsn, int rooms) {
+    }
+
+    /** 방마다 room 락 안에서 상태를 떠서 파일에 쓴다. */
+    static void write(Path file, long startSegment, long maxLsn, List<Room> rooms) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(rooms.size());
+        int total = 4 + 1 + 8 + 8 + 4 + 4;
+        for (Room room : rooms) {
+            byte[] bytes;
+            synchronized (room) {
+                bytes = encode(room);
+            }
+            encoded.add(bytes);
+            total += bytes.length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(total);
+        buf.putInt(MAGIC).put(FORMAT).putLong(startSegment).putLong(maxLsn).putInt(encoded.size());
+        for (byte[] bytes : encoded) buf.put(bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** 스냅샷의 방들을 replay에 넣고 헤더를 돌려준다. 파일이 없으면 null, 깨졌으면 IOException. */
+    static Header read(Path file, RoomReplay replay) throws IOException {
+        if (!Files.exists(file)) return null;
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 4 + 1 + 8 + 8 + 4 + 4) throw new IOException("snapshot truncated: " + bytes.length);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != buf.getInt(bytes.length - 4)) throw new IOException("snapshot crc mismatch");
+        if (buf.getInt() != MAGIC || buf.get() != FORMAT) throw new IOException("not a room snapshot: " + file);
+
+        long startSegment = buf.getLong();
+        long maxLsn = buf.getLong();
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) replay.restore(decode(buf, replay));
+        replay.seenLsn(maxLsn);
+        return new Header(startSegment, maxLsn, count);
+    }
+
+    private static byte[] encode(Room room) {
+        byte[] roomId = utf8(room.getRoomId());
+        byte[] title = utf8(room.getTitle());
+        byte[] password = utf8(room.getPassword());
+        List<byte[]> players = new ArrayList<>();
+        for (Player p : room.getPlayers()) {
+            players.add(utf8(p.id()));
+            players.add(utf8(p.name()));
+        }
+        List<byte[]> members = new ArrayList<>();
+        for (Map.Entry<String, String> e : room.getPlayerIdByPrincipal().entrySet()) {
+            members.add(utf8(e.getKey()));
+            members.add(utf8(e.getValue()));
+        }
+        boolean playing = room.isPlaying();
+        byte[] blackPlayer = utf8(room.getBlackPlayer());
+        byte[] black = utf8(room.blackPrincipal());
+        byte[] white = utf8(room.whitePrincipal());
+        MoveLog moves = room.getMoveLog();
+
+        int size = sizeOf(roomId) + sizeOf(title) + sizeOf(password) + 8 + 8 + 4 + 4 + 1;
+        for (byte[] b : players) size += sizeOf(b);
+        for (byte[] b : members) size += sizeOf(b);
+        if (playing) size += sizeOf(blackPlayer) + sizeOf(black) + sizeOf(white) + 4 + moves.size() * 5;
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        putString(buf, roomId);
+        putString(buf, title);
+        putString(buf, password);
+        buf.putLong(room.getCreatedAt());
+        buf.putLong(room.getJournalLsn());
+        buf.putInt(players.size() / 2);
+        for (byte[] b : players) putString(buf, b);
+        buf.putInt(members.size() / 2);
+        for (byte[] b : members) putString(buf, b);
+        buf.put((byte) (playing ? 1 : 0));
+        if (playing) {
+            putString(buf, blackPlayer);
+            putString(buf, black);
+            putString(buf, white);
+            buf.putInt(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                buf.put((byte) moves.get(i));
+                buf.putInt(moves.elapsedMillis(i));
+            }
+        }
+        return buf.array();
+    }
+
+    private static Room decode(ByteBuffer buf, RoomReplay replay) {
+        String roomId = getString(buf);
+        String title = getString(buf);
+        String password = getString(buf);
+        Room room = RoomReplay.newRoom(roomId, title, password, buf.getLong());
+        room.setJournalLsn(buf.getLong());
+        int players = buf.getInt();
+        for (int i = 0; i < players; i++) room.getPlayers().add(new Player(getString(buf), getString(buf)));
+        int members = buf.getInt();
+        for (int i = 0; i < members; i++) room.bindMember(getString(buf), getString(buf));
+        if (buf.get() == 1) {
+            room.initGame(getString(buf));
+            room.setBlackPrincipal(getString(buf));
+            room.setWhitePrincipal(getString(buf));
+            int moves = buf.getInt();
+            for (int i = 0; i < moves; i++) {
+                int index = buf.get() & 0xFF;
+                replay.gameService().restoreMove(room, index, buf.getInt());
+            }
+        }
+        return room;
+    }
+}
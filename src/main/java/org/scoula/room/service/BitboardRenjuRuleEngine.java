@@ -0,0 +1,195 @@
+package org.scoula.room.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 패턴 테이블 기반 렌주 판정 엔진 (omok.rule-engine=bitboard).
+ * 착수점을 지나는 4개 라인마다 양쪽 5칸(총 10칸)을 3진수 창(window)으로 압축하고,
+ * 그 창에 대한 5목/장목/사/열린 삼 판정을 클래스 로딩 시 미리 계산한 테이블에서 한 번에 꺼낸다.
+ *
+ * RenjuRuleEngine과 판정 결과가 같아야 한다(BitboardRenjuRuleEngineTest가 무작위 국면으로 대조).
+ * board를 건드리지 않고(임시 착수 없음) 객체도 만들지 않아, room 락 안의 금수 판정 시간이 짧아진다.
+ *
+ * 창 밖(중심에서 6칸 이상)은 판정에 영향을 주지 않는다: 중심을 포함하는 5목·4목과 그 양끝은
+ * 모두 ±5 안에 들어오고, 6목 이상은 ±5 안에서 이미 6칸 이상으로 보이기 때문이다.
+ */
+@Component
+@ConditionalOnProperty(name = "omok.rule-engine", havingValue = "bitboard")
+public class BitboardRenjuRuleEngine implements RuleEngine {
+
+    private static final int BOARD_SIZE = 15;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private static final int REACH = 5;          // 중심에서 한쪽으로 보는 칸 수
+    private static final int WINDOW = REACH * 2; // 중심 제외 창 크기
+    private static final int[][] DIRECTIONS = {
+            {1, 0},  // →
+            {0, 1},  // ↓
+            {1, 1},  // ↘
+            {1, -1}  // ↙
+    };
+
+    // 창 셀 상태(착수점 돌 색 기준 상대값). 상대 돌과 판 바깥은 둘 다 '막힘'이다.
+    private static final int EMPTY = 0;
+    private static final int OWN = 1;
+    private static final int BLOCKED = 2;
+
+    // 패턴 플래그
+    private static final int FIVE = 1;            // 중심을 지나는 정확히 5목
+    private static final int OVERLINE = 1 << 1;   // 중심을 지나는 6목 이상
+    private static final int FOUR = 1 << 2;       // 빈칸 하나로 정확히 5목 → 사
+    private static final int OPEN_THREE = 1 << 3; // 사가 아니고, 빈칸 하나로 열린 사 → 열린 삼
+
+    /** 3^10개의 창 → 패턴 플래그. */
+    private static final byte[] PATTERNS = buildPatterns();
+
+    /** index·방향별 창 셀의 board index(판 밖이면 -1). [index][dir][k], k는 -5..-1, +1..+5 순서. */
+    private static final int[] NEIGHBORS = buildNeighbors();
+
+    @Override
+    public boolean isWin(int[][] board, int index) {
+        int value = board[index / BOARD_SIZE][index % BOARD_SIZE];
+        if (value == 0) return false;
+        boolean black = (value & 1) == 1;
+        for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+            int flags = PATTERNS[windowKey(board, index, dir, black)];
+            if ((flags & FIVE) != 0) return true;
+            if (!black && (flags & OVERLINE) != 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isForbidden(int[][] board, int index) {
+        boolean overline = false;
+        int fours = 0;
+        int openThrees = 0;
+        for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+            int flags = PATTERNS[windowKey(board, index, dir, true)];
+            if ((flags & FIVE) != 0) return false; // 정확히 5목 완성은 승리 우선
+            if ((flags & OVERLINE) != 0) overline = true;
+            if ((flags & FOUR) != 0) fours++;
+            if ((flags & OPEN_THREE) != 0) openThrees++;
+        }
+        return overline || fours >= 2 || openThrees >= 2;
+    }
+
+    @Override
+    public int countFour(int[][] board, int index) {
+        return countFlag(board, index, FOUR);
+    }
+
+    @Override
+    public int countOpenThrees(int[][] board, int index) {
+        return countFlag(board, index, OPEN_THREE);
+    }
+
+    private int countFlag(int[][] board, int index, int flag) {
+        int count = 0;
+        for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+            if ((PATTERNS[windowKey(board, index, dir, true)] & flag) != 0) count++;
+        }
+        return count;
+    }
+
+    /** 착수점 기준 창을 3진수 키로 압축한다. 중심 칸은 항상 '자기 돌'로 본다. */
+    private static int windowKey(int[][] board, int index, int dir, boolean black) {
+        int base = (index * DIRECTIONS.length + dir) * WINDOW;
+        int key = 0;
+        for (int k = 0; k < WINDOW; k++) {
+            int n = NEIGHBORS[base + k];
+            int cell;
+            if (n < 0) {
+                cell = BLOCKED;
+            } else {
+                int v = board[n / BOARD_SIZE][n % BOARD_SIZE];
+                cell = v == 0 ? EMPTY : (((v & 1) == 1) == black ? OWN : BLOCKED);
+            }
+            key = key * 3 + cell;
+        }
+        return key;
+    }
+
+    private static int[] buildNeighbors() {
+        int[] neighbors = new int[CELLS * DIRECTIONS.length * WINDOW];
+        for (int index = 0; index < CELLS; index++) {
+            int x = index % BOARD_SIZE;
+            int y = index / BOARD_SIZE;
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                int base = (index * DIRECTIONS.length + dir) * WINDOW;
+                int k = 0;
+                for (int d = -REACH; d <= REACH; d++) {
+                    if (d == 0) continue;
+                    int nx = x + DIRECTIONS[dir][0] * d;
+                    int ny = y + DIRECTIONS[dir][1] * d;
+                    boolean inBounds = nx >= 0 && nx < BOARD_SIZE && ny >= 0 && ny < BOARD_SIZE;
+                    neighbors[base + k++] = inBounds ? ny * BOARD_SIZE + nx : -1;
+                }
+            }
+        }
+        return neighbors;
+    }
+
+    // ── 테이블 생성: 창 하나(중심 포함 11칸)에 RenjuRuleEngine과 같은 규칙을 1차원으로 적용 ──
+
+    private static byte[] buildPatterns() {
+        int size = 1;
+        for (int i = 0; i < WINDOW; i++) size *= 3;
+        byte[] patterns = new byte[size];
+        int[] line = new int[WINDOW + 1];
+        for (int key = 0; key < size; key++) {
+            decode(key, line);
+            patterns[key] = (byte) classify(line);
+        }
+        return patterns;
+    }
+
+    /** windowKey의 역변환. line[REACH]가 중심(자기 돌). */
+    private static void decode(int key, int[] line) {
+        for (int k = WINDOW - 1; k >= 0; k--) {
+            int pos = k < REACH ? k : k + 1;
+            line[pos] = key % 3;
+            key /= 3;
+        }
+        line[REACH] = OWN;
+    }
+
+    private static int classify(int[] line) {
+        int flags = 0;
+        int run = runThroughCenter(line);
+        if (run == 5) flags |= FIVE;
+        if (run >= 6) flags |= OVERLINE;
+
+        boolean four = false;
+        boolean openThree = false;
+        for (int d = -(REACH - 1); d <= REACH - 1; d++) {
+            int pos = REACH + d;
+            if (d == 0 || line[pos] != EMPTY) continue;
+            line[pos] = OWN;
+            if (runThroughCenter(line) == 5) four = true;
+            if (formsOpenFour(line)) openThree = true;
+            line[pos] = EMPTY;
+        }
+        if (four) flags |= FOUR;
+        else if (openThree) flags |= OPEN_THREE; // 사 > 삼
+        return flags;
+    }
+
+    private static int runThroughCenter(int[] line) {
+        int run = 1;
+        for (int p = REACH + 1; p < line.length && line[p] == OWN; p++) run++;
+        for (int p = REACH - 1; p >= 0 && line[p] == OWN; p--) run++;
+        return run;
+    }
+
+    // 중심을 지나는 연속이 정확히 4이고 양끝 바로 바깥이 모두 창 안의 빈칸이면 열린 사.
+    private static boolean formsOpenFour(int[] line) {
+        int forward = REACH + 1;
+        while (forward < line.length && line[forward] == OWN) forward++;
+        int backward = REACH - 1;
+        while (backward >= 0 && line[backward] == OWN) backward--;
+        if (forward - backward - 1 != 4) return false;
+        return forward < line.length && line[forward] == EMPTY
+                && backward >= 0 && line[backward] == EMPTY;
+    }
+}
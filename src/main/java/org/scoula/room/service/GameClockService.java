@@ -0,0 +1,114 @@
+package org.scoula.room.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.GameClock;
+import org.scoula.room.domain.Room;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * 서버 대국 시계 관리. 방마다 GameClock을 걸고, 차례인 쪽의 시간이 다 되는 시각에 RoomTimers(GAME_CLOCK) 예약 하나를 둔다.
+ * 예약은 착수로 마감이 앞당겨질 때만 다시 건다. 마감이 뒤로 밀리기만 하는 대부분의 착수(초읽기 등)는 예약을 건드리지 않아
+ * 착수 경로에 할당이 없다. 만료되면 onFlag(roomId)를 그 방 소유 샤드에서 실행하고, 그 사이 마감이 밀렸으면
+ * 호출자가 defer로 새 마감에 다시 건다.
+ * 시간 초과 판정은 항상 서버 시계로 한다. 클라이언트의 /app/timeout은 서버 시계를 확인해 달라는 요청일 뿐이다.
+ * 모든 메서드는 room 락 안에서 부른다.
+ */
+@Slf4j
+@Component
+public class GameClockService {
+
+    private final RoomTimers timers;
+    private final GameClock.Rules rules;
+    private final Clock clock;
+
+    @Autowired
+    public GameClockService(RoomTimers timers,
+                            @Value("${omok.clock.main-time:0s}") Duration mainTime,
+                            @Value("${omok.clock.increment:0s}") Duration increment,
+                            @Value("${omok.clock.byoyomi:30s}") Duration byoyomi,
+                            @Value("${omok.clock.byoyomi-periods:1}") int byoyomiPeriods) {
+        this(timers, new GameClock.Rules(mainTime.toMillis(), increment.toMillis(),
+                byoyomi.toMillis(), byoyomiPeriods), Clock.systemUTC());
+        log.info("[GAME_CLOCK] main={} increment={} byoyomi={}x{}", mainTime, increment, byoyomi, byoyomiPeriods);
+    }
+
+    // 테스트에서 규칙·시간을 주입하기 위한 생성자.
+    GameClockService(RoomTimers timers, GameClock.Rules rules, Clock clock) {
+        this.timers = timers;
+        this.rules = rules;
+        this.clock = clock;
+    }
+
+    /** 시계를 쓰지 않는 구성(단위 테스트용). 시간 초과는 클라이언트 신고를 그대로 따른다. */
+    public static GameClockService disabled() {
+        return new GameClockService(RoomTimers.none(), GameClock.Rules.NONE, Clock.systemUTC());
+    }
+
+    public boolean enabled() {
+        return rules.enabled();
+    }
+
+    /** 새 대국의 시계를 건다(흑 차례부터). */
+    public void start(Room room, Consumer<String> onFlag) {
+        if (!enabled()) return;
+        room.setClock(new GameClock(rules, clock.millis()));
+        arm(room, onFlag);
+    }
+
+    /** 재기동으로 되살린 대국의 시계를 기보 소요 시간으로 다시 만들어 건다. */
+    public void restore(Room room, Consumer<String> onFlag) {
+        if (!enabled()) return;
+        room.setClock(GameClock.replay(rules, room.getMoveLog(), clock.millis()));
+        arm(room, onFlag);
+    }
+
+    /** 차례인 쪽이 두었다. 그 전에 시간이 다 됐으면 false(착수를 받지 말고 시간 초과로 끝내야 한다). */
+    public boolean press(Room room, Consumer<String> onFlag) {
+        GameClock c = room.getClock();
+        if (c == null) return true;
+        if (!c.press(clock.millis())) return false;
+        if (c.needsRearm()) arm(room, onFlag);
+        return true;
+    }
+
+    /**
+     * 예약이 만료됐다. 그 사이 착수로 마감이 뒤로 밀려 아직 시간이 남았으면 새 마감에 다시 걸고 true,
+     * 차례인 쪽의 시간이 정말 다 됐으면 false.
+     */
+    public boolean defer(Room room, Consumer<String> onFlag) {
+        GameClock c = room.getClock();
+        if (c == null || c.isFlagged(clock.millis())) return false;
+        arm(room, onFlag);
+        return true;
+    }
+
+    /** 서버 시계로 차례인 쪽의 시간이 다 됐는지. 시계가 없으면 false. */
+    public boolean isFlagged(Room room) {
+        GameClock c = room.getClock();
+        return c != null && c.isFlagged(clock.millis());
+    }
+
+    /** 대국이 끝났다. 걸려 있는 예약을 취소한다(시계 값은 마지막 표시용으로 남긴다). */
+    public void stop(Room room) {
+        timers.cancel(RoomTimers.Kind.GAME_CLOCK, room.getRoomId());
+    }
+
+    /** 지금 남은 시간. 시계가 없으면 null. */
+    public GameClock.View view(Room room) {
+        GameClock c = room.getClock();
+        return c == null ? null : c.view(clock.millis());
+    }
+
+    private void arm(Room room, Consumer<String> onFlag) {
+        String roomId = room.getRoomId();
+        long delay = Math.max(0, room.getClock().markArmed() - clock.millis());
+        timers.schedule(RoomTimers.Kind.GAME_CLOCK, roomId, roomId, Duration.ofMillis(delay),
+                () -> onFlag.accept(roomId));
+    }
+}
@@ -0,0 +1,32 @@
+package org.scoula.room.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+/**
+ * 게임 이벤트 스트림(입장·준비·시작·승패·끊김 등). 사람이 읽는 앱 로그와 별도인 omok.events 로거로 보내며,
+ * logback.xml에서 비동기 appender(DropCountingAsyncAppender) 뒤의 JSON lines 파일(GameEventEncoder)로 간다.
+ * 호출 스레드(STOMP inbound·방 샤드, 때로는 room 락 안)는 큐에 넣기만 하고 디스크 I/O를 기다리지 않는다.
+ * 큐가 차면 이벤트를 버리고 센다(omok.log.dropped).
+ * 착수마다의 이벤트는 남기지 않는다. 기보·저널이 이미 수를 남기고, 착수 경로는 할당 예산이 있다(MoveAllocationTest).
+ */
+public final class GameEvents {
+
+    public static final String LOGGER_NAME = "omok.events";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private GameEvents() {
+    }
+
+    /** 이벤트 한 건. keyValues는 (키, 값) 순서의 쌍이다. 값은 숫자·불리언이면 JSON 숫자·불리언으로 쓰인다. */
+    public static void emit(String event, String roomId, Object... keyValues) {
+        if (!log.isInfoEnabled()) return;
+        LoggingEventBuilder builder = log.atInfo().setMessage(event).addKeyValue("roomId", roomId);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            builder.addKeyValue((String) keyValues[i], keyValues[i + 1]);
+        }
+        builder.log();
+    }
+}
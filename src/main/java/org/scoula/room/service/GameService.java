@@ -1,23 +1,37 @@
 package org.scoula.room.service;
 
-import lombok.RequiredArgsConstructor;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.ForbiddenMask;
 import org.scoula.room.domain.Room;
 import org.springframework.stereotype.Service;
 
 /**
- * Room 상태(board·turn)와 순수 규칙 엔진(RenjuRuleEngine) 사이의 위임체.
- * 렌주 판정 로직 자체는 RenjuRuleEngine이 담당하고, 여기서는 Room↔board 변환과 turn 갱신만 다룬다.
+ * Room 상태(board·turn)와 순수 규칙 엔진(RuleEngine) 사이의 위임체.
+ * 렌주 판정 로직 자체는 RuleEngine 구현(RenjuRuleEngine/BitboardRenjuRuleEngine)이 담당하고,
+ * 여기서는 Room↔board 변환, turn 갱신, 착수마다의 금수 마스크 증분 갱신을 다룬다.
  */
 @Service
-@RequiredArgsConstructor
 public class GameService {
     private static final int BOARD_SIZE = 15;
+    // 금수 판정이 보는 범위(착수점 기준 한 줄 ±5칸). 렌주 패턴(장목 포함)은 이 창 밖의 돌에 영향받지 않는다.
+    private static final int REACH = 5;
+    private static final int[][] DIRECTIONS = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
 
-    private final RenjuRuleEngine engine;
+    private final RuleEngine engine;
+    // 승리 판정·금수 마스크 갱신 시간(omok.move.validation{check=win|forbidden}).
+    private final OmokMetrics metrics;
+
+    public GameService(RuleEngine engine, OmokMetrics metrics) {
+        this.engine = engine;
+        this.metrics = metrics;
+    }
 
     public boolean checkGameEnd(Room room, int index) {
         // 승리 여부는 board와 index만으로 판정된다(놓인 돌 색은 board[index]에 이미 있다).
-        return engine.isWin(room.getBoard(), index);
+        long started = System.nanoTime();
+        boolean win = engine.isWin(room.getBoard(), index);
+        metrics.winCheck(System.nanoTime() - started);
+        return win;
     }
 
     public int countOpenThrees(int[][] board, int index) {
@@ -25,14 +39,45 @@ public class GameService {
     }
 
     public void applyMove(Room room, int index) {
-        int x = index % BOARD_SIZE;
-        int y = index / BOARD_SIZE;
-        int[][] board = room.getBoard();
-        int turn = room.getTurn();
+        place(room, index);
+        room.recordMove(index);
+        refreshForbidden(room, index % BOARD_SIZE, index / BOARD_SIZE);
+    }
 
-        board[y][x] = turn;
+    /** 저널에 남은 착수를 다시 놓는다(재기동 복구). 소요 시간은 기록된 값을 그대로 쓴다. */
+    public void restoreMove(Room room, int index, int elapsedMillis) {
+        place(room, index);
+        room.getMoveLog().add(index, elapsedMillis);
+        refreshForbidden(room, index % BOARD_SIZE, index / BOARD_SIZE);
+    }
+
+    private void place(Room room, int index) {
+        int turn = room.getTurn();
+        room.getBoard()[index / BOARD_SIZE][index % BOARD_SIZE] = turn;
         room.setTurn(turn + 1);
-        room.recordMove(index);
+    }
+
+    /**
+     * 방금 놓인 돌 (x, y)를 지나는 네 줄 ±REACH 칸만 금수 여부를 다시 판정해 room의 금수 마스크를 갱신한다.
+     * 어떤 칸의 금수 여부는 그 칸을 지나는 네 줄의 ±REACH 칸에만 달려 있으므로, 착수점이 그 창 밖이면
+     * 결과가 바뀌지 않는다. 백 돌도 흑의 삼·사를 막아 금수를 풀 수 있어 색과 무관하게 매 착수 갱신한다.
+     */
+    private void refreshForbidden(Room room, int x, int y) {
+        long started = System.nanoTime();
+        int[][] board = room.getBoard();
+        ForbiddenMask mask = room.getForbiddenMask();
+        mask.set(y * BOARD_SIZE + x, false);
+        for (int[] dir : DIRECTIONS) {
+            for (int d = -REACH; d <= REACH; d++) {
+                if (d == 0) continue;
+                int cx = x + dir[0] * d;
+                int cy = y + dir[1] * d;
+                if (cx < 0 || cx >= BOARD_SIZE || cy < 0 || cy >= BOARD_SIZE) continue;
+                int cell = cy * BOARD_SIZE + cx;
+                mask.set(cell, board[cy][cx] == 0 && engine.isForbidden(board, cell));
+            }
+        }
+        metrics.forbiddenCheck(System.nanoTime() - started);
     }
 
     public boolean isForbiddenMove(Room room, int index) {
@@ -0,0 +1,219 @@
+package org.scoula.room.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 모든 방이 함께 쓰는 해시 타이머 바퀴. 스레드 하나(timer-wheel)가 tick마다 한 칸씩 돌며 그 칸의 만료된 작업을 실행한다.
+ * - 예약은 큐에 넣기만 하고(O(1)), 칸 배치는 다음 tick에 바퀴 스레드가 한다. 바퀴를 한 바퀴 넘는 지연은 남은 바퀴 수로 센다.
+ * - 취소도 O(1): 상태만 바꾸고 바퀴 스레드가 다음 tick에 칸에서 떼어낸다. 취소된 작업이 힙에 쌓이지 않는다.
+ * - 작업은 만료 시각 이후 다음 tick 경계(최대 tick만큼 늦게)에 바퀴 스레드에서 실행된다. 오래 걸리는 일은
+ *   방 샤드 등 다른 실행기로 넘겨야 한다.
+ * 게임마다 ScheduledFuture·스레드를 두지 않으므로 진행 중 대국이 수만 개여도 비용은 예약 수에 비례한다.
+ */
+@Slf4j
+@Component
+public class HashedTimerWheel {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick; // 바퀴 스레드 전용
+
+    @Autowired
+    public HashedTimerWheel(@Value("${omok.timer.tick:100ms}") Duration tick,
+                            @Value("${omok.timer.wheel-size:512}") int wheelSize) {
+        if (tick.toNanos() <= 0) throw new IllegalArgumentException("tick must be positive: " + tick);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1; // 2의 거듭제곱으로 올린다
+        this.tickNanos = tick.toNanos();
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) wheel[i] = new Bucket();
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, "timer-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** delay 뒤에 task를 바퀴 스레드에서 실행한다. 반환한 Timeout으로 취소할 수 있다. */
+    public Timeout schedule(Duration delay, Runnable task) {
+        return schedule(delay.toNanos(), task);
+    }
+
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        return schedule(unit.toNanos(delay), task);
+    }
+
+    private Timeout schedule(long delayNanos, Runnable task) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startNanos + Math.max(0, delayNanos));
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /** 아직 만료·취소되지 않은 예약 수. */
+    public int pending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep = deadline - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                    continue;
+                }
+                continue; // 늦게 깼을 수 있으니 경계를 다시 잰다
+            }
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void transferScheduled() {
+        // 한 tick에 너무 많이 옮기다 바퀴가 밀리지 않도록 상한을 둔다. 남은 것은 다음 tick에 옮긴다.
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null) return;
+            if (timeout.state != Timeout.INIT) continue;
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (calculated - tick) / wheel.length);
+            long ticks = Math.max(calculated, tick); // 이미 지난 예약은 이번 칸에서 바로 만료
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+        }
+    }
+
+    /** 예약 한 건. cancel은 어느 스레드에서나 부를 수 있다. */
+    public static final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedTimerWheel owner;
+        private final Runnable task;
+        private final long deadline; // 바퀴 기동 시각 기준 ns
+        private volatile int state;
+        // 아래는 바퀴 스레드만 만진다.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedTimerWheel owner, Runnable task, long deadline) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /** 아직 실행 전이면 취소하고 true. 이미 실행됐거나 취소됐으면 false. */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) return false;
+            owner.pending.decrementAndGet();
+            owner.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, INIT, EXPIRED)) return;
+            owner.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("[TIMER_TASK_FAIL] {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /** 바퀴 한 칸. 이중 연결 리스트라 떼어내기가 O(1)이다. 바퀴 스레드 전용. */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    // 칸 배치 규칙상 여기 온 작업의 만료 시각은 이 칸의 경계(deadline) 이전이다.
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) return;
+            if (timeout.prev != null) timeout.prev.next = timeout.next;
+            else head = timeout.next;
+            if (timeout.next != null) timeout.next.prev = timeout.prev;
+            else tail = timeout.prev;
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
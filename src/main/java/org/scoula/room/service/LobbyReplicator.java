@@ -0,0 +1,14 @@
+package org.scoula.room.service;
+
+import org.scoula.room.dto.LobbyDelta;
+
+/**
+ * 이 노드 방의 로비 변경분을 다른 노드의 LobbyService에 복제한다. 어느 노드로 GET /api/rooms가 들어와도
+ * 전체 방 목록이 보이게 하기 위함이다. 구현은 ClusterForwarder, 단일 노드는 NONE.
+ */
+public interface LobbyReplicator {
+
+    LobbyReplicator NONE = delta -> { };
+
+    void replicate(LobbyDelta delta);
+}
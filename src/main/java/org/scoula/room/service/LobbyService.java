@@ -0,0 +1,124 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.LobbyRoom;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로비(방 목록) 스냅샷과 변경분 스트림.
+ * - 방 생성/입장/퇴장/시작/종료/제거 때 RoomService가 RoomChangeListener로 알려 주면 그 방 한 줄(LobbyRoom)만 갱신하고
+ *   새 version을 매겨 /topic/lobby로 변경분(LobbyDelta)을 민다. 로비에 보이는 값이 안 바뀌었으면 아무것도 안 한다.
+ * - GET /api/rooms는 마지막으로 직렬화해 둔 JSON 바이트를 그대로 내보낸다. 변경이 없으면 폴링마다 방 수만큼
+ *   DTO를 만들거나 직렬화하지 않고, ETag가 같으면 304로 끝난다.
+ * - 클러스터 모드에서는 이 노드 방의 변경분을 다른 노드로 복제하고(LobbyReplicator), 다른 노드 방의 변경분을
+ *   applyRemote로 받아 어느 노드에서나 전체 목록이 보이게 한다.
+ * 변경은 드물고 조회는 잦으므로 변경 쪽만 락으로 직렬화하고, 조회는 volatile 스냅샷을 읽는다.
+ */
+@Slf4j
+@Component
+public class LobbyService implements RoomChangeListener {
+
+    public static final String TOPIC = "/topic/lobby";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final LobbyReplicator replicator;
+    // ETag가 재기동 후 같은 값으로 겹치지 않도록 기동 시각을 섞는다.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Object lock = new Object();
+    private final Map<String, LobbyRoom> rooms = new LinkedHashMap<>(); // 생성 순서 유지. lock 안에서만 접근
+    // 방 줄 version의 원천. 기동 시각(µs 단위)에서 시작해 재기동·노드가 달라도 같은 방의 version이 뒤로 가지 않는다.
+    private long rowClock = System.currentTimeMillis() * 1000;
+    private volatile long snapshotVersion; // lock 안에서만 쓰고, 조회는 락 없이 읽는다
+    private volatile Snapshot snapshot;
+
+    public LobbyService(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                        LobbyReplicator replicator) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.replicator = replicator;
+    }
+
+    /** 직렬화된 로비 한 판. json은 LobbyRoom 배열, version은 이 노드 스냅샷의 갱신 횟수(ETag용). */
+    public record Snapshot(long version, String etag, byte[] json) {
+    }
+
+    @Override
+    public void roomChanged(Room room) {
+        LobbyRoom row = LobbyRoom.from(room);
+        synchronized (lock) {
+            LobbyRoom prev = rooms.get(row.roomId());
+            if (prev != null && prev.withVersion(0).equals(row)) return;
+            row = row.withVersion(++rowClock);
+            rooms.put(row.roomId(), row);
+            snapshotVersion++;
+            publish(LobbyDelta.upsert(row.version(), row));
+        }
+    }
+
+    @Override
+    public void roomRemoved(String roomId) {
+        synchronized (lock) {
+            if (rooms.remove(roomId) == null) return;
+            snapshotVersion++;
+            publish(LobbyDelta.remove(++rowClock, roomId));
+        }
+    }
+
+    /**
+     * 다른 노드가 복제한 변경분을 반영한다. 클라이언트에는 주인 노드가 이미 브로커로 밀었으므로 다시 밀지 않는다.
+     * 같은 방의 더 최신 줄을 이미 갖고 있으면 무시한다.
+     */
+    public void applyRemote(LobbyDelta delta) {
+        synchronized (lock) {
+            LobbyRoom prev = rooms.get(delta.roomId());
+            if (prev != null && prev.version() >= delta.version()) return;
+            if (delta.type() == LobbyDelta.Type.REMOVE) {
+                if (prev == null) return;
+                rooms.remove(delta.roomId());
+            } else {
+                rooms.put(delta.roomId(), delta.room());
+            }
+            snapshotVersion++;
+        }
+    }
+
+    /** 현재 로비 스냅샷. 마지막 변경 이후 처음 읽을 때만 직렬화한다. */
+    public Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null && s.version() == snapshotVersion) return s;
+        synchronized (lock) {
+            s = snapshot;
+            if (s != null && s.version() == snapshotVersion) return s;
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(new ArrayList<>(rooms.values()));
+                s = new Snapshot(snapshotVersion, "\"" + epoch + "-" + snapshotVersion + "\"", json);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("lobby snapshot serialization failed", e);
+            }
+            snapshot = s;
+            return s;
+        }
+    }
+
+    // lock 안에서 부른다: version 순서대로 브로커에 넣고 다른 노드로 복제한다.
+    // 전송 실패가 방 상태 변경을 깨지 않게 삼킨다.
+    private void publish(LobbyDelta delta) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC, delta);
+        } catch (RuntimeException e) {
+            log.warn("[LOBBY_PUSH_FAIL] version={} roomId={} : {}", delta.version(), delta.roomId(), e.getMessage());
+        }
+        replicator.replicate(delta);
+    }
+}
@@ -0,0 +1,293 @@
+package org.scoula.room.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MatchFailed;
+import org.scoula.room.dto.MatchFound;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 자동 매칭 큐. POST /api/match로 들어온 principal을 레이팅 구간(BUCKET_WIDTH점)별 큐에 넣고,
+ * 주기적으로 도는 매처가 짝을 지어 방을 만들고 두 사람을 자리에 앉힌 뒤 /user/queue/match로 알린다.
+ * 자리에 앉히지 못하면 방을 지우고, 앉지 못한 쪽에는 실패(MatchFailed)를 알리고 상대는 원래 대기 시각 그대로 대기열에 되돌린다.
+ * - 넣기·취소는 O(1)이다. 구간 큐는 lock-free(ConcurrentLinkedQueue)이고, 취소는 티켓 상태만 CANCELLED로 바꾼다.
+ *   큐에서 빼는 일은 매처가 머리에서 꺼낼 때 한다(큐 중간을 훑지 않는다).
+ * - 같은 구간끼리는 바로 짝짓는다. 그래서 한 번 돈 뒤 구간마다 남는 대기자는 많아야 한 명(held)이고,
+ *   구간 사이 짝짓기는 그 한 명끼리만 본다. 매 회차 일은 잡힌 짝 수 + 구간 수에 비례하고 대기자 수와는 무관하다.
+ * - 구간을 넘는 짝은 두 사람의 레이팅 차가 양쪽 허용 폭 안일 때만 짓는다. 허용 폭은 기다린 시간에 따라 넓어진다.
+ * 클러스터 모드에서는 노드마다 큐가 따로 있고, 방은 매칭한 노드가 주인이 되는 id로 만든다.
+ */
+@Slf4j
+@Service
+public class MatchmakingService {
+
+    /** 레이팅 구간 폭과 구간 수. 마지막 구간은 그 위를 모두 받는다. */
+    static final int BUCKET_WIDTH = 100;
+    static final int BUCKETS = 32;
+    /** 매칭 결과를 보내는 사용자 목적지(/user/queue/match). */
+    public static final String DESTINATION = "/queue/match";
+
+    private static final int WAITING = 0, CLAIMED = 1, MATCHED = 2, CANCELLED = 3;
+
+    private final RoomService roomService;
+    private final RoomShardExecutor roomShards;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PlayerRatings ratings;
+    private final Clock clock;
+    private final int initialWindow;
+    private final int widenPerSecond;
+    private final int maxWindow;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentLinkedQueue<Ticket>[] buckets = new ConcurrentLinkedQueue[BUCKETS];
+    // principal → 대기 중 티켓. 중복 등록 방지와 O(1) 취소용.
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    // 구간마다 짝을 못 찾고 남은 머리 티켓. 매처(match)만 만진다.
+    private final Ticket[] held = new Ticket[BUCKETS];
+
+    @Autowired
+    public MatchmakingService(RoomService roomService, RoomShardExecutor roomShards,
+                              SimpMessagingTemplate messagingTemplate, ObjectProvider<PlayerRatings> ratings,
+                              @Value("${omok.match.initial-window:100}") int initialWindow,
+                              @Value("${omok.match.widen-per-second:20}") int widenPerSecond,
+                              @Value("${omok.match.max-window:400}") int maxWindow) {
+        this(roomService, roomShards, messagingTemplate, ratings.getIfAvailable(() -> PlayerRatings.NONE),
+                Clock.systemUTC(), initialWindow, widenPerSecond, maxWindow);
+    }
+
+    // 테스트에서 레이팅·시간을 주입하기 위한 생성자.
+    MatchmakingService(RoomService roomService, RoomShardExecutor roomShards,
+                       SimpMessagingTemplate messagingTemplate, PlayerRatings ratings, Clock clock) {
+        this(roomService, roomShards, messagingTemplate, ratings, clock, 100, 20, 400);
+    }
+
+    private MatchmakingService(RoomService roomService, RoomShardExecutor roomShards,
+                               SimpMessagingTemplate messagingTemplate, PlayerRatings ratings, Clock clock,
+                               int initialWindow, int widenPerSecond, int maxWindow) {
+        this.roomService = roomService;
+        this.roomShards = roomShards;
+        this.messagingTemplate = messagingTemplate;
+        this.ratings = ratings;
+        this.clock = clock;
+        this.initialWindow = initialWindow;
+        this.widenPerSecond = widenPerSecond;
+        this.maxWindow = maxWindow;
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    /** 대기 티켓. state는 WAITING → (CLAIMED →) MATCHED 또는 WAITING → CANCELLED로만 간다. */
+    static final class Ticket {
+        final String principal;
+        final Player player;
+        final int rating;
+        final long since;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Ticket(String principal, Player player, int rating, long since) {
+            this.principal = principal;
+            this.player = player;
+            this.rating = rating;
+            this.since = since;
+        }
+    }
+
+    /**
+     * principal을 매칭 큐에 넣는다. 이미 대기 중이면 그대로 두고 false.
+     * player(id·name)는 방 자리에 앉힐 때 쓰는 표시용이다.
+     */
+    public boolean enqueue(String principal, Player player) {
+        int rating = ratings.ratingOf(principal);
+        Ticket ticket = new Ticket(principal, player, rating, clock.millis());
+        if (tickets.putIfAbsent(principal, ticket) != null) return false;
+        buckets[bucketOf(rating)].offer(ticket);
+        return true;
+    }
+
+    /** 대기를 취소한다. 대기 중이 아니었거나(이미 잡혔거나) 없으면 false. */
+    public boolean cancel(String principal) {
+        Ticket ticket = tickets.get(principal);
+        if (ticket == null) return false;
+        while (true) {
+            int s = ticket.state.get();
+            if (s == WAITING) {
+                if (!ticket.state.compareAndSet(WAITING, CANCELLED)) continue;
+                tickets.remove(principal, ticket);
+                return true;
+            }
+            // 매처가 짝을 확정하는 몇 줄 사이에만 CLAIMED다. 결과(MATCHED 또는 WAITING)를 기다린다.
+            if (s == CLAIMED) {
+                Thread.onSpinWait();
+                continue;
+            }
+            return false;
+        }
+    }
+
+    public boolean isQueued(String principal) {
+        return tickets.containsKey(principal);
+    }
+
+    /** 대기 중인 principal 수. */
+    public int waiting() {
+        return tickets.size();
+    }
+
+    /** 매처 한 회차. 같은 구간 짝 → 구간 사이 짝 순으로 짓는다. */
+    @Scheduled(fixedDelayString = "${omok.match.interval:500ms}")
+    public synchronized void match() {
+        for (int b = 0; b < BUCKETS; b++) {
+            Ticket head = live(held[b]);
+            List<Ticket> deferred = null;
+            while (true) {
+                if (head == null) head = pollLive(buckets[b]);
+                if (head == null) break;
+                Ticket other = pollLive(buckets[b]);
+                if (other == null) break;
+                // 같은 표시용 id끼리는 한 방에 앉힐 수 없다. 뒤에 온 쪽은 이번 회차가 끝나면 큐 뒤로 돌려보낸다.
+                if (sameSeat(head, other)) {
+                    if (deferred == null) deferred = new ArrayList<>();
+                    deferred.add(other);
+                    continue;
+                }
+                head = pair(head, other);
+            }
+            held[b] = head;
+            if (deferred != null) buckets[b].addAll(deferred);
+        }
+
+        long now = clock.millis();
+        for (int b = 0; b < BUCKETS; b++) {
+            Ticket a = live(held[b]);
+            if (a == null) continue;
+            // 위쪽 구간의 남은 한 명 중 가장 가까운 구간의 상대. 아래쪽 구간은 앞선 b에서 이미 봤다.
+            for (int c = b + 1; c < BUCKETS; c++) {
+                Ticket candidate = live(held[c]);
+                if (candidate == null || !acceptable(a, candidate, now)) continue;
+                Ticket left = pair(a, candidate);
+                held[b] = left == a ? a : null;
+                held[c] = left == candidate ? candidate : null;
+                break;
+            }
+        }
+    }
+
+    // 레이팅 차가 두 사람 각자의 허용 폭 안인가.
+    private boolean acceptable(Ticket a, Ticket b, long now) {
+        if (sameSeat(a, b)) return false;
+        int diff = Math.abs(a.rating - b.rating);
+        return diff <= window(a, now) && diff <= window(b, now);
+    }
+
+    private static boolean sameSeat(Ticket a, Ticket b) {
+        return a.player.id().equals(b.player.id());
+    }
+
+    int window(Ticket ticket, long now) {
+        long waitedSeconds = Math.max(0, now - ticket.since) / 1000;
+        return (int) Math.min(maxWindow, initialWindow + widenPerSecond * waitedSeconds);
+    }
+
+    static int bucketOf(int rating) {
+        return Math.max(0, Math.min(BUCKETS - 1, rating / BUCKET_WIDTH));
+    }
+
+    private static Ticket live(Ticket ticket) {
+        return ticket != null && ticket.state.get() == WAITING ? ticket : null;
+    }
+
+    // 머리의 취소된 티켓을 버리며 대기 중인 첫 티켓을 꺼낸다.
+    private static Ticket pollLive(ConcurrentLinkedQueue<Ticket> queue) {
+        Ticket ticket;
+        while ((ticket = queue.poll()) != null) {
+            if (ticket.state.get() == WAITING) return ticket;
+        }
+        return null;
+    }
+
+    /**
+     * 두 티켓을 잡아 방을 만든다. 그 사이 한쪽이 취소됐으면 짓지 않고, 아직 대기 중인 쪽을 돌려준다(둘 다 아니면 null).
+     * 짝을 지었으면 null.
+     */
+    private Ticket pair(Ticket a, Ticket b) {
+        if (!a.state.compareAndSet(WAITING, CLAIMED)) return live(b);
+        if (!b.state.compareAndSet(WAITING, CLAIMED)) {
+            a.state.set(WAITING);
+            return a;
+        }
+        a.state.set(MATCHED);
+        b.state.set(MATCHED);
+        tickets.remove(a.principal, a);
+        tickets.remove(b.principal, b);
+        start(a, b);
+        return null;
+    }
+
+    // 방을 만들고 두 사람을 방 소유 샤드에서 앉힌 뒤 알린다. 매처 스레드는 샤드를 기다리지 않는다.
+    private void start(Ticket a, Ticket b) {
+        Room room = roomService.createRoom(a.player.name() + " vs " + b.player.name(), null);
+        String roomId = room.getRoomId();
+        roomShards.execute(roomId, () -> {
+            boolean aSeated = seat(roomId, a);
+            if (!aSeated || !seat(roomId, b)) {
+                abandon(roomId, a, b, aSeated);
+                return;
+            }
+            GameEvents.emit("MATCH", roomId, "a", a.player.name(), "aRating", a.rating,
+                    "b", b.player.name(), "bRating", b.rating);
+            notify(a, roomId, new MatchFound(roomId, a.rating, b.player.name(), b.rating));
+            notify(b, roomId, new MatchFound(roomId, b.rating, a.player.name(), a.rating));
+        });
+    }
+
+    private boolean seat(String roomId, Ticket ticket) {
+        try {
+            return roomService.joinRoom(roomId, ticket.player, null, ticket.principal) == 1;
+        } catch (RuntimeException e) {
+            log.warn("[MATCH_SEAT_FAIL] roomId={} principal={} : {}", roomId, ticket.principal, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 한쪽을 앉히지 못했다. a만 앉았으면 일으켜 세운 뒤 방을 지운다(자리·저널에 유령 멤버를 남기지 않는다).
+     * 앉지 못한 쪽에는 실패를 알리고, 다른 쪽(앉았다 일어난 a 또는 아직 앉히지 않은 b)은 대기열에 되돌린다.
+     */
+    private void abandon(String roomId, Ticket a, Ticket b, boolean aSeated) {
+        Ticket failed = aSeated ? b : a;
+        Ticket valid = aSeated ? a : b;
+        log.error("[MATCH_FAIL] roomId={} failed={} requeued={}", roomId, failed.principal, valid.principal);
+        if (aSeated) roomService.leaveRoom(roomId, a.player.id());
+        // 마지막 사람이 나가면 leaveRoom이 방을 지운다. 남아 있으면(빈 방 그대로) 여기서 지운다.
+        if (roomService.getRoom(roomId) != null) roomService.removeRoom(roomId);
+        requeue(valid);
+        notify(failed, roomId, new MatchFailed("SEAT_FAILED"));
+    }
+
+    // 기다린 시각을 그대로 둔 새 티켓으로 되돌린다. 그 사이 스스로 다시 넣었으면 그 티켓을 둔다.
+    private void requeue(Ticket ticket) {
+        Ticket again = new Ticket(ticket.principal, ticket.player, ticket.rating, ticket.since);
+        if (tickets.putIfAbsent(ticket.principal, again) == null) buckets[bucketOf(again.rating)].offer(again);
+    }
+
+    private void notify(Ticket ticket, String roomId, Object payload) {
+        try {
+            messagingTemplate.convertAndSendToUser(ticket.principal, DESTINATION, payload);
+        } catch (RuntimeException e) {
+            log.warn("[MATCH_NOTIFY_FAIL] principal={} roomId={} : {}", ticket.principal, roomId, e.getMessage());
+        }
+    }
+}
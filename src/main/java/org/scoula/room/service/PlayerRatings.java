@@ -0,0 +1,14 @@
+package org.scoula.room.service;
+
+/**
+ * 매칭이 짝을 고를 때 보는 principal의 현재 레이팅. 레이팅을 아직 매기지 않는 곳은 NONE(모두 기본값)을 쓴다.
+ */
+public interface PlayerRatings {
+
+    /** 처음 온 플레이어의 레이팅. */
+    int DEFAULT_RATING = 1500;
+
+    PlayerRatings NONE = principal -> DEFAULT_RATING;
+
+    int ratingOf(String principal);
+}
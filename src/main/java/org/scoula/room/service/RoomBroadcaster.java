@@ -1,16 +1,131 @@
 package org.scoula.room.service;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.FrameRing;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
 import org.scoula.room.dto.RoomResponseMessage;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
+import java.util.List;
+
+/**
+ * 방 브로드캐스트. 메시지마다 방 안에서 단조 증가하는 seq를 매기고 JSON으로 한 번만 직렬화해 그 바이트를 그대로
+ * 브로커에 넘긴다. 최근 프레임은 방의 FrameRing에 남겨, 재접속 JOIN이 lastSeq를 보내면 놓친 프레임만
+ * 그 세션(/user/queue/room)에 다시 보낸다. 재전송할 수 없으면 RESYNC로 REST 재조회를 안내한다.
+ * 같은 바이트는 관전 송출 계층(SpectatorFanout)에도 넘긴다. 관전자 수는 이 경로의 비용에 들어가지 않는다.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class RoomBroadcaster {
+
+    /** 재전송 프레임의 사용자 목적지(/user/queue/room). */
+    public static final String RESUME_DESTINATION = "/queue/room";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final RoomService roomService;
+    private final ObjectMapper objectMapper;
+    // 브로드캐스트 한 건(직렬화 + 브로커 전달) 시간. 심플 브로커는 구독 세션마다 outbound 채널에 넣는 것까지 포함된다.
+    private final OmokMetrics metrics;
+    private final SpectatorFanout spectators;
+
+    public RoomBroadcaster(SimpMessagingTemplate messagingTemplate, RoomService roomService,
+                           ObjectMapper objectMapper, OmokMetrics metrics, SpectatorFanout spectators) {
+        this.messagingTemplate = messagingTemplate;
+        this.roomService = roomService;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.spectators = spectators;
+    }
 
     public void broadcast(String roomId, RoomResponseMessage message) {
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, message);
+        long started = System.nanoTime();
+        send(roomId, message);
+        metrics.broadcast(System.nanoTime() - started);
+    }
+
+    private void send(String roomId, RoomResponseMessage message) {
+        Room room = roomId != null ? roomService.getRoom(roomId) : null;
+        if (room == null) {
+            // 이미 제거된 방(퇴장 직후 LEAVE 등): 이어 받을 클라이언트가 없으니 seq 없이 보낸다.
+            byte[] json = serialize(message);
+            messagingTemplate.send("/topic/room/" + roomId, frame(json, null));
+            if (roomId != null) {
+                // 관전자에게도 마지막 프레임을 보내고 연결을 닫는다. 방을 지울 때(RoomService.removeRoom) 이미 닫았으면
+                // 명단이 비어 있어 아무 일도 없다.
+                spectators.publish(roomId, json);
+                spectators.roomClosed(roomId);
+            }
+            return;
+        }
+        FrameRing ring = room.frames();
+        // 순번 발급·적재·전송을 한 락으로 묶어 브로커에 들어가는 순서가 seq 순서와 같게 한다.
+        synchronized (ring) {
+            long seq = ring.nextSeq();
+            message.setSeq(seq);
+            byte[] json = serialize(message);
+            ring.add(new FrameRing.Frame(seq, message.getType(), message.getSender(), json));
+            messagingTemplate.send(room.topic(), frame(json, null));
+            // 큐에 넣고 바로 돌아온다. 관전자 등록도 이 락 안에서 하므로 관전자는 seq 순서대로, 빠짐없이 받는다.
+            spectators.publish(room.getRoomId(), json);
+        }
+    }
+
+    /**
+     * lastSeq 뒤로 놓친 프레임을 principal의 sessionId 세션에만 다시 보낸다. 링에서 이미 밀려났거나
+     * lastSeq가 이 방에서 발급된 적 없는 값이면(재기동 등) RESYNC 한 건을 보낸다. 보낸 프레임 수를 돌려준다.
+     * 클러스터 모드에서는 JOIN이 방 주인 노드로 넘어와 여기서 불리고, sessionId 세션은 다른 노드에 붙어 있을 수 있다.
+     * 그 세션의 사용자 목적지는 외부 브로커(relay)의 사용자 레지스트리 공유로만 풀리므로, 클러스터 모드는
+     * relay를 요구한다(WebSocketConfig가 simple broker면 부팅을 막는다).
+     */
+    public int resume(String roomId, String principal, String sessionId, long lastSeq) {
+        Room room = roomService.getRoom(roomId);
+        if (room == null || principal == null || sessionId == null) return 0;
+        String destination = messagingTemplate.getUserDestinationPrefix() + principal + RESUME_DESTINATION;
+        FrameRing ring = room.frames();
+        synchronized (ring) {
+            List<FrameRing.Frame> missed = ring.since(lastSeq);
+            if (missed == null) {
+                log.info("[WS_RESYNC] roomId={} principal={} lastSeq={} current={}", roomId, principal, lastSeq,
+                        ring.lastSeq());
+                RoomResponseMessage resync = RoomResponseMessage.builder()
+                        .roomId(roomId)
+                        .type(MessageType.RESYNC)
+                        .seq(ring.lastSeq())
+                        .build();
+                messagingTemplate.send(destination, frame(serialize(resync), sessionId));
+                return 1;
+            }
+            for (FrameRing.Frame f : missed) messagingTemplate.send(destination, frame(f.json(), sessionId));
+            log.debug("[WS_RESUME] roomId={} principal={} lastSeq={} frames={}", roomId, principal, lastSeq,
+                    missed.size());
+            return missed.size();
+        }
+    }
+
+    private byte[] serialize(RoomResponseMessage message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("room message serialization failed", e);
+        }
+    }
+
+    // 이미 직렬화된 JSON 바이트를 그대로 싣는다(컨버터를 거치지 않는다). sessionId가 있으면 그 세션으로만 해석된다.
+    private static Message<byte[]> frame(byte[] json, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (sessionId != null) accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
     }
 }
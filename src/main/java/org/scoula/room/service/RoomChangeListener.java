@@ -0,0 +1,26 @@
+package org.scoula.room.service;
+
+import org.scoula.room.domain.Room;
+
+/**
+ * 로비에 보이는 방 상태(생성·인원·진행 여부·제거)가 바뀔 때 RoomService가 부르는 훅.
+ * 구현은 LobbyService. 단위 테스트처럼 로비가 없는 곳에서는 NONE을 쓴다.
+ */
+public interface RoomChangeListener {
+
+    RoomChangeListener NONE = new RoomChangeListener() {
+        @Override
+        public void roomChanged(Room room) {
+        }
+
+        @Override
+        public void roomRemoved(String roomId) {
+        }
+    };
+
+    /** 방이 생기거나 로비에 보이는 상태가 바뀌었다. room 락 안에서 불릴 수 있으므로 막지 않아야 한다. */
+    void roomChanged(Room room);
+
+    /** 방이 rooms 맵에서 빠졌다. */
+    void roomRemoved(String roomId);
+}
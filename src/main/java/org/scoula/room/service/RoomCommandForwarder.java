@@ -0,0 +1,15 @@
+package org.scoula.room.service;
+
+import org.scoula.room.dto.RoomCommand;
+
+/**
+ * 방 주인이 다른 노드면 명령을 그쪽으로 넘긴다. 구현은 ClusterForwarder.
+ * 단일 노드·단위 테스트에서는 LOCAL(항상 로컬 처리)을 쓴다.
+ */
+public interface RoomCommandForwarder {
+
+    RoomCommandForwarder LOCAL = command -> false;
+
+    /** 다른 노드로 넘겼으면 true(호출자는 아무것도 하지 않는다), 이 노드가 주인이면 false. */
+    boolean forward(RoomCommand command);
+}
@@ -0,0 +1,50 @@
+package org.scoula.room.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.dto.RoomCommand;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 명령의 단일 진입점. 주인이 이 노드면 방 소유 샤드(RoomShardExecutor)에 넣고,
+ * 다른 노드면 RoomCommandForwarder로 주인 노드에 넘긴다. 주인 노드는 받은 명령을 execute로 바로 샤드에 넣는다.
+ */
+@Slf4j
+@Component
+public class RoomCommandRouter {
+
+    private final RoomShardExecutor roomShards;
+    private final RoomSocketService roomSocketService;
+    private final WebSocketEventListener webSocketEventListener;
+    private final RoomCommandForwarder forwarder;
+
+    public RoomCommandRouter(RoomShardExecutor roomShards, RoomSocketService roomSocketService,
+                             WebSocketEventListener webSocketEventListener, RoomCommandForwarder forwarder) {
+        this.roomShards = roomShards;
+        this.roomSocketService = roomSocketService;
+        this.webSocketEventListener = webSocketEventListener;
+        this.forwarder = forwarder;
+    }
+
+    public void dispatch(RoomCommand command) {
+        if (forwarder.forward(command)) return;
+        execute(command);
+    }
+
+    /** 이 노드에서 실행한다(다른 노드가 넘겨 준 명령 포함). */
+    public void execute(RoomCommand command) {
+        roomShards.execute(command.roomId(), () -> handle(command));
+    }
+
+    private void handle(RoomCommand c) {
+        String roomId = c.roomId();
+        switch (c.type()) {
+            case JOIN -> webSocketEventListener.onJoin(roomId, c.principal(), c.sender(), c.sessionId(), c.lastSeq());
+            case READY -> roomSocketService.processReady(roomId, c.principal());
+            case CANCEL -> roomSocketService.processCancel(roomId, c.principal());
+            case SURRENDER -> roomSocketService.processSurrender(roomId, c.principal());
+            case TIMEOUT -> roomSocketService.processTimeout(roomId, c.principal());
+            case MOVE -> roomSocketService.processMove(roomId, c.principal(), c.index());
+            case DISCONNECT -> webSocketEventListener.handleDisconnect(roomId, c.principal(), c.sessionId());
+        }
+    }
+}
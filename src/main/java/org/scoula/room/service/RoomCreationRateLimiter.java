@@ -1,5 +1,7 @@
 package org.scoula.room.service;
 
+import org.scoula.config.OmokMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
@@ -19,15 +21,26 @@ public class RoomCreationRateLimiter {
     static final long WINDOW_MILLIS = 60_000;
 
     private final Clock clock;
+    private final OmokMetrics metrics;
     private final Map<String, Window> windows = new ConcurrentHashMap<>();
 
     public RoomCreationRateLimiter() {
         this(Clock.systemUTC());
     }
 
-    // 테스트에서 시간을 주입하기 위한 생성자. Spring은 기본 생성자를 사용한다.
+    @Autowired
+    public RoomCreationRateLimiter(OmokMetrics metrics) {
+        this(Clock.systemUTC(), metrics);
+    }
+
+    // 테스트에서 시간을 주입하기 위한 생성자.
     RoomCreationRateLimiter(Clock clock) {
+        this(clock, OmokMetrics.NONE);
+    }
+
+    private RoomCreationRateLimiter(Clock clock, OmokMetrics metrics) {
         this.clock = clock;
+        this.metrics = metrics;
     }
 
     /** principal의 이번 요청을 허용하면 true. 윈도우 한도를 넘으면 false. principal이 없으면 false. */
@@ -44,6 +57,7 @@ public class RoomCreationRateLimiter {
             allowed[0] = window.count <= MAX_PER_WINDOW;
             return window;
         });
+        if (!allowed[0]) metrics.roomCreateRejected();
         return allowed[0];
     }
 
@@ -0,0 +1,43 @@
+package org.scoula.room.service;
+
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+
+/**
+ * 방 상태 변경을 재기동 복구용으로 남기는 훅. RoomService·RoomSocketService가 room 락 안에서 부른다.
+ * 구현(MappedRoomJournal)은 메모리 맵 파일에 추가만 하고 디스크 동기화는 백그라운드에서 묶어 하므로 막지 않는다.
+ * 단위 테스트처럼 복구가 필요 없는 곳에서는 NONE을 쓴다.
+ */
+public interface RoomJournal {
+
+    RoomJournal NONE = new RoomJournal() {
+    };
+
+    /** 방이 만들어졌다(rooms 맵에 넣기 전). */
+    default void roomCreated(Room room) {
+    }
+
+    /** principal이 player 자리에 들어왔다(재입장으로 바인딩만 다시 한 경우 포함). */
+    default void memberJoined(Room room, String principal, Player player) {
+    }
+
+    /** playerId 자리가 나갔다. 방이 비면 방도 사라진다(leaveRoom과 같은 규칙). */
+    default void memberLeft(Room room, String playerId) {
+    }
+
+    /** 대국이 시작됐다(흑/백 principal 배정 후). */
+    default void gameStarted(Room room) {
+    }
+
+    /** 착수가 반영됐다(board·turn·기록부 갱신 후). */
+    default void moveApplied(Room room, int index) {
+    }
+
+    /** 대국이 끝났다(isPlaying=false 후). */
+    default void gameEnded(Room room) {
+    }
+
+    /** 방이 rooms 맵에서 빠졌다. */
+    default void roomRemoved(String roomId) {
+    }
+}
@@ -13,6 +13,10 @@ public interface RoomService {
     public Room getRoom(String roomId);
     public java.util.List<Room> getRoomList();
     public boolean leaveRoom(String roomId, String playerId);
-    /** 빈 방 GC(EmptyRoomCleaner)가 TTL 경과 빈 방을 rooms 맵에서 제거할 때 사용. */
+    /** 방을 rooms 맵에서 제거한다(빈 방 TTL 만료 등). */
     public void removeRoom(String roomId);
+    /** 게임 시작/종료처럼 RoomService 밖에서 로비에 보이는 상태(isPlaying 등)를 바꾼 뒤 부른다. */
+    public void roomUpdated(String roomId);
+    /** 재기동 복구(RoomRecovery)가 저널에서 되살린 방을 넣는다. 저널에는 다시 남기지 않는다. */
+    public void restoreRoom(Room room);
 }
@@ -1,20 +1,46 @@
 package org.scoula.room.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.cluster.RoomOwnership;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+@Slf4j
 @Service
 public class RoomServiceImpl implements RoomService {
 
     private final Map<String, Room> rooms;
-
-    public RoomServiceImpl() {
-        rooms = new ConcurrentHashMap<>();
+    // 로비에 보이는 상태가 바뀔 때마다 알린다(LobbyService 스냅샷·/topic/lobby 변경분).
+    private final RoomChangeListener changeListener;
+    // 클러스터 모드에서 새 방 id는 이 노드가 주인이 되는 값으로 뽑는다.
+    private final RoomOwnership ownership;
+    // 재기동 복구용 방 상태 저널. 상태를 바꾼 직후 같은 room 락 안에서 남긴다.
+    private final RoomJournal journal;
+    // 빈 방 TTL (#6). createRoom은 players가 빈 방을 만들므로 아무도 join하지 않으면 영구히 남는다.
+    // 방마다 RoomTimers(ROOM_TTL) 예약을 하나 걸고 첫 입장 때 취소한다. 주기적으로 모든 방을 훑지 않는다.
+    private final RoomTimers timers;
+    private final Duration emptyRoomTtl;
+    // 방을 지우면 관전자도 닫는다. SpectatorHub가 이 빈(RoomService)에 의존하므로 지연 프록시로 받는다.
+    private final SpectatorFanout spectators;
+
+    public RoomServiceImpl(RoomChangeListener changeListener, RoomOwnership ownership, RoomJournal journal,
+                           RoomTimers timers, @Value("${omok.room.empty-ttl:60s}") Duration emptyRoomTtl,
+                           @Lazy SpectatorFanout spectators) {
+        this.rooms = new ConcurrentHashMap<>();
+        this.changeListener = changeListener;
+        this.ownership = ownership;
+        this.journal = journal;
+        this.timers = timers;
+        this.emptyRoomTtl = emptyRoomTtl;
+        this.spectators = spectators;
     }
 
     @Override
@@ -23,14 +49,17 @@ public class RoomServiceImpl implements RoomService {
         int[][] board = new int[SIZE][SIZE];
         Room room = Room.builder()
                 .title(title)
-                .roomId(UUID.randomUUID().toString())
+                .roomId(ownership.newLocalRoomId())
                 .password(password != null && !password.isBlank() ? password : null)
                 .players(new CopyOnWriteArrayList<>())
                 .turn(1)
                 .board(board)
                 .isPlaying(false)
                 .build();
+        journal.roomCreated(room);
         rooms.put(room.getRoomId(), room);
+        armEmptyRoomTtl(room);
+        changeListener.roomChanged(room);
         return room;
     }
 
@@ -56,11 +85,15 @@ public class RoomServiceImpl implements RoomService {
 
             if (room.getPlayers().contains(player)) {
                 room.bindMember(principal, player.id()); // 재입장: principal 재확인
+                journal.memberJoined(room, principal, player);
                 return 1; // 이미 참여
             }
             room.getPlayers().add(player);
+            timers.cancel(RoomTimers.Kind.ROOM_TTL, roomId);
             // 인증 principal을 자리에 기록. payload player.id/name은 표시용일 뿐.
             room.bindMember(principal, player.id());
+            journal.memberJoined(room, principal, player);
+            changeListener.roomChanged(room);
             return 1;
         }
     }
@@ -77,8 +110,10 @@ public class RoomServiceImpl implements RoomService {
             String principal = room.principalOf(playerId);
             boolean removed = room.getPlayers().removeIf(p -> p.id().equals(playerId));
             room.setReady(0);
+            if (removed) journal.memberLeft(room, playerId);
             if (room.getPlayers().isEmpty()) {
-                rooms.remove(roomId);
+                // 뒤따르는 브로드캐스트에 기대지 않는다(AI가 마지막으로 나가는 경로 등은 LEAVE를 보내지 않는다).
+                removeRoom(roomId);
             } else {
                 room.setPlaying(false); // 플레이어가 나가면 게임 중지
                 if (removed) {
@@ -86,6 +121,7 @@ public class RoomServiceImpl implements RoomService {
                     // 새 입장자를 영구 거부하는 소프트락이 생긴다.
                     room.unbindMember(principal);
                 }
+                changeListener.roomChanged(room);
             }
             return removed;
         }
@@ -102,9 +138,49 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public void removeRoom(String roomId) {
-        rooms.remove(roomId);
+        if (rooms.remove(roomId) != null) {
+            timers.cancel(RoomTimers.Kind.ROOM_TTL, roomId);
+            journal.roomRemoved(roomId);
+            changeListener.roomRemoved(roomId);
+            // 방이 사라지는 모든 경로(마지막 퇴장·빈 방 TTL·매칭 실패)에서 관전자 연결과 명단을 여기서 정리한다.
+            spectators.roomClosed(roomId);
+        }
+    }
+
+    @Override
+    public void restoreRoom(Room room) {
+        rooms.put(room.getRoomId(), room);
+        if (room.getPlayers().isEmpty()) armEmptyRoomTtl(room);
+        changeListener.roomChanged(room);
+    }
+
+    @Override
+    public void roomUpdated(String roomId) {
+        Room room = rooms.get(roomId);
+        if (room != null) changeListener.roomChanged(room);
+    }
+
+    // 생성 시각 기준으로 TTL을 건다. 재기동으로 되살린 빈 방은 남은 시간만큼만 기다린다.
+    private void armEmptyRoomTtl(Room room) {
+        String roomId = room.getRoomId();
+        long remaining = room.getCreatedAt() + emptyRoomTtl.toMillis() - System.currentTimeMillis();
+        timers.schedule(RoomTimers.Kind.ROOM_TTL, roomId, roomId, Duration.ofMillis(Math.max(0, remaining)),
+                () -> expireIfEmpty(roomId));
     }
 
+    /**
+     * 빈 방 TTL 만료(방 소유 샤드에서 실행). 그 사이 누가 들어왔으면 보존한다.
+     * joinRoom과 같은 room 락 아래에서 판단해, 입장 직후의 방을 지우지 않는다.
+     */
+    void expireIfEmpty(String roomId) {
+        Room room = rooms.get(roomId);
+        if (room == null) return;
+        synchronized (room) {
+            if (!room.getPlayers().isEmpty()) return;
+            removeRoom(roomId);
+        }
+        log.info("[ROOM_GC] roomId={} empty past TTL {}", roomId, emptyRoomTtl);
+    }
 
 }
 
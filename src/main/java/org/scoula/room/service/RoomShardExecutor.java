@@ -0,0 +1,129 @@
+package org.scoula.room.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * 방 명령 직렬화기. roomId를 N개 샤드 중 하나에 고정 배정하고, 샤드마다 단일 스레드 실행기를 둔다.
+ * 같은 방의 명령(JOIN/READY/MOVE/끊김/유예 만료/HTTP 입장·퇴장)은 항상 같은 스레드에서 도착 순서대로 실행되므로
+ * room 모니터를 두고 inbound 스레드끼리 다투지 않는다(재접속 폭주 시 락 convoy 제거).
+ * 서비스의 synchronized(room)는 샤드를 거치지 않는 호출(게임 시작 지연 콜백, 단위 테스트)을 위한
+ * 안전장치로 남아 있고, 샤드 경유 호출에서는 항상 경합 없이 통과한다.
+ *
+ * 샤드 수는 omok.room-shards(0이면 CPU 수).
+ */
+@Slf4j
+@Component
+public class RoomShardExecutor {
+
+    private final ExecutorService[] shards;
+    // 현재 스레드가 이 실행기의 몇 번 샤드인지. 샤드 안에서 다시 call하면 큐에 넣지 않고 바로 실행한다(자기 대기 교착 방지).
+    private final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    @Autowired
+    public RoomShardExecutor(@Value("${omok.room-shards:0}") int shardCount, Environment environment) {
+        this(shardCount, Threading.VIRTUAL.isActive(environment));
+    }
+
+    /**
+     * @param virtualThreads true면 샤드마다 가상 스레드 하나를 쓴다(Java 21+). 샤드 안에서 JDBC 등으로
+     *                       막혀도 캐리어 스레드를 돌려주지만, synchronized(room) 안에서 막히면 캐리어가 고정된다
+     *                       (VirtualThreadPinningMonitor가 집계).
+     */
+    public RoomShardExecutor(int shardCount, boolean virtualThreads) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            final int shard = i;
+            ThreadFactory base = virtualThreads
+                    ? new VirtualThreadTaskExecutor("room-shard-" + shard + "-").getVirtualThreadFactory()
+                    : platformThreads("room-shard-" + shard);
+            shards[i] = Executors.newSingleThreadExecutor(r -> base.newThread(() -> {
+                currentShard.set(shard);
+                r.run();
+            }));
+        }
+        log.info("[ROOM_SHARDS] shards={} virtualThreads={}", count, virtualThreads);
+    }
+
+    private static ThreadFactory platformThreads(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private RoomShardExecutor() {
+        this.shards = new ExecutorService[0];
+    }
+
+    /** 샤드 스레드 없이 호출 스레드에서 바로 실행하는 실행기(단위 테스트용). 순서 보장은 호출자 몫이다. */
+    public static RoomShardExecutor callerRuns() {
+        return new RoomShardExecutor();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService shard : shards) shard.shutdownNow();
+    }
+
+    int shardOf(String roomId) {
+        int h = roomId == null ? 0 : roomId.hashCode();
+        h ^= (h >>> 16); // UUID 문자열 해시의 상위 비트를 섞어 샤드 편중을 줄인다
+        return Math.floorMod(h, shards.length);
+    }
+
+    /** roomId 소유 샤드에 명령을 넣는다. 반환을 기다리지 않는다(STOMP 핸들러·끊김 이벤트·타이머용). */
+    public void execute(String roomId, Runnable command) {
+        if (shards.length == 0) {
+            command.run();
+            return;
+        }
+        shards[shardOf(roomId)].execute(() -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                // 예외가 샤드 스레드를 죽이면 실행기가 스레드를 새로 만들면서 currentShard가 비는 틈이 생긴다.
+                log.error("[ROOM_SHARD_ERROR] roomId={} {}", roomId, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * roomId 소유 샤드에서 실행하고 결과를 기다린다(HTTP 입장·퇴장처럼 응답 코드가 결과에 달린 호출용).
+     * 이미 그 샤드 스레드 위라면 큐를 거치지 않고 바로 실행한다.
+     */
+    public <T> T call(String roomId, Supplier<T> command) {
+        if (shards.length == 0) return command.get();
+        int shard = shardOf(roomId);
+        Integer current = currentShard.get();
+        if (current != null && current == shard) return command.get();
+
+        Future<T> future = shards[shard].submit(command::get);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("room command interrupted: " + roomId, e);
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package org.scoula.room.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.dto.MessageType;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 import org.scoula.room.dto.RoomResponseMessage;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RoomSocketService {
 
+    private static final Duration START_DELAY = Duration.ofMillis(500);
+
     private final RoomBroadcaster roomBroadcaster;
     private final RoomService roomService;
     private final GameService gameService;
     private final org.scoula.game.GameArchiveService gameArchiveService;
-    // 게임 시작 지연을 게임마다 새 non-daemon Timer 스레드 대신 공용 스케줄러로 처리(스레드 누수 제거).
-    private final TaskScheduler taskScheduler;
+    // 게임 시작 지연. 공용 방 타이머(RoomTimers)에 걸어 만료 시 그 방 소유 샤드에서 시작한다.
+    private final RoomTimers timers;
+    // 재기동 복구용 저널. 시작·착수·종료를 room 락 안에서 상태를 바꾼 직후 남긴다.
+    private final RoomJournal journal;
+    // 서버 대국 시계. 시간 초과는 이 시계로만 판정한다(클라이언트 신고를 믿지 않는다).
+    private final GameClockService clocks;
+    // 시계 만료 콜백. 착수마다 람다를 만들지 않도록 하나를 같이 쓴다.
+    private final Consumer<String> clockExpired = this::processClockExpired;
+    // 착수 경로의 room 락 대기·보유 시간(omok.room.lock). 다른 처리는 드물어 재지 않는다.
+    private final OmokMetrics metrics;
+    // AI 자리. 차례가 바뀌거나 사람이 READY하면 알린다.
+    private final SeatAutomation seats;
+
+    public RoomSocketService(RoomBroadcaster roomBroadcaster, RoomService roomService, GameService gameService,
+                             org.scoula.game.GameArchiveService gameArchiveService, RoomTimers timers,
+                             RoomJournal journal, GameClockService clocks, OmokMetrics metrics,
+                             SeatAutomation seats) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.roomService = roomService;
+        this.gameService = gameService;
+        this.gameArchiveService = gameArchiveService;
+        this.timers = timers;
+        this.journal = journal;
+        this.clocks = clocks;
+        this.metrics = metrics;
+        this.seats = seats;
+    }
 
     private void broadcast(String roomId, RoomResponseMessage message) {
         roomBroadcaster.broadcast(roomId, message);
@@ -67,16 +93,21 @@ public class RoomSocketService {
             room.initGame(blackId);
             room.setBlackPrincipal(blackPrincipal);
             room.setWhitePrincipal(whitePrincipal);
+            journal.gameStarted(room);
+            clocks.start(room, clockExpired);
+            roomService.roomUpdated(roomId); // 로비에 "게임 중" 표시
 
-            log.info("[GAME_START] roomId={} title=\"{}\" black=\"{}\" white=\"{}\"",
-                    roomId, room.getTitle(), blackName, whiteName);
+            GameEvents.emit("GAME_START", roomId, "title", room.getTitle(), "black", blackName, "white", whiteName);
 
             broadcast(roomId, RoomResponseMessage.builder()
                     .roomId(roomId)
                     .type(MessageType.GAME_START)
                     .blackPlayer(blackId)
+                    .forbidden(room.getForbiddenMask().toArray())
+                    .clock(clocks.view(room))
                     .message("게임이 시작되었습니다")
                     .build());
+            seats.turnChanged(room);
         }
     }
 
@@ -98,8 +129,9 @@ public class RoomSocketService {
                     .build());
 
             if (room.getReady() == 2) {
-                taskScheduler.schedule(() -> notifyGameStart(roomId), Instant.now().plusMillis(500));
+                timers.schedule(RoomTimers.Kind.START_DELAY, roomId, roomId, START_DELAY, () -> notifyGameStart(roomId));
             }
+            seats.readied(room, principal);
         }
     }
 
@@ -130,13 +162,16 @@ public class RoomSocketService {
             name = seatName(room, principal);
             room.setPlaying(false);
             room.setReady(0);
+            clocks.stop(room);
             // 기권자(principal)가 패 → 상대 승. 기보 저장.
             winner = principal.equals(room.blackPrincipal())
                     ? org.scoula.game.WinnerColor.WHITE : org.scoula.game.WinnerColor.BLACK;
+            journal.gameEnded(room);
             gameArchiveService.archive(room, winner, org.scoula.game.EndReason.SURRENDER);
+            roomService.roomUpdated(roomId);
         }
 
-        log.info("[SURRENDER] roomId={} player=\"{}\"", roomId, name);
+        GameEvents.emit("SURRENDER", roomId, "player", name);
         broadcast(roomId, RoomResponseMessage.builder()
                 .roomId(roomId)
                 .type(MessageType.GAME_END)
@@ -145,23 +180,65 @@ public class RoomSocketService {
                 .build());
     }
 
+    /**
+     * 클라이언트의 시간 초과 신고. 서버 시계가 켜져 있으면 신고는 확인 요청일 뿐이라, 서버 시계로 차례인 쪽의 시간이
+     * 다 됐을 때만 그쪽 패로 끝낸다. 시계가 꺼져 있으면 예전처럼 신고한 principal의 패로 끝낸다.
+     */
     public void processTimeout(String roomId, String principal) {
         Room room = roomService.getRoom(roomId);
         if (room == null) return;
-        String name;
-        org.scoula.game.WinnerColor winner;
         synchronized (room) {
             if (!room.isMember(principal)) return;
-            if (!room.isPlaying()) return; // 이미 종료된 게임 → 중복 처리/저장 방지
-            name = seatName(room, principal);
-            room.setPlaying(false);
-            // 시간초과자(principal)가 패 → 상대 승. 기보 저장.
-            winner = principal.equals(room.blackPrincipal())
-                    ? org.scoula.game.WinnerColor.WHITE : org.scoula.game.WinnerColor.BLACK;
-            gameArchiveService.archive(room, winner, org.scoula.game.EndReason.TIMEOUT);
+            if (clocks.enabled()) {
+                expireClock(room);
+            } else {
+                endByTimeout(room, principal);
+            }
+        }
+    }
+
+    /** 시계 바퀴가 알린 만료(방 소유 샤드에서 실행). 그 사이 착수로 마감이 밀렸으면 새 마감에 다시 건다. */
+    public void processClockExpired(String roomId) {
+        Room room = roomService.getRoom(roomId);
+        if (room == null) return;
+        synchronized (room) {
+            if (!room.isPlaying() || clocks.defer(room, clockExpired)) return;
+            expireClock(room);
         }
+    }
 
-        log.info("[TIMEOUT] roomId={} player=\"{}\"", roomId, name);
+    /** 재기동으로 되살린 대국의 시계를 다시 건다(RoomRecovery). */
+    public void resumeClock(String roomId) {
+        Room room = roomService.getRoom(roomId);
+        if (room == null) return;
+        synchronized (room) {
+            if (!room.isPlaying()) return;
+            clocks.restore(room, clockExpired);
+            seats.turnChanged(room);
+        }
+    }
+
+    // room 락 안에서 부른다.
+    private void expireClock(Room room) {
+        if (!room.isPlaying() || !clocks.isFlagged(room)) return;
+        endByTimeout(room, room.getTurn() % 2 == 1 ? room.blackPrincipal() : room.whitePrincipal());
+    }
+
+    // room 락 안에서 부른다. loser의 시간 초과 패로 대국을 끝낸다.
+    private void endByTimeout(Room room, String loser) {
+        if (!room.isPlaying()) return; // 이미 종료된 게임 → 중복 처리/저장 방지
+        String roomId = room.getRoomId();
+        String name = seatName(room, loser);
+        room.setPlaying(false);
+        clocks.stop(room);
+        // 시간초과자(loser)가 패 → 상대 승. 기보 저장.
+        org.scoula.game.WinnerColor winner = loser.equals(room.blackPrincipal())
+                ? org.scoula.game.WinnerColor.WHITE : org.scoula.game.WinnerColor.BLACK;
+        journal.gameEnded(room);
+        gameArchiveService.archive(room, winner, org.scoula.game.EndReason.TIMEOUT);
+        roomService.roomUpdated(roomId);
+
+        GameEvents.emit("TIMEOUT", roomId, "player", name);
         broadcast(roomId, RoomResponseMessage.builder()
                 .roomId(roomId)
                 .type(MessageType.GAME_END)
@@ -177,41 +254,57 @@ public class RoomSocketService {
             return;
         }
 
+        long requested = System.nanoTime();
         synchronized (room) {
-            String err = validateMove(room, principal, index);
-            if (err != null) {
-                broadcastError(roomId, err);
-                return;
-            }
+            long acquired = System.nanoTime();
+            moveLocked(room, roomId, principal, index);
+            metrics.roomLock(acquired - requested, System.nanoTime() - acquired);
+        }
+    }
 
-            gameService.applyMove(room, index);
-            int turn = room.getTurn();
-            String name = seatName(room, principal);
+    // processMove 본문. room 락 안에서 부른다.
+    private void moveLocked(Room room, String roomId, String principal, int index) {
+        String err = validateMove(room, principal, index);
+        if (err != null) {
+            broadcastError(roomId, err);
+            return;
+        }
 
-            if (gameService.checkGameEnd(room, index)) {
-                room.setPlaying(false);
-                room.setReady(0);
-                // 착수자(principal)가 승. 기보 저장.
-                org.scoula.game.WinnerColor winner = principal.equals(room.blackPrincipal())
-                        ? org.scoula.game.WinnerColor.BLACK : org.scoula.game.WinnerColor.WHITE;
-                gameArchiveService.archive(room, winner, org.scoula.game.EndReason.WIN_5);
-                log.info("[GAME_WIN] roomId={} winner=\"{}\" turn={}", roomId, name, turn);
-                broadcast(roomId, RoomResponseMessage.builder()
-                        .roomId(roomId)
-                        .type(MessageType.GAME_END)
-                        .message(name + "님이 승리하셨습니다")
-                        .index(index)
-                        .turn(turn)
-                        .winner(winner.name())
-                        .build());
-            } else {
-                broadcast(roomId, RoomResponseMessage.builder()
-                        .roomId(roomId)
-                        .type(MessageType.ACTION)
-                        .index(index)
-                        .turn(turn)
-                        .build());
-            }
+        // 서버 시계로 두기 전에 이미 시간이 다 됐으면 착수를 받지 않고 시간 초과로 끝낸다.
+        if (!clocks.press(room, clockExpired)) {
+            endByTimeout(room, principal);
+            return;
+        }
+        gameService.applyMove(room, index);
+        journal.moveApplied(room, index);
+        int turn = room.getTurn();
+
+        if (gameService.checkGameEnd(room, index)) {
+            String name = seatName(room, principal);
+            room.setPlaying(false);
+            room.setReady(0);
+            clocks.stop(room);
+            // 착수자(principal)가 승. 기보 저장.
+            org.scoula.game.WinnerColor winner = principal.equals(room.blackPrincipal())
+                    ? org.scoula.game.WinnerColor.BLACK : org.scoula.game.WinnerColor.WHITE;
+            journal.gameEnded(room);
+            gameArchiveService.archive(room, winner, org.scoula.game.EndReason.WIN_5);
+            roomService.roomUpdated(roomId);
+            GameEvents.emit("GAME_WIN", roomId, "winner", name, "turn", turn);
+            broadcast(roomId, RoomResponseMessage.builder()
+                    .roomId(roomId)
+                    .type(MessageType.GAME_END)
+                    .message(name + "님이 승리하셨습니다")
+                    .index(index)
+                    .turn(turn)
+                    .clock(clocks.view(room))
+                    .winner(winner.name())
+                    .build());
+        } else {
+            // 대국 대부분을 차지하는 경로라 빌더·박싱 없이 만든다(MoveAllocationTest가 할당량을 고정).
+            broadcast(roomId, RoomResponseMessage.action(roomId, index, turn,
+                    room.getForbiddenMask().toArray(), clocks.view(room)));
+            seats.turnChanged(room);
         }
     }
 
@@ -226,7 +319,8 @@ public class RoomSocketService {
         if (!room.isTurnOwner(principal, room.getTurn())) return "현재 당신의 차례가 아닙니다.";
         boolean isBlackTurn = room.getTurn() % 2 == 1;
         if (room.getBoard()[index / 15][index % 15] != 0) return "이미 다른 돌이 존재합니다.";
-        if (isBlackTurn && gameService.isForbiddenMove(room, index)) return "금수 위치입니다.";
+        // 금수 여부는 착수마다 증분 갱신되는 마스크로 조회한다(시도마다 전체 판정하지 않음).
+        if (isBlackTurn && room.getForbiddenMask().contains(index)) return "금수 위치입니다.";
         return null;
     }
 
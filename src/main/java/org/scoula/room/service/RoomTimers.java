@@ -0,0 +1,129 @@
+package org.scoula.room.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 방 타이머의 단일 창구. 끊김 유예·게임 시작 지연·빈 방 TTL·대국 시계가 모두 공용 HashedTimerWheel 하나에 예약된다.
+ * - 타이머는 (종류, 키)로 식별한다. 같은 키로 다시 예약하면 앞의 것을 취소하고 바꾼다.
+ * - 만료되면 작업을 바퀴 스레드에서 돌리지 않고 그 방 소유 샤드(RoomShardExecutor)에 넣는다.
+ *   같은 방의 착수·JOIN·끊김 처리와 순서대로 실행된다.
+ * - 취소는 O(1)이고 바퀴가 다음 tick에 떼어내므로, 취소된 예약이 힙에 남아 만료 시각까지 메모리를 잡지 않는다.
+ * - 종류별로 예약·만료·취소 수와 대기 수를 센다(stats).
+ */
+@Slf4j
+@Component
+public class RoomTimers {
+
+    /** 타이머 종류. */
+    public enum Kind {
+        /** 게임 중 끊긴 멤버의 재접속 유예(키: principal). */
+        GRACE,
+        /** 둘 다 READY한 뒤 게임 시작까지의 지연(키: roomId). */
+        START_DELAY,
+        /** 아무도 들어오지 않은 빈 방의 수명(키: roomId). */
+        ROOM_TTL,
+        /** 서버 대국 시계의 시간 초과(키: roomId). */
+        GAME_CLOCK
+    }
+
+    /** 종류별 누적 예약·만료·취소 수와 지금 대기 중인 수. */
+    public record Stats(long scheduled, long fired, long cancelled, int pending) {
+    }
+
+    private final HashedTimerWheel wheel;
+    private final RoomShardExecutor roomShards;
+    private final boolean ownsWheel;
+    private final Map<Kind, Map<String, HashedTimerWheel.Timeout>> timers = new EnumMap<>(Kind.class);
+    private final Map<Kind, LongAdder[]> counters = new EnumMap<>(Kind.class); // [예약, 만료, 취소]
+
+    @Autowired
+    public RoomTimers(HashedTimerWheel wheel, RoomShardExecutor roomShards) {
+        this(wheel, roomShards, false);
+    }
+
+    private RoomTimers(HashedTimerWheel wheel, RoomShardExecutor roomShards, boolean ownsWheel) {
+        this.wheel = wheel;
+        this.roomShards = roomShards;
+        this.ownsWheel = ownsWheel;
+        for (Kind kind : Kind.values()) {
+            timers.put(kind, new ConcurrentHashMap<>());
+            counters.put(kind, new LongAdder[]{new LongAdder(), new LongAdder(), new LongAdder()});
+        }
+    }
+
+    /** 자체 바퀴를 만들어 소유하고, 만료 작업을 바퀴 스레드에서 바로 실행하는 구성(단위 테스트용). shutdown에서 정리한다. */
+    public static RoomTimers standalone() {
+        return new RoomTimers(new HashedTimerWheel(Duration.ofMillis(100), 512), RoomShardExecutor.callerRuns(), true);
+    }
+
+    /** 예약을 모두 버리는 구성(타이머가 필요 없는 단위 테스트용). */
+    public static RoomTimers none() {
+        return new RoomTimers(null, null, false);
+    }
+
+    /**
+     * delay 뒤에 task를 roomId 소유 샤드에서 실행한다. 같은 (kind, key)의 앞선 예약은 취소한다.
+     */
+    public void schedule(Kind kind, String roomId, String key, Duration delay, Runnable task) {
+        if (wheel == null) return;
+        Map<String, HashedTimerWheel.Timeout> byKey = timers.get(kind);
+        LongAdder[] count = counters.get(kind);
+        // 만료 작업이 자기 예약만 지우도록 넘기는 참조. 지연이 0이면 아래 put보다 먼저 바퀴 스레드에서 돌 수 있다.
+        AtomicReference<HashedTimerWheel.Timeout> self = new AtomicReference<>();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(delay, () -> {
+            byKey.remove(key, self.get());
+            count[1].increment();
+            roomShards.execute(roomId, task);
+        });
+        self.set(timeout);
+        count[0].increment();
+        HashedTimerWheel.Timeout previous = byKey.put(key, timeout);
+        if (previous != null && previous.cancel()) count[2].increment();
+        // put보다 먼저 만료됐으면 작업의 remove가 비켜 갔다. 만료된 예약을 대기 중으로 남기지 않는다.
+        if (timeout.isExpired()) byKey.remove(key, timeout);
+    }
+
+    /** (kind, key) 예약을 취소한다. 아직 만료 전이라 실제로 취소했으면 true. */
+    public boolean cancel(Kind kind, String key) {
+        if (key == null) return false;
+        HashedTimerWheel.Timeout timeout = timers.get(kind).remove(key);
+        if (timeout == null || !timeout.cancel()) return false;
+        counters.get(kind)[2].increment();
+        return true;
+    }
+
+    public boolean isPending(Kind kind, String key) {
+        return key != null && timers.get(kind).containsKey(key);
+    }
+
+    public Stats stats(Kind kind) {
+        LongAdder[] count = counters.get(kind);
+        return new Stats(count[0].sum(), count[1].sum(), count[2].sum(), timers.get(kind).size());
+    }
+
+    public Map<Kind, Stats> stats() {
+        Map<Kind, Stats> all = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) all.put(kind, stats(kind));
+        return all;
+    }
+
+    // 빈 소멸 시 걸려 있는 예약을 취소해 작업 누수를 막는다(공용 바퀴 자체는 HashedTimerWheel 빈 소유).
+    @PreDestroy
+    public void shutdown() {
+        for (Map<String, HashedTimerWheel.Timeout> byKey : timers.values()) {
+            byKey.values().forEach(HashedTimerWheel.Timeout::cancel);
+            byKey.clear();
+        }
+        if (ownsWheel) wheel.stop();
+    }
+}
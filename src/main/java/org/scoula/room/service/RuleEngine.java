@@ -0,0 +1,22 @@
+package org.scoula.room.service;
+
+/**
+ * 렌주 승리/금수 판정 계약. GameService는 이 인터페이스에만 의존하고,
+ * 구현은 omok.rule-engine 속성으로 고른다(scan=RenjuRuleEngine, bitboard=BitboardRenjuRuleEngine).
+ * 좌표계: index = y*15 + x, 돌 값은 착수 순번(홀수=흑, 짝수=백), 빈칸=0.
+ * 구현체는 판정 중 board를 변경해서는 안 되며(임시 착수 후 복원은 허용), Room 상태에 의존하지 않는다.
+ */
+public interface RuleEngine {
+
+    /** board[index]에 놓인 돌 기준 승리 여부. 흑은 정확히 5목, 백은 5목 이상. */
+    boolean isWin(int[][] board, int index);
+
+    /** index에 흑을 둔다고 보고 금수(장목·4-4·3-3) 여부. 정확히 5목이 되면 승리 우선으로 금수 아님. */
+    boolean isForbidden(int[][] board, int index);
+
+    /** index를 흑으로 보고 사(four)가 성립하는 방향 수(방향당 최대 1). */
+    int countFour(int[][] board, int index);
+
+    /** index를 흑으로 보고 열린 삼이 성립하는 방향 수(사인 방향은 제외). */
+    int countOpenThrees(int[][] board, int index);
+}
@@ -0,0 +1,22 @@
+package org.scoula.room.service;
+
+import org.scoula.room.domain.Room;
+
+/**
+ * 사람이 아닌 자리(AI)를 움직이는 훅. RoomSocketService가 room 락 안에서 상태를 바꾼 직후 부른다.
+ * 구현(AiPlayerService)은 판을 복사해 다른 스레드로 넘기기만 하고 바로 돌아와야 한다(착수 경로에서 불린다).
+ * 단위 테스트처럼 AI가 없는 곳에서는 NONE을 쓴다.
+ */
+public interface SeatAutomation {
+
+    SeatAutomation NONE = new SeatAutomation() {
+    };
+
+    /** 차례가 바뀌었다(대국 시작, 끝나지 않은 착수, 재기동 후 시계 재개). */
+    default void turnChanged(Room room) {
+    }
+
+    /** principal이 READY를 눌렀다(ready 카운터 증가 후). */
+    default void readied(Room room, String principal) {
+    }
+}
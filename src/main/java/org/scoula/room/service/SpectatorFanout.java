@@ -0,0 +1,24 @@
+package org.scoula.room.service;
+
+/**
+ * 방 프레임을 관전 송출 계층으로 넘기는 지점. RoomBroadcaster가 seq를 매기고 직렬화한 직후(FrameRing 락 안)
+ * 같은 바이트를 넘긴다. 구현은 SpectatorHub. 단위 테스트처럼 관전이 없는 곳에서는 NONE을 쓴다.
+ */
+public interface SpectatorFanout {
+
+    SpectatorFanout NONE = new SpectatorFanout() {
+        @Override
+        public void publish(String roomId, byte[] json) {
+        }
+
+        @Override
+        public void roomClosed(String roomId) {
+        }
+    };
+
+    /** 이미 직렬화된 방 프레임. 플레이어 경로에서 불리므로 큐에 넣고 바로 돌아와야 한다. */
+    void publish(String roomId, byte[] json);
+
+    /** 방이 사라졌다. 이미 넘긴 프레임을 보낸 뒤 관전 연결을 닫는다. */
+    void roomClosed(String roomId);
+}
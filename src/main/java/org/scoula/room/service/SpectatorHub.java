@@ -0,0 +1,340 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.SpectatorSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 관전 송출 계층. 플레이어가 받는 STOMP 브로커(/topic/room)와 따로, /watch WebSocket에 붙은 관전자에게 방 프레임을 보낸다.
+ * - 플레이어 경로(RoomBroadcaster, FrameRing 락 안)는 이미 직렬화된 바이트를 방의 송출 레인 큐에 넣고 바로 돌아온다.
+ *   관전자가 몇 명이든 플레이어 쪽 비용은 같다.
+ * - 레인(방마다 고정된 단일 스레드)은 프레임마다 TextMessage를 하나만 만들어 그 방 관전자 각자의 outbox에 넣는다.
+ *   소켓 쓰기는 writer 풀이 관전자마다 한 번에 하나씩 한다. 레인은 소켓을 기다리지 않는다.
+ *   막힌 관전자는 끊을 때까지(send-time-limit) writer 하나를 잡고 있으므로, writer 수는 동시에 막힐 수 있는
+ *   관전자 수보다 넉넉히 둔다.
+ * - 역압: outbox가 max-queued를 넘거나 한 번의 쓰기가 send-time-limit을 넘은 관전자는 끊는다(SLOW).
+ *   쓰기 시간은 새 프레임이 올 때(offer)뿐 아니라 워치독(sweep)이 주기적으로도 본다. 방이 조용해져도
+ *   막힌 관전자가 writer를 계속 잡고 있지 않는다.
+ *   레인 큐가 넘치면 그 방 관전자를 모두 끊는다(LAGGING). 끊긴 관전자는 다시 붙어 스냅샷부터 받는다.
+ * - 입장: 방 샤드에서 room 락과 FrameRing 락을 잡고 관전자 등록과 스냅샷을 함께 한다. 그래서 스냅샷 seq 이후
+ *   프레임만, 스냅샷 뒤에 온다.
+ * 비밀번호 방은 관전할 수 없다. 클러스터 모드에서는 방 주인 노드에 붙은 관전자만 받는다.
+ */
+@Slf4j
+@Component
+public class SpectatorHub implements SpectatorFanout {
+
+    // outbox에 넣으면 쓰기 후 연결을 닫으라는 표시(방 제거). 보내지 않는다.
+    private static final TextMessage CLOSE = new TextMessage("");
+
+    private final RoomService roomService;
+    private final RoomShardExecutor roomShards;
+    private final ObjectMapper objectMapper;
+    private final int maxPerRoom;
+    private final int maxQueued;
+    private final long sendTimeLimitNanos;
+    private final ThreadPoolExecutor[] lanes;
+    private final ExecutorService writers;
+    // 끊는 관전자 닫기 전용. 막힌 소켓의 close는 컨테이너 전송 제한 시간만큼 걸릴 수 있어 writer·레인과 나눈다.
+    private final ExecutorService closer;
+
+    private final Map<String, List<Spectator>> byRoom = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder droppedSlow = new LongAdder();
+    private final LongAdder droppedLagging = new LongAdder();
+
+    @Autowired
+    public SpectatorHub(RoomService roomService, RoomShardExecutor roomShards, ObjectMapper objectMapper,
+                        @Value("${omok.spectate.max-per-room:500}") int maxPerRoom,
+                        @Value("${omok.spectate.max-queued:64}") int maxQueued,
+                        @Value("${omok.spectate.send-time-limit:5s}") Duration sendTimeLimit,
+                        @Value("${omok.spectate.lanes:2}") int laneCount,
+                        @Value("${omok.spectate.lane-queue:4096}") int laneQueue,
+                        @Value("${omok.spectate.writer-threads:8}") int writerThreads) {
+        this.roomService = roomService;
+        this.roomShards = roomShards;
+        this.objectMapper = objectMapper;
+        this.maxPerRoom = maxPerRoom;
+        this.maxQueued = maxQueued;
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "spectate-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(laneQueue),
+                    r -> daemon(r, name));
+        }
+        AtomicInteger seq = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> daemon(r, "spectate-writer-" + seq.getAndIncrement()));
+        this.closer = Executors.newCachedThreadPool(r -> daemon(r, "spectate-close"));
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) lane.shutdown();
+        try {
+            for (ThreadPoolExecutor lane : lanes) lane.awaitTermination(5, TimeUnit.SECONDS);
+            writers.shutdown();
+            writers.awaitTermination(5, TimeUnit.SECONDS);
+            closer.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 관전자 한 명. outbox는 레인이 넣고 writer가 한 번에 하나씩(draining) 비운다. */
+    static final class Spectator {
+        final String roomId;
+        final WebSocketSession session;
+        final ConcurrentLinkedQueue<TextMessage> outbox = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean dropped = new AtomicBoolean();
+        // 지금 쓰고 있는 프레임을 시작한 시각(nanoTime). 0이면 쓰는 중이 아니다.
+        volatile long sendingSince;
+
+        Spectator(String roomId, WebSocketSession session) {
+            this.roomId = roomId;
+            this.session = session;
+        }
+    }
+
+    /** 관전 연결을 roomId에 붙인다. 방 샤드에서 등록하고 스냅샷을 보낸다. 거절되면 연결을 닫는다. */
+    public void join(String roomId, WebSocketSession session) {
+        roomShards.execute(roomId, () -> admit(roomId, session));
+    }
+
+    private void admit(String roomId, WebSocketSession session) {
+        Room room = roomService.getRoom(roomId);
+        String rejected = null;
+        if (room == null) {
+            rejected = "ROOM_NOT_FOUND";
+        } else if (room.getPassword() != null && !room.getPassword().isBlank()) {
+            rejected = "PRIVATE_ROOM";
+        } else if (!session.isOpen()) {
+            return; // 입장 처리 전에 이미 닫혔다
+        } else {
+            synchronized (room) {
+                // 브로드캐스트도 FrameRing 락 안에서 publish하므로, 등록과 스냅샷 사이에 프레임이 끼지 않는다.
+                synchronized (room.frames()) {
+                    List<Spectator> watchers = byRoom.computeIfAbsent(roomId, k -> new CopyOnWriteArrayList<>());
+                    if (watchers.size() >= maxPerRoom) {
+                        rejected = "SPECTATORS_FULL";
+                    } else {
+                        Spectator s = new Spectator(roomId, session);
+                        watchers.add(s);
+                        count.incrementAndGet();
+                        offer(s, new TextMessage(serialize(SpectatorSnapshot.from(room, watchers.size()))));
+                    }
+                }
+            }
+        }
+        if (rejected != null) {
+            log.debug("[SPECTATE_REJECT] roomId={} session={} reason={}", roomId, session.getId(), rejected);
+            closeQuietly(session, CloseStatus.POLICY_VIOLATION.withReason(rejected));
+            return;
+        }
+        log.debug("[SPECTATE_JOIN] roomId={} session={}", roomId, session.getId());
+    }
+
+    /** 관전 연결이 닫혔다. 방 샤드에서 명단에서 뺀다(입장 처리보다 늦게 실행된다). */
+    public void leave(String roomId, String sessionId) {
+        roomShards.execute(roomId, () -> {
+            List<Spectator> watchers = byRoom.get(roomId);
+            if (watchers == null) return;
+            for (Spectator s : watchers) {
+                if (s.session.getId().equals(sessionId) && s.dropped.compareAndSet(false, true)) {
+                    watchers.remove(s);
+                    count.decrementAndGet();
+                }
+            }
+            // 명단 추가(admit)도 샤드에서만 하므로 빈 명단 제거와 엇갈리지 않는다.
+            if (watchers.isEmpty()) byRoom.remove(roomId, watchers);
+        });
+    }
+
+    @Override
+    public void publish(String roomId, byte[] json) {
+        List<Spectator> watchers = byRoom.get(roomId);
+        if (watchers == null || watchers.isEmpty()) return;
+        // 지금 명단의 스냅샷. 이 뒤에 붙은 관전자는 이 프레임이 이미 반영된 스냅샷을 받았다.
+        Iterator<Spectator> targets = watchers.iterator();
+        try {
+            lane(roomId).execute(() -> fanOut(targets, new TextMessage(json)));
+        } catch (RejectedExecutionException e) {
+            // 송출 계층이 밀렸다. 빠진 프레임을 메울 수 없으니 이 방 관전자를 끊어 스냅샷부터 다시 받게 한다.
+            log.warn("[SPECTATE_LAGGING] roomId={} spectators={}", roomId, watchers.size());
+            for (Spectator s : watchers) drop(s, "LAGGING", droppedLagging);
+        }
+    }
+
+    @Override
+    public void roomClosed(String roomId) {
+        List<Spectator> watchers = byRoom.remove(roomId);
+        if (watchers == null) return;
+        Iterator<Spectator> targets = watchers.iterator();
+        try {
+            lane(roomId).execute(() -> fanOut(targets, CLOSE));
+        } catch (RejectedExecutionException e) {
+            for (Spectator s : watchers) drop(s, "ROOM_CLOSED", droppedLagging);
+        }
+    }
+
+    // 레인 스레드: 같은 메시지 객체를 관전자마다 outbox에 넣는다.
+    private void fanOut(Iterator<Spectator> targets, TextMessage message) {
+        while (targets.hasNext()) offer(targets.next(), message);
+    }
+
+    private void offer(Spectator s, TextMessage message) {
+        if (s.dropped.get()) return;
+        long since = s.sendingSince;
+        if (s.queued.get() >= maxQueued || (since != 0 && System.nanoTime() - since > sendTimeLimitNanos)) {
+            drop(s, "SLOW", droppedSlow);
+            return;
+        }
+        s.queued.incrementAndGet();
+        s.outbox.add(message);
+        if (s.draining.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(s));
+            } catch (RejectedExecutionException e) {
+                s.draining.set(false); // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 워치독: 한 프레임을 send-time-limit보다 오래 쓰고 있는 관전자를 끊는다. 연결을 닫으면 막힌 writer도 풀린다.
+     * offer의 같은 검사는 다음 프레임이 와야 돌기 때문에, 프레임이 더 오지 않는 방의 막힌 관전자는 여기서만 걸린다.
+     */
+    @Scheduled(fixedDelayString = "${omok.spectate.watchdog-interval:1s}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (List<Spectator> watchers : byRoom.values()) {
+            for (Spectator s : watchers) {
+                long since = s.sendingSince;
+                if (since != 0 && now - since > sendTimeLimitNanos) drop(s, "SLOW", droppedSlow);
+            }
+        }
+    }
+
+    // writer 스레드: 이 관전자의 outbox를 순서대로 비운다. 한 관전자에 drain은 동시에 하나뿐이다.
+    private void drain(Spectator s) {
+        do {
+            TextMessage m;
+            while (!s.dropped.get() && (m = s.outbox.poll()) != null) {
+                s.queued.decrementAndGet();
+                if (m == CLOSE) {
+                    if (s.dropped.compareAndSet(false, true)) count.decrementAndGet();
+                    closeQuietly(s.session, CloseStatus.NORMAL.withReason("ROOM_CLOSED"));
+                    return;
+                }
+                s.sendingSince = System.nanoTime();
+                try {
+                    s.session.sendMessage(m);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("[SPECTATE_SEND_FAIL] roomId={} session={} : {}", s.roomId, s.session.getId(),
+                            e.getMessage());
+                    drop(s, "SEND_FAILED", droppedSlow);
+                } finally {
+                    s.sendingSince = 0;
+                }
+            }
+            s.draining.set(false);
+            // 마지막 poll과 draining 해제 사이에 레인이 넣은 메시지가 있으면 다시 맡는다.
+        } while (!s.dropped.get() && !s.outbox.isEmpty() && s.draining.compareAndSet(false, true));
+    }
+
+    // 명단에서 빼고 연결을 닫는다. 닫히면 그 관전자 쓰기에 막혀 있던 writer도 풀린다.
+    private void drop(Spectator s, String reason, LongAdder counter) {
+        if (!s.dropped.compareAndSet(false, true)) return;
+        count.decrementAndGet();
+        counter.increment();
+        List<Spectator> watchers = byRoom.get(s.roomId);
+        if (watchers != null) watchers.remove(s);
+        s.outbox.clear();
+        log.info("[SPECTATE_DROP] roomId={} session={} reason={}", s.roomId, s.session.getId(), reason);
+        try {
+            closer.execute(() -> closeQuietly(s.session, CloseStatus.SESSION_NOT_RELIABLE.withReason(reason)));
+        } catch (RejectedExecutionException e) {
+            closeQuietly(s.session, CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+        }
+    }
+
+    private ThreadPoolExecutor lane(String roomId) {
+        return lanes[Math.floorMod(roomId.hashCode(), lanes.length)];
+    }
+
+    private byte[] serialize(SpectatorSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("spectator snapshot serialization failed", e);
+        }
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException | RuntimeException e) {
+            log.debug("[SPECTATE_CLOSE_FAIL] session={} : {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /** 지금 붙어 있는 관전자 수. */
+    public int spectators() {
+        return count.get();
+    }
+
+    /** 느려서(outbox 초과·쓰기 시간 초과·쓰기 실패) 끊은 관전자 수(누적). */
+    public long droppedSlow() {
+        return droppedSlow.sum();
+    }
+
+    /** 송출 레인이 밀려 끊은 관전자 수(누적). */
+    public long droppedLagging() {
+        return droppedLagging.sum();
+    }
+
+    /** 송출 레인 큐에 쌓인 프레임 수. */
+    public int backlog() {
+        int n = 0;
+        for (ThreadPoolExecutor lane : lanes) n += lane.getQueue().size();
+        return n;
+    }
+}
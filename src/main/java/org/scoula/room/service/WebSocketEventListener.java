@@ -1,61 +1,88 @@
 package org.scoula.room.service;
 
 import org.scoula.room.dto.MessageType;
+import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
+import org.scoula.room.dto.RoomCommand;
 import org.scoula.room.dto.RoomResponseMessage;
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class WebSocketEventListener {
 
     private static final int GRACE_PERIOD_SECONDS = 30;
+    private static final Duration GRACE_PERIOD = Duration.ofSeconds(GRACE_PERIOD_SECONDS);
 
     private final RoomBroadcaster roomBroadcaster;
     private final RoomService roomService;
     private final org.scoula.game.GameArchiveService gameArchiveService;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> pendingDisconnects = new ConcurrentHashMap<>();
+    // 끊김 처리·유예 만료는 방 상태를 바꾸므로 그 방 소유 샤드에서 실행한다(RoomShardExecutor).
+    private final RoomShardExecutor roomShards;
+    // 클러스터 모드에서 끊긴 방의 주인이 다른 노드면 끊김 처리를 그쪽으로 넘긴다(유예 타이머는 주인 노드에 걸린다).
+    private final RoomCommandForwarder forwarder;
+    // 유예 타이머. principal을 키로 공용 방 타이머(RoomTimers.Kind.GRACE)에 건다.
+    private final RoomTimers timers;
     // (principal, roomId)별 활성 WS 세션 집합. 같은 사용자가 여러 탭을 열었을 때
     // 마지막 세션이 끊길 때만 유예/퇴장을 처리하기 위한 근거(D5).
     private final ConcurrentHashMap<String, Set<String>> sessionsByMember = new ConcurrentHashMap<>();
 
+    @Autowired
     public WebSocketEventListener(RoomBroadcaster roomBroadcaster, RoomService roomService,
-                                  org.scoula.game.GameArchiveService gameArchiveService) {
+                                  org.scoula.game.GameArchiveService gameArchiveService,
+                                  RoomShardExecutor roomShards, RoomTimers timers,
+                                  RoomCommandForwarder forwarder) {
         this.roomBroadcaster = roomBroadcaster;
         this.roomService = roomService;
         this.gameArchiveService = gameArchiveService;
-    }
-
-    // 빈 소멸 시 유예 스케줄러를 정리해 스레드/작업 누수를 막는다.
-    @PreDestroy
-    public void shutdown() {
-        scheduler.shutdownNow();
+        this.roomShards = roomShards;
+        this.forwarder = forwarder;
+        this.timers = timers;
     }
 
     // RoomSocketController/HTTP leave에서 호출 - 유예 창의 앵커는 위조 불가한 principal.
     // 같은 principal만 자신의 유예를 취소(재접속)할 수 있다. 재연결이면 true 반환.
     public boolean cancelPendingDisconnect(String principal) {
-        if (principal == null) return false;
-        ScheduledFuture<?> future = pendingDisconnects.remove(principal);
-        if (future != null && !future.isDone()) {
-            future.cancel(false);
-            return true;
-        }
-        return false;
+        return timers.cancel(RoomTimers.Kind.GRACE, principal);
+    }
+
+    /**
+     * WS JOIN의 방 상태 쪽 처리(방 소유 샤드에서 실행). 유예 취소와 JOIN/RECONNECT 알림을 끊김 처리(유예 등록)와
+     * 같은 샤드에서 순서대로 한다. inbound 스레드에서 취소하면 아직 샤드 큐에 있는 끊김 처리가 뒤늦게 유예를 다시 걸 수 있다.
+     * lastSeq가 있으면 그 뒤 놓친 브로드캐스트를 먼저 이 세션에 다시 보내고 나서 JOIN/RECONNECT를 알린다.
+     */
+    void onJoin(String roomId, String principal, Player sender, String sessionId, Long lastSeq) {
+        // 재접속 유예 취소는 위조 불가한 principal 앵커로만. payload id는 인가 신원 아님.
+        boolean isReconnect = cancelPendingDisconnect(principal);
+        GameEvents.emit("WS_JOIN", roomId, "player", sender.name(), "playerId", sender.id(), "principal", principal,
+                "reconnect", isReconnect);
+        if (lastSeq != null) roomBroadcaster.resume(roomId, principal, sessionId, lastSeq);
+
+        MessageType type = isReconnect ? MessageType.RECONNECT : MessageType.JOIN;
+        roomBroadcaster.broadcast(roomId,
+                RoomResponseMessage.builder()
+                        .sender(sender.id())
+                        .roomId(roomId)
+                        .type(type)
+                        .message(sender.name())
+                        .build());
+    }
+
+    /** 방에 JOIN한 활성 세션 수(모니터링용). 여러 탭은 각각 센다. */
+    public int sessionCount() {
+        int count = 0;
+        for (Set<String> sessions : sessionsByMember.values()) count += sessions.size();
+        return count;
     }
 
     private static String memberKey(String principal, String roomId) {
@@ -119,6 +146,13 @@ public class WebSocketEventListener {
             return;
         }
 
+        // 이하 자리 조회·유예 등록·즉시 퇴장은 방 상태를 읽고 바꾸므로 방 소유 샤드에서 실행한다.
+        // 같은 샤드에 먼저 들어간 착수·재접속 JOIN과 순서가 뒤바뀌지 않는다. 방 주인이 다른 노드면 그쪽 샤드로 넘긴다.
+        if (forwarder.forward(RoomCommand.disconnect(roomId, principal, sessionId))) return;
+        roomShards.execute(roomId, () -> handleDisconnect(roomId, principal, sessionId));
+    }
+
+    void handleDisconnect(String roomId, String principal, String sessionId) {
         Room room = roomService.getRoom(roomId);
         if (room == null) return;
 
@@ -136,7 +170,8 @@ public class WebSocketEventListener {
 
         if (room.isPlaying() && principal != null) {
             // 게임 중 연결 끊김 → 유예 시간 부여. 유예 앵커는 위조 불가한 principal 키.
-            log.warn("[WS_DISCONNECT] playerId={} principal={} roomId={} grace={}s", playerId, principal, roomId, GRACE_PERIOD_SECONDS);
+            GameEvents.emit("WS_DISCONNECT", roomId, "playerId", playerId, "principal", principal,
+                    "graceSeconds", GRACE_PERIOD_SECONDS);
             roomBroadcaster.broadcast(
                     roomId,
                     RoomResponseMessage.builder()
@@ -145,12 +180,7 @@ public class WebSocketEventListener {
                             .build()
             );
 
-            final String gracePrincipal = principal;
-            ScheduledFuture<?> future = scheduler.schedule(
-                    () -> expireGrace(roomId, playerId, gracePrincipal),
-                    GRACE_PERIOD_SECONDS, TimeUnit.SECONDS);
-
-            pendingDisconnects.put(principal, future);
+            scheduleGrace(roomId, playerId, principal);
         } else {
             // 게임 중이 아닐 때 → 즉시 퇴장
             roomService.leaveRoom(roomId, playerId);
@@ -161,16 +191,34 @@ public class WebSocketEventListener {
                             .sender(playerId)
                             .build()
             );
-            log.info("[WS_DISCONNECT] playerId={} roomId={} reason=NOT_PLAYING", playerId, roomId);
+            GameEvents.emit("WS_DISCONNECT", roomId, "playerId", playerId, "reason", "NOT_PLAYING");
         }
     }
 
+    /**
+     * 재기동 복구 직후 되살린 방의 멤버에게 유예를 건다. 이전 프로세스의 소켓은 끊겼지만 끊김 이벤트는 오지 않으므로,
+     * 유예 안에 WS JOIN하면 RECONNECT로 이어 두고 안 오면 보통 끊김처럼 몰수·퇴장한다(대기 방이면 퇴장만).
+     */
+    public void awaitReconnect(String roomId, String principal) {
+        Room room = roomService.getRoom(roomId);
+        String playerId = room != null ? room.playerIdOf(principal) : null;
+        if (playerId == null) return;
+        log.info("[RECOVER_GRACE] playerId={} principal={} roomId={} grace={}s", playerId, principal, roomId, GRACE_PERIOD_SECONDS);
+        scheduleGrace(roomId, playerId, principal);
+    }
+
+    private void scheduleGrace(String roomId, String playerId, String principal) {
+        // 만료 시점에는 타이머 스레드에서 몰수를 직접 처리하지 않고 방 소유 샤드에 넣는다(RoomTimers가 넘긴다).
+        timers.schedule(RoomTimers.Kind.GRACE, roomId, principal, GRACE_PERIOD,
+                () -> expireGrace(roomId, playerId, principal));
+    }
+
     /**
      * 유예 만료 시 실행되는 몰수 처리. GRACE_PERIOD_SECONDS를 기다리지 않고 이 경로를
      * 직접 검증할 수 있도록 스케줄 람다 본문을 그대로 분리한 것으로, 동작은 동일하다.
      */
     void expireGrace(String roomId, String playerId, String gracePrincipal) {
-        pendingDisconnects.remove(gracePrincipal);
+        // 유예 항목은 RoomTimers가 만료 시점에 이미 지웠다. 그 사이 같은 principal에 새로 걸린 유예는 건드리지 않는다.
         // 끊김 몰수: 끊긴 principal이 패 → 상대 승. leaveRoom(자리 principal unbind) 전에 기보 저장.
         // 다른 종료 경로(processMove/surrender/timeout)와 가시성·중복저장 일관성 위해 room 락 안에서.
         Room graceRoom = roomService.getRoom(roomId);
@@ -204,6 +252,6 @@ public class WebSocketEventListener {
                         .sender(playerId)
                         .build()
         );
-        log.warn("[GRACE_EXPIRE] playerId={} principal={} roomId={}", playerId, gracePrincipal, roomId);
+        GameEvents.emit("GRACE_EXPIRE", roomId, "playerId", playerId, "principal", gracePrincipal);
     }
 }
@@ -0,0 +1,5 @@
+package org.scoula.search;
+
+/** 색인할 기보 한 판. userId는 게스트면 0, moves는 착수 칸을 둔 순서대로(한 칸 1바이트). */
+record IndexedGame(long id, long blackUserId, long whiteUserId, byte[] moves) {
+}
@@ -0,0 +1,63 @@
+package org.scoula.search;
+
+import lombok.RequiredArgsConstructor;
+import org.scoula.game.WinnerColor;
+import org.scoula.search.dto.PositionMatch;
+import org.scoula.search.dto.PositionSearchRequest;
+import org.scoula.search.dto.PositionSearchResponse;
+import org.scoula.search.dto.SearchStone;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/** 기보 위치 검색(인증 필요). 맵한 역색인만 읽고 DB는 읽지 않는다. */
+@RestController
+@RequestMapping("/api/games")
+@RequiredArgsConstructor
+public class PositionSearchController {
+
+    public static final int MAX_STONES = 32;
+    public static final int MAX_LIMIT = 100;
+
+    private final PositionSearchService positionSearchService;
+
+    /** 부분 판을 거친 기보. 돌이 없거나 MAX_STONES개를 넘거나, 칸이 범위 밖이거나 겹치거나, 색이 없으면 400. */
+    @PostMapping("/search")
+    public ResponseEntity<PositionSearchResponse> search(@RequestBody PositionSearchRequest request,
+                                                         Authentication authentication) {
+        List<SearchStone> stones = request.stones();
+        if (stones == null || stones.isEmpty() || stones.size() > MAX_STONES) return ResponseEntity.badRequest().build();
+        int[] cells = new int[stones.size()];
+        boolean[] black = new boolean[stones.size()];
+        for (int i = 0; i < cells.length; i++) {
+            SearchStone stone = stones.get(i);
+            if (stone == null || stone.color() == null) return ResponseEntity.badRequest().build();
+            cells[i] = stone.index();
+            black[i] = stone.color() == WinnerColor.BLACK;
+        }
+        int limit = request.limit() == null ? 20 : Math.max(1, Math.min(MAX_LIMIT, request.limit()));
+        PositionSearchService.Result result;
+        try {
+            result = positionSearchService.search(cells, black, memberUserId(authentication.getName()), limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<PositionMatch> games = result.mine().stream()
+                .map(m -> new PositionMatch(m.gameId(), m.ply()))
+                .toList();
+        return ResponseEntity.ok(new PositionSearchResponse(result.matched(), games));
+    }
+
+    /** 회원 principal(=user id 숫자)이면 Long, 게스트("guest-*")면 null. */
+    private Long memberUserId(String principal) {
+        if (principal != null && principal.matches("\\d+")) {
+            return Long.parseLong(principal);
+        }
+        return null;
+    }
+}
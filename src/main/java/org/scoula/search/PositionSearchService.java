@@ -0,0 +1,294 @@
+package org.scoula.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.scoula.game.GameMoves;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 기보 위치 검색. 보관된 모든 판을 국소 모양 지문(ShapeKeys) 역색인으로 두고, 부분 판을 거친 판을 찾는다.
+ * - 색인: game 행의 id는 write-behind 배치 insert(GameArchiveWriter) 때 정해지므로, index-interval마다
+ *   색인한 가장 큰 id보다 rescan-ids만큼 앞에서부터 fetch-size 커서로 읽어, 아직 색인하지 않은 판만 새
+ *   세그먼트(SearchSegment) 하나로 쓴다. 클러스터에서는 노드마다 writer가 따로 커밋하므로 작은 id가 큰 id보다
+ *   늦게 보일 수 있는데, 그 판도 rescan-ids 창 안에서 커밋되면 다음 주기에 잡힌다. 창 안에서 이미 색인한 id는
+ *   기억해 두었다가 건너뛴다. 세그먼트가 max-segments를 넘으면 작은 최신 세그먼트들을 id순으로 합친다.
+ * - 조회: 맵한 세그먼트만 읽고 DB는 보지 않는다. 지문 목록 교집합으로 후보를 좁힌 뒤 맵한 수순으로 확인한다.
+ * 색인·합치기는 전용 스레드(search-indexer)에서 한다. 한 번에 수만 행을 읽고 세그먼트를 쓰는 일이라 공용 @Scheduled 풀을 잡지 않는다.
+ * 세그먼트 파일 이름에 (첫 id, 끝 id)가 있어, 합치다 멈춘 경우 다른 세그먼트에 판이 모두 들어 있는 파일은 기동 때 지운다.
+ */
+@Slf4j
+@Service
+public class PositionSearchService {
+
+    private static final String SELECT_SQL = "SELECT id, black_user_id, white_user_id, moves FROM game "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".idx";
+
+    /** 검색 결과. matched는 모양을 거친 전체 판 수, mine은 호출한 회원이 둔 판(최신순, limit개까지). */
+    public record Result(long matched, List<Match> mine) {
+    }
+
+    /** 모양이 처음 다 갖춰진 수 번호(1부터)와 함께. */
+    public record Match(long gameId, int ply) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path dir;
+    private final int batchSize;
+    private final int fetchSize;
+    private final int maxSegments;
+    private final long rescanIds;
+    private final Duration indexInterval;
+    private final Duration initialDelay;
+    private final ScheduledExecutorService indexer;
+
+    private volatile List<SearchSegment> segments = List.of();
+    private long lastIndexedId;
+    // (lastIndexedId - rescanIds, lastIndexedId] 안에서 이미 색인한(또는 읽을 수 없어 건너뛴) id
+    private final NavigableSet<Long> recentIds = new TreeSet<>();
+
+    public PositionSearchService(JdbcTemplate jdbcTemplate,
+                                 @Value("${omok.search.dir:./data/position-index}") Path dir,
+                                 @Value("${omok.search.batch-size:50000}") int batchSize,
+                                 @Value("${omok.search.fetch-size:1000}") int fetchSize,
+                                 @Value("${omok.search.max-segments:8}") int maxSegments,
+                                 @Value("${omok.search.rescan-ids:1000}") long rescanIds,
+                                 @Value("${omok.search.index-interval:10s}") Duration indexInterval,
+                                 @Value("${omok.search.initial-delay:10s}") Duration initialDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dir = dir;
+        this.batchSize = Math.max(1, batchSize);
+        this.fetchSize = fetchSize;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.rescanIds = Math.max(0, rescanIds);
+        this.indexInterval = indexInterval;
+        this.initialDelay = initialDelay;
+        this.indexer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "search-indexer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        open();
+        indexer.scheduleWithFixedDelay(this::catchUp, initialDelay.toMillis(), indexInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        indexer.shutdownNow();
+    }
+
+    /** 디렉터리의 세그먼트를 맵한다. 깨진 파일과 합치다 남은 파일은 지우고, 다음 색인이 그 뒤부터 채운다. */
+    synchronized void open() {
+        if (!Files.isDirectory(dir)) return;
+        List<SearchSegment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(PositionSearchService::isSegment).toList()) {
+                try {
+                    opened.add(SearchSegment.open(file));
+                } catch (IOException e) {
+                    log.warn("[SEARCH_SEGMENT_DROP] file={} : {}", file, e.getMessage());
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.error("[SEARCH_OPEN_FAIL] dir={} : {}", dir, e.getMessage(), e);
+            return;
+        }
+        // 넓은 범위부터 보며, 앞서 남긴 세그먼트에 판이 모두 들어 있는 것(합치기 전 원본)은 버린다.
+        // 늦게 커밋된 판만 담은 세그먼트는 범위가 다른 세그먼트 안에 들어가도 판이 겹치지 않으므로 남는다.
+        opened.sort(Comparator.comparingLong((SearchSegment s) -> s.lastId() - s.firstId()).reversed());
+        List<SearchSegment> kept = new ArrayList<>();
+        for (SearchSegment s : opened) {
+            boolean covered = kept.stream().anyMatch(k -> k.firstId() <= s.firstId() && s.lastId() <= k.lastId()
+                    && containsAll(k, s));
+            if (covered) delete(s);
+            else kept.add(s);
+        }
+        kept.sort(Comparator.comparingLong(SearchSegment::firstId));
+        segments = List.copyOf(kept);
+        lastIndexedId = kept.stream().mapToLong(SearchSegment::lastId).max().orElse(0);
+        recentIds.clear();
+        for (SearchSegment s : kept) {
+            for (int ordinal = s.games() - 1; ordinal >= 0 && s.id(ordinal) > lastIndexedId - rescanIds; ordinal--) {
+                recentIds.add(s.id(ordinal));
+            }
+        }
+        log.info("[SEARCH_OPEN] segments={} games={} lastId={}", kept.size(), games(), lastIndexedId);
+    }
+
+    private static boolean containsAll(SearchSegment outer, SearchSegment inner) {
+        for (int ordinal = 0; ordinal < inner.games(); ordinal++) {
+            if (!outer.contains(inner.id(ordinal))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    /**
+     * 색인한 가장 큰 id보다 rescan-ids 앞에서부터 읽어, 아직 색인하지 않은 판을 batch-size개까지 세그먼트 하나로 더한다.
+     * 더한 판 수를 돌려준다.
+     */
+    public synchronized int catchUp() {
+        long started = System.nanoTime();
+        List<IndexedGame> games = new ArrayList<>();
+        List<Long> read = new ArrayList<>();
+        long after = Math.max(0, lastIndexedId - rescanIds);
+        try {
+            // 창 안의 이미 색인한 행은 많아야 rescan-ids개라, 그만큼 더 읽으면 새 판을 batch-size개까지 얻는다.
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setLong(1, after);
+                ps.setInt(2, (int) Math.min(Integer.MAX_VALUE, batchSize + rescanIds));
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                long id = rs.getLong("id");
+                if (recentIds.contains(id) || read.size() >= batchSize) return;
+                read.add(id);
+                try {
+                    games.add(new IndexedGame(id, rs.getLong("black_user_id"), rs.getLong("white_user_id"),
+                            bytes(GameMoves.decode(rs.getBytes("moves")))));
+                } catch (IllegalArgumentException e) {
+                    log.warn("[SEARCH_SKIP] id={} : {}", id, e.getMessage());
+                }
+            });
+            if (!games.isEmpty()) add(games);
+            for (long id : read) {
+                recentIds.add(id);
+                lastIndexedId = Math.max(lastIndexedId, id);
+            }
+            recentIds.headSet(lastIndexedId - rescanIds, true).clear();
+            if (!games.isEmpty()) {
+                log.info("[SEARCH_INDEX] games={} lastId={} segments={} took={}ms", games.size(), lastIndexedId,
+                        segments.size(), (System.nanoTime() - started) / 1_000_000);
+            }
+            if (segments.size() > maxSegments) merge();
+        } catch (IOException | RuntimeException e) {
+            log.error("[SEARCH_INDEX_FAIL] after={} : {}", lastIndexedId, e.getMessage(), e);
+        }
+        return games.size();
+    }
+
+    private static byte[] bytes(GameMoves moves) {
+        byte[] out = new byte[moves.size()];
+        for (int i = 0; i < out.length; i++) out[i] = (byte) moves.index(i);
+        return out;
+    }
+
+    // id 오름차순 games를 새 세그먼트로 쓰고 목록 끝에 붙인다.
+    void add(List<IndexedGame> games) throws IOException {
+        Files.createDirectories(dir);
+        SearchSegment segment = SearchSegment.open(write(games));
+        List<SearchSegment> next = new ArrayList<>(segments);
+        next.add(segment);
+        segments = List.copyOf(next);
+    }
+
+    private Path write(List<IndexedGame> games) throws IOException {
+        Path file = dir.resolve(String.format("%s%019d-%019d%s", PREFIX, games.get(0).id(),
+                games.get(games.size() - 1).id(), SUFFIX));
+        SearchSegment.write(file, games);
+        return file;
+    }
+
+    /**
+     * 최신 세그먼트부터 거슬러 가며, 바로 앞 세그먼트가 지금까지 모은 판 수보다 크지 않은 동안 함께 합친다(최소 둘).
+     * 세그먼트 크기가 대략 두 배씩 커져 한 판이 다시 쓰이는 횟수가 log(판 수)로 묶인다.
+     * 늦게 커밋된 판 때문에 세그먼트끼리 id 범위가 겹칠 수 있어, 모은 판을 id순으로 다시 줄 세우고 같은 id는 하나만 남긴다.
+     */
+    void merge() throws IOException {
+        List<SearchSegment> current = segments;
+        int from = current.size() - 2;
+        long total = current.get(from).games() + (long) current.get(from + 1).games();
+        while (from > 0 && current.get(from - 1).games() <= total) total += current.get(--from).games();
+
+        long started = System.nanoTime();
+        List<IndexedGame> all = new ArrayList<>((int) total);
+        for (int i = from; i < current.size(); i++) {
+            SearchSegment s = current.get(i);
+            for (int ordinal = 0; ordinal < s.games(); ordinal++) all.add(s.game(ordinal));
+        }
+        all.sort(Comparator.comparingLong(IndexedGame::id));
+        List<IndexedGame> games = new ArrayList<>(all.size());
+        for (IndexedGame g : all) {
+            if (games.isEmpty() || games.get(games.size() - 1).id() != g.id()) games.add(g);
+        }
+        SearchSegment merged = SearchSegment.open(write(games));
+        List<SearchSegment> next = new ArrayList<>(current.subList(0, from));
+        next.add(merged);
+        segments = List.copyOf(next);
+        // 늦게 커밋된 판만 더해진 경우 합친 범위가 원본 하나와 같아 같은 파일 이름을 덮어썼을 수 있다.
+        for (int i = from; i < current.size(); i++) {
+            if (!current.get(i).file().equals(merged.file())) delete(current.get(i));
+        }
+        log.info("[SEARCH_MERGE] merged={} games={} segments={} took={}ms", current.size() - from, games.size(),
+                next.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void delete(SearchSegment s) {
+        // 이미 맵한 조회는 마지막 참조가 사라질 때까지 그대로 읽는다.
+        try {
+            Files.deleteIfExists(s.file());
+        } catch (IOException e) {
+            log.warn("[SEARCH_SEGMENT_DELETE_FAIL] file={} : {}", s.file(), e.getMessage());
+        }
+    }
+
+    /** shape를 거친 판을 센다. userId가 있으면 그 회원이 흑이나 백으로 둔 판을 최신순으로 limit개까지 돌려준다. */
+    public Result search(int[] cells, boolean[] black, Long userId, int limit) {
+        ShapeQuery query = new ShapeQuery(cells, black);
+        long member = userId == null ? -1 : userId;
+        int[] moveNo = new int[ShapeKeys.CELLS];
+        List<Match> mine = new ArrayList<>();
+        long matched = 0;
+        for (SearchSegment segment : segments) {
+            matched += segment.search(query, moveNo, (s, ordinal, ply) -> {
+                if (s.blackUserId(ordinal) == member || s.whiteUserId(ordinal) == member) {
+                    mine.add(new Match(s.id(ordinal), ply));
+                }
+            });
+        }
+        mine.sort(Comparator.comparingLong(Match::gameId).reversed());
+        return new Result(matched, mine.size() > limit ? List.copyOf(mine.subList(0, limit)) : mine);
+    }
+
+    public long games() {
+        long total = 0;
+        for (SearchSegment s : segments) total += s.games();
+        return total;
+    }
+
+    int segments() {
+        return segments.size();
+    }
+}
@@ -0,0 +1,289 @@
+package org.scoula.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 위치 검색 역색인의 한 세그먼트. 한 번 쓰면 바뀌지 않고, 읽을 때는 파일 전체를 읽기 전용으로 메모리 맵한다.
+ * 판은 id 순 번호(ordinal)로 가리키고, 대표 지문마다 그 지문을 가진 판 번호를 오름차순으로 둔다(postings).
+ * 후보는 가장 짧은 목록을 따라가며 나머지 목록에서 이분 탐색으로 거르고, 남은 판은 맵한 수순으로 다시 둬서 확인한다.
+ *
+ * [int MAGIC][byte FORMAT][int 판 수][int postings 수][int 수순 바이트][long 첫 id][long 끝 id]
+ * [long id × 판][long 흑 userId × 판][long 백 userId × 판][int 수순 위치 × (판 + 1)]
+ * [int 지문별 postings 위치 × (KEYS + 1)][int 판 번호 × postings][byte 수순][int CRC32C]
+ * 임시 파일에 쓰고 force한 뒤 원자적으로 바꿔치기한다.
+ */
+final class SearchSegment {
+
+    private static final int MAGIC = 0x4F4D4B53; // "OMKS"
+    private static final byte FORMAT = 1;
+    private static final int HEADER = 4 + 1 + 4 + 4 + 4 + 8 + 8;
+
+    /** 확인을 통과한 판. */
+    interface Matches {
+        void accept(SearchSegment segment, int ordinal, int ply);
+    }
+
+    private final Path file;
+    private final MappedByteBuffer buf;
+    private final int games;
+    private final long firstId;
+    private final long lastId;
+    private final int ids, blacks, whites, moveOffsets, keyOffsets, postings, moves;
+
+    private SearchSegment(Path file, MappedByteBuffer buf, int games, int postingCount, long firstId, long lastId) {
+        this.file = file;
+        this.buf = buf;
+        this.games = games;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.ids = HEADER;
+        this.blacks = ids + games * 8;
+        this.whites = blacks + games * 8;
+        this.moveOffsets = whites + games * 8;
+        this.keyOffsets = moveOffsets + (games + 1) * 4;
+        this.postings = keyOffsets + (ShapeKeys.KEYS + 1) * 4;
+        this.moves = postings + postingCount * 4;
+    }
+
+    /** id 오름차순 games를 file에 쓴다. 비어 있으면 안 된다. */
+    static void write(Path file, List<IndexedGame> games) throws IOException {
+        int n = games.size();
+        if (n == 0) throw new IllegalArgumentException("empty segment");
+        // 1차: 지문별 판 수 → postings 위치. 2차: 판 번호를 채운다(판 순서대로라 목록이 저절로 오름차순).
+        int[] offsets = new int[ShapeKeys.KEYS + 1];
+        byte[] colors = new byte[ShapeKeys.CELLS];
+        boolean[] seen = new boolean[ShapeKeys.KEYS];
+        int[] keys = new int[ShapeKeys.CELLS * 5];
+        int moveBytes = 0;
+        for (IndexedGame g : games) {
+            int k = keysOf(g.moves(), colors, seen, keys);
+            for (int i = 0; i < k; i++) offsets[keys[i] + 1]++;
+            moveBytes += g.moves().length;
+        }
+        for (int key = 0; key < ShapeKeys.KEYS; key++) offsets[key + 1] += offsets[key];
+        int[] postings = new int[offsets[ShapeKeys.KEYS]];
+        int[] fill = Arrays.copyOf(offsets, ShapeKeys.KEYS);
+        for (int ordinal = 0; ordinal < n; ordinal++) {
+            int k = keysOf(games.get(ordinal).moves(), colors, seen, keys);
+            for (int i = 0; i < k; i++) postings[fill[keys[i]]++] = ordinal;
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Out out = new Out(ch);
+            out.putInt(MAGIC);
+            out.put(FORMAT);
+            out.putInt(n);
+            out.putInt(postings.length);
+            out.putInt(moveBytes);
+            out.putLong(games.get(0).id());
+            out.putLong(games.get(n - 1).id());
+            for (IndexedGame g : games) out.putLong(g.id());
+            for (IndexedGame g : games) out.putLong(g.blackUserId());
+            for (IndexedGame g : games) out.putLong(g.whiteUserId());
+            int at = 0;
+            for (IndexedGame g : games) {
+                out.putInt(at);
+                at += g.moves().length;
+            }
+            out.putInt(at);
+            for (int offset : offsets) out.putInt(offset);
+            for (int ordinal : postings) out.putInt(ordinal);
+            for (IndexedGame g : games) {
+                for (byte b : g.moves()) out.put(b);
+            }
+            out.finish();
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 끝까지 둔 판의 지문. 돌은 빠지지 않으므로 중간 국면의 지문은 모두 여기에 들어 있다.
+    private static int keysOf(byte[] moves, byte[] colors, boolean[] seen, int[] keys) {
+        Arrays.fill(colors, (byte) -1);
+        for (int i = 0; i < moves.length; i++) colors[moves[i] & 0xFF] = (byte) (i & 1);
+        return ShapeKeys.collect(colors, seen, keys);
+    }
+
+    /** 파일을 맵하고 헤더·길이·CRC를 확인한다. 깨졌으면 IOException. */
+    static SearchSegment open(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER + 4 || size > Integer.MAX_VALUE) throw new IOException("search segment size " + size);
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buf.getInt(0) != MAGIC || buf.get(4) != FORMAT) throw new IOException("not a search segment: " + file);
+        int games = buf.getInt(5);
+        int postingCount = buf.getInt(9);
+        int moveBytes = buf.getInt(13);
+        long end = HEADER + games * 24L + (games + 1) * 4L + (ShapeKeys.KEYS + 1) * 4L + postingCount * 4L + moveBytes;
+        if (games <= 0 || postingCount < 0 || moveBytes < 0 || end + 4 != buf.capacity()) {
+            throw new IOException("search segment truncated: " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(0).limit((int) end));
+        if ((int) crc.getValue() != buf.getInt((int) end)) throw new IOException("search segment checksum mismatch: " + file);
+        return new SearchSegment(file, buf, games, postingCount, buf.getLong(17), buf.getLong(25));
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int games() {
+        return games;
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    long id(int ordinal) {
+        return buf.getLong(ids + ordinal * 8);
+    }
+
+    /** 이 세그먼트에 id 판이 있는지. 판은 id 오름차순으로 쓰인다. */
+    boolean contains(long id) {
+        int lo = 0, hi = games;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (id(mid) < id) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo < games && id(lo) == id;
+    }
+
+    long blackUserId(int ordinal) {
+        return buf.getLong(blacks + ordinal * 8);
+    }
+
+    long whiteUserId(int ordinal) {
+        return buf.getLong(whites + ordinal * 8);
+    }
+
+    /** 맵한 수순을 복사해 돌려준다(병합용). */
+    IndexedGame game(int ordinal) {
+        int from = buf.getInt(moveOffsets + ordinal * 4), to = buf.getInt(moveOffsets + ordinal * 4 + 4);
+        byte[] bytes = new byte[to - from];
+        buf.get(moves + from, bytes);
+        return new IndexedGame(id(ordinal), blackUserId(ordinal), whiteUserId(ordinal), bytes);
+    }
+
+    private int listStart(int key) {
+        return buf.getInt(keyOffsets + key * 4);
+    }
+
+    private int listEnd(int key) {
+        return buf.getInt(keyOffsets + key * 4 + 4);
+    }
+
+    private int posting(int i) {
+        return buf.getInt(postings + i * 4);
+    }
+
+    /** query의 지문을 모두 가진 판을 다시 둬 보고, 모양을 거친 판을 matches로 넘긴다. 넘긴 판 수를 돌려준다. */
+    int search(ShapeQuery query, int[] moveNo, Matches matches) {
+        int[] keys = query.keys();
+        int k = keys.length;
+        // 짧은 목록부터. from[i]는 i번째 목록에서 아직 보지 않은 첫 자리(후보가 오름차순이라 뒤로만 간다).
+        Integer[] order = new Integer[k];
+        for (int i = 0; i < k; i++) order[i] = keys[i];
+        Arrays.sort(order, (a, b) -> Integer.compare(listEnd(a) - listStart(a), listEnd(b) - listStart(b)));
+        int[] from = new int[k], to = new int[k];
+        for (int i = 0; i < k; i++) {
+            from[i] = listStart(order[i]);
+            to[i] = listEnd(order[i]);
+        }
+        int found = 0;
+        candidates:
+        for (int p = from[0]; p < to[0]; p++) {
+            int ordinal = posting(p);
+            for (int i = 1; i < k; i++) {
+                from[i] = lowerBound(from[i], to[i], ordinal);
+                if (from[i] == to[i]) break candidates;
+                if (posting(from[i]) != ordinal) continue candidates;
+            }
+            int ply = replay(ordinal, moveNo, query);
+            if (ply > 0) {
+                matches.accept(this, ordinal, ply);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int lowerBound(int lo, int hi, int ordinal) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (posting(mid) < ordinal) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // moveNo에 판을 다시 두고 확인한 뒤 놓은 칸만 지운다.
+    private int replay(int ordinal, int[] moveNo, ShapeQuery query) {
+        int from = buf.getInt(moveOffsets + ordinal * 4), to = buf.getInt(moveOffsets + ordinal * 4 + 4);
+        for (int i = from; i < to; i++) moveNo[buf.get(moves + i) & 0xFF] = i - from + 1;
+        int ply = query.firstPly(moveNo);
+        for (int i = from; i < to; i++) moveNo[buf.get(moves + i) & 0xFF] = 0;
+        return ply;
+    }
+
+    /** 덩어리 단위로 쓰며 CRC를 함께 센다. */
+    private static final class Out {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+        private final CRC32C crc = new CRC32C();
+
+        Out(FileChannel ch) {
+            this.ch = ch;
+        }
+
+        void put(byte b) throws IOException {
+            room(1).put(b);
+        }
+
+        void putInt(int v) throws IOException {
+            room(4).putInt(v);
+        }
+
+        void putLong(long v) throws IOException {
+            room(8).putLong(v);
+        }
+
+        private ByteBuffer room(int bytes) throws IOException {
+            if (buf.remaining() < bytes) drain();
+            return buf;
+        }
+
+        private void drain() throws IOException {
+            crc.update(buf.array(), 0, buf.position());
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        void finish() throws IOException {
+            drain();
+            buf.putInt((int) crc.getValue()).flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.scoula.search;
+
+import org.scoula.opening.Symmetry;
+
+/**
+ * 위치 검색의 국소 모양 지문. 판의 돌마다 (칸, 색) 하나와, 이웃한 돌과 이루는 (칸, 방향, 두 색) 쌍 하나씩을 낸다.
+ * 쌍은 칸 번호가 작은 돌에서 오른쪽·아래·오른쪽 아래·왼쪽 아래 네 방향만 본다(같은 쌍을 두 번 세지 않게).
+ * 지문은 여덟 대칭으로 옮긴 값 중 가장 작은 것으로 모아 두므로(CANONICAL), 돌리거나 뒤집은 같은 모양은 같은 지문이다.
+ * 지문 공간이 작아(KEYS) 역색인의 키 표를 빽빽한 배열로 둔다.
+ */
+final class ShapeKeys {
+
+    static final int CELLS = 225;
+    private static final int SIZE = 15;
+    private static final int SINGLES = CELLS * 2;
+    static final int KEYS = SINGLES + CELLS * 4 * 4;
+    // 칸 번호가 커지는 방향: →, ↓, ↘, ↙
+    private static final int[][] DIRS = {{1, 0}, {0, 1}, {1, 1}, {-1, 1}};
+    // 원래 지문 → 대표 지문. 판 밖으로 나가는 쌍은 -1.
+    private static final int[] CANONICAL = new int[KEYS];
+
+    static {
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int color = 0; color < 2; color++) {
+                int best = Integer.MAX_VALUE;
+                for (int s = 0; s < Symmetry.COUNT; s++) best = Math.min(best, single(Symmetry.apply(s, cell), color));
+                CANONICAL[single(cell, color)] = best;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int other = neighbour(cell, dir);
+                for (int colors = 0; colors < 4; colors++) {
+                    if (other < 0) {
+                        CANONICAL[pair(cell, dir, colors)] = -1;
+                        continue;
+                    }
+                    int best = Integer.MAX_VALUE;
+                    for (int s = 0; s < Symmetry.COUNT; s++) {
+                        best = Math.min(best, orderedPair(Symmetry.apply(s, cell), colors >> 1,
+                                Symmetry.apply(s, other), colors & 1));
+                    }
+                    CANONICAL[pair(cell, dir, colors)] = best;
+                }
+            }
+        }
+    }
+
+    private ShapeKeys() {
+    }
+
+    private static int single(int cell, int color) {
+        return cell * 2 + color;
+    }
+
+    private static int pair(int cell, int dir, int colors) {
+        return SINGLES + (cell * 4 + dir) * 4 + colors;
+    }
+
+    // 두 칸을 칸 번호 순으로 세워 원래 지문으로.
+    private static int orderedPair(int a, int colorA, int b, int colorB) {
+        if (a > b) return orderedPair(b, colorB, a, colorA);
+        int dx = b % SIZE - a % SIZE, dy = b / SIZE - a / SIZE;
+        for (int dir = 0; dir < 4; dir++) {
+            if (DIRS[dir][0] == dx && DIRS[dir][1] == dy) return pair(a, dir, colorA * 2 + colorB);
+        }
+        throw new IllegalStateException("not adjacent: " + a + ", " + b);
+    }
+
+    private static int neighbour(int cell, int dir) {
+        int x = cell % SIZE + DIRS[dir][0], y = cell / SIZE + DIRS[dir][1];
+        return x < 0 || x >= SIZE || y >= SIZE ? -1 : y * SIZE + x;
+    }
+
+    /**
+     * 판의 대표 지문들을 out에 겹치지 않게 담고 개수를 돌려준다. colors는 칸마다 -1(빈 칸)·0(흑)·1(백).
+     * seen은 KEYS 길이의 작업 배열이며 돌려줄 때 다시 비워 둔다. out은 돌 수 × 5 이상이어야 한다.
+     */
+    static int collect(byte[] colors, boolean[] seen, int[] out) {
+        int n = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int color = colors[cell];
+            if (color < 0) continue;
+            n = add(CANONICAL[single(cell, color)], seen, out, n);
+            for (int dir = 0; dir < 4; dir++) {
+                int other = neighbour(cell, dir);
+                if (other < 0 || colors[other] < 0) continue;
+                n = add(CANONICAL[pair(cell, dir, color * 2 + colors[other])], seen, out, n);
+            }
+        }
+        for (int i = 0; i < n; i++) seen[out[i]] = false;
+        return n;
+    }
+
+    private static int add(int key, boolean[] seen, int[] out, int n) {
+        if (seen[key]) return n;
+        seen[key] = true;
+        out[n] = key;
+        return n + 1;
+    }
+}
@@ -0,0 +1,81 @@
+package org.scoula.search;
+
+import org.scoula.opening.Symmetry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 찾을 부분 판. 돌들(칸, 흑 여부)과, 돌리거나 뒤집어 서로 다른 배치만 남긴 변형들, 역색인에서 찾을 대표 지문들을 가진다.
+ * 기보는 돌이 한 번 놓이면 빠지지 않으므로, 어느 변형의 돌이 모두 (같은 색으로) 놓인 판은 그 모양을 거쳤다.
+ */
+final class ShapeQuery {
+
+    private final boolean[] black;
+    private final int[][] variants;
+    private final int[] keys;
+
+    ShapeQuery(int[] cells, boolean[] black) {
+        if (cells.length == 0 || cells.length != black.length) throw new IllegalArgumentException("empty shape");
+        byte[] colors = new byte[ShapeKeys.CELLS];
+        Arrays.fill(colors, (byte) -1);
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            if (cell < 0 || cell >= ShapeKeys.CELLS) throw new IllegalArgumentException("cell out of range: " + cell);
+            if (colors[cell] >= 0) throw new IllegalArgumentException("duplicate cell: " + cell);
+            colors[cell] = (byte) (black[i] ? 0 : 1);
+        }
+        this.black = black.clone();
+        this.variants = distinctVariants(cells, black);
+        int[] out = new int[cells.length * 5];
+        this.keys = Arrays.copyOf(out, ShapeKeys.collect(colors, new boolean[ShapeKeys.KEYS], out));
+    }
+
+    // 대칭마다 옮긴 돌들을 (칸, 색) 순으로 정렬해 비교하고 같은 배치는 한 번만 남긴다.
+    private static int[][] distinctVariants(int[] cells, boolean[] black) {
+        List<int[]> variants = new ArrayList<>(Symmetry.COUNT);
+        List<long[]> signatures = new ArrayList<>(Symmetry.COUNT);
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            int[] moved = new int[cells.length];
+            long[] signature = new long[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                moved[i] = Symmetry.apply(s, cells[i]);
+                signature[i] = moved[i] * 2L + (black[i] ? 0 : 1);
+            }
+            Arrays.sort(signature);
+            boolean seen = false;
+            for (long[] other : signatures) seen |= Arrays.equals(other, signature);
+            if (seen) continue;
+            signatures.add(signature);
+            variants.add(moved);
+        }
+        return variants.toArray(new int[0][]);
+    }
+
+    int stones() {
+        return black.length;
+    }
+
+    /** 역색인에서 모두 가져야 하는 대표 지문들. */
+    int[] keys() {
+        return keys;
+    }
+
+    /**
+     * moveNo(칸마다 놓인 수 번호, 1부터, 0이면 빈 칸)인 판이 이 모양을 거쳤으면 모양이 처음 다 갖춰진 수 번호,
+     * 아니면 0. 흑은 홀수 수다.
+     */
+    int firstPly(int[] moveNo) {
+        int best = 0;
+        for (int[] cells : variants) {
+            int ply = 0;
+            for (int i = 0; i < cells.length && ply >= 0; i++) {
+                int m = moveNo[cells[i]];
+                ply = m != 0 && ((m & 1) == 1) == black[i] ? Math.max(ply, m) : -1;
+            }
+            if (ply > 0 && (best == 0 || ply < best)) best = ply;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,7 @@
+package org.scoula.search.dto;
+
+/** 모양을 거친 내 기보. ply는 모양이 처음 다 갖춰진 수 번호(1부터). */
+public record PositionMatch(
+        long gameId,
+        int ply) {
+}
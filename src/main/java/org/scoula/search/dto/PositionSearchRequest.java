@@ -0,0 +1,9 @@
+package org.scoula.search.dto;
+
+import java.util.List;
+
+/** 부분 판 검색. 돌리거나 뒤집은 같은 모양도 찾는다. limit은 돌려받을 내 기보 수(기본 20, 최대 100). */
+public record PositionSearchRequest(
+        List<SearchStone> stones,
+        Integer limit) {
+}
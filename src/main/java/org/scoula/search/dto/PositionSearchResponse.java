@@ -0,0 +1,12 @@
+package org.scoula.search.dto;
+
+import java.util.List;
+
+/**
+ * 위치 검색 결과. matched는 모양을 거친 보관 기보 전체 수, games는 그중 내가 둔 판(최신순).
+ * 남의 기보는 상세 조회와 같은 규칙으로 id를 내주지 않는다.
+ */
+public record PositionSearchResponse(
+        long matched,
+        List<PositionMatch> games) {
+}
@@ -0,0 +1,9 @@
+package org.scoula.search.dto;
+
+import org.scoula.game.WinnerColor;
+
+/** 찾을 모양의 돌 하나. index = y*15 + x. */
+public record SearchStone(
+        int index,
+        WinnerColor color) {
+}
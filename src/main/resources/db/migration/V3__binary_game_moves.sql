@@ -0,0 +1,6 @@
+-- game.moves: index CSV(TEXT) → 바이너리(VARBINARY). 포맷은 GameMoves 참고(1바이트/수 + 선택적 소요 시간 varint).
+-- TEXT → VARBINARY 변환은 기존 CSV의 ASCII 바이트를 그대로 보존하고, 앱(GameMovesConverter)이 첫 바이트로
+-- 구 CSV 행을 구분해 읽으므로 데이터 이관 없이 컬럼 타입만 바꾼다.
+-- 최대 길이: 헤더 2 + index 225 + varint 225×5 = 1352바이트, 구 CSV 최대 899바이트.
+
+ALTER TABLE game MODIFY moves VARBINARY(2048) NOT NULL;
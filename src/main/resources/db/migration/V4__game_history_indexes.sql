@@ -0,0 +1,9 @@
+-- 내 기보 목록 keyset 페이지네이션용 복합 인덱스.
+-- 흑/백 각각 (user_id, created_at, id) 범위를 역방향으로 스캔해 "커서 이전 N건"을 바로 읽는다.
+-- 기존 단일 컬럼 인덱스는 새 인덱스의 접두어라 중복이므로 제거한다.
+
+ALTER TABLE game
+    ADD INDEX idx_game_black_history (black_user_id, created_at, id),
+    ADD INDEX idx_game_white_history (white_user_id, created_at, id),
+    DROP INDEX idx_game_black_user,
+    DROP INDEX idx_game_white_user;
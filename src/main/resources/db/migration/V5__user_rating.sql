@@ -0,0 +1,15 @@
+-- 회원 레이팅(Elo). 대국 종료 훅(GameArchiveService → RatingService)이 두 사람 행을 한 트랜잭션에서 갱신한다.
+-- 테이블 락 대신 version 컬럼으로 낙관적 잠금을 건다(여러 노드가 같은 회원을 동시에 갱신하면 한쪽이 재시도).
+-- 행은 회원의 첫 레이팅 대국 때 생긴다. 리더보드는 기동 시 이 테이블을 한 번 읽어 메모리에 올린다.
+
+CREATE TABLE user_rating (
+    user_id    BIGINT      NOT NULL,
+    rating     INT         NOT NULL,
+    games      INT         NOT NULL,
+    wins       INT         NOT NULL,
+    losses     INT         NOT NULL,
+    version    BIGINT      NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_rating_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
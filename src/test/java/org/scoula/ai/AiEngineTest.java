@@ -0,0 +1,101 @@
+package org.scoula.ai;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.room.service.RenjuRuleEngine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AI 착수 검증: 이기는 오를 두고, 상대 사·열린 삼을 막고, 연속 사(VCF)로 이기는 첫 수를 찾는다.
+ * 흑이면 렌주 금수점(3-3)은 가장 좋아 보여도 두지 않는다.
+ */
+class AiEngineTest {
+
+    private static final long BUDGET = 500_000_000L;
+
+    private final RenjuRuleEngine rules = new RenjuRuleEngine();
+    private final AiEngine engine = new AiEngine(rules, 1 << 16, 12);
+
+    /** 'X' 흑, 'O' 백. 칸 값은 색만 맞춘 착수 순번(흑 홀수, 백 짝수)이고, 차례는 돌 수로 정해진다. */
+    private static int[][] board(String... rows) {
+        int[][] board = new int[15][15];
+        int black = 1, white = 2;
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                char c = rows[y].charAt(x);
+                if (c == 'X') {
+                    board[y][x] = black;
+                    black += 2;
+                } else if (c == 'O') {
+                    board[y][x] = white;
+                    white += 2;
+                }
+            }
+        }
+        return board;
+    }
+
+    private static int at(int x, int y) {
+        return y * 15 + x;
+    }
+
+    @Test
+    void opensInTheCenter() {
+        assertEquals(at(7, 7), engine.choose(new int[15][15], BUDGET).index());
+    }
+
+    @Test
+    void completesFive() {
+        // 흑 차례. 7행 x=3..6 흑 넷, 양 끝이 비어 있다.
+        AiEngine.Move move = engine.choose(board(
+                "O.O", "", "O.O", "", "", "", "", "...XXXX"), BUDGET);
+        assertEquals("FIVE", move.kind());
+        assertTrue(move.index() == at(2, 7) || move.index() == at(7, 7));
+    }
+
+    @Test
+    void blocksFour() {
+        // 흑 차례. 백 사(2행 x=1..4, 왼쪽은 흑이 막음)의 오 자리는 (5,2) 하나다.
+        AiEngine.Move move = engine.choose(board(
+                "", "", "XOOOO", "", "", "", "", "", "", "", "X.X.X"), BUDGET);
+        assertEquals("BLOCK", move.kind());
+        assertEquals(at(5, 2), move.index());
+    }
+
+    @Test
+    void blocksOpenThree() {
+        // 백 차례. 흑 열린 삼(7행 x=5..7)을 두지 않으면 다음 수에 열린 사가 된다.
+        int index = engine.choose(board(
+                "", "", "", "", "", "", "", ".....XXX", "", "", "", "", "O.O"), BUDGET).index();
+        assertTrue(index == at(4, 7) || index == at(8, 7), "열린 삼 양 끝 중 하나: " + index);
+    }
+
+    @Test
+    void findsVictoryByContinuousFours() {
+        // 백 차례. (8,5)는 5행 사(흑이 (9,5)로 막아야 함)이면서 8열 삼을 만들고, 다음 (8,4)가 열린 사다.
+        int[][] board = board(
+                "X.X", "", "", "", "",
+                "....XOOO", "........O", "........O", "", "........X",
+                "", "", "", "", "X.X");
+        AiEngine.Move move = engine.choose(board, BUDGET);
+        assertEquals("VCF", move.kind());
+        assertEquals(at(8, 5), move.index());
+    }
+
+    @Test
+    void blackNeverPlaysForbiddenPoint() {
+        // 흑 차례. (7,7)은 가로·세로 열린 삼이 겹치는 3-3 금수다.
+        int[][] board = board(
+                "O.............O", "", "", "", "",
+                ".......X", ".......X", ".....XX", "", "", "", "", "", "",
+                "O.............O");
+        assertTrue(rules.isForbidden(board, at(7, 7)));
+        int index = engine.choose(board, BUDGET).index();
+        assertNotEquals(at(7, 7), index);
+        assertEquals(0, board[index / 15][index % 15]);
+        assertFalse(rules.isForbidden(board, index));
+    }
+}
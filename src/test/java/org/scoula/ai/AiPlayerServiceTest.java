@@ -0,0 +1,115 @@
+package org.scoula.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.game.GameArchiveService;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameClockService;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RoomBroadcaster;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomJournal;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomShardExecutor;
+import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SpectatorFanout;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AI 자리 검증: 혼자 기다리는 방의 멤버만 AI를 앉힐 수 있고, 사람이 READY하면 AI도 READY해 대국이 시작되며,
+ * AI 차례가 오면 탐색 풀에서 고른 수를 사람과 같은 착수 경로로 둔다. 사람이 모두 나가면 자리를 비운다.
+ */
+class AiPlayerServiceTest {
+
+    private static final String HUMAN = "user:1";
+
+    private final RoomServiceImpl roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+            RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
+    private final RoomTimers timers = RoomTimers.standalone();
+    private RoomSocketService sockets;
+    private final AiPlayerService ai = new AiPlayerService(roomService, RoomShardExecutor.callerRuns(), () -> sockets,
+            new AiEngine(new RenjuRuleEngine(), 1 << 16, 6), 1, 4, Duration.ofMillis(50));
+
+    {
+        sockets = new RoomSocketService(mock(RoomBroadcaster.class), roomService,
+                new GameService(new RenjuRuleEngine(), OmokMetrics.NONE), mock(GameArchiveService.class), timers, RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, ai);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ai.shutdown();
+        timers.shutdown();
+    }
+
+    private String roomWithHuman() {
+        Room room = roomService.createRoom("vs AI", null);
+        assertEquals(1, roomService.joinRoom(room.getRoomId(), new Player("p1", "사람"), null, HUMAN));
+        return room.getRoomId();
+    }
+
+    @Test
+    void onlyMemberCanSeatAiInWaitingRoom() {
+        String roomId = roomWithHuman();
+
+        assertEquals(AiPlayerService.Seat.NOT_FOUND, ai.seat("missing", HUMAN));
+        assertEquals(AiPlayerService.Seat.NOT_MEMBER, ai.seat(roomId, "user:2"));
+        assertEquals(AiPlayerService.Seat.SEATED, ai.seat(roomId, HUMAN));
+        assertTrue(roomService.getRoom(roomId).isMember(AiPlayerService.PRINCIPAL));
+        assertEquals(AiPlayerService.Seat.UNAVAILABLE, ai.seat(roomId, HUMAN), "이미 두 자리가 찼다");
+    }
+
+    @Test
+    void readiesWithHumanAndAnswersMoves() throws InterruptedException {
+        String roomId = roomWithHuman();
+        ai.seat(roomId, HUMAN);
+        Room room = roomService.getRoom(roomId);
+
+        sockets.processReady(roomId, HUMAN);
+        assertEquals(2, room.getReady(), "사람이 READY하면 AI도 READY한다");
+        await(room::isPlaying);
+
+        // AI가 흑이면 먼저 두고, 사람이 흑이면 가운데에 둔 뒤 AI의 응수를 기다린다.
+        boolean humanIsBlack = HUMAN.equals(room.blackPrincipal());
+        if (humanIsBlack) sockets.processMove(roomId, HUMAN, 7 * 15 + 7);
+        int expectedTurn = humanIsBlack ? 3 : 2;
+        await(() -> room.getTurn() == expectedTurn);
+        assertEquals(expectedTurn - 1, room.getMoveHistory().size());
+        assertTrue(room.isPlaying());
+        assertEquals(1, ai.searched());
+    }
+
+    @Test
+    void releasesSeatWhenHumansLeave() {
+        String roomId = roomWithHuman();
+        ai.seat(roomId, HUMAN);
+
+        ai.releaseIfAlone(roomId);
+        assertTrue(roomService.getRoom(roomId).isMember(AiPlayerService.PRINCIPAL), "사람이 있으면 그대로");
+
+        roomService.leaveRoom(roomId, "p1");
+        ai.releaseIfAlone(roomId);
+        assertFalse(roomService.getRoomList().stream().anyMatch(r -> r.getRoomId().equals(roomId)),
+                "마지막 자리가 비면 방도 사라진다");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "5초 안에 조건이 맞지 않았다");
+            Thread.sleep(10);
+        }
+    }
+}
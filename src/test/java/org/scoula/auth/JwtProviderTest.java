@@ -6,6 +6,8 @@ import org.scoula.user.Role;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -64,4 +66,25 @@ class JwtProviderTest {
     void shortSecretFailsFast() {
         assertThrows(IllegalStateException.class, () -> new JwtProvider("too-short", 1000, 1000));
     }
+
+    @Test
+    void verifyReturnsAllClaimsInOneParse() {
+        String token = jwt.createAccessToken("42", Role.USER);
+        VerifiedToken verified = jwt.verify(token);
+        assertEquals("42", verified.subject());
+        assertEquals(Role.USER, verified.role());
+        assertTrue(verified.isAccess());
+        assertNotNull(verified.expiresAt());
+    }
+
+    @Test
+    void cachedProviderReturnsSameClaimsAndStillRejectsTampered() {
+        JwtProvider cached = new JwtProvider(SECRET, 1_800_000, 1_209_600_000, 100);
+        String token = cached.createAccessToken("7", Role.GUEST);
+        VerifiedToken first = cached.verify(token);
+        assertSame(first, cached.verify(token), "두 번째 검증은 캐시에서 나와야 한다");
+
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+        assertThrows(JwtException.class, () -> cached.verify(tampered));
+    }
 }
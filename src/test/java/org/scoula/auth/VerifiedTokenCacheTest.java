@@ -0,0 +1,74 @@
+package org.scoula.auth;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.user.Role;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 검증 캐시: 토큰 exp가 지나면 꺼내 주지 않고, 최대 크기를 넘지 않는다.
+ */
+class VerifiedTokenCacheTest {
+
+    /** 테스트 제어용 가변 시계. */
+    private static final class MutableClock extends Clock {
+        private long millis;
+        MutableClock(long start) { this.millis = start; }
+        void advance(long ms) { this.millis += ms; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public long millis() { return millis; }
+    }
+
+    private static VerifiedToken access(String subject, long expMillis) {
+        return new VerifiedToken(subject, Role.USER, JwtProvider.TYPE_ACCESS, Instant.ofEpochMilli(expMillis));
+    }
+
+    @Test
+    void returnsCachedClaimsBeforeExpiry() {
+        MutableClock clock = new MutableClock(1_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        VerifiedToken token = access("1", 5_000);
+        cache.put("a.b.c", token);
+
+        assertSame(token, cache.get("a.b.c"));
+        assertNull(cache.get("a.b.d"), "다른 토큰은 캐시에 없어야 한다");
+    }
+
+    @Test
+    void dropsExpiredEntryOnLookup() {
+        MutableClock clock = new MutableClock(1_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.put("a.b.c", access("1", 5_000));
+
+        clock.advance(4_000);
+        assertNull(cache.get("a.b.c"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void neverExceedsMaxSize() {
+        MutableClock clock = new MutableClock(0);
+        VerifiedTokenCache cache = new VerifiedTokenCache(4, clock);
+        for (int i = 0; i < 50; i++) {
+            cache.put("token-" + i, access(Integer.toString(i), 60_000));
+            assertTrue(cache.size() <= 4);
+        }
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, new MutableClock(0));
+        cache.put("a.b.c", access("1", 60_000));
+        assertNull(cache.get("a.b.c"));
+    }
+}
@@ -0,0 +1,48 @@
+package org.scoula.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내부 호출 토큰 검증: 클러스터 모드에서 공유 비밀과 같을 때만 인가하고, 꺼져 있으면 무엇이든 거부한다.
+ * 클러스터 모드에서 비밀이 비어 있으면 부팅하지 않는다.
+ */
+class ClusterClientTest {
+
+    private static RoomOwnership cluster() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put("a", "http://a:8080");
+        nodes.put("b", "http://b:8080");
+        return new RoomOwnership(true, "a", nodes);
+    }
+
+    @Test
+    void 토큰이_비밀과_같을_때만_인가한다() {
+        ClusterClient client = new ClusterClient(cluster(), "s3cret", Duration.ofSeconds(1));
+
+        assertTrue(client.authorized("s3cret"));
+        assertFalse(client.authorized("s3cre"));
+        assertFalse(client.authorized("S3CRET"));
+        assertFalse(client.authorized(""));
+        assertFalse(client.authorized(null));
+    }
+
+    @Test
+    void 클러스터가_꺼져_있으면_토큰이_맞아도_거부한다() {
+        ClusterClient client = new ClusterClient(RoomOwnership.standalone(), "s3cret", Duration.ofSeconds(1));
+
+        assertFalse(client.authorized("s3cret"));
+    }
+
+    @Test
+    void 클러스터_모드에서_비밀이_없으면_부팅하지_않는다() {
+        assertThrows(IllegalStateException.class, () -> new ClusterClient(cluster(), " ", Duration.ofSeconds(1)));
+    }
+}
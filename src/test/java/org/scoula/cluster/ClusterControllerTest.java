@@ -0,0 +1,57 @@
+package org.scoula.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.RoomCommand;
+import org.scoula.room.service.LobbyService;
+import org.scoula.room.service.RoomCommandRouter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 내부 엔드포인트 검증: 클러스터 토큰이 맞으면 명령은 이 노드에서 바로 실행하고(execute, 다시 넘기지 않음)
+ * 로비 변경분은 applyRemote로 반영한다. 토큰이 틀리면 403이고 아무것도 하지 않는다.
+ */
+class ClusterControllerTest {
+
+    private final ClusterClient client = mock(ClusterClient.class);
+    private final RoomCommandRouter router = mock(RoomCommandRouter.class);
+    private final LobbyService lobby = mock(LobbyService.class);
+    private final ClusterController controller = new ClusterController(client, router, lobby);
+
+    @Test
+    void 토큰이_맞으면_명령을_이_노드에서_실행한다() {
+        when(client.authorized("s3cret")).thenReturn(true);
+        RoomCommand move = RoomCommand.move("r1", "2", 112);
+
+        assertEquals(202, controller.command("s3cret", move).getStatusCode().value());
+        verify(router).execute(move);
+        verify(router, never()).dispatch(any());
+    }
+
+    @Test
+    void 토큰이_틀리면_명령을_403으로_거부한다() {
+        assertEquals(403, controller.command("nope", RoomCommand.move("r1", "2", 112)).getStatusCode().value());
+        assertEquals(403, controller.command(null, RoomCommand.move("r1", "2", 112)).getStatusCode().value());
+
+        verify(router, never()).execute(any());
+        verify(router, never()).dispatch(any());
+    }
+
+    @Test
+    void 토큰이_맞으면_로비_변경분을_반영하고_틀리면_거부한다() {
+        when(client.authorized("s3cret")).thenReturn(true);
+        LobbyDelta delta = LobbyDelta.remove(7, "r1");
+
+        assertEquals(403, controller.lobby("nope", delta).getStatusCode().value());
+        verify(lobby, never()).applyRemote(any());
+
+        assertEquals(202, controller.lobby("s3cret", delta).getStatusCode().value());
+        verify(lobby).applyRemote(delta);
+    }
+}
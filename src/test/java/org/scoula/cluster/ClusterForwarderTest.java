@@ -0,0 +1,73 @@
+package org.scoula.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.RoomCommand;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * 명령·로비 변경분 전달 검증.
+ * - 주인이 다른 노드인 방의 명령만 그 노드의 /commands로 보내고, 로컬 방·roomId 없는 명령은 넘기지 않는다.
+ * - 로비 변경분은 자기 자신을 뺀 모든 노드로 보낸다. 클러스터가 꺼져 있으면 아무것도 보내지 않는다.
+ */
+class ClusterForwarderTest {
+
+    private static Map<String, String> nodes(String... ids) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String id : ids) map.put(id, "http://" + id + ":8080");
+        return map;
+    }
+
+    private final ClusterClient client = mock(ClusterClient.class);
+    private final RoomOwnership onA = new RoomOwnership(true, "a", nodes("a", "b", "c"));
+    private final ClusterForwarder forwarder = new ClusterForwarder(onA, client);
+
+    @Test
+    void 다른_노드_방의_명령은_주인_노드로_보낸다() {
+        String roomOfB = new RoomOwnership(true, "b", nodes("a", "b", "c")).newLocalRoomId();
+        RoomCommand move = RoomCommand.move(roomOfB, "2", 112);
+
+        assertTrue(forwarder.forward(move));
+        verify(client).send("b", ClusterForwarder.COMMANDS_PATH, move);
+    }
+
+    @Test
+    void 로컬_방과_roomId_없는_명령은_넘기지_않는다() {
+        assertFalse(forwarder.forward(RoomCommand.move(onA.newLocalRoomId(), "2", 112)));
+        assertFalse(forwarder.forward(RoomCommand.disconnect(null, "2", "s1")));
+
+        verify(client, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void 로비_변경분은_나머지_노드_모두에_보낸다() {
+        LobbyDelta delta = LobbyDelta.remove(7, "r1");
+
+        forwarder.replicate(delta);
+
+        verify(client).send("b", ClusterForwarder.LOBBY_PATH, delta);
+        verify(client).send("c", ClusterForwarder.LOBBY_PATH, delta);
+        verifyNoMoreInteractions(client);
+    }
+
+    @Test
+    void 클러스터가_꺼져_있으면_아무것도_보내지_않는다() {
+        ClusterForwarder standalone = new ClusterForwarder(RoomOwnership.standalone(), client);
+
+        assertFalse(standalone.forward(RoomCommand.move("r1", "2", 112)));
+        standalone.replicate(LobbyDelta.remove(7, "r1"));
+
+        verify(client, never()).send(anyString(), anyString(), any());
+    }
+}
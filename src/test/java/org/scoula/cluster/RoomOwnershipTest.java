@@ -0,0 +1,89 @@
+package org.scoula.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * consistent hash 방 소유 검증.
+ * - 같은 노드 목록이면 어느 노드에서 계산해도 주인이 같다.
+ * - 방이 노드마다 고르게 나뉘고, 노드를 하나 늘리면 새 노드 몫만 옮겨 간다.
+ * - 새 방 id는 항상 만든 노드가 주인이다.
+ */
+class RoomOwnershipTest {
+
+    private static Map<String, String> nodes(String... ids) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String id : ids) map.put(id, "http://" + id + ":8080");
+        return map;
+    }
+
+    private static List<String> roomIds(int n) {
+        return java.util.stream.IntStream.range(0, n).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    }
+
+    @Test
+    void 노드가_달라도_같은_목록이면_주인이_같다() {
+        RoomOwnership onA = new RoomOwnership(true, "a", nodes("a", "b", "c"));
+        RoomOwnership onC = new RoomOwnership(true, "c", nodes("a", "b", "c"));
+
+        for (String roomId : roomIds(1_000)) {
+            assertEquals(onA.ownerOf(roomId), onC.ownerOf(roomId));
+        }
+    }
+
+    @Test
+    void 방이_고르게_나뉘고_노드를_늘리면_새_노드_몫만_옮긴다() {
+        RoomOwnership three = new RoomOwnership(true, "a", nodes("a", "b", "c"));
+        RoomOwnership four = new RoomOwnership(true, "a", nodes("a", "b", "c", "d"));
+        List<String> rooms = roomIds(20_000);
+
+        Map<String, Integer> counts = new HashMap<>();
+        int moved = 0;
+        for (String roomId : rooms) {
+            String before = three.ownerOf(roomId);
+            String after = four.ownerOf(roomId);
+            counts.merge(before, 1, Integer::sum);
+            if (!before.equals(after)) {
+                moved++;
+                assertEquals("d", after, "옮겨 가는 방은 새 노드로만 간다");
+            }
+        }
+        for (int count : counts.values()) {
+            assertTrue(count > rooms.size() / 3 * 0.8 && count < rooms.size() / 3 * 1.2, "counts=" + counts);
+        }
+        assertTrue(moved < rooms.size() / 4 * 1.3, "moved=" + moved);
+    }
+
+    @Test
+    void 새_방_id는_만든_노드가_주인이다() {
+        RoomOwnership b = new RoomOwnership(true, "b", nodes("a", "b", "c"));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(b.isLocal(b.newLocalRoomId()));
+        }
+        assertEquals(List.of("a", "c"), b.peers());
+    }
+
+    @Test
+    void 단일_노드면_모든_방이_로컬이다() {
+        RoomOwnership standalone = RoomOwnership.standalone();
+        assertTrue(standalone.isLocal("아무-방"));
+        assertEquals(List.of(), standalone.peers());
+    }
+
+    @Test
+    void 노드_목록을_검증한다() {
+        assertEquals(Map.of("a", "http://h1:8080", "b", "http://h2"),
+                RoomOwnership.parseNodes(" a=http://h1:8080 , b=http://h2/ "));
+        assertThrows(IllegalArgumentException.class, () -> RoomOwnership.parseNodes("a"));
+        assertThrows(IllegalStateException.class, () -> new RoomOwnership(true, "z", nodes("a", "b")));
+    }
+}
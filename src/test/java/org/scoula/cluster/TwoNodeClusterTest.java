@@ -0,0 +1,163 @@
+package org.scoula.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.RoomCommand;
+import org.scoula.room.service.LobbyService;
+import org.scoula.room.service.RoomCommandRouter;
+import org.scoula.room.service.RoomJournal;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomShardExecutor;
+import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SpectatorFanout;
+import org.scoula.room.service.WebSocketEventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 두 노드를 한 JVM 안에서 서로 이어 붙인 전달 검증. 노드마다 실제 RoomCommandRouter·ClusterForwarder·
+ * ClusterController·LobbyService를 두고, ClusterClient.send만 HTTP 대신 JSON으로 직렬화해 상대 노드의
+ * ClusterController를 직접 부른다(토큰 검사 포함). 방 처리(RoomSocketService)는 노드마다 mock이다.
+ * - 다른 노드 방의 명령은 주인 노드에서만 실행된다. 자기 방 명령은 넘기지 않는다.
+ * - 링이 어긋나 넘겨받은 명령이 내 방이 아니어도 다시 넘기지 않는다(핑퐁 없음).
+ * - 한 노드의 로비 변경분이 다른 노드 스냅샷에 반영되고, 받은 노드는 다시 밀지 않는다.
+ */
+class TwoNodeClusterTest {
+
+    private static final String SECRET = "s3cret";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static Map<String, String> nodes() {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("a", "http://a:8080");
+        map.put("b", "http://b:8080");
+        return map;
+    }
+
+    /** 노드 하나. peer는 wire로 나중에 잇는다. */
+    private static final class Node {
+        final RoomOwnership ownership;
+        final ClusterClient client;
+        final RoomSocketService rooms = mock(RoomSocketService.class);
+        final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        final RoomCommandRouter router;
+        final LobbyService lobby;
+        final ClusterController controller;
+
+        Node(String id) {
+            ownership = new RoomOwnership(true, id, nodes());
+            client = spy(new ClusterClient(ownership, SECRET, Duration.ofSeconds(1)));
+            ClusterForwarder forwarder = new ClusterForwarder(ownership, client);
+            router = new RoomCommandRouter(RoomShardExecutor.callerRuns(), rooms,
+                    mock(WebSocketEventListener.class), forwarder);
+            lobby = new LobbyService(template, JSON, forwarder);
+            controller = new ClusterController(client, router, lobby);
+        }
+    }
+
+    // send(node, path, body)를 상대 노드 컨트롤러 호출로 바꾼다. 실제 HTTP처럼 본문은 JSON을 거친다.
+    private static void wire(Node from, Node to) {
+        doAnswer(inv -> {
+            String path = inv.getArgument(1);
+            byte[] body = JSON.writeValueAsBytes(inv.getArgument(2, Object.class));
+            int status = switch (path) {
+                case ClusterForwarder.COMMANDS_PATH ->
+                        to.controller.command(SECRET, JSON.readValue(body, RoomCommand.class)).getStatusCode().value();
+                case ClusterForwarder.LOBBY_PATH ->
+                        to.controller.lobby(SECRET, JSON.readValue(body, LobbyDelta.class)).getStatusCode().value();
+                default -> throw new IllegalArgumentException(path);
+            };
+            assertEquals(202, status, new String(body, StandardCharsets.UTF_8));
+            return null;
+        }).when(from.client).send(anyString(), anyString(), any());
+    }
+
+    private static Node[] cluster() {
+        Node a = new Node("a"), b = new Node("b");
+        wire(a, b);
+        wire(b, a);
+        return new Node[]{a, b};
+    }
+
+    @Test
+    void 다른_노드_방의_명령은_주인_노드에서만_실행된다() throws Exception {
+        Node[] n = cluster();
+        Node a = n[0], b = n[1];
+        String roomOfB = b.ownership.newLocalRoomId();
+
+        a.router.dispatch(RoomCommand.move(roomOfB, "2", 112));
+        a.router.dispatch(RoomCommand.of(RoomCommand.Type.READY, roomOfB, "3"));
+
+        verify(b.rooms).processMove(roomOfB, "2", 112);
+        verify(b.rooms).processReady(roomOfB, "3");
+        verify(a.rooms, never()).processMove(anyString(), anyString(), anyInt());
+        verify(a.rooms, never()).processReady(anyString(), anyString());
+    }
+
+    @Test
+    void 자기_방_명령은_넘기지_않는다() throws Exception {
+        Node[] n = cluster();
+        Node a = n[0], b = n[1];
+        String roomOfA = a.ownership.newLocalRoomId();
+
+        a.router.dispatch(RoomCommand.move(roomOfA, "2", 112));
+
+        verify(a.rooms).processMove(roomOfA, "2", 112);
+        verify(a.client, never()).send(anyString(), anyString(), any());
+        verify(b.rooms, never()).processMove(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void 넘겨받은_명령은_내_방이_아니어도_다시_넘기지_않는다() throws Exception {
+        Node[] n = cluster();
+        Node a = n[0], b = n[1];
+        String roomOfA = a.ownership.newLocalRoomId();
+
+        // 배포 중 링이 잠깐 어긋나 a 방 명령이 b로 왔다. b는 받은 대로 처리하고 a로 되돌려 보내지 않는다.
+        assertEquals(202, b.controller.command(SECRET, RoomCommand.move(roomOfA, "2", 112)).getStatusCode().value());
+
+        verify(b.rooms).processMove(roomOfA, "2", 112);
+        verify(b.client, never()).send(anyString(), anyString(), any());
+        verify(a.rooms, never()).processMove(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void 로비_변경분이_다른_노드_스냅샷에_복제된다() throws Exception {
+        Node[] n = cluster();
+        Node a = n[0], b = n[1];
+        RoomServiceImpl roomsOfA = new RoomServiceImpl(a.lobby, a.ownership, RoomJournal.NONE, RoomTimers.none(),
+                Duration.ofSeconds(60), SpectatorFanout.NONE);
+
+        Room room = roomsOfA.createRoom("방1", null);
+        assertTrue(snapshotOf(b).contains(room.getRoomId()));
+
+        a.lobby.roomRemoved(room.getRoomId());
+        assertFalse(snapshotOf(b).contains(room.getRoomId()));
+        // 클라이언트에는 주인 노드(a)가 브로커로 민다. 받은 노드(b)는 다시 밀지 않는다.
+        verify(b.template, never()).convertAndSend(anyString(), any(Object.class));
+        verify(b.client, never()).send(anyString(), anyString(), any());
+    }
+
+    private static String snapshotOf(Node node) {
+        return new String(node.lobby.snapshot().json(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package org.scoula.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비동기 appender: 파일 쪽이 막혀도 호출자는 기다리지 않고, 큐가 가득 찼을 때만 INFO 이하를 버리며 그 수를 센다.
+ * WARN 이상은 버리지 않는다.
+ */
+class DropCountingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(DropCountingAsyncAppenderTest.class.getName(), context.getLogger("omok.events"),
+                level, message, null, null);
+    }
+
+    @Test
+    void dropsOnlyWhenQueueIsFullAndCountsThem() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+        // 느린 디스크 흉내: 첫 이벤트를 쓰는 동안 release까지 막힌다.
+        AppenderBase<ILoggingEvent> slowFile = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent e) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(e.getMessage());
+            }
+        };
+        slowFile.setContext(context);
+        slowFile.start();
+
+        DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(2);
+        async.addAppender(slowFile);
+        async.start();
+
+        async.doAppend(event(Level.INFO, "e0"));
+        assertTrue(entered.await(2, TimeUnit.SECONDS)); // 작업 스레드가 e0을 들고 막혔다
+        for (int i = 1; i <= 10; i++) async.doAppend(event(Level.INFO, "e" + i)); // 큐 2칸 + 8건 버림
+
+        assertEquals(8, async.dropped());
+        assertEquals(2, async.pending());
+
+        release.countDown();
+        async.stop();
+        assertEquals(List.of("e0", "e1", "e2"), written);
+    }
+
+    @Test
+    void neverDiscardsWarnOrError() {
+        DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+        async.setContext(context);
+
+        assertFalse(async.isDiscardable(event(Level.WARN, "w")));
+        assertFalse(async.isDiscardable(event(Level.ERROR, "e")));
+        assertTrue(async.isDiscardable(event(Level.INFO, "i")));
+        assertEquals(1, async.dropped());
+    }
+}
@@ -0,0 +1,48 @@
+package org.scoula.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 게임 이벤트 JSON lines 인코딩: 이벤트 이름과 key-value가 한 줄 JSON이 되고, 숫자·불리언은 따옴표 없이,
+ * 문자열의 따옴표·역슬래시·제어 문자는 이스케이프된다.
+ */
+class GameEventEncoderTest {
+
+    private final GameEventEncoder encoder = new GameEventEncoder();
+
+    private String encode(String event, KeyValuePair... pairs) {
+        LoggerContext context = new LoggerContext();
+        LoggingEvent e = new LoggingEvent(GameEventEncoderTest.class.getName(), context.getLogger("omok.events"),
+                Level.INFO, event, null, null);
+        e.setTimeStamp(1_700_000_000_000L);
+        e.setKeyValuePairs(List.of(pairs));
+        return new String(encoder.encode(e), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesOneJsonLinePerEvent() {
+        String line = encode("GAME_WIN", new KeyValuePair("roomId", "r-1"), new KeyValuePair("winner", "흑돌"),
+                new KeyValuePair("turn", 42), new KeyValuePair("reconnect", false));
+
+        assertEquals("{\"ts\":1700000000000,\"ev\":\"GAME_WIN\",\"roomId\":\"r-1\",\"winner\":\"흑돌\","
+                + "\"turn\":42,\"reconnect\":false}\n", line);
+    }
+
+    @Test
+    void escapesUserSuppliedStrings() {
+        String line = encode("ROOM_CREATE", new KeyValuePair("title", "a\"b\\c\nd\u0001"),
+                new KeyValuePair("password", null));
+
+        assertEquals("{\"ts\":1700000000000,\"ev\":\"ROOM_CREATE\",\"title\":\"a\\\"b\\\\c\\nd\\u0001\","
+                + "\"password\":null}\n", line);
+    }
+}
@@ -0,0 +1,76 @@
+package org.scoula.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.game.GameArchiveWriter;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.HashedTimerWheel;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomJournal;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomShardExecutor;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SpectatorFanout;
+import org.scoula.room.service.SpectatorHub;
+import org.scoula.room.service.WebSocketEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 게이지는 스크레이프 시점의 방·플레이어·세션 수와 기보 큐 길이를 읽고, 방 타이머는 종류별로 나뉜다.
+ * 가상 스레드 모니터가 없으면(플랫폼 스레드 모드) 고정 카운터를 걸지 않는다.
+ */
+class OmokMeterBinderTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void gaugesReadCurrentState() {
+        RoomServiceImpl roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
+        WebSocketEventListener listener = mock(WebSocketEventListener.class);
+        GameArchiveWriter writer = mock(GameArchiveWriter.class);
+        ObjectProvider<VirtualThreadPinningMonitor> pinning = mock(ObjectProvider.class);
+        HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 8);
+        RoomTimers timers = new RoomTimers(wheel, RoomShardExecutor.callerRuns());
+        SpectatorHub spectators = mock(SpectatorHub.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new OmokMeterBinder(roomService, listener, writer, timers, pinning, spectators).bindTo(registry);
+
+        Room room = roomService.createRoom("metrics", null);
+        room.getPlayers().add(new Player("p-1", "흑돌"));
+        room.getPlayers().add(new Player("p-2", "백돌"));
+        room.setPlaying(true);
+        roomService.createRoom("empty", null);
+        when(listener.sessionCount()).thenReturn(3);
+        when(writer.pending()).thenReturn(7);
+        when(spectators.spectators()).thenReturn(120);
+        when(spectators.droppedSlow()).thenReturn(4L);
+        timers.schedule(RoomTimers.Kind.GRACE, room.getRoomId(), "user:1", Duration.ofMinutes(1), () -> { });
+
+        try {
+            assertEquals(2, registry.get("omok.rooms").gauge().value());
+            assertEquals(1, registry.get("omok.rooms.playing").gauge().value());
+            assertEquals(2, registry.get("omok.players").gauge().value());
+            assertEquals(3, registry.get("omok.sessions").gauge().value());
+            assertEquals(7, registry.get("omok.archive.queue").gauge().value());
+            assertEquals(120, registry.get("omok.spectators").gauge().value());
+            assertEquals(4, registry.get("omok.spectate.dropped").tag("reason", "slow").functionCounter().count());
+            assertEquals(1, registry.get("omok.timers.scheduled").tag("kind", "grace").functionCounter().count());
+            assertEquals(1, registry.get("omok.timers.pending").tag("kind", "grace").gauge().value());
+            assertEquals(0, registry.get("omok.timers.pending").tag("kind", "game_clock").gauge().value());
+            assertTrue(registry.find("omok.vt.pinned").functionCounter() == null);
+        } finally {
+            timers.shutdown();
+            wheel.stop();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.scoula.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RoomCreationRateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 계측 façade: 넘긴 나노초가 이름·태그별 Timer에 쌓이고, 착수 판정·요청 제한 거부가 실제 경로에서 기록된다.
+ */
+class OmokMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OmokMetrics metrics = new OmokMetrics(registry);
+
+    private Timer timer(String name, String key, String value) {
+        return registry.get(name).tag(key, value).timer();
+    }
+
+    @Test
+    void recordsLockWaitAndHoldSeparately() {
+        metrics.roomLock(TimeUnit.MICROSECONDS.toNanos(300), TimeUnit.MICROSECONDS.toNanos(40));
+
+        assertEquals(300, timer(OmokMetrics.ROOM_LOCK, "phase", "wait").totalTime(TimeUnit.MICROSECONDS), 0.001);
+        assertEquals(40, timer(OmokMetrics.ROOM_LOCK, "phase", "hold").totalTime(TimeUnit.MICROSECONDS), 0.001);
+    }
+
+    @Test
+    void archiveSaveIsSplitByOutcome() {
+        metrics.archiveSave(1_000, true);
+        metrics.archiveSave(2_000, true);
+        metrics.archiveSave(5_000, false);
+
+        assertEquals(2, timer(OmokMetrics.ARCHIVE_SAVE, "outcome", "saved").count());
+        assertEquals(1, timer(OmokMetrics.ARCHIVE_SAVE, "outcome", "spilled").count());
+    }
+
+    @Test
+    void moveValidationIsSplitByForbiddenAndWin() {
+        GameService gameService = new GameService(new RenjuRuleEngine(), metrics);
+        Room room = Room.builder().board(new int[15][15]).turn(1).build();
+
+        gameService.applyMove(room, 112);
+        gameService.checkGameEnd(room, 112);
+        gameService.applyMove(room, 113);
+        gameService.checkGameEnd(room, 113);
+
+        assertEquals(2, timer(OmokMetrics.MOVE_VALIDATION, "check", "forbidden").count());
+        assertEquals(2, timer(OmokMetrics.MOVE_VALIDATION, "check", "win").count());
+    }
+
+    @Test
+    void rateLimiterRejectionIsCounted() {
+        RoomCreationRateLimiter limiter = new RoomCreationRateLimiter(metrics);
+        for (int i = 0; i < RoomCreationRateLimiter.MAX_PER_WINDOW + 3; i++) limiter.tryAcquire("user:1");
+
+        assertEquals(3, registry.get(OmokMetrics.RATE_LIMIT_REJECTED).counter().count(), 0.001);
+    }
+}
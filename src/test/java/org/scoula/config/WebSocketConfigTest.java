@@ -0,0 +1,59 @@
+package org.scoula.config;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.auth.StompAuthChannelInterceptor;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 브로커 구성 검증: 클러스터 모드는 외부 브로커(relay)를 요구한다. simple broker로는 다른 노드 방의
+ * 브로드캐스트와 사용자 목적지가 구독자에게 닿지 않으므로 경고로 넘기지 않고 부팅을 막는다.
+ * relay는 사용자 목적지를 노드 간에 푼다. 주인 노드의 재접속 재전송(RoomBroadcaster.resume)이 다른 노드 세션에 닿는 근거다.
+ */
+class WebSocketConfigTest {
+
+    private final MessageBrokerRegistry registry = mock(MessageBrokerRegistry.class);
+
+    private static WebSocketConfig config(MockEnvironment environment) {
+        return new WebSocketConfig(mock(StompAuthChannelInterceptor.class), environment);
+    }
+
+    @Test
+    void 클러스터_모드에서_simple_broker면_부팅을_막는다() {
+        MockEnvironment environment = new MockEnvironment().withProperty("omok.cluster.enabled", "true");
+
+        assertThrows(IllegalStateException.class, () -> config(environment).configureMessageBroker(registry));
+        verify(registry, never()).enableSimpleBroker(any(String[].class));
+    }
+
+    @Test
+    void relay는_사용자_목적지를_노드_간에_푼다() {
+        StompBrokerRelayRegistration relay = mock(StompBrokerRelayRegistration.class, RETURNS_SELF);
+        when(registry.enableStompBrokerRelay("/topic", "/queue")).thenReturn(relay);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("omok.cluster.enabled", "true")
+                .withProperty("omok.cluster.broker", "relay");
+
+        config(environment).configureMessageBroker(registry);
+
+        verify(relay).setUserDestinationBroadcast("/topic/unresolved-user-destination");
+        verify(relay).setUserRegistryBroadcast("/topic/simp-user-registry");
+        verify(registry, never()).enableSimpleBroker(any(String[].class));
+    }
+
+    @Test
+    void 단일_노드는_simple_broker를_쓴다() {
+        config(new MockEnvironment()).configureMessageBroker(registry);
+
+        verify(registry).enableSimpleBroker("/topic", "/queue");
+    }
+}
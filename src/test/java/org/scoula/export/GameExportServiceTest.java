@@ -0,0 +1,129 @@
+package org.scoula.export;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scoula.game.GameMoves;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 기보 내보내기 검증: id 순으로 gzip NDJSON·RIF를 쓰고, afterId로 이어 받으면 겹치지 않는다.
+ * 날짜·회원 범위와 limit을 지키고, 읽을 수 없는 moves 행은 건너뛴다.
+ */
+class GameExportServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:export;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final GameExportService service = new GameExportService(jdbc, 2);
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("DROP TABLE IF EXISTS game");
+        jdbc.execute("CREATE TABLE game (id BIGINT AUTO_INCREMENT PRIMARY KEY, black_user_id BIGINT NULL, "
+                + "white_user_id BIGINT NULL, black_name VARCHAR(50) NOT NULL, white_name VARCHAR(50) NOT NULL, "
+                + "winner VARCHAR(10) NOT NULL, end_reason VARCHAR(20) NOT NULL, moves VARBINARY(2048) NOT NULL, "
+                + "created_at DATETIME(6) NOT NULL)");
+        insert(1L, null, "흑돌", "guest", "BLACK", GameMoves.timed(new int[]{112, 113, 97}, new int[]{500, 700, 900}), 0);
+        insert(2L, 3L, "a&b", "c\"d", "WHITE", GameMoves.of(112, 0), 1);
+        insert(3L, 1L, "x", "y", "BLACK", GameMoves.of(112), 2);
+    }
+
+    private void insert(Long black, Long white, String blackName, String whiteName, String winner, GameMoves moves,
+                        int day) {
+        jdbc.update("INSERT INTO game (black_user_id, white_user_id, black_name, white_name, winner, end_reason, "
+                        + "moves, created_at) VALUES (?, ?, ?, ?, ?, 'WIN_5', ?, ?)",
+                black, white, blackName, whiteName, winner, moves.encode(), Timestamp.valueOf(T0.plusDays(day)));
+    }
+
+    private static List<String> gunzipLines(byte[] gz) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+        }
+    }
+
+    @Test
+    void streamsAllGamesAsNdjsonInIdOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameExportService.Result result = service.export(GameExportQuery.all(), GameExportFormat.NDJSON, out);
+
+        assertEquals(3, result.games());
+        assertEquals(3, result.lastId());
+        List<String> lines = gunzipLines(out.toByteArray());
+        assertEquals(3, lines.size());
+        assertEquals("{\"id\":1,\"blackUserId\":1,\"whiteUserId\":null,\"blackName\":\"흑돌\",\"whiteName\":\"guest\","
+                + "\"winner\":\"BLACK\",\"endReason\":\"WIN_5\",\"createdAt\":\"2025-03-01T12:00\","
+                + "\"moves\":[112,113,97],\"moveMillis\":[500,700,900]}", lines.get(0));
+        assertTrue(lines.get(1).contains("\"moveMillis\":null"));
+    }
+
+    @Test
+    void resumesAfterLastIdAndHonoursLimit() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        GameExportService.Result head = service.export(new GameExportQuery(0, null, null, null, 2),
+                GameExportFormat.NDJSON, first);
+        assertEquals(2, head.games());
+        assertEquals(2, head.lastId());
+
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        GameExportService.Result tail = service.export(new GameExportQuery(head.lastId(), null, null, null, 0),
+                GameExportFormat.NDJSON, rest);
+        assertEquals(1, tail.games());
+        assertTrue(gunzipLines(rest.toByteArray()).get(0).startsWith("{\"id\":3,"));
+    }
+
+    @Test
+    void filtersByDateAndUser() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(new GameExportQuery(0, T0.plusDays(1), T0.plusDays(3), 1L, 0), GameExportFormat.NDJSON, out);
+        List<String> lines = gunzipLines(out.toByteArray());
+        assertEquals(1, lines.size(), "1번 회원이 둔 판 중 둘째 날부터는 3번뿐");
+        assertTrue(lines.get(0).startsWith("{\"id\":3,"));
+
+        ByteArrayOutputStream none = new ByteArrayOutputStream();
+        GameExportService.Result result = service.export(new GameExportQuery(0, null, null, 99L, 0),
+                GameExportFormat.NDJSON, none);
+        assertEquals(0, result.games());
+        assertEquals(0, result.lastId());
+        assertTrue(gunzipLines(none.toByteArray()).isEmpty());
+    }
+
+    @Test
+    void writesRifCoordinatesAndEscapesNames() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(GameExportQuery.all(), GameExportFormat.RIF, out);
+        String xml = String.join("\n", gunzipLines(out.toByteArray()));
+
+        assertTrue(xml.startsWith("<?xml"));
+        assertTrue(xml.endsWith("</games>\n</database>"));
+        assertTrue(xml.contains("<game id=\"1\" bplayer=\"흑돌\" wplayer=\"guest\" bresult=\"1\""));
+        assertTrue(xml.contains("<move>h8 i8 h9</move>"), "가운데 h8, 오른쪽 i8, 위 h9");
+        assertTrue(xml.contains("bplayer=\"a&amp;b\" wplayer=\"c&quot;d\" bresult=\"0\""));
+        assertTrue(xml.contains("<move>h8 a15</move>"));
+    }
+
+    @Test
+    void skipsUnreadableMoves() throws IOException {
+        jdbc.update("UPDATE game SET moves = ? WHERE id = 2", (Object) new byte[]{0x7F});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameExportService.Result result = service.export(GameExportQuery.all(), GameExportFormat.NDJSON, out);
+
+        assertEquals(2, result.games());
+        assertEquals(1, result.skipped());
+        assertEquals(3, result.lastId());
+    }
+}
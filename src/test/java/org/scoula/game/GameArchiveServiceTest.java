@@ -2,6 +2,7 @@ package org.scoula.game;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.scoula.room.domain.MoveLog;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 
@@ -9,13 +10,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class GameArchiveServiceTest {
 
-    private final GameRepository repo = mock(GameRepository.class);
-    private final GameArchiveService service = new GameArchiveService(repo);
+    private final GameArchiveWriter writer = mock(GameArchiveWriter.class);
+    private final GameArchiveService service = new GameArchiveService(writer);
 
     /** 흑=user:2, 백=user:3, 착수 [112,113] 인 종료된 방. */
     private Room roomWith(String blackPrincipal, String whitePrincipal) {
@@ -23,7 +26,7 @@ class GameArchiveServiceTest {
                 .roomId("room-1")
                 .players(new ArrayList<>(List.of(new Player("uuidB", "흑돌"), new Player("uuidW", "백돌"))))
                 .board(new int[15][15])
-                .moveHistory(new ArrayList<>(List.of(112, 113)))
+                .moveLog(MoveLog.of(112, 113))
                 .build();
         room.bindMember(blackPrincipal, "uuidB");
         room.bindMember(whitePrincipal, "uuidW");
@@ -38,7 +41,7 @@ class GameArchiveServiceTest {
         service.archive(room, WinnerColor.BLACK, EndReason.WIN_5);
 
         ArgumentCaptor<Game> cap = ArgumentCaptor.forClass(Game.class);
-        verify(repo).save(cap.capture());
+        verify(writer).submit(cap.capture());
         Game g = cap.getValue();
         assertEquals(2L, g.getBlackUserId());
         assertEquals(3L, g.getWhiteUserId());
@@ -46,7 +49,9 @@ class GameArchiveServiceTest {
         assertEquals("백돌", g.getWhiteName());
         assertEquals(WinnerColor.BLACK, g.getWinner());
         assertEquals(EndReason.WIN_5, g.getEndReason());
-        assertEquals("112,113", g.getMoves());
+        assertEquals(List.of(112, 113), g.getMoves().indexList());
+        assertTrue(g.getMoves().hasElapsed(), "수마다 소요 시간도 함께 저장한다");
+        assertNotNull(g.getCreatedAt(), "배치 insert가 늦어도 종료 시각이 보존되어야 한다");
     }
 
     @Test
@@ -55,7 +60,7 @@ class GameArchiveServiceTest {
         service.archive(room, WinnerColor.WHITE, EndReason.SURRENDER);
 
         ArgumentCaptor<Game> cap = ArgumentCaptor.forClass(Game.class);
-        verify(repo).save(cap.capture());
+        verify(writer).submit(cap.capture());
         Game g = cap.getValue();
         assertEquals(2L, g.getBlackUserId());
         assertNull(g.getWhiteUserId()); // 게스트 자리 null
@@ -65,7 +70,7 @@ class GameArchiveServiceTest {
     void skipsGuestVsGuest() {
         Room room = roomWith("guest-a", "guest-b");
         service.archive(room, WinnerColor.BLACK, EndReason.WIN_5);
-        verify(repo, never()).save(any());
+        verify(writer, never()).submit(any());
     }
 
     @Test
@@ -75,7 +80,7 @@ class GameArchiveServiceTest {
                 .roomId("room-1")
                 .players(new ArrayList<>(List.of(new Player("uuidB", longName), new Player("uuidW", "백돌"))))
                 .board(new int[15][15])
-                .moveHistory(new ArrayList<>(List.of(112)))
+                .moveLog(MoveLog.of(112))
                 .build();
         room.bindMember("2", "uuidB");
         room.bindMember("3", "uuidW");
@@ -85,7 +90,7 @@ class GameArchiveServiceTest {
         service.archive(room, WinnerColor.BLACK, EndReason.WIN_5);
 
         ArgumentCaptor<Game> cap = ArgumentCaptor.forClass(Game.class);
-        verify(repo).save(cap.capture());
+        verify(writer).submit(cap.capture());
         assertEquals(50, cap.getValue().getBlackName().length(), "black_name은 VARCHAR(50) 이내로 truncate");
     }
 
@@ -94,6 +99,6 @@ class GameArchiveServiceTest {
         Room room = roomWith("2", "3");
         room.setWhitePrincipal(null); // 비정상 상태
         service.archive(room, WinnerColor.BLACK, EndReason.WIN_5);
-        verify(repo, never()).save(any());
+        verify(writer, never()).submit(any());
     }
 }
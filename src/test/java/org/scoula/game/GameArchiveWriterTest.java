@@ -0,0 +1,237 @@
+package org.scoula.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.config.OmokMetrics;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 기보 write-behind 검증.
+ * - 여러 건이 한 번의 batch insert로 묶인다.
+ * - DB 실패 배치는 스필 파일로 가고, 다음 기동 때 재생되어 DB에 들어간 뒤 파일이 지워진다.
+ * - 배치가 실패하면 한 건씩 다시 쓰고, 영구 실패 행만 dead-letter로, 못 쓴 행만 스필로 간다.
+ * - 레이팅은 행이 들어간 회원끼리의 대국만 한 번 매기고, 이미 매긴 스필 줄은 재생해도 다시 매기지 않는다.
+ * - 큐가 가득 차도 submit은 막히지 않고 스필한다.
+ */
+class GameArchiveWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final GameResultListener listener = mock(GameResultListener.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private GameArchiveWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) writer.stop();
+    }
+
+    private GameArchiveWriter writer(int capacity, int batchSize) {
+        return new GameArchiveWriter(jdbc, capacity, batchSize, Duration.ofMillis(100), Duration.ofMinutes(10),
+                dir.resolve("kifu-spill.ndjson"), dir.resolve("kifu-dead.ndjson"),
+                TransactionOperations.withoutTransaction(), listener, OmokMetrics.NONE);
+    }
+
+    private static List<GameArchiveWriter.Pending> pending(Game... games) {
+        return java.util.Arrays.stream(games).map(g -> new GameArchiveWriter.Pending(g, false)).toList();
+    }
+
+    private void dbUp() {
+        when(jdbc.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(inv -> {
+            int size = inv.getArgument(1, BatchPreparedStatementSetter.class).getBatchSize();
+            batchSizes.add(size);
+            return new int[size];
+        });
+    }
+
+    private void dbDown() {
+        when(jdbc.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        when(jdbc.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+    }
+
+    private static Game game(int i) {
+        return game(i, null);
+    }
+
+    private static Game game(int i, Long whiteUserId) {
+        return Game.builder()
+                .blackUserId(2L)
+                .whiteUserId(whiteUserId)
+                .blackName("흑돌" + i)
+                .whiteName("백돌")
+                .winner(WinnerColor.BLACK)
+                .endReason(EndReason.WIN_5)
+                .moves(GameMoves.timed(new int[]{112, 113}, new int[]{1500, 320}))
+                .createdAt(LocalDateTime.of(2026, 10, 18, 12, 0, i))
+                .build();
+    }
+
+    private void awaitTotal(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (batchSizes.stream().mapToInt(Integer::intValue).sum() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void 여러_건을_한_배치로_묶어_쓴다() throws Exception {
+        dbUp();
+        writer = writer(100, 50);
+        for (int i = 0; i < 20; i++) writer.submit(game(i)); // 시작 전에 쌓아 두면 첫 배치에 모두 묶인다
+        writer.start();
+
+        awaitTotal(20);
+        assertEquals(List.of(20), batchSizes);
+    }
+
+    @Test
+    void DB_실패분은_스필되고_다음_기동에서_재생된다() throws Exception {
+        Path spill = dir.resolve("kifu-spill.ndjson");
+        dbDown();
+        GameArchiveWriter first = writer(100, 50);
+        first.flush(pending(game(1), game(2)));
+        assertEquals(2, Files.readAllLines(spill).size());
+
+        org.mockito.Mockito.reset(jdbc);
+        dbUp();
+        writer = writer(100, 50);
+        writer.start();
+
+        awaitTotal(2);
+        assertEquals(2, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertFalse(Files.exists(spill), "재생한 스필 파일은 지워져야 한다");
+    }
+
+    @Test
+    void 배치가_실패하면_한_건씩_다시_쓰고_불량_행만_dead_letter로_뺀다() throws Exception {
+        when(jdbc.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("bad row in batch"));
+        when(jdbc.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("dup"))
+                .thenReturn(1);
+        writer = writer(100, 50);
+
+        writer.flush(pending(game(1), game(2), game(3)));
+
+        verify(jdbc, times(3)).update(anyString(), any(PreparedStatementSetter.class));
+        List<String> dead = Files.readAllLines(dir.resolve("kifu-dead.ndjson"));
+        assertEquals(1, dead.size());
+        assertTrue(dead.get(0).contains("흑돌2"));
+        assertFalse(Files.exists(dir.resolve("kifu-spill.ndjson")), "쓴 행과 불량 행은 스필하지 않는다");
+        writer = null;
+    }
+
+    @Test
+    void 한_건씩_쓰다_DB가_내려가면_못_쓴_행만_스필한다() throws Exception {
+        when(jdbc.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("bad row in batch"));
+        when(jdbc.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        writer = writer(100, 50);
+
+        writer.flush(pending(game(1), game(2), game(3)));
+
+        // 2번에서 일시적 실패가 나면 3번은 시도하지 않고 2·3번을 함께 스필한다
+        verify(jdbc, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+        List<String> spilled = Files.readAllLines(dir.resolve("kifu-spill.ndjson"));
+        assertEquals(2, spilled.size());
+        assertTrue(spilled.get(0).contains("흑돌2"));
+        assertTrue(spilled.get(1).contains("흑돌3"));
+        assertFalse(Files.exists(dir.resolve("kifu-dead.ndjson")));
+        writer = null;
+    }
+
+    @Test
+    void 스필_파일의_읽을_수_없는_줄은_dead_letter로_빼고_나머지는_재생한다() throws Exception {
+        Path spill = dir.resolve("kifu-spill.ndjson");
+        dbDown();
+        writer(100, 50).flush(pending(game(1)));
+        Files.writeString(spill, "{not json\n", java.nio.file.StandardOpenOption.APPEND);
+
+        org.mockito.Mockito.reset(jdbc);
+        dbUp();
+        writer = writer(100, 50);
+        writer.start();
+
+        awaitTotal(1);
+        assertEquals(1, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(List.of("{not json"), Files.readAllLines(dir.resolve("kifu-dead.ndjson")));
+        verify(jdbc, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void 저장된_회원_대국만_레이팅에_넘긴다() throws Exception {
+        dbUp();
+        writer = writer(100, 50);
+        writer.submit(game(1, 3L));
+        writer.submit(game(2)); // 회원 vs 게스트는 매기지 않는다
+        writer.start();
+
+        awaitTotal(2);
+        verify(listener, timeout(5_000)).gameEnded(2L, 3L, WinnerColor.BLACK);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void 스필된_판은_저장될_때_한_번만_매긴다() throws Exception {
+        dbDown();
+        writer(100, 50).flush(pending(game(1, 3L)));
+        verify(listener, never()).gameEnded(any(), any(), any());
+
+        org.mockito.Mockito.reset(jdbc);
+        dbUp();
+        writer = writer(100, 50);
+        writer.start();
+
+        awaitTotal(1);
+        verify(listener, timeout(5_000)).gameEnded(2L, 3L, WinnerColor.BLACK);
+        Thread.sleep(100);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void 큐가_가득_차면_막지_않고_스필한다() throws Exception {
+        writer = writer(2, 50); // 시작하지 않아 큐가 비워지지 않는다
+        for (int i = 0; i < 5; i++) writer.submit(game(i));
+
+        assertEquals(2, writer.pending());
+        Path spill = dir.resolve("kifu-spill.ndjson");
+        assertTrue(Files.exists(spill));
+        assertEquals(3, Files.readAllLines(spill).size());
+        writer = null; // 시작하지 않은 writer는 stop으로 비울 DB가 없다
+    }
+}
@@ -0,0 +1,89 @@
+package org.scoula.game;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.room.domain.MoveLog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 기보 바이너리 포맷 검증.
+ * - index만: 헤더 1바이트 + 수당 1바이트.
+ * - 소요 시간 포함: varint가 왕복되고 CSV보다 작다.
+ * - V3 이전 CSV 행(ASCII 바이트)을 그대로 읽는다.
+ */
+class GameMovesTest {
+
+    private final GameMovesConverter converter = new GameMovesConverter();
+
+    @Test
+    void index만_있으면_수당_1바이트다() {
+        GameMoves moves = GameMoves.of(0, 112, 224);
+        byte[] data = converter.convertToDatabaseColumn(moves);
+
+        assertArrayEquals(new byte[]{GameMoves.FORMAT_INDEXES, 0, 112, (byte) 224}, data);
+        assertEquals(moves, converter.convertToEntityAttribute(data));
+        assertFalse(converter.convertToEntityAttribute(data).hasElapsed());
+    }
+
+    @Test
+    void 소요_시간이_varint로_왕복된다() {
+        int[] indexes = {112, 113, 96, 97};
+        int[] millis = {0, 127, 128, 3_600_000};
+        GameMoves decoded = GameMoves.decode(GameMoves.timed(indexes, millis).encode());
+
+        assertEquals(List.of(112, 113, 96, 97), decoded.indexList());
+        assertEquals(List.of(0, 127, 128, 3_600_000), decoded.elapsedMillisList());
+    }
+
+    @Test
+    void 소요_시간을_넣어도_CSV보다_작다() {
+        int n = 120;
+        int[] indexes = new int[n];
+        int[] millis = new int[n];
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            indexes[i] = 100 + (i % 100);
+            millis[i] = 2_000 + i * 37; // 2~6초 → varint 2바이트
+            if (i > 0) csv.append(',');
+            csv.append(indexes[i]);
+        }
+        int binary = GameMoves.timed(indexes, millis).encode().length;
+        assertTrue(binary < csv.length(), "binary=" + binary + " csv=" + csv.length());
+        assertEquals(1 + n, GameMoves.of(indexes).encode().length);
+    }
+
+    @Test
+    void 구_CSV_행을_읽는다() {
+        GameMoves legacy = converter.convertToEntityAttribute("112,113,96".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(List.of(112, 113, 96), legacy.indexList());
+        assertNull(legacy.elapsedMillisList(), "구 기보에는 소요 시간이 없다");
+        assertEquals(0, GameMoves.decode(new byte[0]).size());
+        assertEquals(List.of(7), GameMoves.decode("7".getBytes(StandardCharsets.US_ASCII)).indexList());
+    }
+
+    @Test
+    void MoveLog의_착수와_소요_시간을_그대로_뜬다() {
+        GameMoves moves = GameMoves.from(MoveLog.of(112, 113));
+
+        assertEquals(List.of(112, 113), moves.indexList());
+        assertTrue(moves.hasElapsed());
+        assertEquals(2, moves.elapsedMillisList().size());
+    }
+
+    @Test
+    void 잘못된_값은_거부한다() {
+        assertThrows(IllegalArgumentException.class, () -> GameMoves.of(225));
+        assertThrows(IllegalArgumentException.class, () -> GameMoves.decode(new byte[]{0x7F, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameMoves.decode(new byte[]{GameMoves.FORMAT_TIMED, 2, 112})); // 잘린 행
+    }
+}
@@ -1,13 +1,18 @@
 package org.scoula.game;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 import org.scoula.game.dto.GameDetailResponse;
+import org.scoula.game.dto.GameHistoryResponse;
 import org.scoula.game.dto.GameSummaryResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class GameQueryServiceTest {
@@ -22,35 +27,73 @@ class GameQueryServiceTest {
                 .blackName("흑돌").whiteName("백돌")
                 .winner(WinnerColor.BLACK)
                 .endReason(EndReason.WIN_5)
-                .moves("112,113,96")
+                .moves(GameMoves.of(112, 113, 96))
                 .build();
     }
 
+    private static GameSummaryRow row(long id, Long black, Long white, WinnerColor winner, int minute) {
+        return new GameSummaryRow(id, black, white, "흑돌", "백돌", winner, EndReason.WIN_5,
+                LocalDateTime.of(2026, 10, 18, 12, minute));
+    }
+
+    private void history(Long userId, List<GameSummaryRow> asBlack, List<GameSummaryRow> asWhite) {
+        when(repo.findBlackHistory(eq(userId), any(), any(), any(Pageable.class))).thenReturn(asBlack);
+        when(repo.findWhiteHistory(eq(userId), any(), any(), any(Pageable.class))).thenReturn(asWhite);
+    }
+
     @Test
     void summaryFromBlackPerspective() {
-        when(repo.findByBlackUserIdOrWhiteUserIdOrderByCreatedAtDesc(2L, 2L))
-                .thenReturn(List.of(sampleGame()));
-        List<GameSummaryResponse> list = service.myGames(2L);
-        assertEquals(1, list.size());
-        GameSummaryResponse s = list.get(0);
+        history(2L, List.of(row(10L, 2L, 3L, WinnerColor.BLACK, 0)), List.of());
+        GameHistoryResponse page = service.myGames(2L, null, 20);
+        assertEquals(1, page.games().size());
+        GameSummaryResponse s = page.games().get(0);
         assertEquals(WinnerColor.BLACK, s.myColor());
         assertEquals("WIN", s.result());       // 흑이 이겼고 내가 흑
         assertEquals("백돌", s.opponentName());
+        assertNull(page.nextCursor(), "한 페이지에 다 들어가면 다음 커서가 없다");
     }
 
     @Test
     void summaryFromWhitePerspectiveIsLoss() {
-        when(repo.findByBlackUserIdOrWhiteUserIdOrderByCreatedAtDesc(3L, 3L))
-                .thenReturn(List.of(sampleGame()));
-        GameSummaryResponse s = service.myGames(3L).get(0);
+        history(3L, List.of(), List.of(row(10L, 2L, 3L, WinnerColor.BLACK, 0)));
+        GameSummaryResponse s = service.myGames(3L, null, 20).games().get(0);
         assertEquals(WinnerColor.WHITE, s.myColor());
         assertEquals("LOSS", s.result());       // 흑이 이겼는데 내가 백
         assertEquals("흑돌", s.opponentName());
     }
 
+    @Test
+    void mergesBlackAndWhiteNewestFirstAndCutsPage() {
+        history(2L,
+                List.of(row(5L, 2L, 3L, WinnerColor.BLACK, 50), row(3L, 2L, 4L, WinnerColor.WHITE, 30)),
+                List.of(row(4L, 3L, 2L, WinnerColor.WHITE, 40), row(2L, 4L, 2L, WinnerColor.BLACK, 30)));
+        GameHistoryResponse page = service.myGames(2L, null, 3);
+
+        assertEquals(List.of(5L, 4L, 3L), page.games().stream().map(GameSummaryResponse::id).toList());
+        GameCursor next = GameCursor.decode(page.nextCursor());
+        assertEquals(3L, next.id());  // 마지막으로 내려준 행이 다음 페이지의 기준
+        assertEquals(LocalDateTime.of(2026, 10, 18, 12, 30), next.createdAt());
+        // 각 쪽에서 size+1건까지만 읽는다
+        verify(repo).findBlackHistory(eq(2L), any(), any(), eq(Pageable.ofSize(4)));
+    }
+
+    @Test
+    void cursorIsPassedThroughAsKeyset() {
+        history(2L, List.of(), List.of());
+        GameCursor cursor = new GameCursor(LocalDateTime.of(2026, 10, 18, 12, 30), 3L);
+        service.myGames(2L, cursor.encode(), 20);
+        verify(repo).findBlackHistory(eq(2L), eq(cursor.createdAt()), eq(3L), any(Pageable.class));
+        verify(repo).findWhiteHistory(eq(2L), eq(cursor.createdAt()), eq(3L), any(Pageable.class));
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> service.myGames(2L, "not-a-cursor", 20));
+    }
+
     @Test
     void guestUserIdGetsEmpty() {
-        assertTrue(service.myGames(null).isEmpty());
+        assertTrue(service.myGames(null, null, 20).games().isEmpty());
         verifyNoInteractions(repo);
     }
 
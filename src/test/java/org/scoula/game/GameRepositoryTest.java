@@ -0,0 +1,88 @@
+package org.scoula.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * keyset 기보 목록 쿼리 검증. created_at이 같은 행(동시에 끝난 대국)이 있어도
+ * 커서로 끝까지 넘기면 빠짐·중복 없이 최신순으로 한 번씩만 나온다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class GameRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    // created_at을 직접 지정해야 하므로 writer와 같이 JDBC로 넣는다(@CreationTimestamp 우회).
+    private long insert(Long black, Long white, LocalDateTime createdAt) {
+        jdbc.update("INSERT INTO game (black_user_id, white_user_id, black_name, white_name, winner, end_reason, "
+                        + "moves, created_at) VALUES (?, ?, '흑', '백', 'BLACK', 'WIN_5', ?, ?)",
+                black, white, GameMoves.of(112).encode(), Timestamp.valueOf(createdAt));
+        return jdbc.queryForObject("SELECT MAX(id) FROM game", Long.class);
+    }
+
+    private final List<Long> expectedNewestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // user 2: 흑 3판(그중 2판은 같은 시각), 백 2판. user 3의 판은 섞이면 안 된다.
+        List<long[]> inserted = new ArrayList<>();
+        inserted.add(new long[]{insert(2L, 3L, T0), 0});
+        inserted.add(new long[]{insert(3L, 2L, T0.plusMinutes(1)), 1});
+        inserted.add(new long[]{insert(2L, null, T0.plusMinutes(2)), 2});
+        inserted.add(new long[]{insert(2L, 4L, T0.plusMinutes(2)), 2});
+        inserted.add(new long[]{insert(4L, 2L, T0.plusMinutes(3)), 3});
+        insert(3L, 4L, T0.plusMinutes(4));
+        inserted.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(b[0], a[0]));
+        for (long[] e : inserted) expectedNewestFirst.add(e[0]);
+    }
+
+    @Test
+    void 흑_쪽은_커서_이전_행만_최신순으로_읽는다() {
+        List<GameSummaryRow> first = gameRepository.findBlackHistory(2L, GameCursor.FIRST.createdAt(),
+                GameCursor.FIRST.id(), Pageable.ofSize(2));
+        assertEquals(2, first.size());
+        assertEquals(T0.plusMinutes(2), first.get(0).createdAt());
+        assertEquals(T0.plusMinutes(2), first.get(1).createdAt());
+        assertTrue(first.get(0).id() > first.get(1).id(), "같은 시각이면 id 내림차순");
+
+        GameSummaryRow last = first.get(1);
+        List<GameSummaryRow> rest = gameRepository.findBlackHistory(2L, last.createdAt(), last.id(),
+                Pageable.ofSize(2));
+        assertEquals(1, rest.size());
+        assertEquals(T0, rest.get(0).createdAt());
+    }
+
+    @Test
+    void 서비스_커서로_끝까지_넘기면_빠짐_중복이_없다() {
+        GameQueryService service = new GameQueryService(gameRepository);
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = service.myGames(2L, cursor, 2);
+            page.games().forEach(g -> seen.add(g.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedNewestFirst, seen);
+    }
+}
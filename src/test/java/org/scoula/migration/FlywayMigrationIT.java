@@ -13,7 +13,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
- * 실제 MySQL에 Flyway 마이그레이션(V1/V2)을 적용하고 JPA 엔티티와 대조한다 (#27).
+ * 실제 MySQL에 Flyway 마이그레이션(V1~V5)을 적용하고 JPA 엔티티와 대조한다 (#27).
  * 기존 단위 테스트는 H2 + flyway.enabled=false라 prod 스키마 소스(V*.sql)를 한 번도 실행하지
  * 않아, 마이그레이션-엔티티 드리프트를 CI가 못 잡았다. 이 IT는 컨테이너 MySQL에 실제 스크립트를
  * 적용하고 ddl-auto=validate로 엔티티 매핑까지 검증한다(context 로드 성공 = 스키마 정합).
@@ -39,6 +39,7 @@ class FlywayMigrationIT {
         // 마이그레이션이 만든 스키마와 엔티티 매핑이 어긋나면 부팅(context 로드)이 실패한다.
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("jwt.secret", () -> "test-secret-key-that-is-at-least-32-bytes-long!!");
+        registry.add("omok.journal.enabled", () -> false);
     }
 
     @Autowired
@@ -46,11 +47,11 @@ class FlywayMigrationIT {
 
     @Test
     void migrationsApplyAndSchemaMatchesEntities() {
-        // context 로드 성공 자체가 "V1/V2 적용 + validate 통과"의 증거.
+        // context 로드 성공 자체가 "V1~V5 적용 + validate 통과"의 증거.
         // 추가로 마이그레이션 이력과 핵심 테이블 존재를 명시 확인한다.
         Integer applied = jdbc.queryForObject(
                 "SELECT COUNT(*) FROM flyway_schema_history WHERE success = 1", Integer.class);
-        assertEquals(2, applied, "V1, V2 두 마이그레이션이 성공 적용되어야 한다");
+        assertEquals(5, applied, "V1~V5 다섯 마이그레이션이 성공 적용되어야 한다");
 
         Integer gameTable = jdbc.queryForObject(
                 "SELECT COUNT(*) FROM information_schema.tables " +
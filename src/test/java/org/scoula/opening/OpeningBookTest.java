@@ -0,0 +1,118 @@
+package org.scoula.opening;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.game.GameMoves;
+import org.scoula.game.WinnerColor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 정석 책 검증: 기보를 모아 파일로 쓰고 맵해 읽으면 국면별 수·판 수·승 수가 맞다.
+ * 돌린 기보는 같은 국면으로 합쳐지고, min-games에 못 미친 수는 빠지며, 깨진 파일은 열리지 않는다.
+ */
+class OpeningBookTest {
+
+    @TempDir
+    Path dir;
+
+    private static long hashOf(int... moves) {
+        OpeningHasher h = new OpeningHasher();
+        for (int m : moves) h.play(m);
+        return h.canonical();
+    }
+
+    private static int[] rotated(int symmetry, int... moves) {
+        int[] out = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) out[i] = Symmetry.apply(symmetry, moves[i]);
+        return out;
+    }
+
+    @Test
+    void aggregatesSymmetricGames() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(4, 16);
+        builder.add(GameMoves.of(112, 113, 97, 98), WinnerColor.BLACK);
+        builder.add(GameMoves.of(rotated(1, 112, 113, 97, 98)), WinnerColor.WHITE);
+        builder.add(GameMoves.of(rotated(5, 112, 113, 96)), WinnerColor.BLACK);
+
+        Path file = dir.resolve("opening.book");
+        OpeningBookFile.write(file, builder, 1);
+        OpeningBookFile book = OpeningBookFile.open(file);
+        assertEquals(3, book.games());
+        assertEquals(4, book.maxPly());
+
+        List<OpeningBookFile.Entry> first = book.lookup(hashOf());
+        assertEquals(1, first.size(), "첫 수는 모두 가운데");
+        assertEquals(3, first.get(0).games());
+        assertEquals(2, first.get(0).wins(), "흑이 이긴 판 2");
+
+        List<OpeningBookFile.Entry> third = book.lookup(hashOf(112, 113));
+        assertEquals(2, third.size());
+        assertEquals(2, third.get(0).games(), "판 수 내림차순");
+        assertEquals(1, third.get(0).wins());
+        assertEquals(1, third.get(1).games());
+
+        assertTrue(book.lookup(hashOf(0)).isEmpty());
+    }
+
+    @Test
+    void prunesRareMoves() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(3, 16);
+        builder.add(GameMoves.of(112, 113, 97), WinnerColor.BLACK);
+        builder.add(GameMoves.of(112, 113, 98), WinnerColor.WHITE);
+
+        Path file = dir.resolve("opening.book");
+        int records = OpeningBookFile.write(file, builder, 2);
+        OpeningBookFile book = OpeningBookFile.open(file);
+
+        assertEquals(2, records, "가운데와 그 옆만 두 판");
+        assertEquals(records, book.records());
+        assertTrue(book.lookup(hashOf(112, 113)).isEmpty());
+        assertEquals(2, book.lookup(hashOf(112)).get(0).games());
+    }
+
+    @Test
+    void growsPastInitialCapacityAndKeepsSortedLookup() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 16);
+        for (int g = 0; g < 150; g++) {
+            int second = 51 + g;
+            if (second == 112 || second == 128 || second == 200) second = 0;
+            builder.add(GameMoves.of(112, second, 128, 1 + g % 50, 200, 210),
+                    g % 3 == 0 ? WinnerColor.WHITE : WinnerColor.BLACK);
+        }
+        assertTrue(builder.capacity() > 16);
+
+        Path file = dir.resolve("opening.book");
+        OpeningBookFile.write(file, builder, 1);
+        OpeningBookFile book = OpeningBookFile.open(file);
+
+        List<OpeningBookFile.Entry> first = book.lookup(hashOf());
+        assertEquals(150, first.get(0).games());
+        int total = book.lookup(hashOf(112)).stream().mapToInt(OpeningBookFile.Entry::games).sum();
+        assertEquals(150, total);
+    }
+
+    @Test
+    void rejectsCorruptFile() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2, 16);
+        builder.add(GameMoves.of(112, 113), WinnerColor.BLACK);
+        Path file = dir.resolve("opening.book");
+        OpeningBookFile.write(file, builder, 1);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 8] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> OpeningBookFile.open(file));
+
+        Files.write(file, ByteBuffer.allocate(8).putInt(0x12345678).array());
+        assertThrows(IOException.class, () -> OpeningBookFile.open(file));
+    }
+}
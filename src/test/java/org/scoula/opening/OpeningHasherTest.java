@@ -0,0 +1,61 @@
+package org.scoula.opening;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 정석 해시 검증: 돌리거나 뒤집은 같은 수순은 같은 대표 해시가 되고, 대표 방향의 수는 요청 방향으로 되돌아온다.
+ * 다른 국면은 다른 해시다.
+ */
+class OpeningHasherTest {
+
+    private static OpeningHasher played(int symmetry, int... moves) {
+        OpeningHasher h = new OpeningHasher();
+        for (int m : moves) h.play(Symmetry.apply(symmetry, m));
+        return h;
+    }
+
+    @Test
+    void symmetricGamesShareCanonicalHash() {
+        int[] moves = {112, 113, 97, 128, 82};
+        long canonical = played(0, moves).canonical();
+        for (int s = 1; s < Symmetry.COUNT; s++) {
+            assertEquals(canonical, played(s, moves).canonical(), "symmetry " + s);
+        }
+    }
+
+    @Test
+    void differentPositionsDiffer() {
+        assertNotEquals(played(0, 112, 113, 97).canonical(), played(0, 112, 113, 98).canonical());
+        // 같은 돌이라도 색이 바뀌면 다른 국면이다.
+        assertNotEquals(played(0, 112, 113).canonical(), played(0, 113, 112).canonical());
+    }
+
+    @Test
+    void canonicalMoveRoundTrips() {
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            OpeningHasher h = played(s, 112, 113, 97);
+            int move = Symmetry.apply(s, 80);
+            assertEquals(move, h.actualMove(h.canonicalMove(move)), "symmetry " + s);
+        }
+    }
+
+    @Test
+    void sameMoveInAnyOrientationMapsToOneCanonicalCell() {
+        // 가운데 한 점은 여덟 대칭 모두 같은 국면이라, 붙여 두는 네 방향 수가 한 칸으로 모인다.
+        OpeningHasher h = played(0, 112);
+        int canonical = h.canonicalMove(113);
+        for (int neighbour : new int[]{111, 97, 127}) {
+            assertEquals(canonical, h.canonicalMove(neighbour));
+        }
+    }
+
+    @Test
+    void symmetryInverseRestoresCell() {
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            for (int i = 0; i < 225; i++) assertEquals(i, Symmetry.apply(Symmetry.inverse(s), Symmetry.apply(s, i)));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.scoula.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 메모리 리더보드 검증: 같은 레이팅은 같은 등수, 갱신하면 줄이 옮겨지고 등수가 다시 매겨진다.
+ * 어느 offset에서 읽어도 전체를 정렬해 자른 결과와 같다.
+ */
+class LeaderboardTest {
+
+    private static LeaderboardEntry e(long userId, int rating) {
+        return new LeaderboardEntry(userId, "u" + userId, rating, 1);
+    }
+
+    @Test
+    void tiesShareRank() {
+        Leaderboard board = new Leaderboard();
+        board.reset(List.of(e(1, 1600), e(2, 1550), e(3, 1550), e(4, 1500)));
+
+        assertEquals(1, board.rankOf(1L).rank());
+        assertEquals(2, board.rankOf(2L).rank());
+        assertEquals(2, board.rankOf(3L).rank());
+        assertEquals(4, board.rankOf(4L).rank());
+        assertNull(board.rankOf(5L));
+    }
+
+    @Test
+    void putMovesEntry() {
+        Leaderboard board = new Leaderboard();
+        board.reset(List.of(e(1, 1600), e(2, 1550), e(3, 1500)));
+
+        board.put(e(3, 1700));
+
+        assertEquals(3, board.size());
+        assertEquals(1, board.rankOf(3L).rank());
+        assertEquals(2, board.rankOf(1L).rank());
+        assertEquals(List.of(3L, 1L, 2L), board.page(0, 10).stream().map(r -> r.entry().userId()).toList());
+    }
+
+    @Test
+    void pagesMatchFullSort() {
+        Random random = new Random(7);
+        Leaderboard board = new Leaderboard();
+        List<LeaderboardEntry> all = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LeaderboardEntry entry = e(id, 1300 + random.nextInt(400));
+            all.add(entry);
+            board.put(entry);
+        }
+        all.sort(Comparator.comparingInt(LeaderboardEntry::rating).reversed().thenComparing(LeaderboardEntry::userId));
+
+        for (int offset : new int[]{0, 1, 37, 250, 499}) {
+            List<Leaderboard.Ranked> page = board.page(offset, 20);
+            assertEquals(Math.min(20, all.size() - offset), page.size());
+            for (int i = 0; i < page.size(); i++) {
+                LeaderboardEntry expected = all.get(offset + i);
+                assertEquals(expected, page.get(i).entry(), "offset " + offset + " + " + i);
+                int higher = (int) all.stream().filter(x -> x.rating() > expected.rating()).count();
+                assertEquals(higher + 1, page.get(i).rank());
+            }
+        }
+        assertTrue(board.page(500, 20).isEmpty());
+    }
+}
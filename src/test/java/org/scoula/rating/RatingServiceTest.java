@@ -0,0 +1,94 @@
+package org.scoula.rating;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.game.WinnerColor;
+import org.scoula.room.service.PlayerRatings;
+import org.scoula.user.UserRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 레이팅 갱신 검증: Elo 계산, 커밋된 갱신만 리더보드에 반영, version 충돌이면 다시 읽어 재시도.
+ */
+class RatingServiceTest {
+
+    private final UserRatingRepository ratingRepository = mock(UserRatingRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RatingService service;
+
+    RatingServiceTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        when(ratingRepository.findById(any())).thenReturn(Optional.empty());
+        when(ratingRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+        service = new RatingService(ratingRepository, userRepository, transactionManager);
+    }
+
+    @Test
+    void eloMovesTowardResult() {
+        assertEquals(1520, RatingService.next(1500, 1500, true, 0));
+        assertEquals(1480, RatingService.next(1500, 1500, false, 0));
+        assertEquals(1510, RatingService.next(1500, 1500, true, RatingService.PROVISIONAL_GAMES));
+        // 강한 상대를 이기면 더 오르고, 약한 상대에게 지면 더 내려간다.
+        assertEquals(1530, RatingService.next(1500, 1700, true, 0));
+        assertEquals(1470, RatingService.next(1500, 1300, false, 0));
+    }
+
+    @Test
+    void updatePublishesToLeaderboard() {
+        service.update(2L, 3L, WinnerColor.BLACK);
+
+        assertEquals(1520, service.leaderboard().get(2L).rating());
+        assertEquals(1480, service.leaderboard().get(3L).rating());
+        assertEquals(1, service.leaderboard().rankOf(2L).rank());
+        assertEquals(1520, service.ratingOf("2"));
+        assertEquals(PlayerRatings.DEFAULT_RATING, service.ratingOf("guest-x"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void retriesOnVersionConflict() {
+        when(ratingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(UserRating.class, 2L))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        service.update(2L, 3L, WinnerColor.WHITE);
+
+        verify(transactionManager, times(1)).rollback(any());
+        verify(ratingRepository, times(4)).findById(any()); // 두 번째 시도에서 다시 읽는다
+        assertEquals(1480, service.leaderboard().get(2L).rating());
+        assertEquals(1520, service.leaderboard().get(3L).rating());
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsWithoutTouchingLeaderboard() {
+        when(ratingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(UserRating.class, 2L));
+
+        service.update(2L, 3L, WinnerColor.BLACK);
+
+        verify(transactionManager, times(RatingService.MAX_ATTEMPTS)).rollback(any());
+        assertNull(service.leaderboard().get(2L));
+    }
+
+    @Test
+    void rebuildLoadsLeaderboard() {
+        when(ratingRepository.findLeaderboard()).thenReturn(List.of(
+                new LeaderboardEntry(2L, "a", 1600, 10), new LeaderboardEntry(3L, "b", 1400, 4)));
+
+        service.rebuild();
+
+        assertEquals(2, service.leaderboard().size());
+        assertEquals(2, service.leaderboard().rankOf(3L).rank());
+    }
+}
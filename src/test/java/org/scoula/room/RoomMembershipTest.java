@@ -1,15 +1,23 @@
 package org.scoula.room;
 
 import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameClockService;
 import org.scoula.room.service.GameService;
 import org.scoula.room.service.RoomBroadcaster;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomJournal;
 import org.scoula.room.service.RoomService;
 import org.scoula.room.service.RoomServiceImpl;
 import org.scoula.room.service.RoomSocketService;
-import org.springframework.scheduling.TaskScheduler;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SeatAutomation;
+import org.scoula.room.service.SpectatorFanout;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -91,7 +99,8 @@ class RoomMembershipTest {
         when(roomService.getRoom("room-1")).thenReturn(room);
         RoomSocketService service = new RoomSocketService(
                 mock(RoomBroadcaster.class), roomService, mock(GameService.class),
-                mock(org.scoula.game.GameArchiveService.class), mock(TaskScheduler.class));
+                mock(org.scoula.game.GameArchiveService.class), mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
 
         // 게임 시작 → 두 멤버 principal 중 하나가 흑, 다른 하나가 백 자리 소유.
         service.notifyGameStart("room-1");
@@ -132,7 +141,8 @@ class RoomMembershipTest {
 
     @Test
     void duplicatePlayerIdJoinIsRejected() {
-        RoomServiceImpl svc = new RoomServiceImpl();
+        RoomServiceImpl svc = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
         Room room = svc.createRoom("t", null);
         String rid = room.getRoomId();
 
@@ -154,7 +164,8 @@ class RoomMembershipTest {
      */
     @Test
     void leaveUnbindsMember_allowingNewPlayerToJoin() {
-        RoomServiceImpl svc = new RoomServiceImpl();
+        RoomServiceImpl svc = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
         Room room = svc.createRoom("t", null);
         String rid = room.getRoomId();
 
@@ -191,7 +202,8 @@ class RoomMembershipTest {
         when(roomService.getRoom("room-1")).thenReturn(room);
         RoomSocketService service = new RoomSocketService(
                 mock(RoomBroadcaster.class), roomService, mock(GameService.class),
-                mock(org.scoula.game.GameArchiveService.class), mock(TaskScheduler.class));
+                mock(org.scoula.game.GameArchiveService.class), mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
 
         // 랜덤 배정을 여러 번 돌려도 흑≠백 principal 불변.
         for (int i = 0; i < 30; i++) {
@@ -207,7 +219,8 @@ class RoomMembershipTest {
         when(roomService.getRoom(room.getRoomId())).thenReturn(room);
         return new RoomSocketService(
                 mock(RoomBroadcaster.class), roomService, mock(GameService.class),
-                mock(org.scoula.game.GameArchiveService.class), mock(TaskScheduler.class));
+                mock(org.scoula.game.GameArchiveService.class), mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
     }
 
     private Room inProgressRoom() {
@@ -0,0 +1,92 @@
+package org.scoula.room.controller;
+
+import org.junit.jupiter.api.Test;
+import org.scoula.cluster.ClusterClient;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.room.domain.Player;
+import org.scoula.room.service.LobbyService;
+import org.scoula.room.service.RoomBroadcaster;
+import org.scoula.room.service.RoomCreationRateLimiter;
+import org.scoula.room.service.RoomService;
+import org.scoula.room.service.RoomShardExecutor;
+import org.scoula.room.service.WebSocketEventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 클러스터 모드 REST 중계 검증.
+ * - 다른 노드가 주인인 방의 조회·입장·퇴장은 주인 노드로 중계하고 그 응답을 그대로 돌려준다.
+ * - 이미 중계된 요청(X-Cluster-Forwarded)은 링이 어긋나 있어도 다시 넘기지 않고 받은 노드가 처리한다.
+ * - 이 노드 방은 중계하지 않는다.
+ */
+class RoomControllerProxyTest {
+
+    private static final String NODES = "a=http://a:8080,b=http://b:8080";
+
+    private final RoomOwnership onA = new RoomOwnership(true, "a", NODES);
+    private final RoomService roomService = mock(RoomService.class);
+    private final ClusterClient clusterClient = mock(ClusterClient.class);
+    private final RoomController controller = new RoomController(roomService, mock(RoomBroadcaster.class),
+            mock(WebSocketEventListener.class), mock(RoomCreationRateLimiter.class), RoomShardExecutor.callerRuns(),
+            mock(LobbyService.class), onA, clusterClient);
+
+    private final String roomOfB = new RoomOwnership(true, "b", NODES).newLocalRoomId();
+
+    @Test
+    void 다른_노드_방_조회는_주인_노드로_중계한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms/" + roomOfB);
+        ResponseEntity<String> owner = ResponseEntity.ok("{\"roomId\":\"" + roomOfB + "\"}");
+        when(clusterClient.proxy("b", request, null)).thenReturn(owner);
+
+        assertSame(owner, controller.getRoomById(roomOfB, request));
+        verify(roomService, never()).getRoom(anyString());
+    }
+
+    @Test
+    void 다른_노드_방_입장은_본문과_함께_중계한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/rooms/join/" + roomOfB);
+        Player player = new Player("p1", "철수");
+        when(clusterClient.proxy("b", request, player)).thenReturn(ResponseEntity.ok("Joined successfully"));
+
+        ResponseEntity<?> response = controller.joinRoom(roomOfB, player, null,
+                new TestingAuthenticationToken("2", null), request);
+
+        assertEquals("Joined successfully", response.getBody());
+        verify(roomService, never()).joinRoom(anyString(), any(), any(), anyString());
+    }
+
+    @Test
+    void 이미_중계된_요청은_다시_넘기지_않는다() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms/" + roomOfB);
+        request.addHeader(ClusterClient.FORWARDED_HEADER, "b");
+
+        ResponseEntity<?> response = controller.getRoomById(roomOfB, request);
+
+        assertEquals(404, response.getStatusCode().value()); // 이 노드에 없는 방은 여기서 404로 끝난다
+        verify(roomService).getRoom(roomOfB);
+        verify(clusterClient, never()).proxy(anyString(), any(), any());
+    }
+
+    @Test
+    void 이_노드_방은_중계하지_않는다() {
+        String roomOfA = onA.newLocalRoomId();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/rooms/leave/" + roomOfA);
+
+        ResponseEntity<?> response = controller.leaveRoom(roomOfA, new TestingAuthenticationToken("2", null), request);
+
+        assertEquals(400, response.getStatusCode().value()); // 방이 없으니 자리도 없다
+        verify(roomService).getRoom(eq(roomOfA));
+        verify(clusterClient, never()).proxy(anyString(), any(), any());
+    }
+}
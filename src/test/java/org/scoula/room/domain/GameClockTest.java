@@ -0,0 +1,99 @@
+package org.scoula.room.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서버 대국 시계: Fischer increment, 초읽기 회차 소모·갱신, 시간 초과 시각, 기보 소요 시간으로 다시 만들기.
+ */
+class GameClockTest {
+
+    @Test
+    void fischerAddsIncrementAfterEachMove() {
+        GameClock clock = new GameClock(new GameClock.Rules(60_000, 2_000, 0, 0), 0);
+
+        assertTrue(clock.press(10_000)); // 흑 10초 사용 → 50 + 2
+        assertTrue(clock.press(15_000)); // 백 5초 사용 → 55 + 2
+
+        GameClock.View view = clock.view(15_000);
+        assertEquals(52_000, view.blackMillis());
+        assertEquals(57_000, view.whiteMillis());
+        assertEquals(15_000 + 52_000, clock.deadline(), "흑 차례: 남은 52초 뒤 시간 초과");
+    }
+
+    @Test
+    void mainTimeRunsOutWithoutByoyomiFlags() {
+        GameClock clock = new GameClock(new GameClock.Rules(10_000, 0, 0, 0), 0);
+
+        assertFalse(clock.isFlagged(9_999));
+        assertTrue(clock.isFlagged(10_000));
+        assertFalse(clock.press(10_500), "시간을 넘긴 착수는 받지 않는다");
+    }
+
+    @Test
+    void byoyomiPeriodResetsWhenMovedInTimeAndIsConsumedWhenOverrun() {
+        GameClock clock = new GameClock(new GameClock.Rules(0, 0, 30_000, 3), 0);
+
+        assertTrue(clock.press(29_000)); // 흑: 첫 회차 안 → 회차 그대로 3, 30초 다시 참
+        assertEquals(3, clock.view(29_000).blackPeriods());
+        assertEquals(30_000, clock.view(29_000).blackMillis());
+
+        assertTrue(clock.press(29_000 + 45_000)); // 백: 한 회차를 넘기고 두 번째 회차 15초 지점에서 둠
+        GameClock.View view = clock.view(74_000);
+        assertEquals(2, view.whitePeriods());
+        assertEquals(30_000, view.whiteMillis());
+
+        // 흑은 회차 3개 = 90초를 다 쓰면 시간 초과
+        assertEquals(74_000 + 90_000, clock.deadline());
+    }
+
+    @Test
+    void perMoveLimitIsSingleByoyomiPeriod() {
+        GameClock clock = new GameClock(new GameClock.Rules(0, 0, 30_000, 1), 0);
+        assertTrue(clock.press(29_999));
+        assertFalse(clock.isFlagged(29_999 + 29_999));
+        assertTrue(clock.isFlagged(29_999 + 30_000));
+    }
+
+    @Test
+    void mainTimeFlowsIntoByoyomi() {
+        GameClock clock = new GameClock(new GameClock.Rules(10_000, 0, 5_000, 2), 0);
+        GameClock.View view = clock.view(12_000); // 주 시간 10초 다 쓰고 첫 회차 2초 사용
+        assertEquals(3_000, view.blackMillis());
+        assertEquals(2, view.blackPeriods());
+        assertEquals(20_000, clock.deadline());
+    }
+
+    @Test
+    void rearmIsNeededOnlyWhenTheMovePullsTheDeadlineEarlier() {
+        GameClock clock = new GameClock(new GameClock.Rules(1_000, 0, 0, 0), 0);
+        assertEquals(1_000, clock.markArmed());
+
+        assertTrue(clock.press(100)); // 백 마감 1,100 > 예약 1,000
+        assertFalse(clock.needsRearm(), "마감이 뒤로 밀리면 예약은 만료 때 다시 건다");
+        assertEquals(1_100, clock.markArmed());
+
+        assertTrue(clock.press(1_000)); // 백 900 사용 → 흑 마감 1,000 + 900 = 1,900
+        assertEquals(1_900, clock.markArmed());
+        assertTrue(clock.press(1_100)); // 흑 100 사용 → 백 남은 100, 마감 1,200
+        assertTrue(clock.needsRearm(), "마감이 걸린 예약보다 앞당겨지면 다시 걸어야 한다");
+    }
+
+    @Test
+    void replayRebuildsFromMoveElapsedTimesAndRestartsSideToMove() {
+        MoveLog moves = new MoveLog();
+        moves.add(112, 10_000);
+        moves.add(113, 20_000);
+        moves.add(97, 5_000);
+
+        GameClock clock = GameClock.replay(new GameClock.Rules(60_000, 0, 0, 0), moves, 1_000_000);
+
+        GameClock.View view = clock.view(1_000_000);
+        assertEquals(45_000, view.blackMillis());
+        assertEquals(40_000, view.whiteMillis());
+        assertEquals(1_000_000 + 40_000, clock.deadline(), "백 차례가 기동 시각부터 다시 흐른다");
+    }
+}
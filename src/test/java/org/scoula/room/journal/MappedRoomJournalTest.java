@@ -0,0 +1,107 @@
+package org.scoula.room.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저널 파일 포맷 검증.
+ * - 세그먼트가 차면 다음 세그먼트로 넘어가고, 모든 레코드가 LSN 순서대로 다시 읽힌다.
+ * - 쓰다 만 꼬리(CRC 불일치) 레코드에서 읽기를 멈추고 그 앞까지만 돌려준다.
+ */
+class MappedRoomJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<MappedRoomJournal> opened = new ArrayList<>();
+
+    private MappedRoomJournal open() throws IOException {
+        MappedRoomJournal journal = new MappedRoomJournal(true, dir, DataSize.ofKilobytes(4), Duration.ofMillis(20), false);
+        journal.open();
+        opened.add(journal);
+        return journal;
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedRoomJournal::close);
+    }
+
+    private static Room room(String roomId) {
+        return RoomReplay.newRoom(roomId, "방 " + roomId, null, 0);
+    }
+
+    private List<Long> lsns(MappedRoomJournal journal, long segment) throws IOException {
+        List<Long> lsns = new ArrayList<>();
+        journal.read(segment, payload -> lsns.add(payload.getLong()));
+        return lsns;
+    }
+
+    @Test
+    void 세그먼트가_차면_넘어가고_LSN_순서대로_읽힌다() throws IOException {
+        MappedRoomJournal journal = open();
+        for (int i = 0; i < 200; i++) {
+            Room room = room("room-" + i);
+            journal.roomCreated(room);
+            assertEquals(i + 1, room.getJournalLsn());
+        }
+
+        List<Long> all = new ArrayList<>();
+        for (long segment : journal.segmentIds()) all.addAll(lsns(journal, segment));
+        assertTrue(journal.segmentIds().size() > 1, "4KB 세그먼트에 200건은 넘친다");
+        assertEquals(LongStream.rangeClosed(1, 200).boxed().toList(), all);
+
+        RoomReplay replay = new RoomReplay(new GameService(new RenjuRuleEngine(), OmokMetrics.NONE));
+        for (long segment : journal.segmentIds()) journal.read(segment, replay::apply);
+        assertEquals(200, replay.rooms().size());
+        assertEquals(200, replay.maxLsn());
+    }
+
+    @Test
+    void 쓰다_만_꼬리_레코드에서_멈춘다() throws IOException {
+        MappedRoomJournal journal = open();
+        Room room = room("r");
+        journal.roomCreated(room);
+        journal.memberJoined(room, "user:1", new Player("p1", "철수"));
+        journal.memberJoined(room, "user:2", new Player("p2", "영희"));
+        long segment = journal.currentSegment();
+        journal.close();
+
+        // 마지막 레코드 payload 한 바이트를 망가뜨린다(디스크에 반만 쓰인 상황).
+        Path file = dir.resolve(String.format("journal-%019d.log", segment));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long offset = 0;
+            long last = 0;
+            for (int i = 0; i < 3; i++) {
+                raf.seek(offset);
+                last = offset;
+                offset += 8 + raf.readInt();
+            }
+            raf.seek(last + 8 + 9 + 4); // 길이·CRC·LSN·종류·roomId 길이 다음 = roomId 첫 바이트
+            raf.write('X');
+        }
+
+        List<Long> lsns = new ArrayList<>();
+        assertEquals(2, journal.read(segment, (ByteBuffer payload) -> lsns.add(payload.getLong())));
+        assertEquals(List.of(1L, 2L), lsns);
+    }
+}
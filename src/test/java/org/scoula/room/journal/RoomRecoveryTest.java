@@ -0,0 +1,172 @@
+package org.scoula.room.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.game.GameArchiveService;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.service.GameClockService;
+import org.scoula.room.service.GameService;
+import org.scoula.room.service.RenjuRuleEngine;
+import org.scoula.room.service.RoomBroadcaster;
+import org.scoula.room.service.RoomChangeListener;
+import org.scoula.room.service.RoomServiceImpl;
+import org.scoula.room.service.RoomSocketService;
+import org.scoula.room.service.RoomTimers;
+import org.scoula.room.service.SeatAutomation;
+import org.scoula.room.service.SpectatorFanout;
+import org.scoula.room.service.WebSocketEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 재기동 복구 검증. 한 "노드"(저널 + 방 서비스 + 게임 서비스)를 띄워 대국을 진행하다 닫지 않고 버린 뒤,
+ * 같은 디렉터리로 새 노드를 띄우면
+ * - 진행 중 대국의 판·턴·흑/백·기보·금수 마스크가 그대로 돌아오고 이어서 둘 수 있다.
+ * - 체크포인트 스냅샷 + 이후 레코드 재생이 섞여도 결과가 같다(중복 적용 없음).
+ * - 모두 나가서 사라진 방은 돌아오지 않는다.
+ * - 되살린 방의 멤버마다 재접속 유예가 걸린다.
+ */
+class RoomRecoveryTest {
+
+    private static final String BLACK_OR_WHITE_1 = "user:1";
+    private static final String BLACK_OR_WHITE_2 = "user:2";
+
+    @TempDir
+    Path dir;
+
+    private final GameService gameService = new GameService(new RenjuRuleEngine(), OmokMetrics.NONE);
+    private final List<MappedRoomJournal> opened = new ArrayList<>();
+
+    private class Node {
+        final MappedRoomJournal journal;
+        final RoomServiceImpl rooms;
+        final RoomSocketService game;
+        final WebSocketEventListener listener = mock(WebSocketEventListener.class);
+        final RoomRecovery recovery;
+
+        Node() throws IOException {
+            journal = new MappedRoomJournal(true, dir, DataSize.ofKilobytes(64), Duration.ofMillis(20), false);
+            journal.open();
+            opened.add(journal);
+            rooms = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), journal,
+                    RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
+            game = new RoomSocketService(mock(RoomBroadcaster.class), rooms, gameService,
+                    mock(GameArchiveService.class), mock(RoomTimers.class), journal,
+                    GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
+            recovery = new RoomRecovery(journal, rooms, gameService, listener, game);
+            recovery.recover();
+        }
+
+        // 차례인 쪽이 둔다.
+        void move(Room room, int index) {
+            String principal = room.getTurn() % 2 == 1 ? room.blackPrincipal() : room.whitePrincipal();
+            game.processMove(room.getRoomId(), principal, index);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedRoomJournal::close);
+    }
+
+    private static Room startedRoom(Node node) {
+        Room room = node.rooms.createRoom("복구방", "pw");
+        node.rooms.joinRoom(room.getRoomId(), new Player("p1", "철수"), "pw", BLACK_OR_WHITE_1);
+        node.rooms.joinRoom(room.getRoomId(), new Player("p2", "영희"), "pw", BLACK_OR_WHITE_2);
+        node.game.notifyGameStart(room.getRoomId());
+        assertTrue(room.isPlaying());
+        return room;
+    }
+
+    @Test
+    void 진행_중인_대국이_재기동_후_그대로_돌아온다() throws IOException {
+        Node before = new Node();
+        Room room = startedRoom(before);
+        before.move(room, 112);
+        before.move(room, 113);
+        before.recovery.checkpoint(); // 스냅샷 + 새 세그먼트
+        before.move(room, 97);
+        before.move(room, 98);
+        before.move(room, 82);
+
+        Room gone = before.rooms.createRoom("사라질 방", null);
+        before.rooms.joinRoom(gone.getRoomId(), new Player("p3", "민수"), null, "user:3");
+        before.rooms.leaveRoom(gone.getRoomId(), "p3");
+
+        Node after = new Node(); // before를 닫지 않고 버린다(프로세스 종료와 같다)
+        Room restored = after.rooms.getRoom(room.getRoomId());
+
+        assertNotNull(restored);
+        assertNull(after.rooms.getRoom(gone.getRoomId()));
+        assertEquals(1, after.rooms.getRoomList().size());
+        assertTrue(restored.isPlaying());
+        assertEquals("pw", restored.getPassword());
+        assertEquals(room.getTurn(), restored.getTurn());
+        assertArrayEquals(room.getBoard(), restored.getBoard());
+        assertEquals(room.getMoveHistory(), restored.getMoveHistory());
+        assertEquals(room.getMoveLog().elapsedMillis(4), restored.getMoveLog().elapsedMillis(4));
+        assertArrayEquals(room.getForbiddenMask().toArray(), restored.getForbiddenMask().toArray());
+        assertEquals(room.blackPrincipal(), restored.blackPrincipal());
+        assertEquals(room.whitePrincipal(), restored.whitePrincipal());
+        assertEquals(room.getBlackPlayer(), restored.getBlackPlayer());
+        assertEquals("p1", restored.playerIdOf(BLACK_OR_WHITE_1));
+        verify(after.listener).awaitReconnect(room.getRoomId(), BLACK_OR_WHITE_1);
+        verify(after.listener).awaitReconnect(room.getRoomId(), BLACK_OR_WHITE_2);
+
+        after.move(restored, 127); // 이어서 둘 수 있다
+        assertEquals(room.getTurn() + 1, restored.getTurn());
+    }
+
+    @Test
+    void 체크포인트는_이전_세그먼트를_지우고_복구는_스냅샷만으로도_된다() throws IOException {
+        Node before = new Node();
+        Room room = startedRoom(before);
+        before.move(room, 112);
+        before.recovery.checkpoint();
+        before.recovery.checkpoint(); // 변경이 없으면 아무것도 안 한다
+
+        assertTrue(Files.exists(dir.resolve(RoomSnapshotFile.FILE_NAME)));
+        assertEquals(List.of(before.journal.currentSegment()), before.journal.segmentIds());
+
+        Node after = new Node();
+        Room restored = after.rooms.getRoom(room.getRoomId());
+        assertEquals(List.of(112), restored.getMoveHistory());
+        assertEquals(2, restored.getTurn());
+    }
+
+    @Test
+    void 끝난_대국은_대기_방으로_돌아오고_LSN은_이어진다() throws IOException {
+        Node before = new Node();
+        Room room = startedRoom(before);
+        String loser = room.blackPrincipal();
+        before.game.processSurrender(room.getRoomId(), loser);
+        long lastLsn = before.journal.lastLsn();
+
+        Node after = new Node();
+        Room restored = after.rooms.getRoom(room.getRoomId());
+        assertEquals(2, restored.getPlayers().size());
+        assertFalse(restored.isPlaying());
+
+        after.rooms.createRoom("새 방", null);
+        assertTrue(after.journal.lastLsn() > lastLsn, "재기동 뒤 LSN이 뒤로 가지 않는다");
+    }
+}
@@ -0,0 +1,169 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 테이블 기반 엔진(BitboardRenjuRuleEngine)이 기존 RenjuRuleEngine과 같은 판정을 내리는지 검증한다.
+ * RenjuRuleEngineTest의 경계 픽스처를 그대로 겨누고, 무작위 국면에서 두 엔진을 전수 대조한다.
+ * 좌표계: index = y*15 + x, 흑=홀수, 백=짝수, 빈칸=0.
+ */
+class BitboardRenjuRuleEngineTest {
+
+    private static final int SIZE = 15;
+    private final RuleEngine engine = new BitboardRenjuRuleEngine();
+    private final RuleEngine reference = new RenjuRuleEngine();
+
+    private int[][] board() {
+        return new int[SIZE][SIZE];
+    }
+
+    private void black(int[][] b, int x, int y) {
+        b[y][x] = 1;
+    }
+
+    private void white(int[][] b, int x, int y) {
+        b[y][x] = 2;
+    }
+
+    private int idx(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    // ── 장목으로만 완성되는 갭은 four가 아니다 ──
+    @Test
+    void overlineGapIsNotDoubleFour() {
+        int[][] b = board();
+        black(b, 4, 7);
+        black(b, 6, 7);
+        black(b, 8, 7);
+        black(b, 9, 7);
+        assertFalse(engine.isForbidden(b, idx(5, 7)));
+    }
+
+    @Test
+    void genuineDoubleFourIsForbidden() {
+        int[][] b = board();
+        black(b, 5, 7);
+        black(b, 6, 7);
+        black(b, 8, 7);
+        black(b, 7, 5);
+        black(b, 7, 6);
+        black(b, 7, 8);
+        assertTrue(engine.isForbidden(b, idx(7, 7)));
+    }
+
+    @Test
+    void fourShapeIsNotCountedAsOpenThree() {
+        int[][] b = board();
+        black(b, 2, 7);
+        black(b, 4, 7);
+        black(b, 5, 7);
+        black(b, 6, 7);
+        assertEquals(0, engine.countOpenThrees(b, idx(5, 7)));
+        assertEquals(1, engine.countFour(b, idx(5, 7)));
+    }
+
+    @Test
+    void genuineDoubleThreeIsForbidden() {
+        int[][] b = board();
+        black(b, 6, 7);
+        black(b, 8, 7);
+        black(b, 7, 6);
+        black(b, 7, 8);
+        assertTrue(engine.isForbidden(b, idx(7, 7)));
+    }
+
+    @Test
+    void diagonalDoubleThreeIsForbidden() {
+        int[][] b = board();
+        black(b, 6, 6);
+        black(b, 8, 8);
+        black(b, 6, 8);
+        black(b, 8, 6);
+        assertTrue(engine.isForbidden(b, idx(7, 7)));
+    }
+
+    // ── 벽에 막힌 삼은 열린 삼이 아니다(판 바깥 = 막힘) ──
+    @Test
+    void threeAgainstWallIsNotOpen() {
+        int[][] b = board();
+        black(b, 0, 7);
+        black(b, 1, 7);
+        black(b, 2, 7);
+        assertEquals(0, engine.countOpenThrees(b, idx(1, 7)));
+    }
+
+    @Test
+    void movingToFiveIsNeverForbidden() {
+        int[][] b = board();
+        black(b, 3, 7);
+        black(b, 4, 7);
+        black(b, 6, 7);
+        black(b, 7, 7);
+        assertFalse(engine.isForbidden(b, idx(5, 7)));
+    }
+
+    @Test
+    void overlineIsForbiddenForBlack() {
+        int[][] b = board();
+        black(b, 2, 7);
+        black(b, 3, 7);
+        black(b, 4, 7);
+        black(b, 6, 7);
+        black(b, 7, 7);
+        assertTrue(engine.isForbidden(b, idx(5, 7)));
+    }
+
+    // ── 승리 비대칭: 흑은 정확히 5목, 백은 5목 이상 ──
+    @Test
+    void winAsymmetryMatchesRenjuRules() {
+        int[][] b = board();
+        for (int x = 2; x <= 7; x++) black(b, x, 7);
+        assertFalse(engine.isWin(b, idx(4, 7)), "흑 6목은 승리가 아니다");
+
+        int[][] w = board();
+        for (int x = 2; x <= 7; x++) white(w, x, 7);
+        assertTrue(engine.isWin(w, idx(4, 7)), "백 6목은 승리");
+    }
+
+    // ── 돌 값은 착수 순번이다(흑=홀수, 백=짝수) ──
+    @Test
+    void stoneValuesAreTurnNumbers() {
+        int[][] b = board();
+        b[0][0] = 1; b[1][1] = 3; b[2][2] = 5; b[3][3] = 7; b[4][4] = 9;
+        b[5][5] = 12; // 백이 6번째 칸을 막는다
+        assertTrue(engine.isWin(b, idx(4, 4)), "모서리 대각 흑 5목(6번째 칸은 백)");
+    }
+
+    // ── 무작위 국면 전수 대조: 네 판정 모두 RenjuRuleEngine과 같아야 한다 ──
+    @Test
+    void matchesReferenceEngineOnRandomPositions() {
+        Random random = new Random(20261018L);
+        for (int game = 0; game < 500; game++) {
+            int[][] b = board();
+            int turn = 1;
+            int stones = random.nextInt(120);
+            for (int i = 0; i < stones; i++) {
+                int index = random.nextInt(SIZE * SIZE);
+                if (b[index / SIZE][index % SIZE] == 0) b[index / SIZE][index % SIZE] = turn++;
+            }
+            for (int index = 0; index < SIZE * SIZE; index++) {
+                assertEquals(reference.isWin(b, index), engine.isWin(b, index), "isWin index=" + index);
+                if (b[index / SIZE][index % SIZE] != 0) continue;
+                assertEquals(reference.isForbidden(b, index), engine.isForbidden(b, index),
+                        "isForbidden index=" + index);
+                b[index / SIZE][index % SIZE] = 1;
+                assertEquals(reference.countFour(b, index), engine.countFour(b, index), "countFour index=" + index);
+                assertEquals(reference.countOpenThrees(b, index), engine.countOpenThrees(b, index),
+                        "countOpenThrees index=" + index);
+                b[index / SIZE][index % SIZE] = 0;
+            }
+        }
+    }
+}
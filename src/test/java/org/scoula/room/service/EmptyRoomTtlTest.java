@@ -0,0 +1,83 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+
+import java.time.Duration;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 빈 방 TTL 검증 (#6): 방마다 걸린 ROOM_TTL 타이머가 만료되면 아무도 들어오지 않은 빈 방만 제거되고,
+ * 플레이어가 있는 방은 보존된다. 첫 입장 때 타이머가 취소되어 대기 목록에 남지 않는다.
+ */
+class EmptyRoomTtlTest {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 64);
+    private final RoomTimers timers = new RoomTimers(wheel, RoomShardExecutor.callerRuns());
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    private RoomServiceImpl serviceWithTtl(Duration ttl) {
+        return new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE, timers, ttl,
+                SpectatorFanout.NONE);
+    }
+
+    @Test
+    void removesEmptyRoomWhenTtlExpires() throws InterruptedException {
+        RoomServiceImpl svc = serviceWithTtl(Duration.ofMillis(30));
+
+        Room empty = svc.createRoom("empty", null);
+        assertTrue(timers.isPending(RoomTimers.Kind.ROOM_TTL, empty.getRoomId()));
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (svc.getRoom(empty.getRoomId()) != null && System.currentTimeMillis() < deadline) Thread.sleep(10);
+
+        assertNull(svc.getRoom(empty.getRoomId()), "TTL 경과한 빈 방은 제거되어야 한다");
+        assertEquals(1, timers.stats(RoomTimers.Kind.ROOM_TTL).fired());
+    }
+
+    @Test
+    void preservesRecentEmptyRoom() {
+        RoomServiceImpl svc = serviceWithTtl(Duration.ofSeconds(60));
+
+        Room recentEmpty = svc.createRoom("recent-empty", null);
+
+        assertNotNull(svc.getRoom(recentEmpty.getRoomId()), "최근 생성된 빈 방은 보존되어야 한다");
+        assertTrue(timers.isPending(RoomTimers.Kind.ROOM_TTL, recentEmpty.getRoomId()));
+    }
+
+    @Test
+    void joinCancelsTtl() {
+        RoomServiceImpl svc = serviceWithTtl(Duration.ofSeconds(60));
+
+        Room room = svc.createRoom("joined", null);
+        svc.joinRoom(room.getRoomId(), new Player("p-1", "플레이어"), null, "user:1");
+
+        assertFalse(timers.isPending(RoomTimers.Kind.ROOM_TTL, room.getRoomId()), "입장한 방의 TTL은 취소되어야 한다");
+        assertEquals(1, timers.stats(RoomTimers.Kind.ROOM_TTL).cancelled());
+    }
+
+    @Test
+    void preservesActiveRoomEvenIfExpired() {
+        RoomServiceImpl svc = serviceWithTtl(Duration.ofSeconds(60));
+
+        Room active = svc.createRoom("active", null);
+        // 타이머가 이미 꺼내진 뒤 입장한 경우: 만료 처리는 room 락 안에서 다시 확인해 보존한다.
+        active.getPlayers().add(new Player("p-1", "플레이어"));
+        svc.expireIfEmpty(active.getRoomId());
+
+        assertNotNull(svc.getRoom(active.getRoomId()), "플레이어가 있는 방은 TTL이 지나도 보존되어야 한다");
+    }
+}
@@ -0,0 +1,149 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.ForbiddenMask;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
+import org.scoula.room.dto.RoomResponseMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 착수마다 증분 갱신되는 흑 금수 마스크 검증.
+ * - 네 줄만 다시 판정한 결과가 매 수 전체 재판정 결과와 같아야 한다(두 엔진 모두).
+ * - ACTION에 실린 마스크로 금수점이 보이고, 그 자리 착수는 마스크 조회만으로 거부된다.
+ */
+class ForbiddenMaskTest {
+
+    private static final int SIZE = 15;
+    private static final String ROOM_ID = "room-1";
+    private static final String BLACK = "user:2";
+    private static final String WHITE = "user:3";
+
+    @Test
+    void scanEngineIncrementalMaskMatchesFullRecompute() {
+        assertIncrementalMatchesFull(new RenjuRuleEngine());
+    }
+
+    @Test
+    void bitboardEngineIncrementalMaskMatchesFullRecompute() {
+        assertIncrementalMatchesFull(new BitboardRenjuRuleEngine());
+    }
+
+    /** 주변 2칸 안에만 두는 무작위 대국(금수 회피)으로 삼·사가 자주 생기게 하고, 매 수 전체 판정과 대조한다. */
+    private void assertIncrementalMatchesFull(RuleEngine engine) {
+        GameService gameService = new GameService(engine, OmokMetrics.NONE);
+        Random random = new Random(20261018L);
+        int checkedForbidden = 0;
+        for (int game = 0; game < 100; game++) {
+            Room room = Room.builder().roomId(ROOM_ID).build();
+            room.initGame("p-black");
+            gameService.applyMove(room, 7 * SIZE + 7);
+            while (room.getTurn() <= SIZE * SIZE) {
+                int index = pickNear(room, random);
+                if (index < 0) break;
+                gameService.applyMove(room, index);
+
+                int[][] board = room.getBoard();
+                for (int cell = 0; cell < SIZE * SIZE; cell++) {
+                    boolean expected = board[cell / SIZE][cell % SIZE] == 0 && engine.isForbidden(board, cell);
+                    assertEquals(expected, room.getForbiddenMask().contains(cell),
+                            "game=" + game + " turn=" + room.getTurn() + " cell=" + cell);
+                }
+                checkedForbidden += room.getForbiddenMask().count();
+                if (gameService.checkGameEnd(room, index)) break;
+            }
+        }
+        assertTrue(checkedForbidden > 0, "코퍼스에 금수점이 한 번도 생기지 않으면 대조가 의미 없다");
+    }
+
+    private int pickNear(Room room, Random random) {
+        List<Integer> candidates = new ArrayList<>();
+        int[][] board = room.getBoard();
+        boolean black = room.getTurn() % 2 == 1;
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            if (board[cell / SIZE][cell % SIZE] != 0) continue;
+            if (black && room.getForbiddenMask().contains(cell)) continue;
+            if (nearStone(board, cell % SIZE, cell / SIZE)) candidates.add(cell);
+        }
+        return candidates.isEmpty() ? -1 : candidates.get(random.nextInt(candidates.size()));
+    }
+
+    private boolean nearStone(int[][] board, int x, int y) {
+        for (int ny = Math.max(0, y - 2); ny <= Math.min(SIZE - 1, y + 2); ny++) {
+            for (int nx = Math.max(0, x - 2); nx <= Math.min(SIZE - 1, x + 2); nx++) {
+                if (board[ny][nx] != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void actionCarriesMaskAndForbiddenMoveIsRejected() {
+        RoomBroadcaster roomBroadcaster = mock(RoomBroadcaster.class);
+        RoomService roomService = mock(RoomService.class);
+        RoomSocketService service = new RoomSocketService(roomBroadcaster, roomService,
+                new GameService(new RenjuRuleEngine(), OmokMetrics.NONE),
+                mock(org.scoula.game.GameArchiveService.class),
+                mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
+        Room room = startedRoom();
+        when(roomService.getRoom(ROOM_ID)).thenReturn(room);
+
+        // 흑 (6,7)(8,7)(7,6)(7,8) → (7,7)이 3-3. 백은 서로 떨어진 가장자리.
+        int[] moves = {idx(6, 7), idx(0, 0), idx(8, 7), idx(0, 2), idx(7, 6), idx(0, 4), idx(7, 8), idx(0, 6)};
+        for (int i = 0; i < moves.length; i++) {
+            service.processMove(ROOM_ID, i % 2 == 0 ? BLACK : WHITE, moves[i]);
+        }
+
+        ArgumentCaptor<RoomResponseMessage> captor = ArgumentCaptor.forClass(RoomResponseMessage.class);
+        verify(roomBroadcaster, atLeastOnce()).broadcast(eq(ROOM_ID), captor.capture());
+        RoomResponseMessage lastAction = captor.getValue();
+        assertEquals(MessageType.ACTION, lastAction.getType());
+        int[] mask = lastAction.getForbidden();
+        assertEquals(ForbiddenMask.WORDS, mask.length);
+        int center = idx(7, 7);
+        assertTrue((mask[center >> 5] >>> (center & 31) & 1) == 1, "ACTION 마스크에 3-3 자리가 표시되어야 한다");
+
+        service.processMove(ROOM_ID, BLACK, center);
+
+        verify(roomBroadcaster, atLeastOnce()).broadcast(eq(ROOM_ID), captor.capture());
+        RoomResponseMessage rejected = captor.getValue();
+        assertEquals(MessageType.ERROR, rejected.getType());
+        assertEquals("금수 위치입니다.", rejected.getMessage());
+        assertEquals(0, room.getBoard()[7][7]);
+        assertEquals(moves.length + 1, room.getTurn());
+        assertFalse(room.getForbiddenMask().contains(idx(6, 7)), "돌이 놓인 칸은 금수점이 아니다");
+    }
+
+    private Room startedRoom() {
+        Room room = Room.builder()
+                .roomId(ROOM_ID)
+                .players(new ArrayList<>(List.of(new Player("p-black", "흑돌"), new Player("p-white", "백돌"))))
+                .build();
+        room.initGame("p-black");
+        room.bindMember(BLACK, "p-black");
+        room.bindMember(WHITE, "p-white");
+        room.setBlackPrincipal(BLACK);
+        room.setWhitePrincipal(WHITE);
+        return room;
+    }
+
+    private int idx(int x, int y) {
+        return y * SIZE + x;
+    }
+}
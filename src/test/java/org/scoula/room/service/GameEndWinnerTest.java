@@ -2,6 +2,7 @@ package org.scoula.room.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 import org.scoula.room.dto.MessageType;
@@ -38,9 +39,10 @@ class GameEndWinnerTest {
         service = new RoomSocketService(
                 roomBroadcaster,
                 roomService,
-                new GameService(new RenjuRuleEngine()),
+                new GameService(new RenjuRuleEngine(), OmokMetrics.NONE),
                 mock(org.scoula.game.GameArchiveService.class),
-                mock(org.springframework.scheduling.TaskScheduler.class));
+                mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
     }
 
     private Room startedRoom() {
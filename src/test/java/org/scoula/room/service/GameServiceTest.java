@@ -1,6 +1,7 @@
 package org.scoula.room.service;
 
 import org.junit.jupiter.api.Test;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.domain.Room;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -15,7 +16,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class GameServiceTest {
 
     private static final int SIZE = 15;
-    private final GameService gameService = new GameService(new RenjuRuleEngine());
+    private final GameService gameService = new GameService(new RenjuRuleEngine(), OmokMetrics.NONE);
 
     /** 빈 15x15 보드. */
     private int[][] board() {
@@ -1,5 +1,6 @@
 package org.scoula.room.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -37,18 +38,26 @@ class GraceExpiryTest {
     private RoomBroadcaster roomBroadcaster;
     private RoomService roomService;
     private GameArchiveService gameArchiveService;
+    private RoomTimers timers;
     private WebSocketEventListener listener;
 
     private static final String ROOM_ID = "room-1";
     private static final String BLACK = "user:2";
     private static final String WHITE = "user:3";
 
+    @AfterEach
+    void tearDown() {
+        timers.shutdown();
+    }
+
     @BeforeEach
     void setUp() {
         roomBroadcaster = mock(RoomBroadcaster.class);
         roomService = mock(RoomService.class);
         gameArchiveService = mock(GameArchiveService.class);
-        listener = new WebSocketEventListener(roomBroadcaster, roomService, gameArchiveService);
+        timers = RoomTimers.standalone();
+        listener = new WebSocketEventListener(roomBroadcaster, roomService, gameArchiveService,
+                RoomShardExecutor.callerRuns(), timers, RoomCommandForwarder.LOCAL);
     }
 
     private Room playingRoom() {
@@ -0,0 +1,79 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 해시 타이머 바퀴: 만료 시각 이후에 실행하고, 취소한 예약은 실행하지 않으며 pending에서 빠지고,
+ * 바퀴 한 바퀴를 넘는 지연도 남은 바퀴 수로 정확히 만료한다.
+ */
+class HashedTimerWheelTest {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesNoEarlierThanDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] firedAt = new long[1];
+        long start = System.nanoTime();
+        wheel.schedule(Duration.ofMillis(60), () -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        });
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(firedAt[0] - start) >= 60);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void delayLongerThanOneRevolutionUsesRounds() throws InterruptedException {
+        // 5ms × 8칸 = 40ms 한 바퀴. 100ms는 두 바퀴 넘게 돌아야 만료된다.
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(Duration.ofMillis(100), fired::countDown);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(Duration.ofMillis(30), runs::incrementAndGet);
+        CountDownLatch later = new CountDownLatch(1);
+        wheel.schedule(Duration.ofMillis(80), later::countDown);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel(), "두 번 취소되지 않는다");
+        assertEquals(1, wheel.pending());
+
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void manyTimeoutsAllFire() throws InterruptedException {
+        int n = 10_000;
+        CountDownLatch fired = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) wheel.schedule(Duration.ofMillis(i % 100), fired::countDown);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, wheel.pending());
+    }
+}
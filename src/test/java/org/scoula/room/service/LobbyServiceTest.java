@@ -0,0 +1,125 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.LobbyDelta;
+import org.scoula.room.dto.LobbyRoom;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 로비 스냅샷·변경분 검증.
+ * - 생성/입장/퇴장이 version을 올리고 /topic/lobby로 변경분을 민다. 로비에 안 보이는 변경은 무시한다.
+ * - 변경이 없으면 같은 스냅샷(같은 바이트·ETag)을 재사용한다.
+ * - 스냅샷에는 판(board)이 없다.
+ * - 다른 노드에서 온 변경분은 방마다 더 최신 version일 때만 반영하고, 다시 밀지 않는다.
+ */
+class LobbyServiceTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LobbyService lobby = new LobbyService(template, objectMapper, LobbyReplicator.NONE);
+    private final RoomServiceImpl rooms = new RoomServiceImpl(lobby, RoomOwnership.standalone(), RoomJournal.NONE,
+            RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
+
+    private List<LobbyDelta> pushed(int expected) {
+        ArgumentCaptor<LobbyDelta> cap = ArgumentCaptor.forClass(LobbyDelta.class);
+        verify(template, times(expected)).convertAndSend(eq(LobbyService.TOPIC), cap.capture());
+        return cap.getAllValues();
+    }
+
+    @Test
+    void 생성_입장_퇴장이_순서대로_변경분으로_나간다() {
+        Room room = rooms.createRoom("방1", null);
+        rooms.joinRoom(room.getRoomId(), new Player("p1", "철수"), null, "1");
+        rooms.joinRoom(room.getRoomId(), new Player("p2", "영희"), null, "2");
+        rooms.leaveRoom(room.getRoomId(), "p2");
+        rooms.leaveRoom(room.getRoomId(), "p1"); // 마지막 사람이 나가면 방이 사라진다
+
+        List<LobbyDelta> deltas = pushed(5);
+        for (int i = 1; i < deltas.size(); i++) {
+            assertTrue(deltas.get(i).version() > deltas.get(i - 1).version(), "version은 계속 커진다");
+        }
+        assertEquals(deltas.get(2).version(), deltas.get(2).room().version());
+        assertEquals(LobbyDelta.Type.UPSERT, deltas.get(0).type());
+        assertEquals(2, deltas.get(2).room().players().size());
+        assertEquals(1, deltas.get(3).room().players().size());
+        assertEquals(LobbyDelta.Type.REMOVE, deltas.get(4).type());
+        assertNull(deltas.get(4).room());
+    }
+
+    @Test
+    void 로비에_안_보이는_변경은_밀지_않는다() {
+        Room room = rooms.createRoom("방1", null);
+        room.setReady(1); // ready는 로비에 표시하지 않는다
+        rooms.roomUpdated(room.getRoomId());
+        rooms.roomUpdated("없는-방");
+
+        pushed(1);
+    }
+
+    @Test
+    void 변경이_없으면_스냅샷을_재사용하고_바뀌면_ETag가_바뀐다() throws Exception {
+        Room room = rooms.createRoom("방1", "pw");
+        LobbyService.Snapshot first = lobby.snapshot();
+        assertSame(first, lobby.snapshot());
+
+        room.setPlaying(true);
+        rooms.roomUpdated(room.getRoomId());
+        LobbyService.Snapshot second = lobby.snapshot();
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(2, second.version());
+
+        JsonNode json = objectMapper.readTree(second.json());
+        assertEquals(1, json.size());
+        JsonNode row = json.get(0);
+        assertEquals("방1", row.get("title").asText());
+        assertTrue(row.get("hasPassword").asBoolean());
+        assertTrue(row.get("isPlaying").asBoolean());
+        assertFalse(row.has("board"), "로비 스냅샷에는 판을 싣지 않는다");
+    }
+
+    @Test
+    void 빈_방_GC로_제거된_방도_로비에서_빠진다() throws Exception {
+        Room room = rooms.createRoom("방1", null);
+        rooms.removeRoom(room.getRoomId());
+        rooms.removeRoom(room.getRoomId()); // 이미 없는 방은 다시 알리지 않는다
+
+        assertEquals(LobbyDelta.Type.REMOVE, pushed(2).get(1).type());
+        assertEquals(0, objectMapper.readTree(lobby.snapshot().json()).size());
+    }
+
+    @Test
+    void 다른_노드의_변경분은_최신일_때만_반영하고_다시_밀지_않는다() throws Exception {
+        LobbyRoom remote = new LobbyRoom("원격방", "r1", false, List.of(), false, null, 100);
+        lobby.applyRemote(LobbyDelta.upsert(100, remote));
+        lobby.applyRemote(LobbyDelta.upsert(90, remote.withVersion(90))); // 늦게 도착한 옛 변경분
+        lobby.applyRemote(LobbyDelta.remove(80, "r1"));
+
+        JsonNode json = objectMapper.readTree(lobby.snapshot().json());
+        assertEquals(1, json.size());
+        assertEquals(100, json.get(0).get("version").asLong());
+
+        lobby.applyRemote(LobbyDelta.remove(101, "r1"));
+        assertEquals(0, objectMapper.readTree(lobby.snapshot().json()).size());
+        pushed(0);
+    }
+}
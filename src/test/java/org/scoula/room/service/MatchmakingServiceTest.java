@@ -0,0 +1,211 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MatchFailed;
+import org.scoula.room.dto.MatchFound;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 자동 매칭 검증: 같은 레이팅 구간은 바로 짝지어 방에 앉히고 두 사람에게 알린다.
+ * 구간이 먼 두 사람은 기다린 시간만큼 허용 폭이 넓어진 뒤에야 짝지어진다. 취소한 티켓은 짝에서 빠진다.
+ * 한쪽을 자리에 앉히지 못하면 방이 남지 않고, 앉지 못한 쪽은 실패를 받고 다른 쪽은 대기열로 돌아간다.
+ */
+class MatchmakingServiceTest {
+
+    /** 테스트 제어용 가변 시계. */
+    private static final class MutableClock extends Clock {
+        private long millis;
+        MutableClock(long start) { this.millis = start; }
+        void advance(long ms) { this.millis += ms; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public long millis() { return millis; }
+    }
+
+    // 여기 든 principal은 자리에 앉히지 못한다.
+    private final Set<String> refused = new HashSet<>();
+    private final RoomServiceImpl roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+            RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE) {
+        @Override
+        public int joinRoom(String roomId, Player player, String password, String principal) {
+            return refused.contains(principal) ? 0 : super.joinRoom(roomId, player, password, principal);
+        }
+    };
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final MutableClock clock = new MutableClock(0);
+    private final Map<String, Integer> ratings = new HashMap<>();
+
+    private MatchmakingService service() {
+        return new MatchmakingService(roomService, RoomShardExecutor.callerRuns(), messagingTemplate,
+                p -> ratings.getOrDefault(p, PlayerRatings.DEFAULT_RATING), clock);
+    }
+
+    @Test
+    void pairsSameBucketAndSeatsBoth() {
+        MatchmakingService svc = service();
+        assertTrue(svc.enqueue("user:A", new Player("a", "A")));
+        assertTrue(svc.enqueue("user:B", new Player("b", "B")));
+
+        svc.match();
+
+        List<Room> rooms = roomService.getRoomList();
+        assertEquals(1, rooms.size());
+        Room room = rooms.get(0);
+        assertTrue(room.isMember("user:A"));
+        assertTrue(room.isMember("user:B"));
+        assertEquals(2, room.getPlayers().size());
+        assertEquals(0, svc.waiting());
+
+        ArgumentCaptor<MatchFound> found = ArgumentCaptor.forClass(MatchFound.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("user:A"), eq(MatchmakingService.DESTINATION), found.capture());
+        assertEquals(room.getRoomId(), found.getValue().roomId());
+        assertEquals("B", found.getValue().opponent());
+        verify(messagingTemplate).convertAndSendToUser(eq("user:B"), eq(MatchmakingService.DESTINATION), any());
+    }
+
+    @Test
+    void widensWindowWithWaitTime() {
+        ratings.put("user:A", 1200);
+        ratings.put("user:B", 1500);
+        MatchmakingService svc = service();
+        svc.enqueue("user:A", new Player("a", "A"));
+        svc.enqueue("user:B", new Player("b", "B"));
+
+        svc.match();
+        assertTrue(roomService.getRoomList().isEmpty(), "300점 차는 처음 허용 폭(100) 밖");
+        assertEquals(2, svc.waiting());
+
+        clock.advance(9_000); // 100 + 20 × 9 = 280
+        svc.match();
+        assertTrue(roomService.getRoomList().isEmpty());
+
+        clock.advance(1_000); // 100 + 20 × 10 = 300
+        svc.match();
+        assertEquals(1, roomService.getRoomList().size());
+        assertEquals(0, svc.waiting());
+    }
+
+    @Test
+    void cancelledTicketIsSkipped() {
+        MatchmakingService svc = service();
+        svc.enqueue("user:A", new Player("a", "A"));
+        svc.enqueue("user:B", new Player("b", "B"));
+        svc.enqueue("user:C", new Player("c", "C"));
+
+        assertTrue(svc.cancel("user:B"));
+        assertFalse(svc.cancel("user:B"), "이미 취소한 티켓");
+        svc.match();
+
+        Room room = roomService.getRoomList().get(0);
+        assertTrue(room.isMember("user:A"));
+        assertTrue(room.isMember("user:C"));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("user:B"), anyString(), any());
+    }
+
+    @Test
+    void enqueueIsIdempotentAndCanRequeueAfterCancel() {
+        MatchmakingService svc = service();
+        assertTrue(svc.enqueue("user:A", new Player("a", "A")));
+        assertFalse(svc.enqueue("user:A", new Player("a", "A")), "이미 대기 중");
+        assertEquals(1, svc.waiting());
+
+        assertTrue(svc.cancel("user:A"));
+        assertTrue(svc.enqueue("user:A", new Player("a", "A")));
+        svc.enqueue("user:B", new Player("b", "B"));
+        svc.match();
+
+        assertEquals(1, roomService.getRoomList().size(), "취소 전 티켓은 남아 있어도 짝에 쓰이지 않는다");
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("user:A"), anyString(), any());
+    }
+
+    @Test
+    void leftoverIsPairedWithNeighbouringBucket() {
+        ratings.put("user:A", 1510);
+        ratings.put("user:B", 1520);
+        ratings.put("user:C", 1590);
+        ratings.put("user:D", 1640);
+        MatchmakingService svc = service();
+        for (String p : List.of("user:A", "user:B", "user:C", "user:D")) {
+            svc.enqueue(p, new Player(p, p));
+        }
+
+        svc.match();
+
+        // A·B는 같은 구간(15), 남은 C(15)와 D(16)는 50점 차로 이웃 구간끼리 짝지어진다.
+        assertEquals(2, roomService.getRoomList().size());
+        assertEquals(0, svc.waiting());
+        Room cd = roomService.getRoomList().stream().filter(r -> r.isMember("user:C")).findFirst().orElse(null);
+        assertNotNull(cd);
+        assertTrue(cd.isMember("user:D"));
+    }
+
+    @Test
+    void secondSeatFailureUnseatsFirstAndRequeuesIt() {
+        refused.add("user:B");
+        MatchmakingService svc = service();
+        svc.enqueue("user:A", new Player("a", "A"));
+        svc.enqueue("user:B", new Player("b", "B"));
+
+        svc.match();
+
+        assertTrue(roomService.getRoomList().isEmpty(), "앉다 만 방은 남지 않는다");
+        assertTrue(svc.isQueued("user:A"), "앉았던 A는 대기열로 돌아간다");
+        assertFalse(svc.isQueued("user:B"));
+        verify(messagingTemplate).convertAndSendToUser(eq("user:B"), eq(MatchmakingService.DESTINATION),
+                any(MatchFailed.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("user:A"), anyString(), any());
+
+        svc.enqueue("user:C", new Player("c", "C"));
+        svc.match();
+
+        Room room = roomService.getRoomList().get(0);
+        assertTrue(room.isMember("user:A"));
+        assertTrue(room.isMember("user:C"));
+        assertEquals(2, room.getPlayers().size());
+    }
+
+    @Test
+    void firstSeatFailureRequeuesSecond() {
+        refused.add("user:A");
+        MatchmakingService svc = service();
+        svc.enqueue("user:A", new Player("a", "A"));
+        svc.enqueue("user:B", new Player("b", "B"));
+
+        svc.match();
+
+        assertTrue(roomService.getRoomList().isEmpty());
+        assertTrue(svc.isQueued("user:B"));
+        assertFalse(svc.isQueued("user:A"));
+        verify(messagingTemplate).convertAndSendToUser(eq("user:A"), eq(MatchmakingService.DESTINATION),
+                any(MatchFailed.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("user:B"), anyString(), any());
+    }
+}
@@ -0,0 +1,164 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.game.GameArchiveService;
+import org.scoula.room.domain.FrameRing;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
+import org.scoula.room.dto.RoomResponseMessage;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 착수 경로(processMove)의 정상 상태 할당량을 ThreadMXBean으로 고정한다.
+ * 운영과 같은 구성(기본 초읽기 30초 시계, 실제 RoomBroadcaster)으로 두고, 착수 한 수의 할당이 같은 ACTION 프레임
+ * 한 장을 보내는 비용(메시지 + 금수 마스크 사본 + 시계 View + 직렬화·브로커 전달)에 여유를 더한 값을 넘지 않는지 본다.
+ * 검증·금수 마스크 갱신·착수 반영·승리 판정·시계 갱신은 할당이 없어야 한다. 렌주 엔진에 Position 같은
+ * 임시 객체가 다시 생기거나, moveHistory가 박싱으로 돌아가거나, 시계가 착수마다 예약을 다시 걸면 이 예산을 넘는다.
+ *
+ * 판 전체를 (x + 2y) mod 4 줄무늬로 채우면 어느 방향으로도 3연속이 생기지 않아
+ * 225수 내내 금수·승리 없이 정상 착수만 반복된다.
+ */
+class MoveAllocationTest {
+
+    private static final int SIZE = 15;
+    private static final String BLACK = "user:2";
+    private static final String WHITE = "user:3";
+    /** ACTION 프레임 한 장의 비용 위로 착수 한 수에 허용하는 바이트. 측정 잡음(JSON 길이 차이 등)만 흡수하는 여유. */
+    private static final long BYTES_PER_MOVE_MARGIN = 64;
+    private static final int WARMUP_GAMES = 20;
+
+    private static final int[] BLACK_CELLS = new int[113];
+    private static final int[] WHITE_CELLS = new int[112];
+
+    static {
+        int b = 0;
+        int w = 0;
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            int x = index % SIZE;
+            int y = index / SIZE;
+            if ((x + 2 * y) % 4 < 2) BLACK_CELLS[b++] = index;
+            else WHITE_CELLS[w++] = index;
+        }
+    }
+
+    private RoomTimers timers;
+
+    @AfterEach
+    void tearDown() {
+        timers.shutdown();
+    }
+
+    @Test
+    void scanEngineMovePathStaysWithinAllocationBudget() {
+        assertWithinBudget(new RenjuRuleEngine());
+    }
+
+    @Test
+    void bitboardEngineMovePathStaysWithinAllocationBudget() {
+        assertWithinBudget(new BitboardRenjuRuleEngine());
+    }
+
+    private void assertWithinBudget(RuleEngine engine) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "스레드별 할당 측정을 지원하지 않는 JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        timers = RoomTimers.standalone();
+        RoomServiceImpl roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(),
+                RoomJournal.NONE, timers, Duration.ofSeconds(60), SpectatorFanout.NONE);
+        Room room = seatedRoom(roomService);
+        // 브로커 채널만 비운다. seq 발급·FrameRing 적재·JSON 직렬화·메시지 헤더 구성은 운영 그대로 돈다.
+        RoomBroadcaster broadcaster = new RoomBroadcaster(new SimpMessagingTemplate((message, timeout) -> true),
+                roomService, new ObjectMapper(), OmokMetrics.NONE, SpectatorFanout.NONE);
+        // 운영 기본값(omok.clock.*): 주 시간 없이 수마다 초읽기 30초 한 번.
+        GameClockService clocks = new GameClockService(timers, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(30), 1);
+        RoomSocketService service = new RoomSocketService(broadcaster, roomService,
+                new GameService(engine, OmokMetrics.NONE), mock(GameArchiveService.class), timers, RoomJournal.NONE,
+                clocks, OmokMetrics.NONE, SeatAutomation.NONE);
+
+        for (int i = 0; i < WARMUP_GAMES; i++) {
+            startGame(room, clocks, service);
+            playFullBoard(service, room.getRoomId());
+            sendActionFrames(broadcaster, clocks, room);
+        }
+
+        startGame(room, clocks, service);
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int moves = playFullBoard(service, room.getRoomId());
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(SIZE * SIZE + 1, room.getTurn(), "225수 모두 정상 착수로 반영되어야 한다");
+        List<FrameRing.Frame> last = room.frames().since(room.frames().lastSeq() - 1);
+        assertEquals(MessageType.ACTION, last.get(0).type());
+        assertNotNull(room.getClock(), "시계가 켜진 채로 두어야 한다");
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        int frames = sendActionFrames(broadcaster, clocks, room);
+        long frameBytes = (threads.getThreadAllocatedBytes(threadId) - before) / frames;
+
+        long perMove = allocated / moves;
+        long budget = frameBytes + BYTES_PER_MOVE_MARGIN;
+        assertTrue(perMove <= budget,
+                "착수당 할당 " + perMove + "B가 예산 " + budget + "B(ACTION 프레임 " + frameBytes + "B + 여유)를 넘었다(총 "
+                        + allocated + "B)");
+    }
+
+    // notifyGameStart의 자리 배정(무작위)을 거치지 않고 흑·백을 고정한 채 새 판과 시계를 건다.
+    private void startGame(Room room, GameClockService clocks, RoomSocketService service) {
+        room.initGame("p-black");
+        clocks.start(room, service::processClockExpired);
+    }
+
+    /** 착수 경로가 ACTION 한 수마다 만드는 것과 같은 프레임을 같은 수만큼 보낸다. 보낸 수를 반환한다. */
+    private int sendActionFrames(RoomBroadcaster broadcaster, GameClockService clocks, Room room) {
+        String roomId = room.getRoomId();
+        int frames = 0;
+        for (int turn = 1; turn <= SIZE * SIZE; turn++) {
+            int index = turn % 2 == 1 ? BLACK_CELLS[turn / 2] : WHITE_CELLS[turn / 2 - 1];
+            broadcaster.broadcast(roomId, RoomResponseMessage.action(roomId, index, turn + 1,
+                    room.getForbiddenMask().toArray(), clocks.view(room)));
+            frames++;
+        }
+        return frames;
+    }
+
+    private Room seatedRoom(RoomServiceImpl roomService) {
+        Room room = roomService.createRoom("alloc", null);
+        room.getPlayers().add(new Player("p-black", "흑돌"));
+        room.getPlayers().add(new Player("p-white", "백돌"));
+        room.bindMember(BLACK, "p-black");
+        room.bindMember(WHITE, "p-white");
+        room.setBlackPrincipal(BLACK);
+        room.setWhitePrincipal(WHITE);
+        return room;
+    }
+
+    /** 흑·백 줄무늬 칸을 번갈아 둔다. 둔 수를 반환한다. */
+    private int playFullBoard(RoomSocketService service, String roomId) {
+        int moves = 0;
+        for (int turn = 1; turn <= SIZE * SIZE; turn++) {
+            boolean black = turn % 2 == 1;
+            int index = black ? BLACK_CELLS[turn / 2] : WHITE_CELLS[turn / 2 - 1];
+            service.processMove(roomId, black ? BLACK : WHITE, index);
+            moves++;
+        }
+        return moves;
+    }
+}
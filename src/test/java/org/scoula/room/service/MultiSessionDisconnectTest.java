@@ -1,5 +1,6 @@
 package org.scoula.room.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.scoula.room.controller.RoomSocketController;
@@ -36,18 +37,25 @@ class MultiSessionDisconnectTest {
 
     private RoomBroadcaster roomBroadcaster;
     private RoomService roomService;
+    private RoomTimers timers;
     private WebSocketEventListener listener;
     private Room room;
 
     private static final String ROOM_ID = "room-1";
     private static final String PRINCIPAL = "user:2";
 
+    @AfterEach
+    void tearDown() {
+        timers.shutdown();
+    }
+
     @BeforeEach
     void setUp() {
         roomBroadcaster = mock(RoomBroadcaster.class);
         roomService = mock(RoomService.class);
-        listener = new WebSocketEventListener(roomBroadcaster, roomService,
-                mock(org.scoula.game.GameArchiveService.class));
+        timers = RoomTimers.standalone();
+        listener = new WebSocketEventListener(roomBroadcaster, roomService, mock(org.scoula.game.GameArchiveService.class),
+                RoomShardExecutor.callerRuns(), timers, RoomCommandForwarder.LOCAL);
 
         room = Room.builder()
                 .roomId(ROOM_ID)
@@ -163,8 +171,9 @@ class MultiSessionDisconnectTest {
      */
     @Test
     void 다른_방으로_재JOIN해도_이전_방에_죽은_세션이_남지_않는다() {
-        RoomSocketController controller = new RoomSocketController(
-                roomBroadcaster, mock(RoomSocketService.class), listener);
+        RoomCommandRouter router = new RoomCommandRouter(RoomShardExecutor.callerRuns(),
+                mock(RoomSocketService.class), listener, RoomCommandForwarder.LOCAL);
+        RoomSocketController controller = new RoomSocketController(router, listener);
 
         Map<String, Object> attrs = new HashMap<>();
         Principal user = () -> PRINCIPAL;
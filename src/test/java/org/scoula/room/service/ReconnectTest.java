@@ -1,5 +1,6 @@
 package org.scoula.room.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.scoula.room.domain.Player;
@@ -33,18 +34,25 @@ class ReconnectTest {
 
     private RoomBroadcaster roomBroadcaster;
     private RoomService roomService;
+    private RoomTimers timers;
     private WebSocketEventListener listener;
 
     private static final String ROOM_ID = "room-1";
     private static final String PRINCIPAL_A = "user:A";
     private static final String PLAYER_ID_A = "p-A";
 
+    @AfterEach
+    void tearDown() {
+        timers.shutdown();
+    }
+
     @BeforeEach
     void setUp() {
         roomBroadcaster = mock(RoomBroadcaster.class);
         roomService = mock(RoomService.class);
-        listener = new WebSocketEventListener(roomBroadcaster, roomService,
-                mock(org.scoula.game.GameArchiveService.class));
+        timers = RoomTimers.standalone();
+        listener = new WebSocketEventListener(roomBroadcaster, roomService, mock(org.scoula.game.GameArchiveService.class),
+                RoomShardExecutor.callerRuns(), timers, RoomCommandForwarder.LOCAL);
     }
 
     /** 진행중(isPlaying)인 방에 principal=user:A(자리 playerId=p-A)가 아직 남아있는 상태.
@@ -2,6 +2,7 @@ package org.scoula.room.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 import org.scoula.room.dto.MessageType;
@@ -42,11 +43,12 @@ class RoomAuthorizationTest {
     void setUp() {
         roomBroadcaster = mock(RoomBroadcaster.class);
         roomService = mock(RoomService.class);
-        GameService gameService = new GameService(new RenjuRuleEngine());
+        GameService gameService = new GameService(new RenjuRuleEngine(), OmokMetrics.NONE);
         gameArchiveService = org.mockito.Mockito.mock(org.scoula.game.GameArchiveService.class);
         service = new RoomSocketService(roomBroadcaster, roomService, gameService,
                 gameArchiveService,
-                org.mockito.Mockito.mock(org.springframework.scheduling.TaskScheduler.class));
+                org.mockito.Mockito.mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
     }
 
     /** 흑=user:2, 백=user:3 배정된 진행중(흑 차례) 방. */
@@ -0,0 +1,140 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.FrameRing;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
+import org.scoula.room.dto.RoomResponseMessage;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 방 브로드캐스트 순번과 재접속 재전송: seq는 방마다 1부터 단조 증가하고, lastSeq 뒤 프레임만 그 세션에 다시 가며,
+ * 같은 사람의 READY→CANCEL은 재전송에서 상쇄되고, 링에서 밀려났으면 RESYNC가 간다.
+ */
+class RoomBroadcasterTest {
+
+    private static final String PRINCIPAL = "user:A";
+    private static final String SESSION = "s-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpMessagingTemplate template;
+    private RoomServiceImpl roomService;
+    private RoomBroadcaster broadcaster;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        template = mock(SimpMessagingTemplate.class);
+        when(template.getUserDestinationPrefix()).thenReturn("/user/");
+        roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
+        broadcaster = new RoomBroadcaster(template, roomService, objectMapper, OmokMetrics.NONE,
+                SpectatorFanout.NONE);
+        room = roomService.createRoom("seq", null);
+    }
+
+    private void send(MessageType type, String sender) {
+        broadcaster.broadcast(room.getRoomId(), RoomResponseMessage.builder()
+                .roomId(room.getRoomId()).type(type).sender(sender).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JsonNode> sentTo(String destination) throws Exception {
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass((Class) Message.class);
+        verify(template, atLeastOnce()).send(eq(destination), captor.capture());
+        List<JsonNode> frames = new ArrayList<>();
+        for (Message<?> m : captor.getAllValues()) frames.add(objectMapper.readTree((byte[]) m.getPayload()));
+        return frames;
+    }
+
+    @Test
+    void 방마다_seq가_1부터_단조_증가한다() throws Exception {
+        send(MessageType.JOIN, "p1");
+        send(MessageType.READY, "p1");
+        send(MessageType.READY, "p2");
+
+        List<JsonNode> frames = sentTo(room.topic());
+        assertEquals(List.of(1L, 2L, 3L), frames.stream().map(f -> f.get("seq").asLong()).toList());
+        assertEquals(3, room.frames().lastSeq());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 재접속은_놓친_프레임만_그_세션에_받는다() throws Exception {
+        send(MessageType.JOIN, "p1");
+        send(MessageType.JOIN, "p2");
+        send(MessageType.GAME_START, null);
+        send(MessageType.ACTION, null);
+
+        int resent = broadcaster.resume(room.getRoomId(), PRINCIPAL, SESSION, 2);
+
+        assertEquals(2, resent);
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass((Class) Message.class);
+        verify(template, atLeastOnce()).send(eq("/user/" + PRINCIPAL + RoomBroadcaster.RESUME_DESTINATION),
+                captor.capture());
+        List<Long> seqs = new ArrayList<>();
+        for (Message<?> m : captor.getAllValues()) {
+            assertEquals(SESSION, SimpMessageHeaderAccessor.getSessionId(m.getHeaders()));
+            seqs.add(objectMapper.readTree((byte[]) m.getPayload()).get("seq").asLong());
+        }
+        assertEquals(List.of(3L, 4L), seqs);
+    }
+
+    @Test
+    void 같은_사람의_READY_CANCEL은_재전송에서_상쇄된다() throws Exception {
+        send(MessageType.JOIN, "p2");
+        send(MessageType.READY, "p1");
+        send(MessageType.CANCEL, "p1");
+        send(MessageType.READY, "p2");
+
+        broadcaster.resume(room.getRoomId(), PRINCIPAL, SESSION, 0);
+
+        List<JsonNode> frames = sentTo("/user/" + PRINCIPAL + RoomBroadcaster.RESUME_DESTINATION);
+        assertEquals(List.of(1L, 4L), frames.stream().map(f -> f.get("seq").asLong()).toList());
+    }
+
+    @Test
+    void 링에서_밀려났거나_모르는_seq면_RESYNC를_보낸다() throws Exception {
+        for (int i = 0; i < FrameRing.DEFAULT_CAPACITY + 5; i++) send(MessageType.ACTION, null);
+
+        broadcaster.resume(room.getRoomId(), PRINCIPAL, SESSION, 1);
+        List<JsonNode> frames = sentTo("/user/" + PRINCIPAL + RoomBroadcaster.RESUME_DESTINATION);
+        assertEquals(1, frames.size());
+        assertEquals("RESYNC", frames.get(0).get("type").asText());
+        assertEquals(FrameRing.DEFAULT_CAPACITY + 5, frames.get(0).get("seq").asLong());
+
+        clearInvocations(template);
+        broadcaster.resume(room.getRoomId(), PRINCIPAL, SESSION, 10_000); // 재기동 전 seq
+        assertEquals("RESYNC", sentTo("/user/" + PRINCIPAL + RoomBroadcaster.RESUME_DESTINATION)
+                .get(0).get("type").asText());
+    }
+
+    @Test
+    void 제거된_방에는_seq_없이_보낸다() throws Exception {
+        broadcaster.broadcast("gone", RoomResponseMessage.builder().roomId("gone").type(MessageType.LEAVE).build());
+
+        JsonNode frame = sentTo("/topic/room/gone").get(0);
+        assertNull(frame.get("seq"));
+    }
+}
@@ -1,9 +1,11 @@
 package org.scoula.room.service;
 
 import org.junit.jupiter.api.Test;
+import org.scoula.cluster.RoomOwnership;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
 
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -18,7 +20,8 @@ class RoomJoinConcurrencyTest {
 
     @Test
     void concurrentJoinsDoNotExceedTwoSeats() throws InterruptedException {
-        RoomServiceImpl svc = new RoomServiceImpl();
+        RoomServiceImpl svc = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), SpectatorFanout.NONE);
         Room room = svc.createRoom("t", null);
         String rid = room.getRoomId();
 
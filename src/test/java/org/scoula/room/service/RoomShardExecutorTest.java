@@ -0,0 +1,118 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 방 샤드 실행기 검증.
+ * - 같은 방 명령은 여러 스레드가 동시에 넣어도 넣은 순서대로, 한 스레드에서만 실행된다.
+ * - 샤드 안에서 같은 샤드로 call하면 교착 없이 바로 실행된다.
+ * - 명령 하나가 예외를 던져도 샤드는 살아서 다음 명령을 처리한다.
+ * - 가상 스레드 모드(Java 21+)에서도 같은 방 명령은 한 스레드에서 순서대로 실행된다.
+ */
+class RoomShardExecutorTest {
+
+    private final RoomShardExecutor shards = new RoomShardExecutor(4, false);
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    void 같은_방_명령은_한_스레드에서_넣은_순서대로_실행된다() throws Exception {
+        int producers = 8;
+        int perProducer = 500;
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    final int seq = i;
+                    shards.execute("room-1", () -> {
+                        order.add(producer + ":" + seq);
+                        threads.add(Thread.currentThread().getName());
+                    });
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        shards.call("room-1", () -> null); // 앞서 넣은 명령이 모두 끝날 때까지 기다린다
+
+        assertEquals(producers * perProducer, order.size());
+        assertEquals(1, threads.stream().distinct().count(), "한 방의 명령은 한 샤드 스레드에서만 실행");
+        assertTrue(threads.get(0).startsWith("room-shard-"));
+        // 생산자별로는 넣은 순서가 그대로 유지되어야 한다.
+        int[] next = new int[producers];
+        for (String entry : order) {
+            String[] parts = entry.split(":");
+            int producer = Integer.parseInt(parts[0]);
+            assertEquals(next[producer]++, Integer.parseInt(parts[1]), "생산자 " + producer + " 순서 역전");
+        }
+    }
+
+    @Test
+    void 샤드_안에서_같은_방으로_call하면_바로_실행된다() {
+        String result = shards.call("room-1", () -> shards.call("room-1", () -> Thread.currentThread().getName()));
+        assertTrue(result.startsWith("room-shard-"));
+    }
+
+    @Test
+    void 명령_예외가_샤드를_멈추지_않는다() {
+        shards.execute("room-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        assertEquals("ok", shards.call("room-1", () -> "ok"));
+        assertThrows(IllegalArgumentException.class, () -> shards.call("room-1", () -> {
+            throw new IllegalArgumentException("bad");
+        }));
+    }
+
+    @Test
+    void callerRuns는_호출_스레드에서_바로_실행한다() {
+        RoomShardExecutor inline = RoomShardExecutor.callerRuns();
+        String caller = Thread.currentThread().getName();
+        assertEquals(caller, inline.call("room-1", () -> Thread.currentThread().getName()));
+    }
+
+    @Test
+    void 가상_스레드_모드에서도_같은_방_명령은_순서대로_실행된다() {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21+");
+        RoomShardExecutor virtualShards = new RoomShardExecutor(2, true);
+        try {
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < 1000; i++) {
+                final int seq = i;
+                virtualShards.execute("room-1", () -> order.add(seq));
+            }
+            String thread = virtualShards.call("room-1", () -> Thread.currentThread().toString());
+
+            assertEquals(1000, order.size());
+            for (int i = 0; i < order.size(); i++) assertEquals(i, order.get(i));
+            assertTrue(thread.startsWith("VirtualThread"), thread);
+            assertTrue(thread.contains("room-shard-"), thread);
+        } finally {
+            virtualShards.shutdown();
+        }
+    }
+}
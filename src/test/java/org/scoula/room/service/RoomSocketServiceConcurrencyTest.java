@@ -2,6 +2,7 @@ package org.scoula.room.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.scoula.config.OmokMetrics;
 import org.scoula.room.dto.MessageType;
 import org.scoula.room.domain.Player;
 import org.scoula.room.domain.Room;
@@ -37,10 +38,11 @@ class RoomSocketServiceConcurrencyTest {
     void setUp() {
         roomBroadcaster = mock(RoomBroadcaster.class);
         roomService = mock(RoomService.class);
-        GameService gameService = new GameService(new RenjuRuleEngine());
+        GameService gameService = new GameService(new RenjuRuleEngine(), OmokMetrics.NONE);
         service = new RoomSocketService(roomBroadcaster, roomService, gameService,
                 org.mockito.Mockito.mock(org.scoula.game.GameArchiveService.class),
-                org.mockito.Mockito.mock(org.springframework.scheduling.TaskScheduler.class));
+                org.mockito.Mockito.mock(RoomTimers.class), RoomJournal.NONE,
+                GameClockService.disabled(), OmokMetrics.NONE, SeatAutomation.NONE);
     }
 
     /** 흑 차례(turn=1)로 진행중인 빈 방. 흑 자리는 세션 principal로 배정됨. */
@@ -0,0 +1,97 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 방 타이머: 같은 키로 다시 걸면 앞 예약이 취소되고, 취소한 예약은 실행되지 않으며,
+ * 종류별 예약·만료·취소·대기 수가 맞게 집계된다. 만료 작업은 방 소유 샤드로 넘어간다.
+ */
+class RoomTimersTest {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 64);
+    private final RoomShardExecutor shards = new RoomShardExecutor(2, false);
+    private final RoomTimers timers = new RoomTimers(wheel, shards);
+
+    @AfterEach
+    void tearDown() {
+        timers.shutdown();
+        wheel.stop();
+        shards.shutdown();
+    }
+
+    @Test
+    void firesOnRoomShard() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        String[] thread = new String[1];
+        timers.schedule(RoomTimers.Kind.START_DELAY, "room-1", "room-1", Duration.ofMillis(20), () -> {
+            thread[0] = Thread.currentThread().getName();
+            fired.countDown();
+        });
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(thread[0].startsWith("room-shard-"), thread[0]);
+        assertFalse(timers.isPending(RoomTimers.Kind.START_DELAY, "room-1"));
+        assertEquals(new RoomTimers.Stats(1, 1, 0, 0), timers.stats(RoomTimers.Kind.START_DELAY));
+    }
+
+    @Test
+    void rescheduleSameKeyCancelsPrevious() throws InterruptedException {
+        AtomicInteger first = new AtomicInteger();
+        CountDownLatch second = new CountDownLatch(1);
+        timers.schedule(RoomTimers.Kind.GAME_CLOCK, "room-1", "room-1", Duration.ofMillis(30), first::incrementAndGet);
+        timers.schedule(RoomTimers.Kind.GAME_CLOCK, "room-1", "room-1", Duration.ofMillis(60), second::countDown);
+
+        assertTrue(second.await(2, TimeUnit.SECONDS));
+        assertEquals(0, first.get(), "다시 건 키의 앞 예약은 실행되지 않아야 한다");
+        assertEquals(new RoomTimers.Stats(2, 1, 1, 0), timers.stats(RoomTimers.Kind.GAME_CLOCK));
+    }
+
+    @Test
+    void zeroDelayTimersDoNotStayPending() throws InterruptedException {
+        int n = 500;
+        CountDownLatch fired = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) {
+            timers.schedule(RoomTimers.Kind.ROOM_TTL, "room-" + i, "room-" + i, Duration.ZERO, fired::countDown);
+        }
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < n; i++) assertFalse(timers.isPending(RoomTimers.Kind.ROOM_TTL, "room-" + i));
+        assertEquals(new RoomTimers.Stats(n, n, 0, 0), timers.stats(RoomTimers.Kind.ROOM_TTL));
+    }
+
+    @Test
+    void cancelStopsTimerAndReportsPendingOnlyOnce() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        timers.schedule(RoomTimers.Kind.GRACE, "room-1", "user:A", Duration.ofMillis(30), runs::incrementAndGet);
+
+        assertTrue(timers.cancel(RoomTimers.Kind.GRACE, "user:A"));
+        assertFalse(timers.cancel(RoomTimers.Kind.GRACE, "user:A"), "이미 취소한 예약은 다시 취소되지 않는다");
+        assertFalse(timers.cancel(RoomTimers.Kind.START_DELAY, "user:A"), "종류가 다르면 다른 타이머다");
+
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+        assertEquals(0, wheel.pending(), "취소한 예약은 바퀴에서도 빠져야 한다");
+        assertEquals(new RoomTimers.Stats(1, 0, 1, 0), timers.stats(RoomTimers.Kind.GRACE));
+    }
+
+    @Test
+    void noneDropsEverything() {
+        RoomTimers none = RoomTimers.none();
+        none.schedule(RoomTimers.Kind.ROOM_TTL, "room-1", "room-1", Duration.ZERO, () -> {
+            throw new AssertionError("실행되면 안 된다");
+        });
+
+        assertFalse(none.isPending(RoomTimers.Kind.ROOM_TTL, "room-1"));
+        assertEquals(0, none.stats(RoomTimers.Kind.ROOM_TTL).scheduled());
+    }
+}
@@ -0,0 +1,182 @@
+package org.scoula.room.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.config.OmokMetrics;
+import org.scoula.game.EndReason;
+import org.scoula.game.GameArchiveService;
+import org.scoula.game.WinnerColor;
+import org.scoula.room.domain.GameClock;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
+import org.scoula.room.dto.RoomResponseMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 서버 대국 시계: 시간 초과는 서버 시계로만 판정한다.
+ * - 시간이 남았는데 온 /timeout 신고는 무시한다.
+ * - 시간이 다 된 뒤의 착수는 받지 않고 그 쪽 시간 초과 패로 끝낸다.
+ * - 아무도 신고하지 않아도 타이머 바퀴가 만료를 알려 차례인 쪽 패로 끝낸다.
+ */
+class ServerClockTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String BLACK = "user:2";
+    private static final String WHITE = "user:3";
+
+    /** 테스트 제어용 가변 시계. */
+    private static final class MutableClock extends Clock {
+        private long millis;
+        MutableClock(long start) { this.millis = start; }
+        void advance(long ms) { this.millis += ms; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public long millis() { return millis; }
+    }
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 64);
+    private final RoomTimers timers = new RoomTimers(wheel, RoomShardExecutor.callerRuns());
+    private final RoomBroadcaster roomBroadcaster = mock(RoomBroadcaster.class);
+    private final RoomService roomService = mock(RoomService.class);
+    private final GameArchiveService archive = mock(GameArchiveService.class);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    private RoomSocketService serviceWith(GameClockService clocks) {
+        return new RoomSocketService(roomBroadcaster, roomService,
+                new GameService(new RenjuRuleEngine(), OmokMetrics.NONE), archive, timers, RoomJournal.NONE, clocks,
+                OmokMetrics.NONE, SeatAutomation.NONE);
+    }
+
+    private Room startedRoom() {
+        Room room = Room.builder()
+                .roomId(ROOM_ID)
+                .players(new ArrayList<>(List.of(new Player("p-black", "흑돌"), new Player("p-white", "백돌"))))
+                .board(new int[15][15])
+                .turn(1)
+                .isPlaying(true)
+                .build();
+        room.bindMember(BLACK, "p-black");
+        room.bindMember(WHITE, "p-white");
+        room.setBlackPlayer("p-black");
+        room.setBlackPrincipal(BLACK);
+        room.setWhitePrincipal(WHITE);
+        when(roomService.getRoom(ROOM_ID)).thenReturn(room);
+        return room;
+    }
+
+    @Test
+    void timeoutClaimIsIgnoredWhileServerClockHasTimeLeft() {
+        MutableClock clock = new MutableClock(0);
+        GameClockService clocks = new GameClockService(timers,
+                new GameClock.Rules(0, 0, 30_000, 1), clock);
+        RoomSocketService service = serviceWith(clocks);
+        Room room = startedRoom();
+        clocks.start(room, service::processClockExpired);
+
+        clock.advance(10_000);
+        service.processTimeout(ROOM_ID, BLACK);
+        assertTrue(room.isPlaying(), "서버 시계로 시간이 남았으면 신고를 무시한다");
+
+        clock.advance(20_000);
+        service.processTimeout(ROOM_ID, WHITE); // 상대가 신고해도 진 쪽은 서버가 정한다
+        assertFalse(room.isPlaying());
+        verify(archive).archive(room, WinnerColor.WHITE, EndReason.TIMEOUT);
+    }
+
+    @Test
+    void moveAfterFlagIsRejectedAsTimeout() {
+        MutableClock clock = new MutableClock(0);
+        GameClockService clocks = new GameClockService(timers,
+                new GameClock.Rules(0, 0, 30_000, 1), clock);
+        RoomSocketService service = serviceWith(clocks);
+        Room room = startedRoom();
+        clocks.start(room, service::processClockExpired);
+
+        clock.advance(5_000);
+        service.processMove(ROOM_ID, BLACK, 112);
+        clock.advance(31_000);
+        service.processMove(ROOM_ID, WHITE, 113);
+
+        assertEquals(0, room.getBoard()[113 / 15][113 % 15], "시간을 넘긴 착수는 놓이지 않는다");
+        assertFalse(room.isPlaying());
+        verify(archive).archive(room, WinnerColor.BLACK, EndReason.TIMEOUT);
+    }
+
+    @Test
+    void actionCarriesRemainingTime() {
+        MutableClock clock = new MutableClock(0);
+        GameClockService clocks = new GameClockService(timers,
+                new GameClock.Rules(60_000, 1_000, 0, 0), clock);
+        RoomSocketService service = serviceWith(clocks);
+        Room room = startedRoom();
+        clocks.start(room, service::processClockExpired);
+
+        clock.advance(4_000);
+        service.processMove(ROOM_ID, BLACK, 112);
+
+        ArgumentCaptor<RoomResponseMessage> captor = ArgumentCaptor.forClass(RoomResponseMessage.class);
+        verify(roomBroadcaster).broadcast(eq(ROOM_ID), captor.capture());
+        assertEquals(MessageType.ACTION, captor.getValue().getType());
+        GameClock.View view = captor.getValue().getClock();
+        assertNotNull(view);
+        assertEquals(57_000, view.blackMillis());
+        assertEquals(60_000, view.whiteMillis());
+    }
+
+    @Test
+    void wheelExpiresClockWithoutAnyClientReport() {
+        GameClockService clocks = new GameClockService(timers,
+                new GameClock.Rules(0, 0, 50, 1), Clock.systemUTC());
+        RoomSocketService service = serviceWith(clocks);
+        Room room = startedRoom();
+        clocks.start(room, service::processClockExpired);
+
+        verify(archive, timeout(2_000)).archive(room, WinnerColor.WHITE, EndReason.TIMEOUT);
+        assertFalse(room.isPlaying());
+    }
+
+    @Test
+    void expiryBeforeTheMovedDeadlineRearmsInsteadOfEndingTheGame() throws InterruptedException {
+        GameClockService clocks = new GameClockService(timers,
+                new GameClock.Rules(0, 0, 400, 1), Clock.systemUTC());
+        RoomSocketService service = serviceWith(clocks);
+        Room room = startedRoom();
+        clocks.start(room, service::processClockExpired);
+
+        Thread.sleep(100);
+        service.processMove(ROOM_ID, BLACK, 112); // 백 마감(500ms)은 흑 예약보다 늦어 예약은 그대로 둔다
+        Thread.sleep(350);
+        verify(archive, never()).archive(any(), any(), any());
+        assertTrue(room.isPlaying(), "흑의 첫 예약(400ms)이 울려도 백 시간이 남아 있어 새 마감에 다시 건다");
+
+        verify(archive, timeout(2_000)).archive(room, WinnerColor.BLACK, EndReason.TIMEOUT);
+        verify(roomBroadcaster, atLeastOnce()).broadcast(eq(ROOM_ID), any());
+    }
+}
@@ -0,0 +1,236 @@
+package org.scoula.room.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.scoula.cluster.RoomOwnership;
+import org.scoula.config.OmokMetrics;
+import org.scoula.room.domain.Player;
+import org.scoula.room.domain.Room;
+import org.scoula.room.dto.MessageType;
+import org.scoula.room.dto.RoomResponseMessage;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 관전 송출 계층: 늦게 붙은 관전자는 스냅샷 뒤 그 seq 이후 프레임만 받고, 한 프레임은 메시지 하나로 모든 관전자에게 가며,
+ * 쓰기가 막힌 관전자는 outbox가 차거나 워치독이 쓰기 시간 초과를 보면 끊기고 다른 관전자·플레이어 경로는 기다리지 않는다.
+ * 브로드캐스트 없이 지워진 방의 관전자도 닫힌다.
+ */
+class SpectatorHubTest {
+
+    private static final int MAX_QUEUED = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RoomServiceImpl roomService;
+    private SpectatorHub hub;
+    private RoomBroadcaster broadcaster;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        // 운영에서 @Lazy 프록시가 하는 일: 허브보다 먼저 만든 RoomService가 나중에 만든 허브에 닿는다.
+        SpectatorFanout toHub = new SpectatorFanout() {
+            @Override
+            public void publish(String roomId, byte[] json) {
+                hub.publish(roomId, json);
+            }
+
+            @Override
+            public void roomClosed(String roomId) {
+                hub.roomClosed(roomId);
+            }
+        };
+        roomService = new RoomServiceImpl(RoomChangeListener.NONE, RoomOwnership.standalone(), RoomJournal.NONE,
+                RoomTimers.none(), Duration.ofSeconds(60), toHub);
+        hub = hub(Duration.ofSeconds(5));
+        broadcaster = new RoomBroadcaster(mock(SimpMessagingTemplate.class), roomService, objectMapper,
+                OmokMetrics.NONE, hub);
+        room = roomService.createRoom("watch", null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    private SpectatorHub hub(Duration sendTimeLimit) {
+        return new SpectatorHub(roomService, RoomShardExecutor.callerRuns(), objectMapper,
+                2, MAX_QUEUED, sendTimeLimit, 1, 64, 2);
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private void send(MessageType type) {
+        broadcaster.broadcast(room.getRoomId(), RoomResponseMessage.builder()
+                .roomId(room.getRoomId()).type(type).sender("p-black").build());
+    }
+
+    private List<TextMessage> received(WebSocketSession session, int count) throws Exception {
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, timeout(2000).times(count)).sendMessage(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private JsonNode json(WebSocketMessage<?> message) throws Exception {
+        return objectMapper.readTree(((TextMessage) message).getPayload());
+    }
+
+    @Test
+    void lateJoinerGetsSnapshotThenNewerFramesOnly() throws Exception {
+        room.initGame("p-black");
+        room.getBoard()[7][7] = 1;
+        room.recordMove(7 * 15 + 7);
+        room.setTurn(2);
+        send(MessageType.GAME_START);
+        send(MessageType.ACTION);
+
+        WebSocketSession watcher = session("w-1");
+        hub.join(room.getRoomId(), watcher);
+        send(MessageType.ACTION);
+
+        List<TextMessage> got = received(watcher, 2);
+        JsonNode snapshot = json(got.get(0));
+        assertEquals("SNAPSHOT", snapshot.get("type").asText());
+        assertEquals(2, snapshot.get("seq").asLong());
+        assertEquals('1', snapshot.get("board").asText().charAt(7 * 15 + 7));
+        assertEquals(7 * 15 + 7, snapshot.get("moves").get(0).asInt());
+        assertEquals(1, snapshot.get("spectators").asInt());
+        JsonNode frame = json(got.get(1));
+        assertEquals("ACTION", frame.get("type").asText());
+        assertEquals(3, frame.get("seq").asLong());
+    }
+
+    @Test
+    void frameIsOneMessageForAllSpectators() throws Exception {
+        WebSocketSession a = session("w-a");
+        WebSocketSession b = session("w-b");
+        hub.join(room.getRoomId(), a);
+        hub.join(room.getRoomId(), b);
+        assertEquals(2, hub.spectators());
+
+        send(MessageType.READY);
+
+        assertSame(received(a, 2).get(1), received(b, 2).get(1));
+    }
+
+    @Test
+    void stuckSpectatorIsDroppedWithoutHoldingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("w-slow");
+        doAnswer(inv -> release.await(5, TimeUnit.SECONDS)).when(slow).sendMessage(any());
+        WebSocketSession fast = session("w-fast");
+        try {
+            hub.join(room.getRoomId(), slow); // 스냅샷 쓰기에서 막힌다
+            hub.join(room.getRoomId(), fast);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < MAX_QUEUED + 2; i++) send(MessageType.READY);
+            assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1), "플레이어 경로는 관전자를 기다리지 않는다");
+
+            received(fast, 1 + MAX_QUEUED + 2);
+            verify(slow, timeout(2000)).close(argThat((CloseStatus s) -> "SLOW".equals(s.getReason())));
+            verify(fast, never()).close(any());
+            assertEquals(1, hub.spectators());
+            assertEquals(1, hub.droppedSlow());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void rejectsPrivateRoomAndFullRoom() throws Exception {
+        Room locked = roomService.createRoom("secret", "pw");
+        WebSocketSession intruder = session("w-x");
+        hub.join(locked.getRoomId(), intruder);
+        verify(intruder).close(argThat((CloseStatus s) -> "PRIVATE_ROOM".equals(s.getReason())));
+
+        hub.join(room.getRoomId(), session("w-1"));
+        hub.join(room.getRoomId(), session("w-2"));
+        WebSocketSession third = session("w-3");
+        hub.join(room.getRoomId(), third);
+        verify(third).close(argThat((CloseStatus s) -> "SPECTATORS_FULL".equals(s.getReason())));
+        assertEquals(2, hub.spectators());
+
+        hub.leave(room.getRoomId(), "w-1");
+        assertEquals(1, hub.spectators());
+    }
+
+    @Test
+    void watchdogDropsSpectatorStuckOnLastFrame() throws Exception {
+        hub.shutdown();
+        hub = hub(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        WebSocketSession stuck = session("w-stuck");
+        doAnswer(inv -> {
+            writing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(stuck).sendMessage(any());
+        try {
+            hub.join(room.getRoomId(), stuck); // 스냅샷 쓰기에서 막히고, 뒤이어 오는 프레임은 없다
+            assertTrue(writing.await(2, TimeUnit.SECONDS));
+
+            Thread.sleep(100);
+            hub.sweep();
+            verify(stuck, timeout(2000)).close(argThat((CloseStatus s) -> "SLOW".equals(s.getReason())));
+            assertEquals(0, hub.spectators());
+            assertEquals(1, hub.droppedSlow());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void removingRoomClosesItsSpectators() throws Exception {
+        WebSocketSession watcher = session("w-1");
+        hub.join(room.getRoomId(), watcher);
+        received(watcher, 1);
+
+        roomService.removeRoom(room.getRoomId()); // 빈 방 TTL 만료와 같은 경로: 브로드캐스트가 없다
+
+        verify(watcher, timeout(2000)).close(argThat((CloseStatus s) -> "ROOM_CLOSED".equals(s.getReason())));
+        assertEquals(0, hub.spectators());
+    }
+
+    @Test
+    void lastLeaveClosesSpectatorsWithoutBroadcast() throws Exception {
+        roomService.joinRoom(room.getRoomId(), new Player("p-1", "P1"), null, "user:1");
+        WebSocketSession watcher = session("w-1");
+        hub.join(room.getRoomId(), watcher);
+        received(watcher, 1);
+
+        roomService.leaveRoom(room.getRoomId(), "p-1"); // AI가 마지막으로 나가는 경로처럼 LEAVE를 보내지 않는다
+
+        verify(watcher, timeout(2000)).close(argThat((CloseStatus s) -> "ROOM_CLOSED".equals(s.getReason())));
+        assertEquals(0, hub.spectators());
+    }
+}
@@ -0,0 +1,173 @@
+package org.scoula.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.game.GameMoves;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 위치 검색 서비스 검증: 세그먼트를 더하고 합쳐도 결과가 같고, 다시 열면 합치다 남은 원본은 지운다.
+ * 다른 노드가 늦게 커밋한 작은 id도 rescan 창 안이면 한 번만 색인된다.
+ * 전체 일치 수는 모든 판을 세지만 id는 호출한 회원의 판만 최신순으로 돌려준다.
+ */
+class PositionSearchServiceTest {
+
+    // 테스트는 start()를 부르지 않고 catchUp을 직접 돌린다. 색인 주기는 쓰이지 않는다.
+    private static final Duration TICK = Duration.ofSeconds(10);
+
+    @TempDir
+    Path dir;
+
+    private PositionSearchService service(int maxSegments) {
+        return new PositionSearchService(mock(JdbcTemplate.class), dir, 1000, 100, maxSegments, 100, TICK, TICK);
+    }
+
+    private static IndexedGame game(long id, long black, long white, int... moves) {
+        byte[] bytes = new byte[moves.length];
+        for (int i = 0; i < moves.length; i++) bytes[i] = (byte) moves[i];
+        return new IndexedGame(id, black, white, bytes);
+    }
+
+    private static final int[] SHAPE = {112, 113};
+    private static final boolean[] COLORS = {true, false};
+
+    @Test
+    void countsAllButReturnsOnlyMyGamesNewestFirst() throws IOException {
+        PositionSearchService svc = service(8);
+        svc.add(List.of(game(1, 7, 0, 112, 113), game(2, 8, 9, 112, 113, 97)));
+        svc.add(List.of(game(3, 9, 7, 112, 98, 97, 113), game(4, 7, 8, 112, 97)));
+
+        PositionSearchService.Result result = svc.search(SHAPE, COLORS, 7L, 10);
+        // 4번은 흑 112 · 백 97로, 돌린 같은 모양이다.
+        assertEquals(4, result.matched());
+        assertEquals(List.of(new PositionSearchService.Match(4, 2), new PositionSearchService.Match(3, 4),
+                new PositionSearchService.Match(1, 2)), result.mine());
+
+        assertEquals(1, svc.search(SHAPE, COLORS, 7L, 1).mine().size());
+        assertEquals(List.of(), svc.search(SHAPE, COLORS, null, 10).mine());
+        assertThrows(IllegalArgumentException.class, () -> svc.search(new int[]{225}, new boolean[]{true}, 7L, 10));
+    }
+
+    @Test
+    void mergesSmallSegmentsAndKeepsResults() throws IOException {
+        PositionSearchService svc = service(2);
+        for (long id = 1; id <= 5; id++) svc.add(List.of(game(id, id, 0, 112, 113)));
+        while (svc.segments() > 2) svc.merge();
+
+        assertEquals(5, svc.games());
+        assertEquals(5, svc.search(SHAPE, COLORS, 3L, 10).matched());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(svc.segments(), files.count(), "합친 원본 파일은 지운다");
+        }
+    }
+
+    // game 테이블 흉내: id > ? ORDER BY id LIMIT ? 를 rows에서 그대로 돌려준다.
+    private static JdbcTemplate table(TreeMap<Long, Long> rows) throws Exception {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        doAnswer(inv -> {
+            long[] after = new long[1];
+            int[] limit = new int[1];
+            PreparedStatement ps = mock(PreparedStatement.class);
+            doAnswer(a -> after[0] = a.getArgument(1)).when(ps).setLong(eq(1), anyLong());
+            doAnswer(a -> limit[0] = a.getArgument(1)).when(ps).setInt(eq(2), anyInt());
+            Connection con = mock(Connection.class);
+            when(con.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(ps);
+            inv.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(con);
+
+            RowCallbackHandler handler = inv.getArgument(1);
+            int sent = 0;
+            for (Map.Entry<Long, Long> row : rows.tailMap(after[0], false).entrySet()) {
+                if (sent++ >= limit[0]) break;
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(row.getKey());
+                when(rs.getLong("black_user_id")).thenReturn(row.getValue());
+                when(rs.getLong("white_user_id")).thenReturn(0L);
+                when(rs.getBytes("moves")).thenReturn(GameMoves.of(112, 113).encode());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        return jdbc;
+    }
+
+    @Test
+    void catchUpPicksUpLateCommittedIdsOnce() throws Exception {
+        TreeMap<Long, Long> rows = new TreeMap<>();
+        rows.put(1L, 1L);
+        rows.put(3L, 1L);
+        PositionSearchService svc = new PositionSearchService(table(rows), dir, 1000, 100, 8, 100, TICK, TICK);
+        assertEquals(2, svc.catchUp());
+
+        // 다른 노드의 writer가 2번을 4번보다 늦게 커밋했다.
+        rows.put(4L, 1L);
+        assertEquals(1, svc.catchUp());
+        rows.put(2L, 7L);
+        assertEquals(1, svc.catchUp());
+        assertEquals(0, svc.catchUp());
+
+        assertEquals(4, svc.games());
+        assertEquals(List.of(new PositionSearchService.Match(2, 2)), svc.search(SHAPE, COLORS, 7L, 10).mine());
+
+        // 합쳐도, 다시 열어도 판은 한 번씩만 있고 이미 색인한 id는 다시 더하지 않는다.
+        while (svc.segments() > 1) svc.merge();
+        assertEquals(4, svc.games());
+        PositionSearchService reopened = new PositionSearchService(table(rows), dir, 1000, 100, 8, 100, TICK, TICK);
+        reopened.open();
+        assertEquals(0, reopened.catchUp());
+        assertEquals(4, reopened.search(SHAPE, COLORS, null, 10).matched());
+    }
+
+    @Test
+    void reopenKeepsLateSegmentInsideAnotherRange() throws IOException {
+        PositionSearchService svc = service(8);
+        svc.add(List.of(game(1, 1, 0, 112, 113), game(3, 1, 0, 112, 113)));
+        svc.add(List.of(game(2, 1, 0, 112, 113))); // 범위 2..2는 1..3 안이지만 판은 겹치지 않는다
+
+        PositionSearchService reopened = service(8);
+        reopened.open();
+        assertEquals(2, reopened.segments());
+        assertEquals(3, reopened.search(SHAPE, COLORS, 1L, 10).matched());
+    }
+
+    @Test
+    void reopenDropsSegmentsCoveredByMergedOne() throws IOException {
+        PositionSearchService svc = service(8);
+        svc.add(List.of(game(1, 1, 0, 112, 113)));
+        svc.add(List.of(game(2, 1, 0, 112, 113)));
+        svc.add(List.of(game(3, 1, 0, 112, 113)));
+        // 합친 파일을 쓴 뒤 원본을 지우기 전에 멈춘 상황: 1..3 범위 파일과 원본 셋이 함께 남았다.
+        Path merged = dir.resolve(String.format("segment-%019d-%019d.idx", 1, 3));
+        SearchSegment.write(merged, List.of(game(1, 1, 0, 112, 113), game(2, 1, 0, 112, 113),
+                game(3, 1, 0, 112, 113)));
+
+        PositionSearchService reopened = service(8);
+        reopened.open();
+        assertEquals(1, reopened.segments());
+        assertEquals(3, reopened.search(SHAPE, COLORS, 1L, 10).matched());
+    }
+}
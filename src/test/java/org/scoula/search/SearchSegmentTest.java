@@ -0,0 +1,107 @@
+package org.scoula.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scoula.opening.Symmetry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 위치 검색 세그먼트 검증: 모양을 거친 판을 모양이 갖춰진 수 번호와 함께 찾고, 돌리거나 뒤집은 판도 찾는다.
+ * 색이 다르거나 모양이 없는 판은 지문이 겹쳐도 확인에서 걸러지고, 깨진 파일은 열리지 않는다.
+ */
+class SearchSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    private static IndexedGame game(long id, long black, long white, int... moves) {
+        byte[] bytes = new byte[moves.length];
+        for (int i = 0; i < moves.length; i++) bytes[i] = (byte) moves[i];
+        return new IndexedGame(id, black, white, bytes);
+    }
+
+    private static int[] rotated(int s, int... cells) {
+        int[] out = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) out[i] = Symmetry.apply(s, cells[i]);
+        return out;
+    }
+
+    private SearchSegment segment(IndexedGame... games) throws IOException {
+        Path file = dir.resolve("segment.idx");
+        SearchSegment.write(file, List.of(games));
+        return SearchSegment.open(file);
+    }
+
+    /** (id, ply) 쌍들. */
+    private static List<long[]> search(SearchSegment segment, int[] cells, boolean... black) {
+        List<long[]> found = new ArrayList<>();
+        segment.search(new ShapeQuery(cells, black), new int[ShapeKeys.CELLS],
+                (s, ordinal, ply) -> found.add(new long[]{s.id(ordinal), ply}));
+        return found;
+    }
+
+    @Test
+    void findsShapeWithFirstCompletePly() throws IOException {
+        SearchSegment segment = segment(
+                game(10, 1, 0, 112, 113, 97, 128, 82),
+                game(11, 2, 1, rotated(1, 112, 113, 97, 128, 82)),
+                game(12, 3, 0, 112, 97, 127, 128));
+
+        // 흑 112·97 + 백 113(ㄱ자): 10번은 3수째, 돌린 11번도 3수째. 12번은 흑 둘과 백이 한 줄이라 아니다.
+        List<long[]> found = search(segment, new int[]{112, 97, 113}, true, true, false);
+        assertEquals(2, found.size());
+        assertArrayEquals(new long[]{10, 3}, found.get(0));
+        assertArrayEquals(new long[]{11, 3}, found.get(1));
+        assertEquals(3, segment.games());
+        assertEquals(10, segment.firstId());
+        assertEquals(12, segment.lastId());
+    }
+
+    @Test
+    void findsRotatedQuery() throws IOException {
+        SearchSegment segment = segment(game(1, 1, 0, 112, 113, 97, 128, 82));
+        List<long[]> found = search(segment, rotated(1, 112, 97, 82), true, true, true);
+        assertEquals(1, found.size());
+        assertEquals(5, found.get(0)[1]);
+    }
+
+    @Test
+    void verifiesOrientationNotJustFingerprints() throws IOException {
+        // 가로 두 점과 세로 두 점은 같은 대표 지문이지만, 한 판에 둘이 함께 있는 것과 "ㄱ"자 세 점은 다르다.
+        SearchSegment segment = segment(game(1, 1, 0, 112, 0, 113, 14, 127, 210));
+        assertEquals(1, search(segment, new int[]{112, 113, 127}, true, true, true).size());
+        assertTrue(search(segment, new int[]{112, 113, 98}, true, true, true).isEmpty(), "98은 빈 칸");
+        assertTrue(search(segment, new int[]{112, 113}, true, false).isEmpty(), "113은 흑");
+    }
+
+    @Test
+    void copiesGamesBackForMerging() throws IOException {
+        SearchSegment segment = segment(game(5, 7, 8, 112, 113), game(6, 0, 9, 112));
+        IndexedGame copy = segment.game(0);
+        assertEquals(5, copy.id());
+        assertEquals(7, copy.blackUserId());
+        assertEquals(8, copy.whiteUserId());
+        assertArrayEquals(new byte[]{112, 113}, copy.moves());
+        assertEquals(0, segment.blackUserId(1));
+    }
+
+    @Test
+    void rejectsCorruptFile() throws IOException {
+        Path file = dir.resolve("segment.idx");
+        SearchSegment.write(file, List.of(game(1, 1, 0, 112, 113)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SearchSegment.open(file));
+    }
+}